@@ -0,0 +1,67 @@
+package com.example.cryptographic_library.algorithm.hash;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 流式消息摘要
+ *
+ * <p>MD5、SHA1、SHA256、SHA3_512、RIPEMD160的统一接口：
+ * <ul>
+ *   <li>数据可分多次经{@link #update}输入，实例只保留一个分组的缓冲区，内存占用与消息长度无关</li>
+ *   <li>{@link #digest(byte[], int)}输出摘要后自动重置，可继续计算下一条消息</li>
+ *   <li>{@link #copy()}复制当前的中间状态，用于对共同前缀只计算一次</li>
+ * </ul>
+ *
+ * <p>实例不是线程安全的</p>
+ */
+public interface Digest {
+
+    /**
+     * 摘要长度（字节）
+     */
+    int getDigestLength();
+
+    /**
+     * 内部分组长度（字节），HMAC等构造需要
+     */
+    int getBlockSize();
+
+    /**
+     * 输入in[off..off+len)
+     */
+    void update(byte[] in, int off, int len);
+
+    default void update(byte[] in) {
+        update(in, 0, in.length);
+    }
+
+    /**
+     * 输入buffer的剩余字节，buffer的position前移到limit
+     */
+    void update(ByteBuffer buffer);
+
+    /**
+     * 完成计算，把摘要写入out[off..off+摘要长度)并重置
+     * @return 写入的字节数
+     */
+    int digest(byte[] out, int off);
+
+    /**
+     * 完成计算并返回摘要，之后实例被重置
+     */
+    default byte[] digest() {
+        byte[] out = new byte[getDigestLength()];
+        digest(out, 0);
+        return out;
+    }
+
+    /**
+     * 丢弃已输入的数据，回到初始状态
+     */
+    void reset();
+
+    /**
+     * 复制当前状态，副本与原实例互不影响
+     */
+    Digest copy();
+}
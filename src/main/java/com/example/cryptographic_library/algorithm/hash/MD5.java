@@ -2,40 +2,52 @@ package com.example.cryptographic_library.algorithm.hash;
 
 import com.example.cryptographic_library.algorithm.encode.UTF_8;
 
-public class MD5 {
-    private int[] state = new int[4]; // A, B, C, D
-    private long bitCount; // 总比特数（原始消息）
-    private byte[] buffer = new byte[64]; // 512-bit buffer
-    private int bufferSize; // 当前字节数
+import java.util.Arrays;
+
+/**
+ * MD5，实现{@link Digest}，可分段输入，消息长度按64位计数
+ */
+public class MD5 extends MerkleDamgardDigest {
+    public static final int DIGEST_LENGTH = 16;
+
+    private final int[] state = new int[4]; // A, B, C, D
+    // 消息字，每个实例复用
+    private final int[] X = new int[16];
 
     public MD5() {
-        init();
+        super(false);
+        resetState();
+    }
+
+    private MD5(MD5 other) {
+        super(other);
+        System.arraycopy(other.state, 0, state, 0, 4);
+    }
+
+    @Override
+    public int getDigestLength() {
+        return DIGEST_LENGTH;
     }
 
-    private void init() {
+    @Override
+    public MD5 copy() {
+        return new MD5(this);
+    }
+
+    @Override
+    protected void resetState() {
         state[0] = 0x67452301;
         state[1] = 0xEFCDAB89;
         state[2] = 0x98BADCFE;
         state[3] = 0x10325476;
-        bitCount = 0;
-        bufferSize = 0;
-    }
-
-    public void update(byte[] input) {
-        for (byte b : input) {
-            buffer[bufferSize++] = b;
-            bitCount += 8;
-            if (bufferSize == 64) {
-                processBlock(buffer, 0);
-                bufferSize = 0;
-            }
-        }
+        Arrays.fill(X, 0);
     }
 
-    private void processBlock(byte[] block, int offset) {
-        int[] X = new int[16];
+    @Override
+    protected void processBlock(byte[] block, int offset) {
+        int[] X = this.X;
         for (int i = 0; i < 16; i++) {
-            X[i] = byteArrayToInt(block, offset + i * 4);
+            X[i] = getIntLE(block, offset + i * 4);
         }
 
         int a = state[0], b = state[1], c = state[2], d = state[3];
@@ -151,52 +163,12 @@ public class MD5 {
         return a;
     }
 
-    public byte[] digest() {
-        long originalBitCount = bitCount;
-
-        // 添加填充位 0x80
-        buffer[bufferSize++] = (byte) 0x80;
-        if (bufferSize > 56) {
-            // 填充当前块并处理
-            while (bufferSize < 64) {
-                buffer[bufferSize++] = 0;
-            }
-            processBlock(buffer, 0);
-            bufferSize = 0;
-        }
-
-        // 填充0到总长度 ≡ 56 mod 64
-        while (bufferSize < 56) {
-            buffer[bufferSize++] = 0;
-        }
-
-        // 添加原始消息长度的低64位（小端序）
-        for (int i = 0; i < 8; i++) {
-            buffer[56 + i] = (byte) (originalBitCount >>> (i * 8));
-        }
-        processBlock(buffer, 0);
-
-        // 生成结果
-        byte[] result = new byte[16];
+    // 生成结果（小端序）
+    @Override
+    protected void writeDigest(byte[] out, int off) {
         for (int i = 0; i < 4; i++) {
-            int stateVal = state[i];
-            result[i * 4] = (byte) (stateVal & 0xFF);
-            result[i * 4 + 1] = (byte) ((stateVal >> 8) & 0xFF);
-            result[i * 4 + 2] = (byte) ((stateVal >> 16) & 0xFF);
-            result[i * 4 + 3] = (byte) ((stateVal >> 24) & 0xFF);
+            putIntLE(state[i], out, off + i * 4);
         }
-
-        // 重置状态
-        init();
-
-        return result;
-    }
-
-    private int byteArrayToInt(byte[] bytes, int offset) {
-        return (bytes[offset] & 0xFF)
-                | ((bytes[offset + 1] & 0xFF) << 8)
-                | ((bytes[offset + 2] & 0xFF) << 16)
-                | ((bytes[offset + 3] & 0xFF) << 24);
     }
 
     public static void main(String[] args) {
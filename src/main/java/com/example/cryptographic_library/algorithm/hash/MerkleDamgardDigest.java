@@ -0,0 +1,151 @@
+package com.example.cryptographic_library.algorithm.hash;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 64字节分组的Merkle–Damgård摘要公共部分（MD5、SHA1、SHA256、RIPEMD160）
+ *
+ * <p>负责分组缓冲、按long计数的消息长度与末尾填充（0x80、补零、64位比特长度），
+ * 子类只实现压缩函数与状态的输出。整组数据直接从调用方数组压缩，不经过缓冲区</p>
+ */
+abstract class MerkleDamgardDigest implements Digest {
+    static final int BLOCK_SIZE = 64;
+
+    // 长度字段是否为大端（SHA系列为大端，MD5/RIPEMD160为小端）
+    private final boolean bigEndianLength;
+    private final byte[] buffer = new byte[BLOCK_SIZE];
+    private int bufferLength;
+    // 已输入的总字节数
+    private long byteCount;
+
+    protected MerkleDamgardDigest(boolean bigEndianLength) {
+        this.bigEndianLength = bigEndianLength;
+    }
+
+    // 复制缓冲区与计数，子类负责复制链接状态
+    protected MerkleDamgardDigest(MerkleDamgardDigest other) {
+        this.bigEndianLength = other.bigEndianLength;
+        System.arraycopy(other.buffer, 0, buffer, 0, BLOCK_SIZE);
+        this.bufferLength = other.bufferLength;
+        this.byteCount = other.byteCount;
+    }
+
+    @Override
+    public int getBlockSize() {
+        return BLOCK_SIZE;
+    }
+
+    @Override
+    public void update(byte[] in, int off, int len) {
+        Objects.checkFromIndexSize(off, len, in.length);
+        byteCount += len;
+        if (bufferLength > 0) {
+            int n = Math.min(len, BLOCK_SIZE - bufferLength);
+            System.arraycopy(in, off, buffer, bufferLength, n);
+            bufferLength += n;
+            off += n;
+            len -= n;
+            if (bufferLength < BLOCK_SIZE) {
+                return;
+            }
+            processBlock(buffer, 0);
+            bufferLength = 0;
+        }
+        while (len >= BLOCK_SIZE) {
+            processBlock(in, off);
+            off += BLOCK_SIZE;
+            len -= BLOCK_SIZE;
+        }
+        System.arraycopy(in, off, buffer, 0, len);
+        bufferLength = len;
+    }
+
+    @Override
+    public void update(ByteBuffer in) {
+        if (in.hasArray()) {
+            update(in.array(), in.arrayOffset() + in.position(), in.remaining());
+            in.position(in.limit());
+            return;
+        }
+        // 直接缓冲区经分组缓冲区逐组读取
+        while (in.hasRemaining()) {
+            int n = Math.min(BLOCK_SIZE - bufferLength, in.remaining());
+            in.get(buffer, bufferLength, n);
+            bufferLength += n;
+            byteCount += n;
+            if (bufferLength == BLOCK_SIZE) {
+                processBlock(buffer, 0);
+                bufferLength = 0;
+            }
+        }
+    }
+
+    @Override
+    public int digest(byte[] out, int off) {
+        int length = getDigestLength();
+        Objects.checkFromIndexSize(off, length, out.length);
+        long bitLength = byteCount << 3;
+        buffer[bufferLength++] = (byte) 0x80;
+        if (bufferLength > BLOCK_SIZE - 8) {
+            Arrays.fill(buffer, bufferLength, BLOCK_SIZE, (byte) 0);
+            processBlock(buffer, 0);
+            bufferLength = 0;
+        }
+        Arrays.fill(buffer, bufferLength, BLOCK_SIZE - 8, (byte) 0);
+        for (int i = 0; i < 8; i++) {
+            int shift = bigEndianLength ? 56 - 8 * i : 8 * i;
+            buffer[BLOCK_SIZE - 8 + i] = (byte) (bitLength >>> shift);
+        }
+        processBlock(buffer, 0);
+        writeDigest(out, off);
+        reset();
+        return length;
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(buffer, (byte) 0);
+        bufferLength = 0;
+        byteCount = 0;
+        resetState();
+    }
+
+    /**
+     * 压缩block[off..off+64)到链接状态
+     */
+    protected abstract void processBlock(byte[] block, int off);
+
+    /**
+     * 把链接状态按算法的字节序写入out[off..)
+     */
+    protected abstract void writeDigest(byte[] out, int off);
+
+    /**
+     * 链接状态回到初始值
+     */
+    protected abstract void resetState();
+
+    static int getIntBE(byte[] b, int off) {
+        return (b[off] << 24) | ((b[off + 1] & 0xFF) << 16) | ((b[off + 2] & 0xFF) << 8) | (b[off + 3] & 0xFF);
+    }
+
+    static int getIntLE(byte[] b, int off) {
+        return (b[off] & 0xFF) | ((b[off + 1] & 0xFF) << 8) | ((b[off + 2] & 0xFF) << 16) | (b[off + 3] << 24);
+    }
+
+    static void putIntBE(int v, byte[] b, int off) {
+        b[off] = (byte) (v >>> 24);
+        b[off + 1] = (byte) (v >>> 16);
+        b[off + 2] = (byte) (v >>> 8);
+        b[off + 3] = (byte) v;
+    }
+
+    static void putIntLE(int v, byte[] b, int off) {
+        b[off] = (byte) v;
+        b[off + 1] = (byte) (v >>> 8);
+        b[off + 2] = (byte) (v >>> 16);
+        b[off + 3] = (byte) (v >>> 24);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.cryptographic_library.algorithm.hash;
+
+/**
+ * 多消息并行的SHA-256压缩内核
+ *
+ * <p>由{@link MultiBufferSHA256}调用，每个通道承载一条独立的消息，一次压缩推进所有通道各一个分组。
+ * 当前唯一实现基于孵化中的Vector API（jdk.incubator.vector），运行时未加载该模块或通过
+ * {@code -Dcrypto.vector.disabled=true} 关闭时{@link #VECTOR}为null，调用方回退到逐条计算</p>
+ */
+interface MultiBufferKernel {
+
+    // 向量化内核，不可用时为null
+    MultiBufferKernel VECTOR = load();
+
+    /**
+     * 通道数
+     */
+    int lanes();
+
+    /**
+     * 压缩各通道的一个分组
+     * @param state 链接状态，第j个字的通道l位于 j*lanes + l，共8个字
+     * @param words 消息扩展字，调用前填好前16个字（同样按 t*lanes + l 排列），长度至少64*lanes
+     */
+    void compress(int[] state, int[] words);
+
+    private static MultiBufferKernel load() {
+        if (Boolean.getBoolean("crypto.vector.disabled")
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            // 反射加载，保证模块缺失时不会解析到Vector API的类
+            return (MultiBufferKernel) Class.forName(MultiBufferKernel.class.getPackageName() + ".VectorMultiBufferKernel")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.cryptographic_library.algorithm.hash;
+
+import java.util.Arrays;
+
+/**
+ * 多消息SHA-256：一次计算一批互相独立的消息
+ *
+ * <p>适用于大量短消息（令牌、ID等）的场景：
+ * <ul>
+ *   <li>每个向量通道承载一条消息，一次压缩推进所有通道各一个分组（见{@link MultiBufferKernel}）</li>
+ *   <li>长消息优先派发，某个通道的消息结束后立即换上下一条，短消息不必等待长消息</li>
+ *   <li>最后一个分组的填充在通道的尾部缓冲区中生成，不复制整条消息</li>
+ *   <li>Vector API不可用或消息条数不足时逐条使用{@link SHA256}计算，结果相同</li>
+ * </ul>
+ */
+public final class MultiBufferSHA256 {
+    private static final int BLOCK_SIZE = 64;
+    // 超过该分组数的消息优先派发
+    private static final int LONG_BLOCKS = 4;
+
+    private MultiBufferSHA256() {
+    }
+
+    /**
+     * 计算每条消息的SHA-256摘要
+     * @param messages 消息数组，元素不能为null
+     * @return 与messages一一对应的32字节摘要
+     */
+    public static byte[][] hash(byte[][] messages) {
+        for (byte[] message : messages) {
+            if (message == null) {
+                throw new IllegalArgumentException("消息不能为null");
+            }
+        }
+        byte[][] digests = new byte[messages.length][];
+        MultiBufferKernel kernel = MultiBufferKernel.VECTOR;
+        if (kernel == null || messages.length < kernel.lanes()) {
+            SHA256 digest = new SHA256();
+            for (int i = 0; i < messages.length; i++) {
+                digest.update(messages[i], 0, messages[i].length);
+                digests[i] = digest.digest();
+            }
+            return digests;
+        }
+        new Batch(kernel, messages, digests).run();
+        return digests;
+    }
+
+    // 含填充后的分组数
+    private static int paddedBlocks(int length) {
+        return (int) (((long) length + 9 + BLOCK_SIZE - 1) / BLOCK_SIZE);
+    }
+
+    /**
+     * 一次批量计算的通道状态
+     */
+    private static final class Batch {
+        private final MultiBufferKernel kernel;
+        private final byte[][] messages;
+        private final byte[][] digests;
+        private final int lanes;
+        // 派发顺序（见longFirst）
+        private final int[] order;
+        private int next;
+
+        private final int[] state;
+        private final int[] words;
+        // 各通道当前的消息下标（-1表示空闲）、已处理的分组数与总分组数
+        private final int[] laneMessage;
+        private final int[] laneBlock;
+        private final int[] laneBlocks;
+        // 生成填充分组用的缓冲区
+        private final byte[] tail = new byte[BLOCK_SIZE];
+
+        Batch(MultiBufferKernel kernel, byte[][] messages, byte[][] digests) {
+            this.kernel = kernel;
+            this.messages = messages;
+            this.digests = digests;
+            this.lanes = kernel.lanes();
+            this.order = longFirst(messages);
+            this.state = new int[8 * lanes];
+            this.words = new int[64 * lanes];
+            this.laneMessage = new int[lanes];
+            this.laneBlock = new int[lanes];
+            this.laneBlocks = new int[lanes];
+        }
+
+        void run() {
+            int active = 0;
+            for (int l = 0; l < lanes; l++) {
+                if (assign(l)) {
+                    active++;
+                }
+            }
+            while (active > 0) {
+                for (int l = 0; l < lanes; l++) {
+                    loadBlock(l);
+                }
+                kernel.compress(state, words);
+                for (int l = 0; l < lanes; l++) {
+                    int index = laneMessage[l];
+                    if (index < 0 || ++laneBlock[l] < laneBlocks[l]) {
+                        continue;
+                    }
+                    digests[index] = extract(l);
+                    if (!assign(l)) {
+                        active--;
+                    }
+                }
+            }
+            Arrays.fill(state, 0);
+            Arrays.fill(words, 0);
+            Arrays.fill(tail, (byte) 0);
+        }
+
+        // 给通道l换上下一条消息，没有剩余消息时置为空闲
+        private boolean assign(int l) {
+            for (int j = 0; j < 8; j++) {
+                state[j * lanes + l] = SHA256.INIT_HASH[j];
+            }
+            laneBlock[l] = 0;
+            if (next == order.length) {
+                laneMessage[l] = -1;
+                return false;
+            }
+            int index = order[next++];
+            laneMessage[l] = index;
+            laneBlocks[l] = paddedBlocks(messages[index].length);
+            return true;
+        }
+
+        // 把通道l的下一个分组按大端写入words的前16个字，空闲通道填0
+        private void loadBlock(int l) {
+            int index = laneMessage[l];
+            if (index < 0) {
+                for (int t = 0; t < 16; t++) {
+                    words[t * lanes + l] = 0;
+                }
+                return;
+            }
+            byte[] message = messages[index];
+            int start = laneBlock[l] * BLOCK_SIZE;
+            byte[] source = message;
+            int offset = start;
+            if (start + BLOCK_SIZE > message.length) {
+                // 含消息尾部或填充的分组
+                int n = message.length - start;
+                Arrays.fill(tail, (byte) 0);
+                if (n >= 0) {
+                    // 0x80紧跟消息尾部；消息恰好在上一分组结束时，0x80位于本分组开头
+                    System.arraycopy(message, start, tail, 0, n);
+                    tail[n] = (byte) 0x80;
+                }
+                if (laneBlock[l] == laneBlocks[l] - 1) {
+                    long bitLength = (long) message.length << 3;
+                    for (int i = 0; i < 8; i++) {
+                        tail[BLOCK_SIZE - 8 + i] = (byte) (bitLength >>> (56 - 8 * i));
+                    }
+                }
+                source = tail;
+                offset = 0;
+            }
+            for (int t = 0; t < 16; t++) {
+                words[t * lanes + l] = MerkleDamgardDigest.getIntBE(source, offset + 4 * t);
+            }
+        }
+
+        private byte[] extract(int l) {
+            byte[] digest = new byte[SHA256.DIGEST_LENGTH];
+            for (int j = 0; j < 8; j++) {
+                MerkleDamgardDigest.putIntBE(state[j * lanes + l], digest, 4 * j);
+            }
+            return digest;
+        }
+
+        // 长消息先派发，其余保持原顺序：批次末尾只剩短消息，空转的通道最多等待LONG_BLOCKS个分组；
+        // 不做完整排序，短消息按原顺序顺序访问内存
+        private static int[] longFirst(byte[][] messages) {
+            int[] order = new int[messages.length];
+            int n = 0;
+            for (int i = 0; i < messages.length; i++) {
+                if (paddedBlocks(messages[i].length) > LONG_BLOCKS) {
+                    order[n++] = i;
+                }
+            }
+            for (int i = 0; i < messages.length; i++) {
+                if (paddedBlocks(messages[i].length) <= LONG_BLOCKS) {
+                    order[n++] = i;
+                }
+            }
+            return order;
+        }
+    }
+}
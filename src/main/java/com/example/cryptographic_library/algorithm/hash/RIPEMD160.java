@@ -1,90 +1,60 @@
 package com.example.cryptographic_library.algorithm.hash;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import java.util.Arrays;
 
-public class RIPEMD160 {
-    private static final int BLOCK_SIZE = 64; // 512-bit blocks
+/**
+ * RIPEMD-160，实现{@link Digest}，可分段输入，消息长度按64位计数
+ */
+public class RIPEMD160 extends MerkleDamgardDigest {
+    public static final int DIGEST_LENGTH = 20;
     private static final int[] INIT_STATE = {
             0x67452301, 0xEFCDAB89, 0x98BADCFE, 0x10325476, 0xC3D2E1F0
     };
 
-    private int[] state;
-    private long count;
-    private byte[] buffer;
+    private final int[] state = new int[5];
+    // 消息字，每个实例复用
+    private final int[] X = new int[16];
 
     public RIPEMD160() {
-        reset();
+        super(false);
+        resetState();
     }
 
-    public void update(byte[] input) {
-        int index = 0;
-        int remaining = input.length;
-        int bufferSpace = BLOCK_SIZE - (int) (count % BLOCK_SIZE);
-
-        count += remaining;
-
-        if (bufferSpace > remaining) {
-            System.arraycopy(input, 0, buffer, BLOCK_SIZE - bufferSpace, remaining);
-            return;
-        }
-
-        System.arraycopy(input, 0, buffer, BLOCK_SIZE - bufferSpace, bufferSpace);
-        processBlock(buffer, 0);
-        index += bufferSpace;
-        remaining -= bufferSpace;
-
-        while (remaining >= BLOCK_SIZE) {
-            processBlock(input, index);
-            index += BLOCK_SIZE;
-            remaining -= BLOCK_SIZE;
-        }
+    private RIPEMD160(RIPEMD160 other) {
+        super(other);
+        System.arraycopy(other.state, 0, state, 0, 5);
+    }
 
-        System.arraycopy(input, index, buffer, 0, remaining);
+    @Override
+    public int getDigestLength() {
+        return DIGEST_LENGTH;
     }
 
-    public byte[] digest() {
-        byte[] padding = padMessage();
-        update(padding);
+    @Override
+    public RIPEMD160 copy() {
+        return new RIPEMD160(this);
+    }
 
-        ByteBuffer bb = ByteBuffer.allocate(20)
-                .order(ByteOrder.LITTLE_ENDIAN);
-        for (int s : state) {
-            bb.putInt(s);
+    // 按小端序输出
+    @Override
+    protected void writeDigest(byte[] out, int off) {
+        for (int i = 0; i < 5; i++) {
+            putIntLE(state[i], out, off + i * 4);
         }
-
-        byte[] digest = bb.array();
-        reset();
-        return digest;
     }
 
-    private void reset() {
-        state = INIT_STATE.clone();
-        count = 0;
-        buffer = new byte[BLOCK_SIZE];
+    @Override
+    protected void resetState() {
+        System.arraycopy(INIT_STATE, 0, state, 0, 5);
+        Arrays.fill(X, 0);
     }
 
-    private byte[] padMessage() {
-        int padLength = (int) (count % BLOCK_SIZE);
-        padLength = (padLength < 56) ?
-                56 - padLength :
-                120 - padLength;
-        byte[] pad = new byte[padLength + 8];
-        pad[0] = (byte) 0x80;
-
-        long bitLength = count << 3;
-        for (int i = 0; i < 8; i++) {
-            pad[pad.length - 8 + i] = (byte) (bitLength >>> (i * 8));
+    @Override
+    protected void processBlock(byte[] block, int offset) {
+        int[] X = this.X;
+        for (int i = 0; i < 16; i++) {
+            X[i] = getIntLE(block, offset + i * 4);
         }
-        return pad;
-    }
-
-    private void processBlock(byte[] block, int offset) {
-        int[] X = new int[16];
-        ByteBuffer.wrap(block, offset, BLOCK_SIZE)
-                .order(ByteOrder.LITTLE_ENDIAN)
-                .asIntBuffer()
-                .get(X);
         int A1 = state[0], B1 = state[1], C1 = state[2], D1 = state[3], E1 = state[4];
         int A2 = state[0], B2 = state[1], C2 = state[2], D2 = state[3], E2 = state[4];
         for (int i = 0; i < 80; i++) {
@@ -142,14 +112,12 @@ public class RIPEMD160 {
             A2 = temp2;
         }
         // 合并结果
-        int[] temp = {
-                state[1] + C1 + D2,
-                state[2] + D1 + E2,
-                state[3] + E1 + A2,
-                state[4] + A1 + B2,
-                state[0] + B1 + C2
-        };
-        System.arraycopy(temp, 0, state, 0, 5);
+        int t = state[1] + C1 + D2;
+        state[1] = state[2] + D1 + E2;
+        state[2] = state[3] + E1 + A2;
+        state[3] = state[4] + A1 + B2;
+        state[4] = state[0] + B1 + C2;
+        state[0] = t;
     }
 
 
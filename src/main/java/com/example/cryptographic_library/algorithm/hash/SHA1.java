@@ -1,9 +1,11 @@
 package com.example.cryptographic_library.algorithm.hash;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import java.util.Arrays;
 
-public class SHA1 {
+/**
+ * SHA-1，实现{@link Digest}，可分段输入，消息长度按64位计数
+ */
+public class SHA1 extends MerkleDamgardDigest {
     // 常量定义
     private static final int[] K = {
             0x5A827999, 0x6ED9EBA1, 0x8F1BBCDC, 0xCA62C1D6
@@ -16,65 +18,50 @@ public class SHA1 {
     private static final int H3 = 0x10325476;
     private static final int H4 = 0xC3D2E1F0;
 
+    public static final int DIGEST_LENGTH = 20;
+
+    // 链接状态
+    private int h0, h1, h2, h3, h4;
+    // 消息扩展字，每个实例复用
+    private final int[] words = new int[80];
+
+    public SHA1() {
+        super(true);
+        resetState();
+    }
+
+    private SHA1(SHA1 other) {
+        super(other);
+        this.h0 = other.h0;
+        this.h1 = other.h1;
+        this.h2 = other.h2;
+        this.h3 = other.h3;
+        this.h4 = other.h4;
+    }
+
     public static byte[] hash(byte[] message) {
-        // 消息填充
-        byte[] padded = padMessage(message);
-        // 初始化哈希值
-        int h0 = H0;
-        int h1 = H1;
-        int h2 = H2;
-        int h3 = H3;
-        int h4 = H4;
-        // 分块处理
-        for (int i = 0; i < padded.length; i += 64) {
-            int[] words = processBlock(padded, i);
-            // 初始化工作变量
-            int a = h0;
-            int b = h1;
-            int c = h2;
-            int d = h3;
-            int e = h4;
-            // 主循环
-            for (int t = 0; t < 80; t++) {
-                int temp = Integer.rotateLeft(a, 5) + f(t, b, c, d) + e + words[t] + K[t/20];
-                e = d;
-                d = c;
-                c = Integer.rotateLeft(b, 30);
-                b = a;
-                a = temp;
-            }
-            // 更新哈希值
-            h0 += a;
-            h1 += b;
-            h2 += c;
-            h3 += d;
-            h4 += e;
-        }
-        return toByteArray(h0, h1, h2, h3, h4);
+        SHA1 digest = new SHA1();
+        digest.update(message, 0, message.length);
+        return digest.digest();
+    }
+
+    @Override
+    public int getDigestLength() {
+        return DIGEST_LENGTH;
     }
 
-    // 消息填充方法
-    private static byte[] padMessage(byte[] message) {
-        int originalBits = message.length * 8;
-        int paddingBits = (448 - (originalBits + 1) % 512) % 512;
-        byte[] padded = new byte[(originalBits + 1 + paddingBits + 64) / 8];
-        System.arraycopy(message, 0, padded, 0, message.length);
-        padded[message.length] = (byte)0x80; // 添加1的二进制位
-        // 添加长度信息（64位大端）
-        ByteBuffer.wrap(padded)
-                .position(padded.length - 8)
-                .putLong(originalBits);
-        return padded;
+    @Override
+    public SHA1 copy() {
+        return new SHA1(this);
     }
 
     // 处理512位块
-    private static int[] processBlock(byte[] block, int offset) {
-        int[] words = new int[80];
+    @Override
+    protected void processBlock(byte[] block, int offset) {
+        int[] words = this.words;
         // 初始16个字
-        ByteBuffer buffer = ByteBuffer.wrap(block, offset, 64)
-                .order(ByteOrder.BIG_ENDIAN);
         for (int i = 0; i < 16; i++) {
-            words[i] = buffer.getInt();
+            words[i] = getIntBE(block, offset + 4 * i);
         }
         // 扩展剩余字
         for (int i = 16; i < 80; i++) {
@@ -82,7 +69,27 @@ public class SHA1 {
                     words[i-3] ^ words[i-8] ^ words[i-14] ^ words[i-16], 1
             );
         }
-        return words;
+        // 初始化工作变量
+        int a = h0;
+        int b = h1;
+        int c = h2;
+        int d = h3;
+        int e = h4;
+        // 主循环
+        for (int t = 0; t < 80; t++) {
+            int temp = Integer.rotateLeft(a, 5) + f(t, b, c, d) + e + words[t] + K[t/20];
+            e = d;
+            d = c;
+            c = Integer.rotateLeft(b, 30);
+            b = a;
+            a = temp;
+        }
+        // 更新哈希值
+        h0 += a;
+        h1 += b;
+        h2 += c;
+        h3 += d;
+        h4 += e;
     }
 
     // 逻辑函数
@@ -93,16 +100,24 @@ public class SHA1 {
         return b ^ c ^ d;
     }
 
-    // 将哈希值转为字节数组
-    private static byte[] toByteArray(int h0, int h1, int h2, int h3, int h4) {
-        ByteBuffer buffer = ByteBuffer.allocate(20)
-                .order(ByteOrder.BIG_ENDIAN)
-                .putInt(h0)
-                .putInt(h1)
-                .putInt(h2)
-                .putInt(h3)
-                .putInt(h4);
-        return buffer.array();
+    // 将哈希值按大端写出
+    @Override
+    protected void writeDigest(byte[] out, int off) {
+        putIntBE(h0, out, off);
+        putIntBE(h1, out, off + 4);
+        putIntBE(h2, out, off + 8);
+        putIntBE(h3, out, off + 12);
+        putIntBE(h4, out, off + 16);
+    }
+
+    @Override
+    protected void resetState() {
+        h0 = H0;
+        h1 = H1;
+        h2 = H2;
+        h3 = H3;
+        h4 = H4;
+        Arrays.fill(words, 0);
     }
 
     // 测试用例
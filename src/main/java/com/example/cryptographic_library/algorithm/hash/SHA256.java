@@ -1,17 +1,19 @@
 package com.example.cryptographic_library.algorithm.hash;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import java.util.Arrays;
 
-public class SHA256 {
+/**
+ * SHA-256，实现{@link Digest}，可分段输入，消息长度按64位计数
+ */
+public class SHA256 extends MerkleDamgardDigest {
     // 初始哈希值（前8个质数的平方根小数部分前32位）
-    private static final int[] INIT_HASH = {
+    static final int[] INIT_HASH = {
             0x6a09e667, 0xbb67ae85, 0x3c6ef372, 0xa54ff53a,
             0x510e527f, 0x9b05688c, 0x1f83d9ab, 0x5be0cd19
     };
 
     // 常量（前64个质数的立方根小数部分前32位）
-    private static final int[] K = {
+    static final int[] K = {
             0x428a2f98, 0x71374491, 0xb5c0fbcf, 0xe9b5dba5, 0x3956c25b, 0x59f111f1,
             0x923f82a4, 0xab1c5ed5, 0xd807aa98, 0x12835b01, 0x243185be, 0x550c7dc3,
             0x72be5d74, 0x80deb1fe, 0x9bdc06a7, 0xc19bf174, 0xe49b69c1, 0xefbe4786,
@@ -25,51 +27,56 @@ public class SHA256 {
             0x90befffa, 0xa4506ceb, 0xbef9a3f7, 0xc67178f2
     };
 
-    public static byte[] hash(byte[] message) {
-        // 消息填充
-        byte[] padded = padMessage(message);
-        // 初始化哈希值
-        int[] hash = INIT_HASH.clone();
-        // 分块处理
-        for (int i = 0; i < padded.length; i += 64) {
-            processBlock(padded, i, hash);
-        }
-        return toByteArray(hash);
+    public static final int DIGEST_LENGTH = 32;
+
+    // 链接状态
+    private final int[] hash = new int[8];
+    // 消息扩展字，每个实例复用
+    private final int[] w = new int[64];
+
+    public SHA256() {
+        super(true);
+        resetState();
     }
 
-    // 消息填充（512位分组）
-    private static byte[] padMessage(byte[] message) {
-        int originalBits = message.length * 8;
-        int paddingBits = (512 - (originalBits % 512 + 65)) % 512;
+    private SHA256(SHA256 other) {
+        super(other);
+        System.arraycopy(other.hash, 0, hash, 0, 8);
+    }
 
-        byte[] padded = new byte[(originalBits + 1 + paddingBits + 64) / 8];
-        System.arraycopy(message, 0, padded, 0, message.length);
-        padded[message.length] = (byte)0x80; // 添加结束位
+    public static byte[] hash(byte[] message) {
+        SHA256 digest = new SHA256();
+        digest.update(message, 0, message.length);
+        return digest.digest();
+    }
 
-        // 添加长度信息（64位大端）
-        ByteBuffer.wrap(padded)
-                .position(padded.length - 8)
-                .putLong(originalBits);
+    @Override
+    public int getDigestLength() {
+        return DIGEST_LENGTH;
+    }
 
-        return padded;
+    @Override
+    public SHA256 copy() {
+        return new SHA256(this);
     }
 
     // 处理单个512位块
-    private static void processBlock(byte[] block, int offset, int[] hash) {
-        int[] w = new int[64];
-        ByteBuffer buffer = ByteBuffer.wrap(block, offset, 64)
-                .order(ByteOrder.BIG_ENDIAN);
-        // 前16个字
+    //
+    // 直接从源数组读取消息字，扩展到复用的64字数组；轮函数每8轮展开一次，
+    // 通过轮换变量名代替逐轮的8次赋值
+    @Override
+    protected void processBlock(byte[] block, int offset) {
+        int[] w = this.w;
+        int[] hash = this.hash;
         for (int i = 0; i < 16; i++) {
-            w[i] = buffer.getInt();
+            w[i] = getIntBE(block, offset + 4 * i);
         }
-        // 扩展剩余字
         for (int i = 16; i < 64; i++) {
-            int s0 = rotr(w[i-15], 7) ^ rotr(w[i-15], 18) ^ (w[i-15] >>> 3);
-            int s1 = rotr(w[i-2], 17) ^ rotr(w[i-2], 19) ^ (w[i-2] >>> 10);
-            w[i] = w[i-16] + s0 + w[i-7] + s1;
+            int w15 = w[i - 15];
+            int w2 = w[i - 2];
+            w[i] = w[i - 16] + (rotr(w15, 7) ^ rotr(w15, 18) ^ (w15 >>> 3)) + w[i - 7]
+                    + (rotr(w2, 17) ^ rotr(w2, 19) ^ (w2 >>> 10));
         }
-        // 初始化工作变量
         int a = hash[0];
         int b = hash[1];
         int c = hash[2];
@@ -79,21 +86,31 @@ public class SHA256 {
         int g = hash[6];
         int h = hash[7];
         // 主循环
-        for (int i = 0; i < 64; i++) {
-            int S1 = rotr(e, 6) ^ rotr(e, 11) ^ rotr(e, 25);
-            int ch = (e & f) ^ (~e & g);
-            int temp1 = h + S1 + ch + K[i] + w[i];
-            int S0 = rotr(a, 2) ^ rotr(a, 13) ^ rotr(a, 22);
-            int maj = (a & b) ^ (a & c) ^ (b & c);
-            int temp2 = S0 + maj;
-            h = g;
-            g = f;
-            f = e;
-            e = d + temp1;
-            d = c;
-            c = b;
-            b = a;
-            a = temp1 + temp2;
+        for (int i = 0; i < 64; i += 8) {
+            h += (rotr(e, 6) ^ rotr(e, 11) ^ rotr(e, 25)) + ((e & f) ^ (~e & g)) + K[i] + w[i];
+            d += h;
+            h += (rotr(a, 2) ^ rotr(a, 13) ^ rotr(a, 22)) + ((a & b) ^ (a & c) ^ (b & c));
+            g += (rotr(d, 6) ^ rotr(d, 11) ^ rotr(d, 25)) + ((d & e) ^ (~d & f)) + K[i + 1] + w[i + 1];
+            c += g;
+            g += (rotr(h, 2) ^ rotr(h, 13) ^ rotr(h, 22)) + ((h & a) ^ (h & b) ^ (a & b));
+            f += (rotr(c, 6) ^ rotr(c, 11) ^ rotr(c, 25)) + ((c & d) ^ (~c & e)) + K[i + 2] + w[i + 2];
+            b += f;
+            f += (rotr(g, 2) ^ rotr(g, 13) ^ rotr(g, 22)) + ((g & h) ^ (g & a) ^ (h & a));
+            e += (rotr(b, 6) ^ rotr(b, 11) ^ rotr(b, 25)) + ((b & c) ^ (~b & d)) + K[i + 3] + w[i + 3];
+            a += e;
+            e += (rotr(f, 2) ^ rotr(f, 13) ^ rotr(f, 22)) + ((f & g) ^ (f & h) ^ (g & h));
+            d += (rotr(a, 6) ^ rotr(a, 11) ^ rotr(a, 25)) + ((a & b) ^ (~a & c)) + K[i + 4] + w[i + 4];
+            h += d;
+            d += (rotr(e, 2) ^ rotr(e, 13) ^ rotr(e, 22)) + ((e & f) ^ (e & g) ^ (f & g));
+            c += (rotr(h, 6) ^ rotr(h, 11) ^ rotr(h, 25)) + ((h & a) ^ (~h & b)) + K[i + 5] + w[i + 5];
+            g += c;
+            c += (rotr(d, 2) ^ rotr(d, 13) ^ rotr(d, 22)) + ((d & e) ^ (d & f) ^ (e & f));
+            b += (rotr(g, 6) ^ rotr(g, 11) ^ rotr(g, 25)) + ((g & h) ^ (~g & a)) + K[i + 6] + w[i + 6];
+            f += b;
+            b += (rotr(c, 2) ^ rotr(c, 13) ^ rotr(c, 22)) + ((c & d) ^ (c & e) ^ (d & e));
+            a += (rotr(f, 6) ^ rotr(f, 11) ^ rotr(f, 25)) + ((f & g) ^ (~f & h)) + K[i + 7] + w[i + 7];
+            e += a;
+            a += (rotr(b, 2) ^ rotr(b, 13) ^ rotr(b, 22)) + ((b & c) ^ (b & d) ^ (c & d));
         }
         // 更新哈希值
         hash[0] += a;
@@ -106,19 +123,23 @@ public class SHA256 {
         hash[7] += h;
     }
 
-    // 辅助方法：循环右移
-    private static int rotr(int value, int bits) {
-        return (value >>> bits) | (value << (32 - bits));
+    // 将哈希值按大端写出
+    @Override
+    protected void writeDigest(byte[] out, int off) {
+        for (int i = 0; i < 8; i++) {
+            putIntBE(hash[i], out, off + 4 * i);
+        }
     }
 
-    // 将哈希值转为字节数组
-    private static byte[] toByteArray(int[] hash) {
-        ByteBuffer buffer = ByteBuffer.allocate(32)
-                .order(ByteOrder.BIG_ENDIAN);
-        for (int h : hash) {
-            buffer.putInt(h);
-        }
-        return buffer.array();
+    @Override
+    protected void resetState() {
+        System.arraycopy(INIT_HASH, 0, hash, 0, 8);
+        Arrays.fill(w, 0);
+    }
+
+    // 辅助方法：循环右移
+    private static int rotr(int value, int bits) {
+        return Integer.rotateRight(value, bits);
     }
 
     // 测试用例
@@ -1,8 +1,16 @@
 package com.example.cryptographic_library.algorithm.hash;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
+import java.util.Objects;
 
-public class SHA3_512 {
+/**
+ * SHA3-512，实现{@link Digest}，可分段输入，只缓存不足一个分组（72字节）的数据
+ */
+public class SHA3_512 implements Digest {
     // 算法参数 (SHA3-512)
     private static final int BITRATE = 576;     // 72 字节块大小
     private static final int CAPACITY = 1024;   // 容量
@@ -21,120 +29,212 @@ public class SHA3_512 {
             0x8000000000008080L, 0x0000000080000001L, 0x8000000080008008L
     };
 
+    private static final int RATE = BITRATE / 8; // 72 字节
+    // 按小端一次读写8字节的lane
+    private static final VarHandle LANE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final long[] state = new long[25]; // 5x5状态数组（每个元素64位）
+    // 不足一个分组的输入
+    private final byte[] buffer = new byte[RATE];
+    private int bufferLength;
+
+    public SHA3_512() {
+    }
+
+    private SHA3_512(SHA3_512 other) {
+        System.arraycopy(other.state, 0, state, 0, 25);
+        System.arraycopy(other.buffer, 0, buffer, 0, RATE);
+        this.bufferLength = other.bufferLength;
+    }
+
     public static byte[] hash(byte[] input) {
-        long[] state = new long[25]; // 5x5状态数组（每个元素64位）
-        // 1. 消息填充
-        byte[] padded = pad(input);
-        // 2. 吸收阶段
-        for (int offset = 0; offset < padded.length; offset += BITRATE / 8) {
-            absorbBlock(padded, offset, state);
-            keccakF(state); // 应用Keccak-f置换
-        }
-        // 3. 挤压阶段（直接取前64 字节）
-        return squeeze(state);
+        SHA3_512 digest = new SHA3_512();
+        digest.update(input, 0, input.length);
+        return digest.digest();
     }
 
-    // SHA3-512专用填充规则
-    private static byte[] pad(byte[] input) {
-        int blockSize = BITRATE / 8; // 72 字节
-        int q = blockSize - (input.length % blockSize);
-        byte[] padded = Arrays.copyOf(input, input.length + (q == 1 ? blockSize : q));
-        padded[input.length] = 0x06;
-        padded[padded.length - 1] = (byte) 0x80;
-        return padded;
+    @Override
+    public int getDigestLength() {
+        return OUTPUT_LENGTH;
     }
 
-    // 吸收单个块（72 字节）
-    private static void absorbBlock(byte[] block, int offset, long[] state) {
-        for (int i = 0; i < BITRATE / 64; i++) {
-            state[i] ^= toLane(block, offset + i * 8);
-        }
+    @Override
+    public int getBlockSize() {
+        return RATE;
     }
 
-    // Keccak-f[1600]置换
-    private static void keccakF(long[] state) {
-        for (int round = 0; round < ROUNDS; round++) {
-            theta(state);
-            rhoPi(state);
-            chi(state);
-            iota(state, round);
+    // 吸收阶段：凑满一个分组就应用Keccak-f置换，整组数据直接从输入吸收
+    @Override
+    public void update(byte[] in, int off, int len) {
+        Objects.checkFromIndexSize(off, len, in.length);
+        if (bufferLength > 0) {
+            int n = Math.min(len, RATE - bufferLength);
+            System.arraycopy(in, off, buffer, bufferLength, n);
+            bufferLength += n;
+            off += n;
+            len -= n;
+            if (bufferLength < RATE) {
+                return;
+            }
+            absorbBlock(buffer, 0, state);
+            keccakF(state);
+            bufferLength = 0;
+        }
+        while (len >= RATE) {
+            absorbBlock(in, off, state);
+            keccakF(state);
+            off += RATE;
+            len -= RATE;
         }
+        System.arraycopy(in, off, buffer, 0, len);
+        bufferLength = len;
     }
 
-    // θ步骤（使用异或操作）
-    private static void theta(long[] a) {
-        long[] c = new long[5];
-        for (int x = 0; x < 5; x++) {
-            c[x] = a[x] ^ a[x + 5] ^ a[x + 10] ^ a[x + 15] ^ a[x + 20];
+    @Override
+    public void update(ByteBuffer in) {
+        if (in.hasArray()) {
+            update(in.array(), in.arrayOffset() + in.position(), in.remaining());
+            in.position(in.limit());
+            return;
         }
-        long[] d = new long[5];
-        for (int x = 0; x < 5; x++) {
-            int prev = (x + 4) % 5;
-            int next = (x + 1) % 5;
-            d[x] = c[prev] ^ Long.rotateLeft(c[next], 1);
-        }
-        for (int i = 0; i < 25; i++) {
-            a[i] ^= d[i % 5];
+        while (in.hasRemaining()) {
+            int n = Math.min(RATE - bufferLength, in.remaining());
+            in.get(buffer, bufferLength, n);
+            bufferLength += n;
+            if (bufferLength == RATE) {
+                absorbBlock(buffer, 0, state);
+                keccakF(state);
+                bufferLength = 0;
+            }
         }
     }
 
-    // ρ和π步骤合并实现
-    private static void rhoPi(long[] a) {
-        long[] temp = new long[25];
-        System.arraycopy(a, 0, temp, 0, 25);
-        int[] rotations = {
-                0, 1, 62, 28, 27,
-                36, 44, 6, 55, 20,
-                3, 10, 43, 25, 39,
-                41, 45, 15, 21, 8,
-                18, 2, 61, 56, 14
-        };
-        for (int i = 0; i < 25; i++) {
-            int x = i % 5;
-            int y = i / 5;
-            int newIndex = (2 * x + 3 * y) % 5 * 5 + y;
-            a[newIndex] = Long.rotateLeft(temp[i], rotations[i]);
+    // SHA3-512专用填充规则（0x06 ... 0x80），吸收最后一组后挤压输出
+    @Override
+    public int digest(byte[] out, int off) {
+        Objects.checkFromIndexSize(off, OUTPUT_LENGTH, out.length);
+        Arrays.fill(buffer, bufferLength, RATE, (byte) 0);
+        buffer[bufferLength] ^= 0x06;
+        buffer[RATE - 1] ^= (byte) 0x80;
+        absorbBlock(buffer, 0, state);
+        keccakF(state);
+        // 挤压阶段（直接取前64 字节）
+        for (int i = 0; i < OUTPUT_LENGTH; i += 8) {
+            fromLane(state[i / 8], out, off + i);
         }
+        reset();
+        return OUTPUT_LENGTH;
     }
 
-    // χ步骤
-    private static void chi(long[] a) {
-        long[] temp = Arrays.copyOf(a, 25);
-        for (int i = 0; i < 25; i++) {
-            int y = i / 5;
-            int x = i % 5;
-            a[i] = temp[i] ^ (~temp[y * 5 + (x + 1) % 5] & temp[y * 5 + (x + 2) % 5]);
-        }
+    @Override
+    public void reset() {
+        Arrays.fill(state, 0L);
+        Arrays.fill(buffer, (byte) 0);
+        bufferLength = 0;
     }
 
-    // ι步骤（应用轮常量）
-    private static void iota(long[] a, int round) {
-        a[0] ^= RC[round];
+    @Override
+    public SHA3_512 copy() {
+        return new SHA3_512(this);
     }
 
-    // 挤压输出（取前64 字节）
-    private static byte[] squeeze(long[] state) {
-        byte[] output = new byte[OUTPUT_LENGTH];
-        for (int i = 0; i < OUTPUT_LENGTH; i += 8) {
-            fromLane(state[i / 8], output, i);
+    // 吸收单个块（72 字节）
+    private static void absorbBlock(byte[] block, int offset, long[] state) {
+        for (int i = 0; i < BITRATE / 64; i++) {
+            state[i] ^= toLane(block, offset + i * 8);
         }
-        return output;
+    }
+
+    // Keccak-f[1600]置换
+    //
+    // 25个lane放在局部变量中，每轮的θ、ρ、π、χ、ι完全展开，ρ的循环移位量与π的位置都是常量，
+    // 没有取模运算，也不在堆上分配任何数组
+    private static void keccakF(long[] s) {
+        long a0 = s[0], a1 = s[1], a2 = s[2], a3 = s[3], a4 = s[4];
+        long a5 = s[5], a6 = s[6], a7 = s[7], a8 = s[8], a9 = s[9];
+        long a10 = s[10], a11 = s[11], a12 = s[12], a13 = s[13], a14 = s[14];
+        long a15 = s[15], a16 = s[16], a17 = s[17], a18 = s[18], a19 = s[19];
+        long a20 = s[20], a21 = s[21], a22 = s[22], a23 = s[23], a24 = s[24];
+        for (int round = 0; round < ROUNDS; round++) {
+            // θ
+            long c0 = a0 ^ a5 ^ a10 ^ a15 ^ a20;
+            long c1 = a1 ^ a6 ^ a11 ^ a16 ^ a21;
+            long c2 = a2 ^ a7 ^ a12 ^ a17 ^ a22;
+            long c3 = a3 ^ a8 ^ a13 ^ a18 ^ a23;
+            long c4 = a4 ^ a9 ^ a14 ^ a19 ^ a24;
+            long d0 = c4 ^ Long.rotateLeft(c1, 1);
+            long d1 = c0 ^ Long.rotateLeft(c2, 1);
+            long d2 = c1 ^ Long.rotateLeft(c3, 1);
+            long d3 = c2 ^ Long.rotateLeft(c4, 1);
+            long d4 = c3 ^ Long.rotateLeft(c0, 1);
+            // ρ与π：b[y, 2x+3y] = rotl(a[x, y] ^ d[x], r[x, y])
+            long b0 = a0 ^ d0;
+            long b1 = Long.rotateLeft(a6 ^ d1, 44);
+            long b2 = Long.rotateLeft(a12 ^ d2, 43);
+            long b3 = Long.rotateLeft(a18 ^ d3, 21);
+            long b4 = Long.rotateLeft(a24 ^ d4, 14);
+            long b5 = Long.rotateLeft(a3 ^ d3, 28);
+            long b6 = Long.rotateLeft(a9 ^ d4, 20);
+            long b7 = Long.rotateLeft(a10 ^ d0, 3);
+            long b8 = Long.rotateLeft(a16 ^ d1, 45);
+            long b9 = Long.rotateLeft(a22 ^ d2, 61);
+            long b10 = Long.rotateLeft(a1 ^ d1, 1);
+            long b11 = Long.rotateLeft(a7 ^ d2, 6);
+            long b12 = Long.rotateLeft(a13 ^ d3, 25);
+            long b13 = Long.rotateLeft(a19 ^ d4, 8);
+            long b14 = Long.rotateLeft(a20 ^ d0, 18);
+            long b15 = Long.rotateLeft(a4 ^ d4, 27);
+            long b16 = Long.rotateLeft(a5 ^ d0, 36);
+            long b17 = Long.rotateLeft(a11 ^ d1, 10);
+            long b18 = Long.rotateLeft(a17 ^ d2, 15);
+            long b19 = Long.rotateLeft(a23 ^ d3, 56);
+            long b20 = Long.rotateLeft(a2 ^ d2, 62);
+            long b21 = Long.rotateLeft(a8 ^ d3, 55);
+            long b22 = Long.rotateLeft(a14 ^ d4, 39);
+            long b23 = Long.rotateLeft(a15 ^ d0, 41);
+            long b24 = Long.rotateLeft(a21 ^ d1, 2);
+            // χ按平面计算，ι合并到a0
+            a0 = b0 ^ (~b1 & b2) ^ RC[round];
+            a1 = b1 ^ (~b2 & b3);
+            a2 = b2 ^ (~b3 & b4);
+            a3 = b3 ^ (~b4 & b0);
+            a4 = b4 ^ (~b0 & b1);
+            a5 = b5 ^ (~b6 & b7);
+            a6 = b6 ^ (~b7 & b8);
+            a7 = b7 ^ (~b8 & b9);
+            a8 = b8 ^ (~b9 & b5);
+            a9 = b9 ^ (~b5 & b6);
+            a10 = b10 ^ (~b11 & b12);
+            a11 = b11 ^ (~b12 & b13);
+            a12 = b12 ^ (~b13 & b14);
+            a13 = b13 ^ (~b14 & b10);
+            a14 = b14 ^ (~b10 & b11);
+            a15 = b15 ^ (~b16 & b17);
+            a16 = b16 ^ (~b17 & b18);
+            a17 = b17 ^ (~b18 & b19);
+            a18 = b18 ^ (~b19 & b15);
+            a19 = b19 ^ (~b15 & b16);
+            a20 = b20 ^ (~b21 & b22);
+            a21 = b21 ^ (~b22 & b23);
+            a22 = b22 ^ (~b23 & b24);
+            a23 = b23 ^ (~b24 & b20);
+            a24 = b24 ^ (~b20 & b21);
+        }
+        s[0] = a0; s[1] = a1; s[2] = a2; s[3] = a3; s[4] = a4;
+        s[5] = a5; s[6] = a6; s[7] = a7; s[8] = a8; s[9] = a9;
+        s[10] = a10; s[11] = a11; s[12] = a12; s[13] = a13; s[14] = a14;
+        s[15] = a15; s[16] = a16; s[17] = a17; s[18] = a18; s[19] = a19;
+        s[20] = a20; s[21] = a21; s[22] = a22; s[23] = a23; s[24] = a24;
     }
 
     // 小端字节序解码（8字节转long）
     private static long toLane(byte[] bytes, int offset) {
-        long value = 0;
-        for (int i = 0; i < 8; i++) {
-            value |= (bytes[offset + i] & 0xFFL) << (i * 8);
-        }
-        return value;
+        return (long) LANE.get(bytes, offset);
     }
 
     // 小端字节序编码（long转8 字节）
     private static void fromLane(long value, byte[] out, int offset) {
-        for (int i = 0; i < 8; i++) {
-            out[offset + i] = (byte) (value >> (i * 8));
-        }
+        LANE.set(out, offset, value);
     }
 
     // 测试用例
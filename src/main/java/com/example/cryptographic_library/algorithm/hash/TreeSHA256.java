@@ -0,0 +1,153 @@
+package com.example.cryptographic_library.algorithm.hash;
+
+import com.example.cryptographic_library.algorithm.symmetric.ParallelChunkExecutor;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 基于{@link SHA256}的树哈希，用于大文件/大对象指纹
+ *
+ * <p>输出与计算顺序、线程数无关，按以下规则可独立验证：
+ * <ul>
+ *   <li>叶子：输入按{@link #LEAF_SIZE}（1MiB）切片，最后一片可以更短；空输入视为一片空叶子。
+ *       leaf_i = SHA-256(0x00 || 第i片)</li>
+ *   <li>内部节点：把一层节点按顺序每{@link #FAN_OUT}（16）个分为一组，最后一组可以不足，
+ *       node = SHA-256(0x01 || 各子节点摘要依次拼接)；重复直到一层不超过FAN_OUT个节点</li>
+ *   <li>根：root = SHA-256(0x02 || 顶层各节点摘要依次拼接 || 输入总字节数的8字节大端)</li>
+ * </ul>
+ * 首字节区分叶子、内部节点与根，叶子的摘要不会被当作内部节点接受；根绑定了总长度</p>
+ *
+ * <p>叶子经{@link ParallelChunkExecutor}在所有核上并行计算，内部节点数据量很小，在调用线程上合并。
+ * 结果与普通的SHA-256不同，不能混用</p>
+ */
+public final class TreeSHA256 {
+    public static final int LEAF_SIZE = 1024 * 1024;
+    public static final int FAN_OUT = 16;
+    public static final byte LEAF_PREFIX = 0x00;
+    public static final byte NODE_PREFIX = 0x01;
+    public static final byte ROOT_PREFIX = 0x02;
+
+    private static final byte[] LEAF = {LEAF_PREFIX};
+    private static final byte[] NODE = {NODE_PREFIX};
+    private static final byte[] ROOT = {ROOT_PREFIX};
+    // 从文件读取叶子时每次读入的字节数
+    private static final int READ_BYTES = 64 * 1024;
+    private static final int DIGEST_LENGTH = SHA256.DIGEST_LENGTH;
+
+    private TreeSHA256() {
+    }
+
+    /**
+     * 计算内存中数据的树哈希
+     */
+    public static byte[] hash(byte[] data) {
+        int leaves = leafCount(data.length);
+        byte[] level = new byte[leaves * DIGEST_LENGTH];
+        ParallelChunkExecutor.getDefault().forEachRange(leaves, LEAF_SIZE, (from, to) -> {
+            SHA256 digest = new SHA256();
+            for (int i = from; i < to; i++) {
+                int start = i * LEAF_SIZE;
+                digest.update(LEAF, 0, 1);
+                digest.update(data, start, Math.min(LEAF_SIZE, data.length - start));
+                digest.digest(level, i * DIGEST_LENGTH);
+            }
+        });
+        return root(level, data.length);
+    }
+
+    /**
+     * 计算文件的树哈希
+     * @throws IOException 读取文件失败时抛出
+     */
+    public static byte[] hash(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return hash(channel);
+        }
+    }
+
+    /**
+     * 计算通道中[0, size)的树哈希，只使用按位置读取，不改变通道的当前位置
+     * @throws IOException 读取失败时抛出
+     */
+    public static byte[] hash(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int leaves = leafCount(size);
+        byte[] level = new byte[leaves * DIGEST_LENGTH];
+        try {
+            ParallelChunkExecutor.getDefault().forEachRange(leaves, LEAF_SIZE, (from, to) -> {
+                SHA256 digest = new SHA256();
+                ByteBuffer buffer = ByteBuffer.allocate(READ_BYTES);
+                for (int i = from; i < to; i++) {
+                    long start = (long) i * LEAF_SIZE;
+                    long end = Math.min(size, start + LEAF_SIZE);
+                    digest.update(LEAF, 0, 1);
+                    for (long pos = start; pos < end; pos += buffer.capacity()) {
+                        buffer.clear().limit((int) Math.min(buffer.capacity(), end - pos));
+                        readFully(channel, buffer, pos);
+                        buffer.flip();
+                        digest.update(buffer);
+                    }
+                    digest.digest(level, i * DIGEST_LENGTH);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return root(level, size);
+    }
+
+    private static int leafCount(long length) {
+        long leaves = Math.max(1, (length + LEAF_SIZE - 1) / LEAF_SIZE);
+        if (leaves > Integer.MAX_VALUE / DIGEST_LENGTH) {
+            throw new IllegalArgumentException("输入过大");
+        }
+        return (int) leaves;
+    }
+
+    // 逐层合并叶子摘要，直到不超过FAN_OUT个节点，再计算根
+    private static byte[] root(byte[] level, long length) {
+        SHA256 digest = new SHA256();
+        int nodes = level.length / DIGEST_LENGTH;
+        while (nodes > FAN_OUT) {
+            int parents = (nodes + FAN_OUT - 1) / FAN_OUT;
+            byte[] next = new byte[parents * DIGEST_LENGTH];
+            for (int p = 0; p < parents; p++) {
+                int first = p * FAN_OUT;
+                int children = Math.min(FAN_OUT, nodes - first);
+                digest.update(NODE, 0, 1);
+                digest.update(level, first * DIGEST_LENGTH, children * DIGEST_LENGTH);
+                digest.digest(next, p * DIGEST_LENGTH);
+            }
+            level = next;
+            nodes = parents;
+        }
+        byte[] suffix = new byte[8];
+        for (int i = 0; i < 8; i++) {
+            suffix[i] = (byte) (length >>> (56 - 8 * i));
+        }
+        digest.update(ROOT, 0, 1);
+        digest.update(level, 0, nodes * DIGEST_LENGTH);
+        digest.update(suffix, 0, 8);
+        return digest.digest();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) {
+        try {
+            while (buffer.hasRemaining()) {
+                int n = channel.read(buffer, position);
+                if (n < 0) {
+                    throw new EOFException("文件在读取过程中被截断");
+                }
+                position += n;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
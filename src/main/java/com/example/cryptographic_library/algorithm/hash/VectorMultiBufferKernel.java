@@ -0,0 +1,85 @@
+package com.example.cryptographic_library.algorithm.hash;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * 基于Vector API的多消息SHA-256内核，由{@link MultiBufferKernel#VECTOR}反射加载
+ *
+ * <p>每个int通道承载一条消息，消息扩展与64轮都只有按位运算、循环移位和加法，
+ * 一条向量指令同时推进所有通道，各通道结果与标量实现逐位一致</p>
+ *
+ * <p>通道数最多取8（256位向量）：批次中的消息长度参差不齐，通道越多，
+ * 批次末尾空转的通道越多，512位向量在短消息负载下得不偿失</p>
+ */
+final class VectorMultiBufferKernel implements MultiBufferKernel {
+    private static final VectorSpecies<Integer> SPECIES =
+            IntVector.SPECIES_PREFERRED.length() > 8 ? IntVector.SPECIES_256 : IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    @Override
+    public int lanes() {
+        return LANES;
+    }
+
+    @Override
+    public void compress(int[] state, int[] words) {
+        // 消息扩展
+        for (int t = 16; t < 64; t++) {
+            IntVector w15 = load(words, t - 15);
+            IntVector w2 = load(words, t - 2);
+            IntVector s0 = w15.lanewise(VectorOperators.ROR, 7)
+                    .lanewise(VectorOperators.XOR, w15.lanewise(VectorOperators.ROR, 18))
+                    .lanewise(VectorOperators.XOR, w15.lanewise(VectorOperators.LSHR, 3));
+            IntVector s1 = w2.lanewise(VectorOperators.ROR, 17)
+                    .lanewise(VectorOperators.XOR, w2.lanewise(VectorOperators.ROR, 19))
+                    .lanewise(VectorOperators.XOR, w2.lanewise(VectorOperators.LSHR, 10));
+            load(words, t - 16).add(s0).add(load(words, t - 7)).add(s1).intoArray(words, t * LANES);
+        }
+        IntVector a = load(state, 0);
+        IntVector b = load(state, 1);
+        IntVector c = load(state, 2);
+        IntVector d = load(state, 3);
+        IntVector e = load(state, 4);
+        IntVector f = load(state, 5);
+        IntVector g = load(state, 6);
+        IntVector h = load(state, 7);
+        // 主循环
+        for (int t = 0; t < 64; t++) {
+            IntVector S1 = e.lanewise(VectorOperators.ROR, 6)
+                    .lanewise(VectorOperators.XOR, e.lanewise(VectorOperators.ROR, 11))
+                    .lanewise(VectorOperators.XOR, e.lanewise(VectorOperators.ROR, 25));
+            // ch = g ^ (e & (f ^ g))
+            IntVector ch = g.lanewise(VectorOperators.XOR, e.and(f.lanewise(VectorOperators.XOR, g)));
+            IntVector temp1 = h.add(S1).add(ch).add(SHA256.K[t]).add(load(words, t));
+            IntVector S0 = a.lanewise(VectorOperators.ROR, 2)
+                    .lanewise(VectorOperators.XOR, a.lanewise(VectorOperators.ROR, 13))
+                    .lanewise(VectorOperators.XOR, a.lanewise(VectorOperators.ROR, 22));
+            // maj = (a & b) | (c & (a | b))
+            IntVector maj = a.and(b).or(c.and(a.or(b)));
+            h = g;
+            g = f;
+            f = e;
+            e = d.add(temp1);
+            d = c;
+            c = b;
+            b = a;
+            a = temp1.add(S0).add(maj);
+        }
+        // 更新哈希值
+        load(state, 0).add(a).intoArray(state, 0);
+        load(state, 1).add(b).intoArray(state, LANES);
+        load(state, 2).add(c).intoArray(state, 2 * LANES);
+        load(state, 3).add(d).intoArray(state, 3 * LANES);
+        load(state, 4).add(e).intoArray(state, 4 * LANES);
+        load(state, 5).add(f).intoArray(state, 5 * LANES);
+        load(state, 6).add(g).intoArray(state, 6 * LANES);
+        load(state, 7).add(h).intoArray(state, 7 * LANES);
+    }
+
+    // 第i个字的全部通道
+    private static IntVector load(int[] array, int i) {
+        return IntVector.fromArray(SPECIES, array, i * LANES);
+    }
+}
@@ -1,9 +1,17 @@
 package com.example.cryptographic_library.algorithm.symmetric;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
-public class AES {
+/**
+ * AES分组密码（FIPS 197），支持128/192/256位密钥
+ *
+ * <p>工作模式由{@link BlockCipherMode}统一实现，本类保留常用模式的便捷方法</p>
+ */
+public class AES implements BlockCipher {
     private static final int BLOCK_SIZE = 16;
+    // 直接缓冲区批量读写时的中转数组大小
+    private static final int BUFFER_CHUNK = 4096;
     private static final int[] SBOX = {
             0x63, 0x7C, 0x77, 0x7B, 0xF2, 0x6B, 0x6F, 0xC5, 0x30, 0x01, 0x67, 0x2B, 0xFE, 0xD7, 0xAB, 0x76,
             0xCA, 0x82, 0xC9, 0x7D, 0xFA, 0x59, 0x47, 0xF0, 0xAD, 0xD4, 0xA2, 0xAF, 0x9C, 0xA4, 0x72, 0xC0,
@@ -42,9 +50,41 @@ public class AES {
     };//填充逆S盒
     private static final int[] RCON = {0x01, 0x02, 0x04, 0x08, 0x10, 0x20, 0x40, 0x80, 0x1b, 0x36};
 
+    // 加密T表：TE0[x] = (2·S[x], S[x], S[x], 3·S[x])，TE1~TE3为TE0循环右移8/16/24位
+    private static final int[] TE0 = new int[256];
+    private static final int[] TE1 = new int[256];
+    private static final int[] TE2 = new int[256];
+    private static final int[] TE3 = new int[256];
+    // 解密T表：TD0[x] = (e·S⁻¹[x], 9·S⁻¹[x], d·S⁻¹[x], b·S⁻¹[x])，TD1~TD3同理
+    private static final int[] TD0 = new int[256];
+    private static final int[] TD1 = new int[256];
+    private static final int[] TD2 = new int[256];
+    private static final int[] TD3 = new int[256];
+
+    static {
+        for (int x = 0; x < 256; x++) {
+            int s = SBOX[x];
+            int te = (mul(0x02, s) << 24) | (s << 16) | (s << 8) | mul(0x03, s);
+            TE0[x] = te;
+            TE1[x] = Integer.rotateRight(te, 8);
+            TE2[x] = Integer.rotateRight(te, 16);
+            TE3[x] = Integer.rotateRight(te, 24);
+
+            int is = INV_SBOX[x];
+            int td = (mul(0x0e, is) << 24) | (mul(0x09, is) << 16) | (mul(0x0d, is) << 8) | mul(0x0b, is);
+            TD0[x] = td;
+            TD1[x] = Integer.rotateRight(td, 8);
+            TD2[x] = Integer.rotateRight(td, 16);
+            TD3[x] = Integer.rotateRight(td, 24);
+        }
+    }
+
     private final int rounds;
-    private final int[][] roundKeys;
-//    private final byte[] iv;
+    private final int[] encKeys; // 加密轮密钥，4*(rounds+1)个字
+    private final int[] decKeys; // 等价逆密码的解密轮密钥（逆序且经过InvMixColumns变换）
+    private final BlockCipherMode ecb = new BlockCipherMode(this, BlockCipherMode.Mode.ECB);
+    private final BlockCipherMode cbc = new BlockCipherMode(this, BlockCipherMode.Mode.CBC);
+    private final BlockCipherMode ctr = new BlockCipherMode(this, BlockCipherMode.Mode.CTR);
 
     private void validateKey(byte[] key) {
         if (key == null) throw new IllegalArgumentException("密钥不能为空");
@@ -57,199 +97,288 @@ public class AES {
 
     public AES(byte[] key) {
         validateKey(key);
-        //this.iv = Arrays.copyOf(iv, BLOCK_SIZE);
         this.rounds = key.length / 4 + 6; // 10/12/14 rounds
-        this.roundKeys = keyExpansion(key);
+        this.encKeys = keyExpansion(key);
+        this.decKeys = invertKeys(encKeys);
     }
 
-    // ECB加密
+    @Override
+    public int getBlockSize() {
+        return BLOCK_SIZE;
+    }
+
+    // ECB加密（PKCS7填充）
     public byte[] encrypt(byte[] plaintext) {
-        byte[] padded = applyPadding(plaintext);
-        byte[] ciphertext = new byte[padded.length];
-        //byte[] prevBlock = Arrays.copyOf(iv, BLOCK_SIZE);
-
-        for (int i = 0; i < padded.length; i += BLOCK_SIZE) {
-            byte[] block = Arrays.copyOfRange(padded, i, i + BLOCK_SIZE);
-            //xorBlocks(block, prevBlock);
-            encryptBlock(block);
-            System.arraycopy(block, 0, ciphertext, i, BLOCK_SIZE);
-            //prevBlock = Arrays.copyOf(block, BLOCK_SIZE);
-        }
-        return ciphertext;
+        return ecb.encrypt(null, plaintext);
     }
 
     // ECB解密
     public byte[] decrypt(byte[] ciphertext) {
-        byte[] plaintext = new byte[ciphertext.length];
-        //byte[] prevBlock = Arrays.copyOf(iv, BLOCK_SIZE);
+        return ecb.decrypt(null, ciphertext);
+    }
 
-        for (int i = 0; i < ciphertext.length; i += BLOCK_SIZE) {
-            byte[] block = Arrays.copyOfRange(ciphertext, i, i + BLOCK_SIZE);
-            //byte[] temp = Arrays.copyOf(block, BLOCK_SIZE);
+    /**
+     * 批量加密连续分组（ECB，无填充）：in[inOff..inOff+len) -> out[outOff..outOff+len)
+     *
+     * <p>直接读写调用方数组，不产生任何逐分组分配；输入输出可为同一数组，区间重叠时同样正确</p>
+     * @param len 字节数，必须是16的倍数
+     */
+    @Override
+    public void encryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        processBlocks(in, inOff, out, outOff, len, true);
+    }
 
-            decryptBlock(block);
-            //xorBlocks(block, prevBlock);
-            System.arraycopy(block, 0, plaintext, i, BLOCK_SIZE);
-            //prevBlock = temp;
-        }
-        return removePadding(plaintext);
+    // 批量解密连续分组（ECB，无填充），约束同encryptBlocks
+    @Override
+    public void decryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        processBlocks(in, inOff, out, outOff, len, false);
     }
 
-    // 核心加密块处理
-    public void encryptBlock(byte[] state) {
-        addRoundKey(state, 0);
-        for (int round = 1; round <= rounds; round++) {
-            subBytes(state);
-            shiftRows(state);
-            if (round < rounds) mixColumns(state);
-            addRoundKey(state, round);
-        }
+    // 原地批量加密buf[off..off+len)
+    public void encryptBlocks(byte[] buf, int off, int len) {
+        processBlocks(buf, off, buf, off, len, true);
     }
 
-    // 核心解密块处理
-    public void decryptBlock(byte[] state) {
-        addRoundKey(state, rounds);
-        for (int round = rounds - 1; round >= 0; round--) {
-            invShiftRows(state);
-            invSubBytes(state);
-            addRoundKey(state, round);
-            if (round > 0) invMixColumns(state);
-        }
+    // 原地批量解密buf[off..off+len)
+    public void decryptBlocks(byte[] buf, int off, int len) {
+        processBlocks(buf, off, buf, off, len, false);
     }
 
-    // 轮密钥加
-    private void addRoundKey(byte[] state, int round) {
-        for (int i = 0; i < 4; i++) {
-            for (int j = 0; j < 4; j++) {
-                // 状态数组是按列顺序排列的
-                // state[i*4+j]表示第j行第i列的值
-                state[i*4 + j] ^= ((roundKeys[round][i] >>> (24 - 8 * j)) & 0xFF);
+    /**
+     * 批量加密in的剩余字节写入out，两者position前移相应长度
+     *
+     * <p>堆缓冲区直接访问底层数组；直接缓冲区经单个中转数组分段批量读写</p>
+     */
+    public void encryptBlocks(ByteBuffer in, ByteBuffer out) {
+        processBuffers(in, out, true);
+    }
+
+    // 批量解密in的剩余字节写入out
+    public void decryptBlocks(ByteBuffer in, ByteBuffer out) {
+        processBuffers(in, out, false);
+    }
+
+    // 原地批量加密buffer的剩余字节
+    public void encryptBlocks(ByteBuffer buffer) {
+        processBuffers(buffer.duplicate(), buffer, true);
+    }
+
+    // 原地批量解密buffer的剩余字节
+    public void decryptBlocks(ByteBuffer buffer) {
+        processBuffers(buffer.duplicate(), buffer, false);
+    }
+
+    private void processBlocks(byte[] in, int inOff, byte[] out, int outOff, int len, boolean encrypt) {
+        if (len % BLOCK_SIZE != 0) {
+            throw new IllegalArgumentException("数据长度必须是16的倍数");
+        }
+        if (inOff < 0 || outOff < 0 || len < 0 || inOff > in.length - len || outOff > out.length - len) {
+            throw new IllegalArgumentException("缓冲区越界");
+        }
+        // 同一数组且输出在输入之后重叠时需从后往前处理，避免覆盖尚未读取的输入
+        if (in == out && outOff > inOff && outOff < inOff + len) {
+            for (int i = len - BLOCK_SIZE; i >= 0; i -= BLOCK_SIZE) {
+                processBlock(in, inOff + i, out, outOff + i, encrypt);
             }
+            return;
+        }
+        for (int i = 0; i < len; i += BLOCK_SIZE) {
+            processBlock(in, inOff + i, out, outOff + i, encrypt);
         }
     }
 
-    // 字节替换（加密用）
-    private void subBytes(byte[] state) {
-        for (int i = 0; i < BLOCK_SIZE; i++) {
-            state[i] = (byte) SBOX[state[i] & 0xFF];
+    private void processBlock(byte[] in, int inOff, byte[] out, int outOff, boolean encrypt) {
+        if (encrypt) {
+            encryptBlock(in, inOff, out, outOff);
+        } else {
+            decryptBlock(in, inOff, out, outOff);
         }
     }
 
-    // 逆字节替换（解密用）
-    private void invSubBytes(byte[] state) {
-        for (int i = 0; i < BLOCK_SIZE; i++) {
-            state[i] = (byte) INV_SBOX[state[i] & 0xFF];
+    private void processBuffers(ByteBuffer in, ByteBuffer out, boolean encrypt) {
+        int len = in.remaining();
+        if (out.remaining() < len) {
+            throw new IllegalArgumentException("输出缓冲区空间不足");
+        }
+        if (in.hasArray() && out.hasArray()) {
+            processBlocks(in.array(), in.arrayOffset() + in.position(),
+                    out.array(), out.arrayOffset() + out.position(), len, encrypt);
+            in.position(in.position() + len);
+            out.position(out.position() + len);
+            return;
+        }
+        if (len % BLOCK_SIZE != 0) {
+            throw new IllegalArgumentException("数据长度必须是16的倍数");
+        }
+        byte[] chunk = new byte[Math.min(len, BUFFER_CHUNK)];
+        while (in.hasRemaining()) {
+            int n = Math.min(chunk.length, in.remaining());
+            in.get(chunk, 0, n);
+            processBlocks(chunk, 0, chunk, 0, n, encrypt);
+            out.put(chunk, 0, n);
         }
     }
 
-    // 行移位（加密用）
-    private void shiftRows(byte[] state) {
-        byte[] temp = new byte[BLOCK_SIZE];
-        
-        // 注意：state是按列存储的（AES标准），所以需要正确映射索引
-        
-        // 第0行不移位
-        temp[0] = state[0];  // (0,0)
-        temp[4] = state[4];  // (0,1)  
-        temp[8] = state[8];  // (0,2)
-        temp[12] = state[12]; // (0,3)
-        
-        // 第1行左移1字节
-        temp[1] = state[5];  // (1,0) <- (1,1)
-        temp[5] = state[9];  // (1,1) <- (1,2)
-        temp[9] = state[13]; // (1,2) <- (1,3)
-        temp[13] = state[1]; // (1,3) <- (1,0)
-        
-        // 第2行左移2字节
-        temp[2] = state[10]; // (2,0) <- (2,2)
-        temp[6] = state[14]; // (2,1) <- (2,3)
-        temp[10] = state[2]; // (2,2) <- (2,0)
-        temp[14] = state[6]; // (2,3) <- (2,1)
-        
-        // 第3行左移3字节
-        temp[3] = state[15]; // (3,0) <- (3,3)
-        temp[7] = state[3];  // (3,1) <- (3,0)
-        temp[11] = state[7]; // (3,2) <- (3,1)
-        temp[15] = state[11]; // (3,3) <- (3,2)
-        
-        System.arraycopy(temp, 0, state, 0, BLOCK_SIZE);
+    /**
+     * CBC模式加密（PKCS7填充）
+     * @param iv 16字节初始向量
+     * @param plaintext 明文
+     * @return 密文
+     */
+    public byte[] encryptCBC(byte[] iv, byte[] plaintext) {
+        return cbc.encrypt(iv, plaintext);
     }
 
-    // 逆行移位（解密用）
-    private void invShiftRows(byte[] state) {
-        byte[] temp = new byte[BLOCK_SIZE];
-        
-        // 第0行不移位
-        temp[0] = state[0];
-        temp[4] = state[4];
-        temp[8] = state[8];
-        temp[12] = state[12];
-        
-        // 第1行右移1字节
-        temp[1] = state[13];
-        temp[5] = state[1];
-        temp[9] = state[5];
-        temp[13] = state[9];
-        
-        // 第2行右移2字节
-        temp[2] = state[10];
-        temp[6] = state[14];
-        temp[10] = state[2];
-        temp[14] = state[6];
-        
-        // 第3行右移3字节
-        temp[3] = state[7];
-        temp[7] = state[11];
-        temp[11] = state[15];
-        temp[15] = state[3];
-        
-        System.arraycopy(temp, 0, state, 0, BLOCK_SIZE);
+    /**
+     * CBC模式解密（自动去除PKCS7填充）
+     *
+     * <p>每个分组只依赖自身与前一个密文分组，大数据量时按分组区间拆分到ForkJoinPool并行解密</p>
+     * @param iv 加密时使用的16字节初始向量
+     * @param ciphertext 密文
+     * @return 明文
+     */
+    public byte[] decryptCBC(byte[] iv, byte[] ciphertext) {
+        return cbc.decrypt(iv, ciphertext);
     }
 
-    // 列混淆（加密用）
-    private void mixColumns(byte[] state) {
-        for (int c = 0; c < 4; c++) {
-            int col = c * 4;
-            byte s0 = state[col];
-            byte s1 = state[col + 1];
-            byte s2 = state[col + 2];
-            byte s3 = state[col + 3];
-            
-            byte t0 = (byte)(mul(0x02, s0 & 0xff) ^ mul(0x03, s1 & 0xff) ^ (s2 & 0xff) ^ (s3 & 0xff));
-            byte t1 = (byte)((s0 & 0xff) ^ mul(0x02, s1 & 0xff) ^ mul(0x03, s2 & 0xff) ^ (s3 & 0xff));
-            byte t2 = (byte)((s0 & 0xff) ^ (s1 & 0xff) ^ mul(0x02, s2 & 0xff) ^ mul(0x03, s3 & 0xff));
-            byte t3 = (byte)(mul(0x03, s0 & 0xff) ^ (s1 & 0xff) ^ (s2 & 0xff) ^ mul(0x02, s3 & 0xff));
-            
-            state[col] = t0;
-            state[col + 1] = t1;
-            state[col + 2] = t2;
-            state[col + 3] = t3;
+    /**
+     * CTR模式加密（加解密为同一操作，无需填充）
+     *
+     * <p>计数器为128位大端整数，初始值为iv，每个分组加1。大数据量时按互不重叠的
+     * 计数器区间拆分到ForkJoinPool并行生成密钥流</p>
+     * @param iv 16字节初始计数器块
+     * @param input 明文或密文，任意长度
+     * @return 与输入等长的输出
+     */
+    public byte[] encryptCTR(byte[] iv, byte[] input) {
+        return ctr.encrypt(iv, input);
+    }
+
+    // CTR解密
+    public byte[] decryptCTR(byte[] iv, byte[] input) {
+        return ctr.decrypt(iv, input);
+    }
+
+    /**
+     * 打开CTR预计算会话：后台线程把从iv开始的密钥流预先生成到环形缓冲区，
+     * 之后每条消息只需一次异或，适用于固定密钥的长会话。会话不再使用时必须关闭
+     * @param iv 16字节初始计数器块
+     * @see CtrSession
+     */
+    public CtrSession openCtrSession(byte[] iv) {
+        return new CtrSession(this, iv);
+    }
+
+    // 核心加密块处理（原地）
+    public void encryptBlock(byte[] state) {
+        encryptBlock(state, 0, state, 0);
+    }
+
+    // 核心解密块处理（原地）
+    public void decryptBlock(byte[] state) {
+        decryptBlock(state, 0, state, 0);
+    }
+
+    /**
+     * 加密单个分组：in[inOff..inOff+16) -> out[outOff..outOff+16)
+     *
+     * <p>基于32位字与T表实现，每轮仅需16次查表与异或，允许输入输出为同一数组的同一位置</p>
+     */
+    @Override
+    public void encryptBlock(byte[] in, int inOff, byte[] out, int outOff) {
+        int[] rk = encKeys;
+        int s0 = getInt(in, inOff) ^ rk[0];
+        int s1 = getInt(in, inOff + 4) ^ rk[1];
+        int s2 = getInt(in, inOff + 8) ^ rk[2];
+        int s3 = getInt(in, inOff + 12) ^ rk[3];
+        int t0, t1, t2, t3;
+        int k = 4;
+
+        for (int round = 1; round < rounds; round++) {
+            t0 = TE0[s0 >>> 24] ^ TE1[(s1 >>> 16) & 0xFF] ^ TE2[(s2 >>> 8) & 0xFF] ^ TE3[s3 & 0xFF] ^ rk[k];
+            t1 = TE0[s1 >>> 24] ^ TE1[(s2 >>> 16) & 0xFF] ^ TE2[(s3 >>> 8) & 0xFF] ^ TE3[s0 & 0xFF] ^ rk[k + 1];
+            t2 = TE0[s2 >>> 24] ^ TE1[(s3 >>> 16) & 0xFF] ^ TE2[(s0 >>> 8) & 0xFF] ^ TE3[s1 & 0xFF] ^ rk[k + 2];
+            t3 = TE0[s3 >>> 24] ^ TE1[(s0 >>> 16) & 0xFF] ^ TE2[(s1 >>> 8) & 0xFF] ^ TE3[s2 & 0xFF] ^ rk[k + 3];
+            s0 = t0;
+            s1 = t1;
+            s2 = t2;
+            s3 = t3;
+            k += 4;
         }
+
+        // 最后一轮没有列混淆
+        t0 = (SBOX[s0 >>> 24] << 24) | (SBOX[(s1 >>> 16) & 0xFF] << 16)
+                | (SBOX[(s2 >>> 8) & 0xFF] << 8) | SBOX[s3 & 0xFF];
+        t1 = (SBOX[s1 >>> 24] << 24) | (SBOX[(s2 >>> 16) & 0xFF] << 16)
+                | (SBOX[(s3 >>> 8) & 0xFF] << 8) | SBOX[s0 & 0xFF];
+        t2 = (SBOX[s2 >>> 24] << 24) | (SBOX[(s3 >>> 16) & 0xFF] << 16)
+                | (SBOX[(s0 >>> 8) & 0xFF] << 8) | SBOX[s1 & 0xFF];
+        t3 = (SBOX[s3 >>> 24] << 24) | (SBOX[(s0 >>> 16) & 0xFF] << 16)
+                | (SBOX[(s1 >>> 8) & 0xFF] << 8) | SBOX[s2 & 0xFF];
+
+        putInt(t0 ^ rk[k], out, outOff);
+        putInt(t1 ^ rk[k + 1], out, outOff + 4);
+        putInt(t2 ^ rk[k + 2], out, outOff + 8);
+        putInt(t3 ^ rk[k + 3], out, outOff + 12);
     }
 
-    // 逆列混淆（解密用）
-    private void invMixColumns(byte[] state) {
-        for (int c = 0; c < 4; c++) {
-            int col = c * 4;
-            byte s0 = state[col];
-            byte s1 = state[col + 1];
-            byte s2 = state[col + 2];
-            byte s3 = state[col + 3];
-            
-            byte t0 = (byte)(mul(0x0e, s0 & 0xff) ^ mul(0x0b, s1 & 0xff) ^ mul(0x0d, s2 & 0xff) ^ mul(0x09, s3 & 0xff));
-            byte t1 = (byte)(mul(0x09, s0 & 0xff) ^ mul(0x0e, s1 & 0xff) ^ mul(0x0b, s2 & 0xff) ^ mul(0x0d, s3 & 0xff));
-            byte t2 = (byte)(mul(0x0d, s0 & 0xff) ^ mul(0x09, s1 & 0xff) ^ mul(0x0e, s2 & 0xff) ^ mul(0x0b, s3 & 0xff));
-            byte t3 = (byte)(mul(0x0b, s0 & 0xff) ^ mul(0x0d, s1 & 0xff) ^ mul(0x09, s2 & 0xff) ^ mul(0x0e, s3 & 0xff));
-            
-            state[col] = t0;
-            state[col + 1] = t1;
-            state[col + 2] = t2;
-            state[col + 3] = t3;
+    /**
+     * 解密单个分组：in[inOff..inOff+16) -> out[outOff..outOff+16)
+     *
+     * <p>采用等价逆密码结构，与加密共用相同的轮函数形态</p>
+     */
+    @Override
+    public void decryptBlock(byte[] in, int inOff, byte[] out, int outOff) {
+        int[] rk = decKeys;
+        int s0 = getInt(in, inOff) ^ rk[0];
+        int s1 = getInt(in, inOff + 4) ^ rk[1];
+        int s2 = getInt(in, inOff + 8) ^ rk[2];
+        int s3 = getInt(in, inOff + 12) ^ rk[3];
+        int t0, t1, t2, t3;
+        int k = 4;
+
+        for (int round = 1; round < rounds; round++) {
+            t0 = TD0[s0 >>> 24] ^ TD1[(s3 >>> 16) & 0xFF] ^ TD2[(s2 >>> 8) & 0xFF] ^ TD3[s1 & 0xFF] ^ rk[k];
+            t1 = TD0[s1 >>> 24] ^ TD1[(s0 >>> 16) & 0xFF] ^ TD2[(s3 >>> 8) & 0xFF] ^ TD3[s2 & 0xFF] ^ rk[k + 1];
+            t2 = TD0[s2 >>> 24] ^ TD1[(s1 >>> 16) & 0xFF] ^ TD2[(s0 >>> 8) & 0xFF] ^ TD3[s3 & 0xFF] ^ rk[k + 2];
+            t3 = TD0[s3 >>> 24] ^ TD1[(s2 >>> 16) & 0xFF] ^ TD2[(s1 >>> 8) & 0xFF] ^ TD3[s0 & 0xFF] ^ rk[k + 3];
+            s0 = t0;
+            s1 = t1;
+            s2 = t2;
+            s3 = t3;
+            k += 4;
         }
+
+        t0 = (INV_SBOX[s0 >>> 24] << 24) | (INV_SBOX[(s3 >>> 16) & 0xFF] << 16)
+                | (INV_SBOX[(s2 >>> 8) & 0xFF] << 8) | INV_SBOX[s1 & 0xFF];
+        t1 = (INV_SBOX[s1 >>> 24] << 24) | (INV_SBOX[(s0 >>> 16) & 0xFF] << 16)
+                | (INV_SBOX[(s3 >>> 8) & 0xFF] << 8) | INV_SBOX[s2 & 0xFF];
+        t2 = (INV_SBOX[s2 >>> 24] << 24) | (INV_SBOX[(s1 >>> 16) & 0xFF] << 16)
+                | (INV_SBOX[(s0 >>> 8) & 0xFF] << 8) | INV_SBOX[s3 & 0xFF];
+        t3 = (INV_SBOX[s3 >>> 24] << 24) | (INV_SBOX[(s2 >>> 16) & 0xFF] << 16)
+                | (INV_SBOX[(s1 >>> 8) & 0xFF] << 8) | INV_SBOX[s0 & 0xFF];
+
+        putInt(t0 ^ rk[k], out, outOff);
+        putInt(t1 ^ rk[k + 1], out, outOff + 4);
+        putInt(t2 ^ rk[k + 2], out, outOff + 8);
+        putInt(t3 ^ rk[k + 3], out, outOff + 12);
+    }
+
+    // 大端序读取32位字
+    private static int getInt(byte[] b, int off) {
+        return (b[off] << 24) | ((b[off + 1] & 0xFF) << 16) | ((b[off + 2] & 0xFF) << 8) | (b[off + 3] & 0xFF);
+    }
+
+    // 大端序写入32位字
+    private static void putInt(int v, byte[] b, int off) {
+        b[off] = (byte) (v >>> 24);
+        b[off + 1] = (byte) (v >>> 16);
+        b[off + 2] = (byte) (v >>> 8);
+        b[off + 3] = (byte) v;
     }
 
     // 密钥扩展实现
-    private int[][] keyExpansion(byte[] key) {
+    private int[] keyExpansion(byte[] key) {
         int nk = key.length / 4;
         int nb = 4; // AES block size always 4 words (128 bits)
         int nr = rounds;
@@ -273,17 +402,25 @@ public class AES {
             }
             w[i] = w[i - nk] ^ temp;
         }
-        
-        // 转换为轮密钥格式
-        return groupWords(w);
+        return w;
     }
 
-    private int[][] groupWords(int[] w) {
-        int[][] keys = new int[rounds + 1][4];
-        for (int i = 0; i <= rounds; i++) {
-            System.arraycopy(w, i * 4, keys[i], 0, 4);
+    // 生成等价逆密码的轮密钥：轮序倒置，中间各轮密钥做InvMixColumns
+    private int[] invertKeys(int[] w) {
+        int[] dk = new int[w.length];
+        for (int round = 0; round <= rounds; round++) {
+            int src = (rounds - round) * 4;
+            for (int j = 0; j < 4; j++) {
+                int word = w[src + j];
+                if (round > 0 && round < rounds) {
+                    // TD表内含INV_SBOX，先过SBOX抵消，得到纯InvMixColumns
+                    word = TD0[SBOX[word >>> 24]] ^ TD1[SBOX[(word >>> 16) & 0xFF]]
+                            ^ TD2[SBOX[(word >>> 8) & 0xFF]] ^ TD3[SBOX[word & 0xFF]];
+                }
+                dk[round * 4 + j] = word;
+            }
         }
-        return keys;
+        return dk;
     }
 
     private int subWord(int word) {
@@ -297,49 +434,11 @@ public class AES {
         return (word << 8) | ((word >> 24) & 0xFF);
     }
 
-    // CBC专用辅助方法
-    private void xorBlocks(byte[] a, byte[] b) {
-        for (int i = 0; i < BLOCK_SIZE; i++) {
-            a[i] ^= b[i];
-        }
-    }
-
-    //PKCS7填充
-    private byte[] applyPadding(byte[] input) {
-        int padding = BLOCK_SIZE - (input.length % BLOCK_SIZE);
-        if (padding == 0) {
-            padding = BLOCK_SIZE; // 如果明文长度正好是块大小的倍数，添加一个完整的填充块
-        }
-        byte[] padded = Arrays.copyOf(input, input.length + padding);
-        Arrays.fill(padded, input.length, padded.length, (byte) padding);
-        return padded;
-    }
-
-    private byte[] removePadding(byte[] input) {
-        if (input.length == 0 || input.length % BLOCK_SIZE != 0) {
-            throw new IllegalArgumentException("无效的填充数据: 长度必须是16的倍数且不为0");
-        }
-        
-        int padding = input[input.length - 1] & 0xFF;
-        
-        // 检查填充值的有效范围
-        if (padding <= 0 || padding > BLOCK_SIZE) {
-            throw new IllegalArgumentException("无效的填充值: " + padding);
-        }
-        
-        // 验证所有填充字节是否一致
-        for (int i = input.length - padding; i < input.length; i++) {
-            if ((input[i] & 0xFF) != padding) {
-                throw new IllegalArgumentException("无效的填充格式");
-            }
-        }
-        
-        return Arrays.copyOf(input, input.length - padding);
-    }
-
     // 安全擦除敏感数据
+    @Override
     public void clearKeys() {
-        for (int[] arr : roundKeys) Arrays.fill(arr, 0);
+        Arrays.fill(encKeys, 0);
+        Arrays.fill(decKeys, 0);
     }
 
     // Galois Field乘法辅助方法
@@ -398,13 +497,13 @@ public class AES {
             if (!test1Passed) {
                 // 打印轮密钥验证
                 System.out.println("调试信息 - 前几个轮密钥:");
-                for (int i = 0; i < Math.min(3, aes1.roundKeys.length); i++) {
+                for (int i = 0; i < Math.min(3, aes1.rounds + 1); i++) {
                     System.out.println("  轮密钥 " + i + ": " + 
                             String.format("%08x %08x %08x %08x", 
-                                    aes1.roundKeys[i][0], 
-                                    aes1.roundKeys[i][1],
-                                    aes1.roundKeys[i][2],
-                                    aes1.roundKeys[i][3]));
+                                    aes1.encKeys[4 * i], 
+                                    aes1.encKeys[4 * i + 1],
+                                    aes1.encKeys[4 * i + 2],
+                                    aes1.encKeys[4 * i + 3]));
                 }
             }
             
@@ -486,7 +585,6 @@ public class AES {
         
         // 初始化参数（使用固定值方便验证）
         byte[] key = "ThisIsASecretKey".getBytes();  // 128-bit密钥
-        //byte[] iv = "InitializationIV".getBytes();   // 16字节初始化向量
         String plainText = "lzy2022211651";          // 测试明文
 
         // 初始化AES实例
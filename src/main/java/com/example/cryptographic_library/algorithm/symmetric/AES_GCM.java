@@ -0,0 +1,19 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+/**
+ * AES-GCM认证加密（NIST SP 800-38D）
+ *
+ * <p>算法实现见{@link GCM}，密文格式为 C || T，T为16字节认证标签</p>
+ *
+ * <p>实例构造后只读，可被多个线程共享</p>
+ */
+public class AES_GCM extends GCM {
+
+    public AES_GCM(byte[] key) {
+        this(new AES(key));
+    }
+
+    public AES_GCM(AES aes) {
+        super(aes);
+    }
+}
@@ -0,0 +1,289 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import com.example.cryptographic_library.algorithm.hash.HMacSHA256;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * 分块的可随机访问AES-GCM认证加密格式（STREAM构造，Hoang等，2015）
+ *
+ * <p>格式为 头部 || 块0 || 块1 || ... || 块n-1：
+ * <ul>
+ *   <li>头部31字节：魔数"CLS1" || 明文块长度（4字节大端） || 16字节随机盐 || 7字节随机nonce前缀</li>
+ *   <li>每个文件使用独立的数据密钥：HKDF-SHA256(主密钥, 盐, 头部前8字节)，长度与主密钥相同</li>
+ *   <li>块i的nonce为 前缀 || i（4字节大端） || 末块标志（末块为1，其余为0），共12字节</li>
+ *   <li>每块独立用AES-GCM加密，密文块为明文块 || 16字节标签；除末块外明文块长度均为块长度，
+ *       末块长度为1到块长度字节（明文为空时为唯一的空块）</li>
+ * </ul>
+ * 块序号与末块标志参与认证，块被重排、删除、截断或拼接到其他文件都会导致解密失败。</p>
+ *
+ * <p>各块互不依赖：整体加解密经{@link ParallelChunkExecutor}按块并行，
+ * {@link #decryptRange}只解密并校验覆盖请求区间的块。实例不保存可变状态，可被多个线程共享</p>
+ */
+public class AES_GCM_STREAM {
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    // 块长度上限，解密时拒绝头部声明更大块长度的输入
+    public static final int MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+    public static final int HEADER_LENGTH = 31;
+    private static final byte[] MAGIC = {'C', 'L', 'S', '1'};
+    private static final int SALT_LENGTH = 16;
+    private static final int PREFIX_LENGTH = 7;
+    private static final int NONCE_LENGTH = 12;
+    private static final int TAG_LENGTH = GCM.TAG_LENGTH;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final byte[] key;
+    private final int chunkSize;
+
+    public AES_GCM_STREAM(byte[] key) {
+        this(key, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param key 主密钥，16、24或32字节
+     * @param chunkSize 加密时的明文块长度，1到{@link #MAX_CHUNK_SIZE}字节（解密以头部记录的块长度为准）
+     */
+    public AES_GCM_STREAM(byte[] key, int chunkSize) {
+        if (key == null || (key.length != 16 && key.length != 24 && key.length != 32)) {
+            throw new IllegalArgumentException("无效的AES密钥长度: 必须为16、24或32字节");
+        }
+        if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("块长度必须在1到" + MAX_CHUNK_SIZE + "字节之间");
+        }
+        this.key = key.clone();
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 加密，每次调用生成新的盐与nonce前缀
+     * @param plaintext 明文
+     * @return 头部 || 各密文块
+     */
+    public byte[] encrypt(byte[] plaintext) {
+        byte[] header = new byte[HEADER_LENGTH];
+        System.arraycopy(MAGIC, 0, header, 0, MAGIC.length);
+        putInt(header, 4, chunkSize);
+        byte[] random = new byte[SALT_LENGTH + PREFIX_LENGTH];
+        RANDOM.nextBytes(random);
+        System.arraycopy(random, 0, header, 8, random.length);
+
+        int chunks = chunkCount(plaintext.length, chunkSize);
+        long total = HEADER_LENGTH + plaintext.length + (long) chunks * TAG_LENGTH;
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("数据过大");
+        }
+        byte[] output = new byte[(int) total];
+        System.arraycopy(header, 0, output, 0, HEADER_LENGTH);
+
+        // GCM实例不保存每次调用的状态，由各并行区间共享，全部完成后擦除数据密钥与GHASH表
+        GCM gcm = new GCM(deriveCipher(header));
+        try {
+            ParallelChunkExecutor.getDefault().forEachRange(chunks, chunkSize + TAG_LENGTH, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int start = i * chunkSize;
+                    int end = Math.min(plaintext.length, start + chunkSize);
+                    byte[] sealed = gcm.encrypt(nonce(header, i, i == chunks - 1),
+                            Arrays.copyOfRange(plaintext, start, end), null);
+                    System.arraycopy(sealed, 0, output, HEADER_LENGTH + start + i * TAG_LENGTH, sealed.length);
+                }
+            });
+        } finally {
+            gcm.clearKeys();
+        }
+        return output;
+    }
+
+    /**
+     * 解密全部数据
+     * @param ciphertext {@link #encrypt}的输出
+     * @return 明文
+     * @throws IllegalArgumentException 格式无效或任一块认证失败时抛出
+     */
+    public byte[] decrypt(byte[] ciphertext) {
+        Layout layout = parseHeader(ciphertext, ciphertext.length);
+        return decryptChunks(layout, ciphertext, HEADER_LENGTH, 0, layout.chunks);
+    }
+
+    /**
+     * 只解密覆盖[offset, offset+length)的块并返回该区间明文
+     * @param ciphertext {@link #encrypt}的输出
+     * @param offset 明文中的起始位置
+     * @param length 读取长度，超出明文末尾的部分被截掉
+     * @throws IllegalArgumentException 格式无效、区间越界或所涉及的块认证失败时抛出
+     */
+    public byte[] decryptRange(byte[] ciphertext, long offset, int length) {
+        Layout layout = parseHeader(ciphertext, ciphertext.length);
+        int[] range = chunkRange(layout, offset, length);
+        byte[] chunks = decryptChunks(layout, ciphertext, HEADER_LENGTH, range[0], range[1]);
+        int skip = (int) (offset - (long) range[0] * layout.chunkSize);
+        return Arrays.copyOfRange(chunks, skip, skip + clampLength(layout, offset, length));
+    }
+
+    /**
+     * 从文件中只读取并解密覆盖[offset, offset+length)的块，适合在大文件中随机读取
+     * @param channel 以{@link #encrypt}格式存储的文件
+     * @throws IOException 读取失败时抛出
+     * @throws IllegalArgumentException 格式无效、区间越界或所涉及的块认证失败时抛出
+     */
+    public byte[] decryptRange(FileChannel channel, long offset, int length) throws IOException {
+        byte[] header = new byte[HEADER_LENGTH];
+        readFully(channel, ByteBuffer.wrap(header), 0);
+        Layout layout = parseHeader(header, channel.size());
+        int[] range = chunkRange(layout, offset, length);
+        long start = HEADER_LENGTH + (long) range[0] * layout.sealedChunkSize;
+        long end = Math.min(channel.size(), HEADER_LENGTH + (long) range[1] * layout.sealedChunkSize);
+        if (end - start > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("读取区间过大");
+        }
+        byte[] sealed = new byte[(int) (end - start)];
+        readFully(channel, ByteBuffer.wrap(sealed), start);
+        byte[] chunks = decryptChunks(layout, sealed, HEADER_LENGTH - start, range[0], range[1]);
+        int skip = (int) (offset - (long) range[0] * layout.chunkSize);
+        return Arrays.copyOfRange(chunks, skip, skip + clampLength(layout, offset, length));
+    }
+
+    /**
+     * 计算给定明文长度加密后的总长度
+     */
+    public long ciphertextLength(long plaintextLength) {
+        return HEADER_LENGTH + plaintextLength + (long) chunkCount(plaintextLength, chunkSize) * TAG_LENGTH;
+    }
+
+    // 解密[from, until)块，sealed中块i位于 sealedBase + i * sealedChunkSize（只读入部分块时sealedBase为负）
+    private byte[] decryptChunks(Layout layout, byte[] sealed, long sealedBase, int from, int until) {
+        long firstPlain = (long) from * layout.chunkSize;
+        long lastPlain = Math.min(layout.plaintextLength, (long) until * layout.chunkSize);
+        if (lastPlain - firstPlain > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("数据过大");
+        }
+        byte[] output = new byte[(int) (lastPlain - firstPlain)];
+        // 数据密钥只在此处派生并在返回前擦除，解析头部与检查区间失败时不会遗留轮密钥
+        GCM gcm = new GCM(deriveCipher(layout.header));
+        try {
+            ParallelChunkExecutor.getDefault().forEachRange(until - from, layout.sealedChunkSize, (a, b) -> {
+                for (int i = from + a; i < from + b; i++) {
+                    long sealedStart = sealedBase + (long) i * layout.sealedChunkSize;
+                    long sealedEnd = Math.min(sealedStart + layout.sealedChunkSize,
+                            sealedBase + layout.totalSealedLength);
+                    byte[] plain = gcm.decrypt(nonce(layout.header, i, i == layout.chunks - 1),
+                            Arrays.copyOfRange(sealed, (int) sealedStart, (int) sealedEnd), null);
+                    System.arraycopy(plain, 0, output, (int) ((long) i * layout.chunkSize - firstPlain), plain.length);
+                }
+            });
+        } catch (IllegalArgumentException e) {
+            Arrays.fill(output, (byte) 0);
+            throw e;
+        } finally {
+            gcm.clearKeys();
+        }
+        return output;
+    }
+
+    // 校验头部并根据密文总长度推出块数与明文长度；块长度来自未经认证的头部，
+    // 先限制上限并与实际密文长度核对，之后按布局分配的缓冲区都不超过实际数据量
+    private Layout parseHeader(byte[] header, long totalLength) {
+        if (totalLength < HEADER_LENGTH + TAG_LENGTH || header.length < HEADER_LENGTH
+                || !Arrays.equals(Arrays.copyOf(header, MAGIC.length), MAGIC)) {
+            throw new IllegalArgumentException("无效的分块密文格式");
+        }
+        int size = getInt(header, 4);
+        if (size <= 0 || size > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("无效的块长度: " + size);
+        }
+        int sealedSize = size + TAG_LENGTH;
+        long body = totalLength - HEADER_LENGTH;
+        long chunks = (body + sealedSize - 1) / sealedSize;
+        long lastSealed = body - (chunks - 1) * sealedSize;
+        if (chunks > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("分块数过多");
+        }
+        if (lastSealed < TAG_LENGTH || (lastSealed == TAG_LENGTH && chunks > 1)) {
+            throw new IllegalArgumentException("无效的分块密文长度");
+        }
+        Layout layout = new Layout();
+        layout.header = Arrays.copyOf(header, HEADER_LENGTH);
+        layout.chunkSize = size;
+        layout.sealedChunkSize = sealedSize;
+        layout.chunks = (int) chunks;
+        layout.totalSealedLength = body;
+        layout.plaintextLength = body - chunks * TAG_LENGTH;
+        return layout;
+    }
+
+    // 覆盖[offset, offset+length)的块区间[first, last)
+    private static int[] chunkRange(Layout layout, long offset, int length) {
+        if (offset < 0 || length < 0 || offset > layout.plaintextLength) {
+            throw new IllegalArgumentException("读取区间越界");
+        }
+        long end = offset + clampLength(layout, offset, length);
+        int first = (int) Math.min(offset / layout.chunkSize, layout.chunks - 1);
+        int last = (int) Math.max(first + 1, (end + layout.chunkSize - 1) / layout.chunkSize);
+        return new int[]{first, last};
+    }
+
+    private static int clampLength(Layout layout, long offset, int length) {
+        return (int) Math.min(length, layout.plaintextLength - offset);
+    }
+
+    // 数据密钥 = HKDF-SHA256(主密钥, 盐, 魔数 || 块长度)
+    private AES deriveCipher(byte[] header) {
+        byte[] salt = Arrays.copyOfRange(header, 8, 8 + SALT_LENGTH);
+        byte[] prk = new HMacSHA256(salt).compute(key);
+        byte[] info = Arrays.copyOf(header, 9);
+        info[8] = 1;
+        byte[] okm = new HMacSHA256(prk).compute(info);
+        AES cipher = new AES(Arrays.copyOf(okm, key.length));
+        Arrays.fill(prk, (byte) 0);
+        Arrays.fill(okm, (byte) 0);
+        return cipher;
+    }
+
+    // 前缀 || 块序号 || 末块标志
+    private static byte[] nonce(byte[] header, int chunk, boolean last) {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        System.arraycopy(header, 8 + SALT_LENGTH, nonce, 0, PREFIX_LENGTH);
+        putInt(nonce, PREFIX_LENGTH, chunk);
+        nonce[NONCE_LENGTH - 1] = (byte) (last ? 1 : 0);
+        return nonce;
+    }
+
+    private static int chunkCount(long plaintextLength, int chunkSize) {
+        return (int) Math.max(1, (plaintextLength + chunkSize - 1) / chunkSize);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position);
+            if (n < 0) {
+                throw new EOFException("文件在分块密文结束前截断");
+            }
+            position += n;
+        }
+    }
+
+    private static void putInt(byte[] b, int off, int v) {
+        b[off] = (byte) (v >>> 24);
+        b[off + 1] = (byte) (v >>> 16);
+        b[off + 2] = (byte) (v >>> 8);
+        b[off + 3] = (byte) v;
+    }
+
+    private static int getInt(byte[] b, int off) {
+        return ((b[off] & 0xFF) << 24) | ((b[off + 1] & 0xFF) << 16) | ((b[off + 2] & 0xFF) << 8) | (b[off + 3] & 0xFF);
+    }
+
+    // 由头部与密文总长度得到的布局
+    private static class Layout {
+        byte[] header;
+        int chunkSize;
+        int sealedChunkSize;
+        int chunks;
+        long totalSealedLength;
+        long plaintextLength;
+    }
+}
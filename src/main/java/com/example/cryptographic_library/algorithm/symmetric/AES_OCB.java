@@ -0,0 +1,20 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+/**
+ * AES-OCB3认证加密（RFC 7253）
+ *
+ * <p>算法实现见{@link OCB}，密文格式为 C || T，T为16字节认证标签。
+ * 每个分组只需一次AES运算，加密与认证都可按分组区间完全并行</p>
+ *
+ * <p>实例构造后只读，可被多个线程共享</p>
+ */
+public class AES_OCB extends OCB {
+
+    public AES_OCB(byte[] key) {
+        this(new AES(key));
+    }
+
+    public AES_OCB(AES aes) {
+        super(aes);
+    }
+}
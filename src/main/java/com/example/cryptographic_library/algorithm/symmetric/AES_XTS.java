@@ -0,0 +1,231 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * XTS-AES存储加密模式（IEEE 1619）
+ *
+ * <p>密钥为 K1 || K2（32或64字节），K1加密数据，K2加密调整值。每个数据单元（扇区）以其
+ * 扇区号（128位小端整数）作为调整值，T = E_K2(扇区号)，第j个分组 C = E_K1(P ⊕ T·α^j) ⊕ T·α^j。
+ * 末尾不足16字节的分组使用密文窃取（ciphertext stealing）处理，密文长度与明文相同。</p>
+ *
+ * <p>各扇区互不依赖：单个扇区可以通过{@link #encryptSector}/{@link #decryptSector}随机读写，
+ * 批量数据经{@link ParallelChunkExecutor}按扇区区间分块并行处理。
+ * 实例不保存可变状态，可被多个线程共享</p>
+ */
+public class AES_XTS {
+    private static final int BLOCK_SIZE = 16;
+
+    private final AES dataCipher;
+    private final AES tweakCipher;
+
+    /**
+     * @param key K1 || K2，32字节（XTS-AES-128）或64字节（XTS-AES-256），两半不得相同
+     */
+    public AES_XTS(byte[] key) {
+        this(splitKey(key, 0), splitKey(key, 1));
+    }
+
+    /**
+     * @param dataCipher 以K1初始化的AES实例
+     * @param tweakCipher 以K2初始化的AES实例
+     */
+    public AES_XTS(AES dataCipher, AES tweakCipher) {
+        this.dataCipher = dataCipher;
+        this.tweakCipher = tweakCipher;
+    }
+
+    /**
+     * 加密连续扇区
+     * @param data 明文，按sectorSize切分为扇区，最后一个扇区可以较短但不少于16字节
+     * @param sectorSize 数据单元长度（不少于16字节，无需是16的倍数）
+     * @param firstSector 第一个扇区的扇区号
+     * @return 与明文等长的密文
+     */
+    public byte[] encrypt(byte[] data, int sectorSize, long firstSector) {
+        return process(data, sectorSize, firstSector, true);
+    }
+
+    /**
+     * 解密连续扇区，参数含义同{@link #encrypt}
+     */
+    public byte[] decrypt(byte[] data, int sectorSize, long firstSector) {
+        return process(data, sectorSize, firstSector, false);
+    }
+
+    /**
+     * 加密单个扇区：in[inOff..inOff+len) -> out[outOff..outOff+len)，允许原地处理
+     * @param sector 扇区号
+     * @param len 扇区长度（不少于16字节）
+     */
+    public void encryptSector(long sector, byte[] in, int inOff, byte[] out, int outOff, int len) {
+        processSector(sectorTweak(sector), in, inOff, out, outOff, len, true);
+    }
+
+    /**
+     * 解密单个扇区，参数含义同{@link #encryptSector(long, byte[], int, byte[], int, int)}
+     */
+    public void decryptSector(long sector, byte[] in, int inOff, byte[] out, int outOff, int len) {
+        processSector(sectorTweak(sector), in, inOff, out, outOff, len, false);
+    }
+
+    /**
+     * 使用任意16字节调整值加密单个数据单元（扇区号超出64位时使用）
+     * @param tweak 16字节调整值（小端序的数据单元序号）
+     */
+    public void encryptSector(byte[] tweak, byte[] in, int inOff, byte[] out, int outOff, int len) {
+        processSector(checkTweak(tweak), in, inOff, out, outOff, len, true);
+    }
+
+    /**
+     * 使用任意16字节调整值解密单个数据单元
+     */
+    public void decryptSector(byte[] tweak, byte[] in, int inOff, byte[] out, int outOff, int len) {
+        processSector(checkTweak(tweak), in, inOff, out, outOff, len, false);
+    }
+
+    private byte[] process(byte[] data, int sectorSize, long firstSector, boolean encrypt) {
+        if (sectorSize < BLOCK_SIZE) {
+            throw new IllegalArgumentException("数据单元长度不能小于16字节");
+        }
+        if (data.length < BLOCK_SIZE || (data.length % sectorSize != 0 && data.length % sectorSize < BLOCK_SIZE)) {
+            throw new IllegalArgumentException("最后一个数据单元不能少于16字节");
+        }
+        byte[] output = new byte[data.length];
+        int sectors = (int) ((data.length + (long) sectorSize - 1) / sectorSize);
+        ParallelChunkExecutor.getDefault().forEachRange(sectors, sectorSize,
+                (from, to) -> processRange(data, output, sectorSize, firstSector, from, to, encrypt));
+        return output;
+    }
+
+    // 处理扇区区间[fromSector, toSector)
+    private void processRange(byte[] input, byte[] output, int sectorSize, long firstSector,
+                              int fromSector, int toSector, boolean encrypt) {
+        for (int s = fromSector; s < toSector; s++) {
+            int off = s * sectorSize;
+            int len = Math.min(sectorSize, input.length - off);
+            processSector(sectorTweak(firstSector + s), input, off, output, off, len, encrypt);
+        }
+    }
+
+    // 处理一个数据单元，tweak为未加密的16字节调整值，调用后被覆盖
+    private void processSector(byte[] tweak, byte[] in, int inOff, byte[] out, int outOff, int len, boolean encrypt) {
+        if (len < BLOCK_SIZE) {
+            throw new IllegalArgumentException("数据单元长度不能小于16字节");
+        }
+        byte[] t = tweak;
+        tweakCipher.encryptBlock(t, 0, t, 0);
+        byte[] buf = new byte[BLOCK_SIZE];
+
+        int remainder = len % BLOCK_SIZE;
+        // 需要密文窃取时，最后一个完整分组留给下面单独处理
+        int fullBlocks = len / BLOCK_SIZE - (remainder == 0 ? 0 : 1);
+        for (int j = 0; j < fullBlocks; j++) {
+            int p = j * BLOCK_SIZE;
+            cryptBlock(in, inOff + p, out, outOff + p, t, buf, encrypt);
+            multiplyAlpha(t);
+        }
+        if (remainder == 0) {
+            Arrays.fill(t, (byte) 0);
+            return;
+        }
+
+        int lastFull = fullBlocks * BLOCK_SIZE;
+        int tail = lastFull + BLOCK_SIZE;
+        byte[] cc = new byte[BLOCK_SIZE];
+        if (encrypt) {
+            // CC = E(P_{m-1}, T_{m-1})；C_m = CC前b字节；C_{m-1} = E(P_m || CC[b..16), T_m)
+            cryptBlock(in, inOff + lastFull, cc, 0, t, buf, true);
+            multiplyAlpha(t);
+            byte[] pp = cc.clone();
+            System.arraycopy(in, inOff + tail, pp, 0, remainder);
+            System.arraycopy(cc, 0, out, outOff + tail, remainder);
+            cryptBlock(pp, 0, out, outOff + lastFull, t, buf, true);
+            Arrays.fill(pp, (byte) 0);
+        } else {
+            // 解密顺序相反：先用T_m解出PP，再用T_{m-1}解 C_m || PP[b..16)
+            byte[] next = t.clone();
+            multiplyAlpha(next);
+            cryptBlock(in, inOff + lastFull, cc, 0, next, buf, false);
+            byte[] ct = cc.clone();
+            System.arraycopy(in, inOff + tail, ct, 0, remainder);
+            System.arraycopy(cc, 0, out, outOff + tail, remainder);
+            cryptBlock(ct, 0, out, outOff + lastFull, t, buf, false);
+            Arrays.fill(ct, (byte) 0);
+            Arrays.fill(next, (byte) 0);
+        }
+        Arrays.fill(cc, (byte) 0);
+        Arrays.fill(buf, (byte) 0);
+        Arrays.fill(t, (byte) 0);
+    }
+
+    // out = E_K1(in ⊕ t) ⊕ t（解密时为D_K1），buf为16字节临时区，允许原地处理
+    private void cryptBlock(byte[] in, int inOff, byte[] out, int outOff, byte[] t, byte[] buf, boolean encrypt) {
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            buf[i] = (byte) (in[inOff + i] ^ t[i]);
+        }
+        if (encrypt) {
+            dataCipher.encryptBlock(buf, 0, buf, 0);
+        } else {
+            dataCipher.decryptBlock(buf, 0, buf, 0);
+        }
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            out[outOff + i] = (byte) (buf[i] ^ t[i]);
+        }
+    }
+
+    // 在GF(2^128)中乘以α：小端序整体左移1位，最高位溢出时首字节异或0x87
+    private static void multiplyAlpha(byte[] t) {
+        int carry = 0;
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            int b = t[i] & 0xFF;
+            t[i] = (byte) ((b << 1) | carry);
+            carry = b >>> 7;
+        }
+        if (carry != 0) {
+            t[0] ^= (byte) 0x87;
+        }
+    }
+
+    // 扇区号按小端序编码为16字节调整值
+    private static byte[] sectorTweak(long sector) {
+        byte[] tweak = new byte[BLOCK_SIZE];
+        for (int i = 0; i < 8; i++) {
+            tweak[i] = (byte) (sector >>> (8 * i));
+        }
+        return tweak;
+    }
+
+    private static byte[] checkTweak(byte[] tweak) {
+        if (tweak == null || tweak.length != BLOCK_SIZE) {
+            throw new IllegalArgumentException("调整值必须为16字节");
+        }
+        return tweak.clone();
+    }
+
+    private static AES splitKey(byte[] key, int half) {
+        if (key == null || (key.length != 32 && key.length != 64)) {
+            throw new IllegalArgumentException("XTS密钥长度必须为32或64字节");
+        }
+        int n = key.length / 2;
+        byte[] k1 = Arrays.copyOfRange(key, 0, n);
+        byte[] k2 = Arrays.copyOfRange(key, n, key.length);
+        try {
+            // IEEE 1619-2018要求两半密钥不同，否则调整值可被推算
+            if (MessageDigest.isEqual(k1, k2)) {
+                throw new IllegalArgumentException("XTS密钥的两半不能相同");
+            }
+            return new AES(half == 0 ? k1 : k2);
+        } finally {
+            Arrays.fill(k1, (byte) 0);
+            Arrays.fill(k2, (byte) 0);
+        }
+    }
+
+    // 安全擦除敏感数据
+    public void clearKeys() {
+        dataCipher.clearKeys();
+        tweakCipher.clearKeys();
+    }
+}
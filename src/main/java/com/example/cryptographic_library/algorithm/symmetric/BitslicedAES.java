@@ -0,0 +1,596 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import java.util.Arrays;
+
+/**
+ * 比特切片AES实现（常数时间）
+ *
+ * <p>每次并行处理8个分组：状态按比特平面存放，平面i由两个long组成（前/后8个字节位置），
+ * long中的第j个字节对应状态字节位置j，其第b位为第b个分组该字节的第i位。
+ * 在此布局下：
+ * <ul>
+ *   <li>S盒使用Boyar-Peralta布尔电路计算，逆S盒由 InvAffine∘S∘InvAffine 得到</li>
+ *   <li>ShiftRows为字节位置置换，MixColumns的行循环为32位半字内的字节旋转</li>
+ *   <li>密钥扩展同样使用电路计算的S盒</li>
+ * </ul>
+ * 全过程只有位运算，没有任何以秘密数据为下标的内存访问，可抵御缓存计时攻击。
+ * 输出与{@link AES}完全一致</p>
+ *
+ * <p>批量加密（ECB加密与CTR）在可用时交给{@link BitslicedAESKernel}，一次处理多组8分组</p>
+ */
+public class BitslicedAES {
+    public static final int PARALLEL_BLOCKS = 8;
+    private static final int BLOCK_SIZE = 16;
+    private static final int GROUP_BYTES = PARALLEL_BLOCKS * BLOCK_SIZE;
+    private static final int KERNEL_BATCHES = 16;
+    private static final int[] RCON = {0x01, 0x02, 0x04, 0x08, 0x10, 0x20, 0x40, 0x80, 0x1b, 0x36};
+
+    private final int rounds;
+    // 比特切片形式的轮密钥：每轮16个long，布局同状态
+    private final long[] roundKeys;
+
+    public BitslicedAES(byte[] key) {
+        if (key == null || (key.length != 16 && key.length != 24 && key.length != 32)) {
+            throw new IllegalArgumentException("无效的AES密钥长度，必须为16/24/32字节");
+        }
+        this.rounds = key.length / 4 + 6;
+
+        int[] w = keyExpansion(key);
+        this.roundKeys = sliceRoundKeys(w, rounds);
+        Arrays.fill(w, 0);
+    }
+
+    /**
+     * 把按字存放的轮密钥转换为比特切片形式（每轮16个long，每个分组槽位复制同一轮密钥）
+     * @param w 4*(rounds+1)个大端序轮密钥字
+     */
+    static long[] sliceRoundKeys(int[] w, int rounds) {
+        long[] sliced = new long[(rounds + 1) * 16];
+        byte[] replicated = new byte[GROUP_BYTES];
+        long[] q = new long[16];
+        for (int round = 0; round <= rounds; round++) {
+            for (int b = 0; b < PARALLEL_BLOCKS; b++) {
+                for (int j = 0; j < 4; j++) {
+                    putInt(w[round * 4 + j], replicated, b * BLOCK_SIZE + j * 4);
+                }
+            }
+            pack(replicated, 0, q);
+            System.arraycopy(q, 0, sliced, round * 16, 16);
+        }
+        Arrays.fill(replicated, (byte) 0);
+        Arrays.fill(q, 0);
+        return sliced;
+    }
+
+    // ECB加密（PKCS7填充）
+    public byte[] encrypt(byte[] plaintext) {
+        int tail = plaintext.length % BLOCK_SIZE;
+        int full = plaintext.length - tail;
+        byte[] ciphertext = new byte[full + BLOCK_SIZE];
+        System.arraycopy(plaintext, 0, ciphertext, 0, plaintext.length);
+        Arrays.fill(ciphertext, plaintext.length, ciphertext.length, (byte) (BLOCK_SIZE - tail));
+        encryptBlocks(ciphertext, 0, ciphertext, 0, ciphertext.length);
+        return ciphertext;
+    }
+
+    // ECB解密（自动去除PKCS7填充）
+    public byte[] decrypt(byte[] ciphertext) {
+        if (ciphertext.length == 0 || ciphertext.length % BLOCK_SIZE != 0) {
+            throw new IllegalArgumentException("无效的填充数据: 长度必须是16的倍数且不为0");
+        }
+        byte[] plaintext = new byte[ciphertext.length];
+        decryptBlocks(ciphertext, 0, plaintext, 0, ciphertext.length);
+
+        // 常数时间校验填充
+        int padding = plaintext[plaintext.length - 1] & 0xFF;
+        int bad = ((padding - 1) >>> 31) | ((BLOCK_SIZE - padding) >>> 31);
+        for (int i = 1; i <= BLOCK_SIZE; i++) {
+            int inPad = (i - padding - 1) >>> 31; // i <= padding
+            bad |= inPad & (((plaintext[plaintext.length - i] & 0xFF) ^ padding) + 0xFF) >>> 8;
+        }
+        if (bad != 0) {
+            throw new IllegalArgumentException("无效的填充格式");
+        }
+        return Arrays.copyOf(plaintext, plaintext.length - padding);
+    }
+
+    /**
+     * 批量加密连续分组（ECB，无填充），每8个分组一组处理，不足8组时补零计算后丢弃
+     * @param len 字节数，必须是16的倍数
+     */
+    public void encryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        processBlocks(in, inOff, out, outOff, len, true);
+    }
+
+    // 批量解密连续分组（ECB，无填充）
+    public void decryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        processBlocks(in, inOff, out, outOff, len, false);
+    }
+
+    /**
+     * CTR模式加解密，计数器为128位大端整数，与{@link AES#encryptCTR}输出一致
+     */
+    public byte[] encryptCTR(byte[] iv, byte[] input) {
+        if (iv == null || iv.length != BLOCK_SIZE) {
+            throw new IllegalArgumentException("IV必须为16字节");
+        }
+        byte[] output = new byte[input.length];
+        byte[] counter = Arrays.copyOf(iv, BLOCK_SIZE);
+        int pos = 0;
+
+        BitslicedAESKernel kernel = BitslicedAESKernel.VECTOR;
+        int batchBytes = kernel == null ? 0 : kernel.batchBlocks() * BLOCK_SIZE;
+        if (batchBytes > 0 && input.length >= batchBytes) {
+            // 每次调用内核生成至多KERNEL_BATCHES批密钥流
+            byte[] keystream = new byte[Math.min(input.length / batchBytes, KERNEL_BATCHES) * batchBytes];
+            while (input.length - pos >= batchBytes) {
+                int n = Math.min(keystream.length, (input.length - pos) / batchBytes * batchBytes);
+                for (int off = 0; off < n; off += BLOCK_SIZE) {
+                    System.arraycopy(counter, 0, keystream, off, BLOCK_SIZE);
+                    incrementCounter(counter);
+                }
+                kernel.encrypt(roundKeys, rounds, keystream, 0, keystream, 0, n / BLOCK_SIZE);
+                for (int i = 0; i < n; i++) {
+                    output[pos + i] = (byte) (input[pos + i] ^ keystream[i]);
+                }
+                pos += n;
+            }
+            Arrays.fill(keystream, (byte) 0);
+        }
+
+        byte[] counters = new byte[GROUP_BYTES];
+        long[] q = new long[16];
+        for (; pos < input.length; pos += GROUP_BYTES) {
+            for (int b = 0; b < PARALLEL_BLOCKS; b++) {
+                System.arraycopy(counter, 0, counters, b * BLOCK_SIZE, BLOCK_SIZE);
+                incrementCounter(counter);
+            }
+            pack(counters, 0, q);
+            encryptState(q);
+            unpack(q, counters, 0);
+            int n = Math.min(GROUP_BYTES, input.length - pos);
+            for (int i = 0; i < n; i++) {
+                output[pos + i] = (byte) (input[pos + i] ^ counters[i]);
+            }
+        }
+        return output;
+    }
+
+    // CTR解密
+    public byte[] decryptCTR(byte[] iv, byte[] input) {
+        return encryptCTR(iv, input);
+    }
+
+    // 安全擦除敏感数据
+    public void clearKeys() {
+        Arrays.fill(roundKeys, 0);
+    }
+
+    private void processBlocks(byte[] in, int inOff, byte[] out, int outOff, int len, boolean encrypt) {
+        if (len % BLOCK_SIZE != 0) {
+            throw new IllegalArgumentException("数据长度必须是16的倍数");
+        }
+        int pos = 0;
+        // 向量化内核只实现了加密方向
+        BitslicedAESKernel kernel = BitslicedAESKernel.VECTOR;
+        if (encrypt && kernel != null) {
+            int batchBytes = kernel.batchBlocks() * BLOCK_SIZE;
+            pos = len / batchBytes * batchBytes;
+            if (pos > 0) {
+                kernel.encrypt(roundKeys, rounds, in, inOff, out, outOff, pos / BLOCK_SIZE);
+            }
+        }
+
+        long[] q = new long[16];
+        byte[] group = new byte[GROUP_BYTES];
+        for (; pos < len; pos += GROUP_BYTES) {
+            int n = Math.min(GROUP_BYTES, len - pos);
+            System.arraycopy(in, inOff + pos, group, 0, n);
+            if (n < GROUP_BYTES) {
+                Arrays.fill(group, n, GROUP_BYTES, (byte) 0);
+            }
+            pack(group, 0, q);
+            if (encrypt) {
+                encryptState(q);
+            } else {
+                decryptState(q);
+            }
+            unpack(q, group, 0);
+            System.arraycopy(group, 0, out, outOff + pos, n);
+        }
+        Arrays.fill(group, (byte) 0);
+    }
+
+    // 比特切片状态加密，q[i]/q[8+i]为平面i的前/后半
+    private void encryptState(long[] q) {
+        addRoundKey(q, 0);
+        for (int round = 1; round < rounds; round++) {
+            sbox(q, 0);
+            sbox(q, 8);
+            shiftRows(q);
+            mixColumns(q);
+            addRoundKey(q, round);
+        }
+        sbox(q, 0);
+        sbox(q, 8);
+        shiftRows(q);
+        addRoundKey(q, rounds);
+    }
+
+    private void decryptState(long[] q) {
+        addRoundKey(q, rounds);
+        for (int round = rounds - 1; round > 0; round--) {
+            invShiftRows(q);
+            invSbox(q, 0);
+            invSbox(q, 8);
+            addRoundKey(q, round);
+            invMixColumns(q);
+        }
+        invShiftRows(q);
+        invSbox(q, 0);
+        invSbox(q, 8);
+        addRoundKey(q, 0);
+    }
+
+    private void addRoundKey(long[] q, int round) {
+        int base = round * 16;
+        for (int i = 0; i < 16; i++) {
+            q[i] ^= roundKeys[base + i];
+        }
+    }
+
+    /**
+     * ShiftRows：新状态(r,c)取自旧状态(r,(c+r)%4)。前半long含第0、1列，后半含第2、3列，
+     * 第0行不动，第2行前后半整体互换，第1、3行由半内与跨半的32位移位组合得到
+     */
+    private static void shiftRows(long[] q) {
+        for (int i = 0; i < 8; i++) {
+            long lo = q[i];
+            long hi = q[8 + i];
+            q[i] = shiftRowsHalf(lo, hi);
+            q[8 + i] = shiftRowsHalf(hi, lo);
+        }
+    }
+
+    private static long shiftRowsHalf(long self, long other) {
+        return (self & 0x000000FF000000FFL) | ((self >>> 32) & 0x000000000000FF00L) | ((self << 32) & 0xFF00000000000000L)
+                | (other & 0x00FF000000FF0000L) | ((other >>> 32) & 0x00000000FF000000L) | ((other << 32) & 0x0000FF0000000000L);
+    }
+
+    // InvShiftRows：新状态(r,c)取自旧状态(r,(c-r)%4)
+    private static void invShiftRows(long[] q) {
+        for (int i = 0; i < 8; i++) {
+            long lo = q[i];
+            long hi = q[8 + i];
+            q[i] = invShiftRowsHalf(lo, hi);
+            q[8 + i] = invShiftRowsHalf(hi, lo);
+        }
+    }
+
+    private static long invShiftRowsHalf(long self, long other) {
+        return (self & 0x000000FF000000FFL) | ((self >>> 32) & 0x00000000FF000000L) | ((self << 32) & 0x0000FF0000000000L)
+                | (other & 0x00FF000000FF0000L) | ((other >>> 32) & 0x000000000000FF00L) | ((other << 32) & 0xFF00000000000000L);
+    }
+
+    // 列内行循环：位置r取自位置r+n（每个32位半字为一列）
+    private static long rot1(long x) {
+        return ((x >>> 8) & 0x00FFFFFF00FFFFFFL) | ((x << 24) & 0xFF000000FF000000L);
+    }
+
+    private static long rot2(long x) {
+        return ((x >>> 16) & 0x0000FFFF0000FFFFL) | ((x << 16) & 0xFFFF0000FFFF0000L);
+    }
+
+    private static long rot3(long x) {
+        return ((x >>> 24) & 0x000000FF000000FFL) | ((x << 8) & 0xFFFFFF00FFFFFF00L);
+    }
+
+    // out_r = 2·(a_r ⊕ a_{r+1}) ⊕ a_{r+1} ⊕ a_{r+2} ⊕ a_{r+3}
+    private static void mixColumns(long[] q) {
+        for (int half = 0; half < 16; half += 8) {
+            long a0 = q[half], a1 = q[half + 1], a2 = q[half + 2], a3 = q[half + 3];
+            long a4 = q[half + 4], a5 = q[half + 5], a6 = q[half + 6], a7 = q[half + 7];
+            long t0 = a0 ^ rot1(a0), t1 = a1 ^ rot1(a1), t2 = a2 ^ rot1(a2), t3 = a3 ^ rot1(a3);
+            long t4 = a4 ^ rot1(a4), t5 = a5 ^ rot1(a5), t6 = a6 ^ rot1(a6), t7 = a7 ^ rot1(a7);
+
+            // xtime(t)：平面整体上移一位，溢出位按0x1b反馈到第0/1/3/4位
+            q[half] = t7 ^ rest(a0);
+            q[half + 1] = t0 ^ t7 ^ rest(a1);
+            q[half + 2] = t1 ^ rest(a2);
+            q[half + 3] = t2 ^ t7 ^ rest(a3);
+            q[half + 4] = t3 ^ t7 ^ rest(a4);
+            q[half + 5] = t4 ^ rest(a5);
+            q[half + 6] = t5 ^ rest(a6);
+            q[half + 7] = t6 ^ rest(a7);
+        }
+    }
+
+    private static long rest(long a) {
+        return rot1(a) ^ rot2(a) ^ rot3(a);
+    }
+
+    // InvMixColumns = MixColumns ∘ (a_r ⊕= 4·(a_r ⊕ a_{r+2}))
+    private static void invMixColumns(long[] q) {
+        for (int half = 0; half < 16; half += 8) {
+            long w0 = q[half] ^ rot2(q[half]), w1 = q[half + 1] ^ rot2(q[half + 1]);
+            long w2 = q[half + 2] ^ rot2(q[half + 2]), w3 = q[half + 3] ^ rot2(q[half + 3]);
+            long w4 = q[half + 4] ^ rot2(q[half + 4]), w5 = q[half + 5] ^ rot2(q[half + 5]);
+            long w6 = q[half + 6] ^ rot2(q[half + 6]), w7 = q[half + 7] ^ rot2(q[half + 7]);
+
+            // 4·w：两次xtime
+            q[half] ^= w6;
+            q[half + 1] ^= w6 ^ w7;
+            q[half + 2] ^= w0 ^ w7;
+            q[half + 3] ^= w1 ^ w6;
+            q[half + 4] ^= w2 ^ w6 ^ w7;
+            q[half + 5] ^= w3 ^ w7;
+            q[half + 6] ^= w4;
+            q[half + 7] ^= w5;
+        }
+        mixColumns(q);
+    }
+
+    // 仿射变换的逆：out_i = v_{i+7} ⊕ v_{i+5} ⊕ v_{i+2} ⊕ c_i，c = 0x05
+    private static void invAffine(long[] q, int off) {
+        long v0 = q[off], v1 = q[off + 1], v2 = q[off + 2], v3 = q[off + 3];
+        long v4 = q[off + 4], v5 = q[off + 5], v6 = q[off + 6], v7 = q[off + 7];
+        q[off] = ~(v7 ^ v5 ^ v2);
+        q[off + 1] = v0 ^ v6 ^ v3;
+        q[off + 2] = ~(v1 ^ v7 ^ v4);
+        q[off + 3] = v2 ^ v0 ^ v5;
+        q[off + 4] = v3 ^ v1 ^ v6;
+        q[off + 5] = v4 ^ v2 ^ v7;
+        q[off + 6] = v5 ^ v3 ^ v0;
+        q[off + 7] = v6 ^ v4 ^ v1;
+    }
+
+    // S⁻¹(x) = A⁻¹(S(A⁻¹(x)))，其中A为S盒的仿射变换
+    private static void invSbox(long[] q, int off) {
+        invAffine(q, off);
+        sbox(q, off);
+        invAffine(q, off);
+    }
+
+    /**
+     * 比特切片S盒（Boyar-Peralta电路，113个逻辑门）
+     * q[off+i]为第i位平面（i=0为最低位）
+     */
+    private static void sbox(long[] q, int off) {
+        long x0 = q[off + 7];
+        long x1 = q[off + 6];
+        long x2 = q[off + 5];
+        long x3 = q[off + 4];
+        long x4 = q[off + 3];
+        long x5 = q[off + 2];
+        long x6 = q[off + 1];
+        long x7 = q[off];
+
+        // 顶层线性变换
+        long y14 = x3 ^ x5;
+        long y13 = x0 ^ x6;
+        long y9 = x0 ^ x3;
+        long y8 = x0 ^ x5;
+        long t0 = x1 ^ x2;
+        long y1 = t0 ^ x7;
+        long y4 = y1 ^ x3;
+        long y12 = y13 ^ y14;
+        long y2 = y1 ^ x0;
+        long y5 = y1 ^ x6;
+        long y3 = y5 ^ y8;
+        long t1 = x4 ^ y12;
+        long y15 = t1 ^ x5;
+        long y20 = t1 ^ x1;
+        long y6 = y15 ^ x7;
+        long y10 = y15 ^ t0;
+        long y11 = y20 ^ y9;
+        long y7 = x7 ^ y11;
+        long y17 = y10 ^ y11;
+        long y19 = y10 ^ y8;
+        long y16 = t0 ^ y11;
+        long y21 = y13 ^ y16;
+        long y18 = x0 ^ y16;
+
+        // 中间非线性部分（GF(2^8)求逆）
+        long t2 = y12 & y15;
+        long t3 = y3 & y6;
+        long t4 = t3 ^ t2;
+        long t5 = y4 & x7;
+        long t6 = t5 ^ t2;
+        long t7 = y13 & y16;
+        long t8 = y5 & y1;
+        long t9 = t8 ^ t7;
+        long t10 = y2 & y7;
+        long t11 = t10 ^ t7;
+        long t12 = y9 & y11;
+        long t13 = y14 & y17;
+        long t14 = t13 ^ t12;
+        long t15 = y8 & y10;
+        long t16 = t15 ^ t12;
+        long t17 = t4 ^ t14;
+        long t18 = t6 ^ t16;
+        long t19 = t9 ^ t14;
+        long t20 = t11 ^ t16;
+        long t21 = t17 ^ y20;
+        long t22 = t18 ^ y19;
+        long t23 = t19 ^ y21;
+        long t24 = t20 ^ y18;
+
+        long t25 = t21 ^ t22;
+        long t26 = t21 & t23;
+        long t27 = t24 ^ t26;
+        long t28 = t25 & t27;
+        long t29 = t28 ^ t22;
+        long t30 = t23 ^ t24;
+        long t31 = t22 ^ t26;
+        long t32 = t31 & t30;
+        long t33 = t32 ^ t24;
+        long t34 = t23 ^ t33;
+        long t35 = t27 ^ t33;
+        long t36 = t24 & t35;
+        long t37 = t36 ^ t34;
+        long t38 = t27 ^ t36;
+        long t39 = t29 & t38;
+        long t40 = t25 ^ t39;
+
+        long t41 = t40 ^ t37;
+        long t42 = t29 ^ t33;
+        long t43 = t29 ^ t40;
+        long t44 = t33 ^ t37;
+        long t45 = t42 ^ t41;
+        long z0 = t44 & y15;
+        long z1 = t37 & y6;
+        long z2 = t33 & x7;
+        long z3 = t43 & y16;
+        long z4 = t40 & y1;
+        long z5 = t29 & y7;
+        long z6 = t42 & y11;
+        long z7 = t45 & y17;
+        long z8 = t41 & y10;
+        long z9 = t44 & y12;
+        long z10 = t37 & y3;
+        long z11 = t33 & y4;
+        long z12 = t43 & y13;
+        long z13 = t40 & y5;
+        long z14 = t29 & y2;
+        long z15 = t42 & y9;
+        long z16 = t45 & y14;
+        long z17 = t41 & y8;
+
+        // 底层线性变换
+        long t46 = z15 ^ z16;
+        long t47 = z10 ^ z11;
+        long t48 = z5 ^ z13;
+        long t49 = z9 ^ z10;
+        long t50 = z2 ^ z12;
+        long t51 = z2 ^ z5;
+        long t52 = z7 ^ z8;
+        long t53 = z0 ^ z3;
+        long t54 = z6 ^ z7;
+        long t55 = z16 ^ z17;
+        long t56 = z12 ^ t48;
+        long t57 = t50 ^ t53;
+        long t58 = z4 ^ t46;
+        long t59 = z3 ^ t54;
+        long t60 = t46 ^ t57;
+        long t61 = z14 ^ t57;
+        long t62 = t52 ^ t58;
+        long t63 = t49 ^ t58;
+        long t64 = z4 ^ t59;
+        long t65 = t61 ^ t62;
+        long t66 = z1 ^ t63;
+        long s0 = t59 ^ t63;
+        long s6 = t56 ^ ~t62;
+        long s7 = t48 ^ ~t60;
+        long t67 = t64 ^ t65;
+        long s3 = t53 ^ t66;
+        long s4 = t51 ^ t66;
+        long s5 = t47 ^ t65;
+        long s1 = t64 ^ ~s3;
+        long s2 = t55 ^ ~t67;
+
+        q[off + 7] = s0;
+        q[off + 6] = s1;
+        q[off + 5] = s2;
+        q[off + 4] = s3;
+        q[off + 3] = s4;
+        q[off + 2] = s5;
+        q[off + 1] = s6;
+        q[off] = s7;
+    }
+
+    // 把8个分组（128字节）转置为比特平面
+    static void pack(byte[] in, int off, long[] q) {
+        Arrays.fill(q, 0);
+        for (int j = 0; j < BLOCK_SIZE; j++) {
+            long x = 0;
+            for (int b = 0; b < PARALLEL_BLOCKS; b++) {
+                x |= (in[off + b * BLOCK_SIZE + j] & 0xFFL) << (b << 3);
+            }
+            x = transpose8x8(x);
+            int half = j < 8 ? 0 : 8;
+            int shift = (j & 7) << 3;
+            for (int i = 0; i < 8; i++) {
+                q[half + i] |= ((x >>> (i << 3)) & 0xFF) << shift;
+            }
+        }
+    }
+
+    // pack的逆过程
+    static void unpack(long[] q, byte[] out, int off) {
+        for (int j = 0; j < BLOCK_SIZE; j++) {
+            int half = j < 8 ? 0 : 8;
+            int shift = (j & 7) << 3;
+            long x = 0;
+            for (int i = 0; i < 8; i++) {
+                x |= ((q[half + i] >>> shift) & 0xFF) << (i << 3);
+            }
+            x = transpose8x8(x);
+            for (int b = 0; b < PARALLEL_BLOCKS; b++) {
+                out[off + b * BLOCK_SIZE + j] = (byte) (x >>> (b << 3));
+            }
+        }
+    }
+
+    // 8x8比特矩阵转置：第r字节第c位 <-> 第c字节第r位
+    static long transpose8x8(long x) {
+        long t = (x ^ (x >>> 7)) & 0x00AA00AA00AA00AAL;
+        x = x ^ t ^ (t << 7);
+        t = (x ^ (x >>> 14)) & 0x0000CCCC0000CCCCL;
+        x = x ^ t ^ (t << 14);
+        t = (x ^ (x >>> 28)) & 0x00000000F0F0F0F0L;
+        x = x ^ t ^ (t << 28);
+        return x;
+    }
+
+    // 密钥扩展（SubWord使用比特切片S盒，不查表）
+    private int[] keyExpansion(byte[] key) {
+        int nk = key.length / 4;
+        int[] w = new int[4 * (rounds + 1)];
+        for (int i = 0; i < nk; i++) {
+            w[i] = ((key[4 * i] & 0xFF) << 24) | ((key[4 * i + 1] & 0xFF) << 16)
+                    | ((key[4 * i + 2] & 0xFF) << 8) | (key[4 * i + 3] & 0xFF);
+        }
+        for (int i = nk; i < w.length; i++) {
+            int temp = w[i - 1];
+            if (i % nk == 0) {
+                temp = subWord(Integer.rotateLeft(temp, 8)) ^ (RCON[i / nk - 1] << 24);
+            } else if (nk > 6 && i % nk == 4) {
+                temp = subWord(temp);
+            }
+            w[i] = w[i - nk] ^ temp;
+        }
+        return w;
+    }
+
+    private static int subWord(int word) {
+        long[] q = new long[8];
+        for (int i = 0; i < 8; i++) {
+            long plane = 0;
+            for (int k = 0; k < 4; k++) {
+                plane |= (long) ((word >>> (8 * k + i)) & 1) << k;
+            }
+            q[i] = plane;
+        }
+        sbox(q, 0);
+        int result = 0;
+        for (int i = 0; i < 8; i++) {
+            for (int k = 0; k < 4; k++) {
+                result |= (int) ((q[i] >>> k) & 1) << (8 * k + i);
+            }
+        }
+        return result;
+    }
+
+    private static void incrementCounter(byte[] counter) {
+        for (int i = BLOCK_SIZE - 1; i >= 0; i--) {
+            if (++counter[i] != 0) break;
+        }
+    }
+
+    private static void putInt(int v, byte[] b, int off) {
+        b[off] = (byte) (v >>> 24);
+        b[off + 1] = (byte) (v >>> 16);
+        b[off + 2] = (byte) (v >>> 8);
+        b[off + 3] = (byte) v;
+    }
+}
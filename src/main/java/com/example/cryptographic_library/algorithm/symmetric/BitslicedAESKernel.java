@@ -0,0 +1,41 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+/**
+ * 比特切片AES的多分组并行计算内核
+ *
+ * <p>只服务于{@link BitslicedAES}的批量加密（ECB加密与CTR），在数据量足够大时自动调用，
+ * 每次调用处理若干个完整批次。{@link AES}的批量路径不使用本内核：向量化的比特切片吞吐约为
+ * T表实现的一半，只在需要常数时间时才值得付出；SM4同理（见{@link VectorBitslicedAESKernel}）。当前唯一实现基于孵化中的Vector API
+ * （jdk.incubator.vector），运行时未加载该模块或通过
+ * {@code -Dcrypto.vector.disabled=true} 关闭时{@link #VECTOR}为null，调用方回退到标量实现</p>
+ */
+interface BitslicedAESKernel {
+
+    // 向量化内核，不可用时为null
+    BitslicedAESKernel VECTOR = load();
+
+    /**
+     * AES每批处理的分组数
+     */
+    int batchBlocks();
+
+    /**
+     * AES批量加密，blocks必须是{@link #batchBlocks()}的倍数
+     * @param slicedKeys 比特切片形式的轮密钥（见{@link BitslicedAES#sliceRoundKeys}）
+     */
+    void encrypt(long[] slicedKeys, int rounds, byte[] in, int inOff, byte[] out, int outOff, int blocks);
+
+    private static BitslicedAESKernel load() {
+        if (Boolean.getBoolean("crypto.vector.disabled")
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            // 反射加载，保证模块缺失时不会解析到Vector API的类
+            return (BitslicedAESKernel) Class.forName(BitslicedAESKernel.class.getPackageName() + ".VectorBitslicedAESKernel")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
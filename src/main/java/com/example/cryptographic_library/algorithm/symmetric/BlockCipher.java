@@ -0,0 +1,53 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+/**
+ * 分组密码原语
+ *
+ * <p>只描述单个分组的正向与逆向置换，工作模式与填充由{@link BlockCipherMode}和{@link GCM}统一实现。
+ * 分组运算只读取轮密钥，实现类应允许多个线程并发调用，并允许输入输出为同一数组的同一位置</p>
+ */
+public interface BlockCipher {
+
+    /**
+     * 分组长度（字节）
+     */
+    int getBlockSize();
+
+    /**
+     * 加密单个分组：in[inOff..inOff+blockSize) -> out[outOff..outOff+blockSize)
+     */
+    void encryptBlock(byte[] in, int inOff, byte[] out, int outOff);
+
+    /**
+     * 解密单个分组：in[inOff..inOff+blockSize) -> out[outOff..outOff+blockSize)
+     */
+    void decryptBlock(byte[] in, int inOff, byte[] out, int outOff);
+
+    /**
+     * 批量加密连续分组（ECB，无填充），len必须是分组长度的倍数
+     *
+     * <p>默认逐组调用{@link #encryptBlock}，有多分组优化的实现应覆盖此方法。
+     * 输入输出区间不重叠或完全重合时结果正确</p>
+     */
+    default void encryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        int blockSize = getBlockSize();
+        for (int i = 0; i < len; i += blockSize) {
+            encryptBlock(in, inOff + i, out, outOff + i);
+        }
+    }
+
+    /**
+     * 批量解密连续分组（ECB，无填充），约定同{@link #encryptBlocks}
+     */
+    default void decryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        int blockSize = getBlockSize();
+        for (int i = 0; i < len; i += blockSize) {
+            decryptBlock(in, inOff + i, out, outOff + i);
+        }
+    }
+
+    /**
+     * 安全擦除轮密钥
+     */
+    void clearKeys();
+}
@@ -0,0 +1,155 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 读取时解密（或加密）的输入流，适用于AES、SM4、RC6等任意{@link BlockCipher}
+ *
+ * <p>支持{@link BlockCipherMode.Mode}的全部模式，输出与{@link BlockCipherMode}逐字节一致：
+ * <ul>
+ *   <li>每次从底层流读取至多8KB，输入输出缓冲区固定且反复使用，内存占用与数据总量无关</li>
+ *   <li>ECB/CBC的填充只在底层流结束时处理：加密时追加填充，解密时保留最后一组直到确认流结束再去除填充</li>
+ *   <li>不支持mark/reset；关闭时擦除缓冲区与链接状态，并关闭底层输入流</li>
+ * </ul>
+ *
+ * <p>密文长度或填充无效时，读取到流末尾的那次调用抛出IOException（原因为引擎的IllegalArgumentException）。
+ * 实例不是线程安全的</p>
+ */
+public class BlockCipherInputStream extends FilterInputStream {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final IncrementalCipher engine;
+    private final byte[] inBuffer = new byte[BUFFER_SIZE];
+    private final byte[] outBuffer;
+    private final byte[] single = new byte[1];
+    private int outPos;
+    private int outLength;
+    private boolean eof;
+    private boolean closed;
+
+    /**
+     * 使用默认填充：ECB/CBC为PKCS7，流模式不填充
+     * @param in 底层输入流
+     * @param cipher 分组密码
+     * @param mode 工作模式
+     * @param iv 初始向量（ECB忽略，可为null；其他模式长度必须等于分组长度）
+     * @param encrypt true为加密，false为解密
+     */
+    public BlockCipherInputStream(InputStream in, BlockCipher cipher, BlockCipherMode.Mode mode,
+                                  byte[] iv, boolean encrypt) {
+        this(in, cipher, mode, mode.isStream() ? StandardPadding.NONE : StandardPadding.PKCS7, iv, encrypt);
+    }
+
+    /**
+     * @param padding ECB/CBC使用的填充方案；流模式只能为{@link StandardPadding#NONE}
+     */
+    public BlockCipherInputStream(InputStream in, BlockCipher cipher, BlockCipherMode.Mode mode,
+                                  Padding padding, byte[] iv, boolean encrypt) {
+        super(in);
+        this.engine = new IncrementalCipher(cipher, mode, padding, iv, encrypt);
+        this.outBuffer = new byte[BUFFER_SIZE + engine.getBlockSize()];
+    }
+
+    @Override
+    public int read() throws IOException {
+        int n = read(single, 0, 1);
+        return n < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            ensureOpen();
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int n = Math.min(len, outLength - outPos);
+        System.arraycopy(outBuffer, outPos, b, off, n);
+        outPos += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && fill()) {
+            int k = (int) Math.min(n - skipped, outLength - outPos);
+            outPos += k;
+            skipped += k;
+        }
+        return skipped;
+    }
+
+    // 已处理但尚未读取的字节数
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+        return outLength - outPos;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("不支持mark/reset");
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        engine.clear();
+        Arrays.fill(inBuffer, (byte) 0);
+        Arrays.fill(outBuffer, (byte) 0);
+        outPos = outLength = 0;
+        in.close();
+    }
+
+    // 输出缓冲区为空时从底层流读取并处理下一段，返回false表示已到流末尾；
+    // 密文长度或填充无效时抛出IOException
+    private boolean fill() throws IOException {
+        ensureOpen();
+        while (outPos == outLength) {
+            if (eof) {
+                return false;
+            }
+            int n = in.read(inBuffer, 0, BUFFER_SIZE);
+            outPos = 0;
+            if (n < 0) {
+                eof = true;
+                try {
+                    outLength = engine.doFinal(outBuffer, 0);
+                } catch (IllegalArgumentException e) {
+                    // 不再返回缓冲区中已读过的数据
+                    outLength = 0;
+                    throw new IOException(e.getMessage(), e);
+                }
+            } else {
+                outLength = engine.update(inBuffer, 0, n, outBuffer, 0);
+            }
+        }
+        return true;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("流已关闭");
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import java.util.Arrays;
+
+/**
+ * 基于{@link BlockCipher}的通用工作模式（NIST SP 800-38A）
+ *
+ * <p>支持的模式：
+ * <ul>
+ *   <li>ECB/CBC：分组模式，按{@link Padding}填充（默认PKCS7）</li>
+ *   <li>CTR：计数器为整个分组的大端整数，初始值为IV，每个分组加1</li>
+ *   <li>CFB：以整个分组为反馈单位（CFB-128）</li>
+ *   <li>OFB：输出反馈</li>
+ * </ul>
+ * CTR/CFB/OFB为流模式，不填充，密文与明文等长。</p>
+ *
+ * <p>所有模式直接在输出数组上计算，不产生逐分组分配。互不依赖的分组
+ * （ECB、CBC/CFB解密、CTR）尽量整段交给{@link BlockCipher#encryptBlocks}/{@link BlockCipher#decryptBlocks}，
+ * 让各密码的多分组优化生效，并经{@link ParallelChunkExecutor}按块并行处理（小数据在调用线程上直接执行）；
+ * CBC/CFB加密与OFB存在链式依赖，只能串行</p>
+ *
+ * <p>实例不保存可变状态，可被多个线程共享</p>
+ */
+public class BlockCipherMode {
+
+    public enum Mode {
+        ECB, CBC, CTR, CFB, OFB;
+
+        // 流模式不填充，支持任意长度
+        boolean isStream() {
+            return this == CTR || this == CFB || this == OFB;
+        }
+    }
+
+    // CTR每次批量加密的计数器分组数
+    private static final int CTR_BATCH_BLOCKS = 64;
+
+    private final BlockCipher cipher;
+    private final Mode mode;
+    private final Padding padding;
+    private final int blockSize;
+
+    /**
+     * 使用默认填充：ECB/CBC为PKCS7，流模式不填充
+     */
+    public BlockCipherMode(BlockCipher cipher, Mode mode) {
+        this(cipher, mode, mode.isStream() ? StandardPadding.NONE : StandardPadding.PKCS7);
+    }
+
+    /**
+     * @param padding ECB/CBC使用的填充方案；流模式只能为{@link StandardPadding#NONE}
+     */
+    public BlockCipherMode(BlockCipher cipher, Mode mode, Padding padding) {
+        if (mode.isStream() && padding != StandardPadding.NONE) {
+            throw new IllegalArgumentException(mode + "为流模式，不使用填充");
+        }
+        this.cipher = cipher;
+        this.mode = mode;
+        this.padding = padding;
+        this.blockSize = cipher.getBlockSize();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * 加密
+     * @param iv 初始向量（ECB忽略，可为null；其他模式长度必须等于分组长度）
+     * @param input 明文
+     * @return 密文
+     */
+    public byte[] encrypt(byte[] iv, byte[] input) {
+        checkIv(iv);
+        switch (mode) {
+            case ECB: {
+                byte[] output = padded(input);
+                forEachRange(output.length / blockSize,
+                        (from, to) -> cipher.encryptBlocks(output, from * blockSize, output, from * blockSize, (to - from) * blockSize));
+                return output;
+            }
+            case CBC: {
+                byte[] output = padded(input);
+                cbcEncrypt(iv, output);
+                return output;
+            }
+            case CTR:
+                return ctr(iv, input);
+            case CFB: {
+                byte[] output = new byte[input.length];
+                cfbEncrypt(iv, input, output);
+                return output;
+            }
+            default:
+                return ofb(iv, input);
+        }
+    }
+
+    /**
+     * 解密
+     * @param iv 加密时使用的初始向量（ECB忽略）
+     * @param input 密文
+     * @return 明文
+     * @throws IllegalArgumentException 密文长度或填充无效时抛出
+     */
+    public byte[] decrypt(byte[] iv, byte[] input) {
+        checkIv(iv);
+        switch (mode) {
+            case ECB: {
+                checkBlockAligned(input.length);
+                byte[] output = new byte[input.length];
+                forEachRange(input.length / blockSize,
+                        (from, to) -> cipher.decryptBlocks(input, from * blockSize, output, from * blockSize, (to - from) * blockSize));
+                return unpadded(output);
+            }
+            case CBC: {
+                checkBlockAligned(input.length);
+                byte[] output = new byte[input.length];
+                forEachRange(input.length / blockSize, (from, to) -> cbcDecryptRange(iv, input, output, from, to));
+                return unpadded(output);
+            }
+            case CTR:
+                return ctr(iv, input);
+            case CFB: {
+                byte[] output = new byte[input.length];
+                forEachRange((input.length + blockSize - 1) / blockSize, (from, to) -> cfbDecryptRange(iv, input, output, from, to));
+                return output;
+            }
+            default:
+                return ofb(iv, input);
+        }
+    }
+
+    // 复制明文并在末尾写入填充
+    private byte[] padded(byte[] input) {
+        int padLength = padding.padLength(input.length, blockSize);
+        byte[] output = Arrays.copyOf(input, input.length + padLength);
+        padding.pad(output, input.length, padLength);
+        return output;
+    }
+
+    private byte[] unpadded(byte[] output) {
+        int length = padding.unpaddedLength(output, output.length, blockSize);
+        return length == output.length ? output : Arrays.copyOf(output, length);
+    }
+
+    // 原地CBC加密：buf已含填充，逐组与前一个密文分组异或后加密
+    private void cbcEncrypt(byte[] iv, byte[] buf) {
+        byte[] prev = iv;
+        int prevOff = 0;
+        for (int pos = 0; pos < buf.length; pos += blockSize) {
+            xor(buf, pos, prev, prevOff, blockSize);
+            cipher.encryptBlock(buf, pos, buf, pos);
+            prev = buf;
+            prevOff = pos;
+        }
+    }
+
+    // 解密[fromBlock, toBlock)区间的CBC分组：先整段批量解密，再逐组异或前一个密文分组
+    private void cbcDecryptRange(byte[] iv, byte[] input, byte[] output, int fromBlock, int toBlock) {
+        int start = fromBlock * blockSize;
+        cipher.decryptBlocks(input, start, output, start, (toBlock - fromBlock) * blockSize);
+        for (int b = fromBlock; b < toBlock; b++) {
+            int off = b * blockSize;
+            if (b == 0) {
+                xor(output, off, iv, 0, blockSize);
+            } else {
+                xor(output, off, input, off - blockSize, blockSize);
+            }
+        }
+    }
+
+    private byte[] ctr(byte[] iv, byte[] input) {
+        byte[] output = new byte[input.length];
+        forEachRange((input.length + blockSize - 1) / blockSize, (from, to) -> ctrRange(iv, input, output, from, to));
+        return output;
+    }
+
+    // [fromBlock, toBlock)区间的CTR变换：每批把多个计数器写入中转数组后一次性批量加密
+    private void ctrRange(byte[] iv, byte[] input, byte[] output, int fromBlock, int toBlock) {
+        byte[] counter = new byte[blockSize];
+        setCounter(iv, fromBlock, counter);
+        byte[] keystream = new byte[Math.min(toBlock - fromBlock, CTR_BATCH_BLOCKS) * blockSize];
+        int pos = fromBlock * blockSize;
+        int end = Math.min(input.length, toBlock * blockSize);
+        while (pos < end) {
+            int n = Math.min(keystream.length, end - pos);
+            int blocks = (n + blockSize - 1) / blockSize;
+            for (int b = 0; b < blocks; b++) {
+                System.arraycopy(counter, 0, keystream, b * blockSize, blockSize);
+                incrementCounter(counter);
+            }
+            cipher.encryptBlocks(keystream, 0, keystream, 0, blocks * blockSize);
+            for (int i = 0; i < n; i++) {
+                output[pos + i] = (byte) (input[pos + i] ^ keystream[i]);
+            }
+            pos += n;
+        }
+    }
+
+    // CFB加密：密钥流为上一个密文分组（首组为IV）的加密结果
+    private void cfbEncrypt(byte[] iv, byte[] input, byte[] output) {
+        byte[] keystream = new byte[blockSize];
+        byte[] prev = iv;
+        int prevOff = 0;
+        for (int pos = 0; pos < input.length; pos += blockSize) {
+            cipher.encryptBlock(prev, prevOff, keystream, 0);
+            int n = Math.min(blockSize, input.length - pos);
+            for (int i = 0; i < n; i++) {
+                output[pos + i] = (byte) (input[pos + i] ^ keystream[i]);
+            }
+            prev = output;
+            prevOff = pos;
+        }
+    }
+
+    // CFB解密[fromBlock, toBlock)：各组密钥流只依赖前一个密文分组，整段批量加密后异或
+    private void cfbDecryptRange(byte[] iv, byte[] input, byte[] output, int fromBlock, int toBlock) {
+        int full = Math.min(toBlock, input.length / blockSize);
+        int b = fromBlock;
+        if (b == 0 && full > 0) {
+            cipher.encryptBlock(iv, 0, output, 0);
+            b = 1;
+        }
+        if (full > b) {
+            cipher.encryptBlocks(input, (b - 1) * blockSize, output, b * blockSize, (full - b) * blockSize);
+        }
+        for (int i = fromBlock * blockSize; i < full * blockSize; i++) {
+            output[i] ^= input[i];
+        }
+        // 末尾不足一组
+        if (toBlock > full) {
+            byte[] keystream = new byte[blockSize];
+            cipher.encryptBlock(full == 0 ? iv : input, full == 0 ? 0 : (full - 1) * blockSize, keystream, 0);
+            for (int i = full * blockSize; i < input.length; i++) {
+                output[i] = (byte) (input[i] ^ keystream[i - full * blockSize]);
+            }
+        }
+    }
+
+    // OFB：密钥流由IV反复加密得到，加解密为同一操作
+    private byte[] ofb(byte[] iv, byte[] input) {
+        byte[] output = new byte[input.length];
+        byte[] keystream = iv.clone();
+        for (int pos = 0; pos < input.length; pos += blockSize) {
+            cipher.encryptBlock(keystream, 0, keystream, 0);
+            int n = Math.min(blockSize, input.length - pos);
+            for (int i = 0; i < n; i++) {
+                output[pos + i] = (byte) (input[pos + i] ^ keystream[i]);
+            }
+        }
+        Arrays.fill(keystream, (byte) 0);
+        return output;
+    }
+
+    // 对[0, blocks)按分组区间执行op，由默认执行器决定内联或分块并行
+    private void forEachRange(int blocks, ParallelChunkExecutor.RangeOp op) {
+        ParallelChunkExecutor.getDefault().forEachRange(blocks, blockSize, op);
+    }
+
+    // counter = iv + blockIndex（大端加法）
+    private static void setCounter(byte[] iv, long blockIndex, byte[] counter) {
+        long carry = blockIndex;
+        for (int i = counter.length - 1; i >= 0; i--) {
+            long sum = (iv[i] & 0xFF) + (carry & 0xFF);
+            counter[i] = (byte) sum;
+            carry = (carry >>> 8) + (sum >>> 8);
+        }
+    }
+
+    private static void incrementCounter(byte[] counter) {
+        for (int i = counter.length - 1; i >= 0; i--) {
+            if (++counter[i] != 0) break;
+        }
+    }
+
+    // dst[dstOff..+len) ^= src[srcOff..+len)
+    private static void xor(byte[] dst, int dstOff, byte[] src, int srcOff, int len) {
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] ^= src[srcOff + i];
+        }
+    }
+
+    private void checkIv(byte[] iv) {
+        if (mode != Mode.ECB && (iv == null || iv.length != blockSize)) {
+            throw new IllegalArgumentException("IV必须为" + blockSize + "字节");
+        }
+    }
+
+    private void checkBlockAligned(int length) {
+        if (length == 0 || length % blockSize != 0) {
+            throw new IllegalArgumentException("无效的密文长度: 必须是" + blockSize + "的倍数且不为0");
+        }
+    }
+}
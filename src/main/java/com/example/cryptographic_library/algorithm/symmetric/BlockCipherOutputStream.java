@@ -0,0 +1,113 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 写入时加密（或解密）的输出流，适用于AES、SM4、RC6等任意{@link BlockCipher}
+ *
+ * <p>支持{@link BlockCipherMode.Mode}的全部模式，输出与{@link BlockCipherMode}逐字节一致：
+ * <ul>
+ *   <li>使用固定的8KB内部缓冲区，内存占用与数据总量无关</li>
+ *   <li>ECB/CBC只在{@link #close()}时处理填充，之前写入的不足一组的数据暂存在流中，
+ *       因此{@link #flush()}不会输出最后不完整的分组</li>
+ *   <li>关闭时擦除缓冲区与链接状态，并关闭底层输出流</li>
+ * </ul>
+ *
+ * <p>实例不是线程安全的</p>
+ */
+public class BlockCipherOutputStream extends FilterOutputStream {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final IncrementalCipher engine;
+    private final byte[] buffer;
+    private final byte[] single = new byte[1];
+    private boolean closed;
+
+    /**
+     * 使用默认填充：ECB/CBC为PKCS7，流模式不填充
+     * @param out 底层输出流
+     * @param cipher 分组密码
+     * @param mode 工作模式
+     * @param iv 初始向量（ECB忽略，可为null；其他模式长度必须等于分组长度）
+     * @param encrypt true为加密，false为解密
+     */
+    public BlockCipherOutputStream(OutputStream out, BlockCipher cipher, BlockCipherMode.Mode mode,
+                                   byte[] iv, boolean encrypt) {
+        this(out, cipher, mode, mode.isStream() ? StandardPadding.NONE : StandardPadding.PKCS7, iv, encrypt);
+    }
+
+    /**
+     * @param padding ECB/CBC使用的填充方案；流模式只能为{@link StandardPadding#NONE}
+     */
+    public BlockCipherOutputStream(OutputStream out, BlockCipher cipher, BlockCipherMode.Mode mode,
+                                   Padding padding, byte[] iv, boolean encrypt) {
+        super(out);
+        this.engine = new IncrementalCipher(cipher, mode, padding, iv, encrypt);
+        this.buffer = new byte[BUFFER_SIZE + engine.getBlockSize()];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        single[0] = (byte) b;
+        write(single, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        ensureOpen();
+        while (len > 0) {
+            int n = Math.min(len, BUFFER_SIZE);
+            int written = engine.update(b, off, n, buffer, 0);
+            out.write(buffer, 0, written);
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * 刷新底层输出流；ECB/CBC尚不完整的最后一组要到{@link #close()}时才输出
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        out.flush();
+    }
+
+    /**
+     * 输出最后一组（含填充）并关闭底层输出流
+     * @throws IOException 写入失败，或解密时密文长度或填充无效、不填充而数据长度不是分组整数倍时抛出
+     *         （后两种情况的原因为引擎的IllegalArgumentException）
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            int written;
+            try {
+                written = engine.doFinal(buffer, 0);
+            } catch (IllegalArgumentException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+            out.write(buffer, 0, written);
+            out.flush();
+        } finally {
+            engine.clear();
+            Arrays.fill(buffer, (byte) 0);
+            out.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("流已关闭");
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import java.util.Arrays;
+
+/**
+ * ChaCha20流密码（RFC 8439，256位密钥、96位nonce、32位分组计数器）
+ *
+ * <p>轮函数只有32位加法、异或与循环移位，纯Java下不依赖硬件AES指令也能保持高吞吐。
+ * 批量路径每次在局部变量中交错计算4个连续计数器的分组，各分组的依赖链互不相关，
+ * 可由CPU乱序重叠执行；密钥流直接与调用方数组异或，不产生逐分组分配。
+ * 密钥流可按计数器随机访问，大数据量时经{@link ParallelChunkExecutor}分块并行</p>
+ *
+ * <p>实例只保存密钥，可被多个线程共享</p>
+ */
+public class ChaCha20 {
+    public static final int KEY_LENGTH = 32;
+    public static final int NONCE_LENGTH = 12;
+    public static final int BLOCK_SIZE = 64;
+    // 批量路径中交错处理的分组数
+    private static final int INTERLEAVE = 4;
+
+    // "expand 32-byte k"
+    private static final int C0 = 0x61707865;
+    private static final int C1 = 0x3320646e;
+    private static final int C2 = 0x79622d32;
+    private static final int C3 = 0x6b206574;
+
+    private final int[] key = new int[8];
+
+    /**
+     * @param key 32字节密钥
+     */
+    public ChaCha20(byte[] key) {
+        if (key == null || key.length != KEY_LENGTH) {
+            throw new IllegalArgumentException("ChaCha20密钥必须为32字节");
+        }
+        for (int i = 0; i < 8; i++) {
+            this.key[i] = getInt(key, i * 4);
+        }
+    }
+
+    /**
+     * 加解密（同一操作），大数据量时分块并行
+     * @param nonce 12字节nonce
+     * @param counter 第一个分组的计数器值（RFC 8439 AEAD中为1）
+     * @param input 明文或密文
+     * @return 与输入等长的输出
+     */
+    public byte[] encrypt(byte[] nonce, int counter, byte[] input) {
+        byte[] output = new byte[input.length];
+        xor(nonce, counter, input, 0, output, 0, input.length);
+        return output;
+    }
+
+    /**
+     * 对in[inOff..inOff+len)做密钥流异或，结果写入out[outOff..)，允许原地处理；大数据量时分块并行
+     * @param nonce 12字节nonce
+     * @param counter 第一个分组的计数器值
+     */
+    public void xor(byte[] nonce, int counter, byte[] in, int inOff, byte[] out, int outOff, int len) {
+        int blocks = (len + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        checkCounter(counter, blocks);
+        int[] j = initialState(nonce);
+        ParallelChunkExecutor.getDefault().forEachRange(blocks, BLOCK_SIZE, (from, to) -> {
+            int off = from * BLOCK_SIZE;
+            int n = Math.min(len, to * BLOCK_SIZE) - off;
+            xorRange(j.clone(), counter + from, in, inOff + off, out, outOff + off, n);
+        });
+        Arrays.fill(j, 0);
+    }
+
+    /**
+     * 生成计数器为counter的单个64字节密钥流分组，写入out[outOff..outOff+64)
+     */
+    public void keystreamBlock(byte[] nonce, int counter, byte[] out, int outOff) {
+        int[] j = initialState(nonce);
+        j[12] = counter;
+        block(j, out, outOff);
+    }
+
+    // 每4个分组交错生成一次密钥流再异或，末尾不足4个分组时逐组处理
+    private void xorRange(int[] j, int counter, byte[] in, int inOff, byte[] out, int outOff, int len) {
+        byte[] ks = new byte[INTERLEAVE * BLOCK_SIZE];
+        j[12] = counter;
+        int pos = 0;
+        while (len - pos >= INTERLEAVE * BLOCK_SIZE) {
+            block4(j, ks);
+            xorBytes(in, inOff + pos, out, outOff + pos, ks, INTERLEAVE * BLOCK_SIZE);
+            j[12] += INTERLEAVE;
+            pos += INTERLEAVE * BLOCK_SIZE;
+        }
+        while (pos < len) {
+            block(j, ks, 0);
+            xorBytes(in, inOff + pos, out, outOff + pos, ks, Math.min(BLOCK_SIZE, len - pos));
+            j[12]++;
+            pos += BLOCK_SIZE;
+        }
+        Arrays.fill(ks, (byte) 0);
+        Arrays.fill(j, 0);
+    }
+
+    private static void xorBytes(byte[] in, int inOff, byte[] out, int outOff, byte[] ks, int len) {
+        for (int i = 0; i < len; i++) {
+            out[outOff + i] = (byte) (in[inOff + i] ^ ks[i]);
+        }
+    }
+
+    // 单个分组：10个双轮（列轮+对角轮）后与输入状态相加，按小端序写出
+    private static void block(int[] j, byte[] ks, int off) {
+        int j0 = j[0], j1 = j[1], j2 = j[2], j3 = j[3], j4 = j[4], j5 = j[5], j6 = j[6], j7 = j[7];
+        int j8 = j[8], j9 = j[9], j10 = j[10], j11 = j[11], j12 = j[12], j13 = j[13], j14 = j[14], j15 = j[15];
+        int x0 = j0, x1 = j1, x2 = j2, x3 = j3;
+        int x4 = j4, x5 = j5, x6 = j6, x7 = j7;
+        int x8 = j8, x9 = j9, x10 = j10, x11 = j11;
+        int x12 = j12, x13 = j13, x14 = j14, x15 = j15;
+        for (int r = 0; r < 10; r++) {
+            x0 += x4; x12 = rotl(x12 ^ x0, 16); x8 += x12; x4 = rotl(x4 ^ x8, 12); x0 += x4; x12 = rotl(x12 ^ x0, 8); x8 += x12; x4 = rotl(x4 ^ x8, 7);
+            x1 += x5; x13 = rotl(x13 ^ x1, 16); x9 += x13; x5 = rotl(x5 ^ x9, 12); x1 += x5; x13 = rotl(x13 ^ x1, 8); x9 += x13; x5 = rotl(x5 ^ x9, 7);
+            x2 += x6; x14 = rotl(x14 ^ x2, 16); x10 += x14; x6 = rotl(x6 ^ x10, 12); x2 += x6; x14 = rotl(x14 ^ x2, 8); x10 += x14; x6 = rotl(x6 ^ x10, 7);
+            x3 += x7; x15 = rotl(x15 ^ x3, 16); x11 += x15; x7 = rotl(x7 ^ x11, 12); x3 += x7; x15 = rotl(x15 ^ x3, 8); x11 += x15; x7 = rotl(x7 ^ x11, 7);
+            x0 += x5; x15 = rotl(x15 ^ x0, 16); x10 += x15; x5 = rotl(x5 ^ x10, 12); x0 += x5; x15 = rotl(x15 ^ x0, 8); x10 += x15; x5 = rotl(x5 ^ x10, 7);
+            x1 += x6; x12 = rotl(x12 ^ x1, 16); x11 += x12; x6 = rotl(x6 ^ x11, 12); x1 += x6; x12 = rotl(x12 ^ x1, 8); x11 += x12; x6 = rotl(x6 ^ x11, 7);
+            x2 += x7; x13 = rotl(x13 ^ x2, 16); x8 += x13; x7 = rotl(x7 ^ x8, 12); x2 += x7; x13 = rotl(x13 ^ x2, 8); x8 += x13; x7 = rotl(x7 ^ x8, 7);
+            x3 += x4; x14 = rotl(x14 ^ x3, 16); x9 += x14; x4 = rotl(x4 ^ x9, 12); x3 += x4; x14 = rotl(x14 ^ x3, 8); x9 += x14; x4 = rotl(x4 ^ x9, 7);
+        }
+        putInt(x0 + j0, ks, off); putInt(x1 + j1, ks, off + 4); putInt(x2 + j2, ks, off + 8); putInt(x3 + j3, ks, off + 12);
+        putInt(x4 + j4, ks, off + 16); putInt(x5 + j5, ks, off + 20); putInt(x6 + j6, ks, off + 24); putInt(x7 + j7, ks, off + 28);
+        putInt(x8 + j8, ks, off + 32); putInt(x9 + j9, ks, off + 36); putInt(x10 + j10, ks, off + 40); putInt(x11 + j11, ks, off + 44);
+        putInt(x12 + j12, ks, off + 48); putInt(x13 + j13, ks, off + 52); putInt(x14 + j14, ks, off + 56); putInt(x15 + j15, ks, off + 60);
+    }
+
+    // 计数器为j12..j12+3的4个分组交错计算，依次写入ks[0..256)
+    private static void block4(int[] j, byte[] ks) {
+        int j0 = j[0], j1 = j[1], j2 = j[2], j3 = j[3], j4 = j[4], j5 = j[5], j6 = j[6], j7 = j[7];
+        int j8 = j[8], j9 = j[9], j10 = j[10], j11 = j[11], j12 = j[12], j13 = j[13], j14 = j[14], j15 = j[15];
+        int a0 = j0, a1 = j1, a2 = j2, a3 = j3;
+        int a4 = j4, a5 = j5, a6 = j6, a7 = j7;
+        int a8 = j8, a9 = j9, a10 = j10, a11 = j11;
+        int a12 = j12, a13 = j13, a14 = j14, a15 = j15;
+        int b0 = j0, b1 = j1, b2 = j2, b3 = j3;
+        int b4 = j4, b5 = j5, b6 = j6, b7 = j7;
+        int b8 = j8, b9 = j9, b10 = j10, b11 = j11;
+        int b12 = j12 + 1, b13 = j13, b14 = j14, b15 = j15;
+        int c0 = j0, c1 = j1, c2 = j2, c3 = j3;
+        int c4 = j4, c5 = j5, c6 = j6, c7 = j7;
+        int c8 = j8, c9 = j9, c10 = j10, c11 = j11;
+        int c12 = j12 + 2, c13 = j13, c14 = j14, c15 = j15;
+        int d0 = j0, d1 = j1, d2 = j2, d3 = j3;
+        int d4 = j4, d5 = j5, d6 = j6, d7 = j7;
+        int d8 = j8, d9 = j9, d10 = j10, d11 = j11;
+        int d12 = j12 + 3, d13 = j13, d14 = j14, d15 = j15;
+        for (int r = 0; r < 10; r++) {
+            a0 += a4; a12 = rotl(a12 ^ a0, 16); a8 += a12; a4 = rotl(a4 ^ a8, 12); a0 += a4; a12 = rotl(a12 ^ a0, 8); a8 += a12; a4 = rotl(a4 ^ a8, 7);
+            b0 += b4; b12 = rotl(b12 ^ b0, 16); b8 += b12; b4 = rotl(b4 ^ b8, 12); b0 += b4; b12 = rotl(b12 ^ b0, 8); b8 += b12; b4 = rotl(b4 ^ b8, 7);
+            c0 += c4; c12 = rotl(c12 ^ c0, 16); c8 += c12; c4 = rotl(c4 ^ c8, 12); c0 += c4; c12 = rotl(c12 ^ c0, 8); c8 += c12; c4 = rotl(c4 ^ c8, 7);
+            d0 += d4; d12 = rotl(d12 ^ d0, 16); d8 += d12; d4 = rotl(d4 ^ d8, 12); d0 += d4; d12 = rotl(d12 ^ d0, 8); d8 += d12; d4 = rotl(d4 ^ d8, 7);
+            a1 += a5; a13 = rotl(a13 ^ a1, 16); a9 += a13; a5 = rotl(a5 ^ a9, 12); a1 += a5; a13 = rotl(a13 ^ a1, 8); a9 += a13; a5 = rotl(a5 ^ a9, 7);
+            b1 += b5; b13 = rotl(b13 ^ b1, 16); b9 += b13; b5 = rotl(b5 ^ b9, 12); b1 += b5; b13 = rotl(b13 ^ b1, 8); b9 += b13; b5 = rotl(b5 ^ b9, 7);
+            c1 += c5; c13 = rotl(c13 ^ c1, 16); c9 += c13; c5 = rotl(c5 ^ c9, 12); c1 += c5; c13 = rotl(c13 ^ c1, 8); c9 += c13; c5 = rotl(c5 ^ c9, 7);
+            d1 += d5; d13 = rotl(d13 ^ d1, 16); d9 += d13; d5 = rotl(d5 ^ d9, 12); d1 += d5; d13 = rotl(d13 ^ d1, 8); d9 += d13; d5 = rotl(d5 ^ d9, 7);
+            a2 += a6; a14 = rotl(a14 ^ a2, 16); a10 += a14; a6 = rotl(a6 ^ a10, 12); a2 += a6; a14 = rotl(a14 ^ a2, 8); a10 += a14; a6 = rotl(a6 ^ a10, 7);
+            b2 += b6; b14 = rotl(b14 ^ b2, 16); b10 += b14; b6 = rotl(b6 ^ b10, 12); b2 += b6; b14 = rotl(b14 ^ b2, 8); b10 += b14; b6 = rotl(b6 ^ b10, 7);
+            c2 += c6; c14 = rotl(c14 ^ c2, 16); c10 += c14; c6 = rotl(c6 ^ c10, 12); c2 += c6; c14 = rotl(c14 ^ c2, 8); c10 += c14; c6 = rotl(c6 ^ c10, 7);
+            d2 += d6; d14 = rotl(d14 ^ d2, 16); d10 += d14; d6 = rotl(d6 ^ d10, 12); d2 += d6; d14 = rotl(d14 ^ d2, 8); d10 += d14; d6 = rotl(d6 ^ d10, 7);
+            a3 += a7; a15 = rotl(a15 ^ a3, 16); a11 += a15; a7 = rotl(a7 ^ a11, 12); a3 += a7; a15 = rotl(a15 ^ a3, 8); a11 += a15; a7 = rotl(a7 ^ a11, 7);
+            b3 += b7; b15 = rotl(b15 ^ b3, 16); b11 += b15; b7 = rotl(b7 ^ b11, 12); b3 += b7; b15 = rotl(b15 ^ b3, 8); b11 += b15; b7 = rotl(b7 ^ b11, 7);
+            c3 += c7; c15 = rotl(c15 ^ c3, 16); c11 += c15; c7 = rotl(c7 ^ c11, 12); c3 += c7; c15 = rotl(c15 ^ c3, 8); c11 += c15; c7 = rotl(c7 ^ c11, 7);
+            d3 += d7; d15 = rotl(d15 ^ d3, 16); d11 += d15; d7 = rotl(d7 ^ d11, 12); d3 += d7; d15 = rotl(d15 ^ d3, 8); d11 += d15; d7 = rotl(d7 ^ d11, 7);
+            a0 += a5; a15 = rotl(a15 ^ a0, 16); a10 += a15; a5 = rotl(a5 ^ a10, 12); a0 += a5; a15 = rotl(a15 ^ a0, 8); a10 += a15; a5 = rotl(a5 ^ a10, 7);
+            b0 += b5; b15 = rotl(b15 ^ b0, 16); b10 += b15; b5 = rotl(b5 ^ b10, 12); b0 += b5; b15 = rotl(b15 ^ b0, 8); b10 += b15; b5 = rotl(b5 ^ b10, 7);
+            c0 += c5; c15 = rotl(c15 ^ c0, 16); c10 += c15; c5 = rotl(c5 ^ c10, 12); c0 += c5; c15 = rotl(c15 ^ c0, 8); c10 += c15; c5 = rotl(c5 ^ c10, 7);
+            d0 += d5; d15 = rotl(d15 ^ d0, 16); d10 += d15; d5 = rotl(d5 ^ d10, 12); d0 += d5; d15 = rotl(d15 ^ d0, 8); d10 += d15; d5 = rotl(d5 ^ d10, 7);
+            a1 += a6; a12 = rotl(a12 ^ a1, 16); a11 += a12; a6 = rotl(a6 ^ a11, 12); a1 += a6; a12 = rotl(a12 ^ a1, 8); a11 += a12; a6 = rotl(a6 ^ a11, 7);
+            b1 += b6; b12 = rotl(b12 ^ b1, 16); b11 += b12; b6 = rotl(b6 ^ b11, 12); b1 += b6; b12 = rotl(b12 ^ b1, 8); b11 += b12; b6 = rotl(b6 ^ b11, 7);
+            c1 += c6; c12 = rotl(c12 ^ c1, 16); c11 += c12; c6 = rotl(c6 ^ c11, 12); c1 += c6; c12 = rotl(c12 ^ c1, 8); c11 += c12; c6 = rotl(c6 ^ c11, 7);
+            d1 += d6; d12 = rotl(d12 ^ d1, 16); d11 += d12; d6 = rotl(d6 ^ d11, 12); d1 += d6; d12 = rotl(d12 ^ d1, 8); d11 += d12; d6 = rotl(d6 ^ d11, 7);
+            a2 += a7; a13 = rotl(a13 ^ a2, 16); a8 += a13; a7 = rotl(a7 ^ a8, 12); a2 += a7; a13 = rotl(a13 ^ a2, 8); a8 += a13; a7 = rotl(a7 ^ a8, 7);
+            b2 += b7; b13 = rotl(b13 ^ b2, 16); b8 += b13; b7 = rotl(b7 ^ b8, 12); b2 += b7; b13 = rotl(b13 ^ b2, 8); b8 += b13; b7 = rotl(b7 ^ b8, 7);
+            c2 += c7; c13 = rotl(c13 ^ c2, 16); c8 += c13; c7 = rotl(c7 ^ c8, 12); c2 += c7; c13 = rotl(c13 ^ c2, 8); c8 += c13; c7 = rotl(c7 ^ c8, 7);
+            d2 += d7; d13 = rotl(d13 ^ d2, 16); d8 += d13; d7 = rotl(d7 ^ d8, 12); d2 += d7; d13 = rotl(d13 ^ d2, 8); d8 += d13; d7 = rotl(d7 ^ d8, 7);
+            a3 += a4; a14 = rotl(a14 ^ a3, 16); a9 += a14; a4 = rotl(a4 ^ a9, 12); a3 += a4; a14 = rotl(a14 ^ a3, 8); a9 += a14; a4 = rotl(a4 ^ a9, 7);
+            b3 += b4; b14 = rotl(b14 ^ b3, 16); b9 += b14; b4 = rotl(b4 ^ b9, 12); b3 += b4; b14 = rotl(b14 ^ b3, 8); b9 += b14; b4 = rotl(b4 ^ b9, 7);
+            c3 += c4; c14 = rotl(c14 ^ c3, 16); c9 += c14; c4 = rotl(c4 ^ c9, 12); c3 += c4; c14 = rotl(c14 ^ c3, 8); c9 += c14; c4 = rotl(c4 ^ c9, 7);
+            d3 += d4; d14 = rotl(d14 ^ d3, 16); d9 += d14; d4 = rotl(d4 ^ d9, 12); d3 += d4; d14 = rotl(d14 ^ d3, 8); d9 += d14; d4 = rotl(d4 ^ d9, 7);
+        }
+        putInt(a0 + j0, ks, 0); putInt(a1 + j1, ks, 4); putInt(a2 + j2, ks, 8); putInt(a3 + j3, ks, 12);
+        putInt(a4 + j4, ks, 16); putInt(a5 + j5, ks, 20); putInt(a6 + j6, ks, 24); putInt(a7 + j7, ks, 28);
+        putInt(a8 + j8, ks, 32); putInt(a9 + j9, ks, 36); putInt(a10 + j10, ks, 40); putInt(a11 + j11, ks, 44);
+        putInt(a12 + j12, ks, 48); putInt(a13 + j13, ks, 52); putInt(a14 + j14, ks, 56); putInt(a15 + j15, ks, 60);
+        putInt(b0 + j0, ks, 64); putInt(b1 + j1, ks, 68); putInt(b2 + j2, ks, 72); putInt(b3 + j3, ks, 76);
+        putInt(b4 + j4, ks, 80); putInt(b5 + j5, ks, 84); putInt(b6 + j6, ks, 88); putInt(b7 + j7, ks, 92);
+        putInt(b8 + j8, ks, 96); putInt(b9 + j9, ks, 100); putInt(b10 + j10, ks, 104); putInt(b11 + j11, ks, 108);
+        putInt(b12 + (j12 + 1), ks, 112); putInt(b13 + j13, ks, 116); putInt(b14 + j14, ks, 120); putInt(b15 + j15, ks, 124);
+        putInt(c0 + j0, ks, 128); putInt(c1 + j1, ks, 132); putInt(c2 + j2, ks, 136); putInt(c3 + j3, ks, 140);
+        putInt(c4 + j4, ks, 144); putInt(c5 + j5, ks, 148); putInt(c6 + j6, ks, 152); putInt(c7 + j7, ks, 156);
+        putInt(c8 + j8, ks, 160); putInt(c9 + j9, ks, 164); putInt(c10 + j10, ks, 168); putInt(c11 + j11, ks, 172);
+        putInt(c12 + (j12 + 2), ks, 176); putInt(c13 + j13, ks, 180); putInt(c14 + j14, ks, 184); putInt(c15 + j15, ks, 188);
+        putInt(d0 + j0, ks, 192); putInt(d1 + j1, ks, 196); putInt(d2 + j2, ks, 200); putInt(d3 + j3, ks, 204);
+        putInt(d4 + j4, ks, 208); putInt(d5 + j5, ks, 212); putInt(d6 + j6, ks, 216); putInt(d7 + j7, ks, 220);
+        putInt(d8 + j8, ks, 224); putInt(d9 + j9, ks, 228); putInt(d10 + j10, ks, 232); putInt(d11 + j11, ks, 236);
+        putInt(d12 + (j12 + 3), ks, 240); putInt(d13 + j13, ks, 244); putInt(d14 + j14, ks, 248); putInt(d15 + j15, ks, 252);
+    }
+
+    private int[] initialState(byte[] nonce) {
+        if (nonce == null || nonce.length != NONCE_LENGTH) {
+            throw new IllegalArgumentException("nonce必须为12字节");
+        }
+        return new int[] {
+                C0, C1, C2, C3,
+                key[0], key[1], key[2], key[3],
+                key[4], key[5], key[6], key[7],
+                0, getInt(nonce, 0), getInt(nonce, 4), getInt(nonce, 8)
+        };
+    }
+
+    // 32位计数器不允许回绕，否则密钥流重复
+    private static void checkCounter(int counter, long blocks) {
+        if ((counter & 0xFFFFFFFFL) + blocks > 0x1_0000_0000L) {
+            throw new IllegalArgumentException("数据过长，分组计数器溢出");
+        }
+    }
+
+    private static int rotl(int x, int n) {
+        return (x << n) | (x >>> (32 - n));
+    }
+
+    // 小端序读写32位字
+    private static int getInt(byte[] b, int off) {
+        return (b[off] & 0xFF) | ((b[off + 1] & 0xFF) << 8) | ((b[off + 2] & 0xFF) << 16) | (b[off + 3] << 24);
+    }
+
+    private static void putInt(int v, byte[] b, int off) {
+        b[off] = (byte) v;
+        b[off + 1] = (byte) (v >>> 8);
+        b[off + 2] = (byte) (v >>> 16);
+        b[off + 3] = (byte) (v >>> 24);
+    }
+
+    // 安全擦除敏感数据
+    public void clearKeys() {
+        Arrays.fill(key, 0);
+    }
+}
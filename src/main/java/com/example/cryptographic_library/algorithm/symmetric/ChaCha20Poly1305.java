@@ -0,0 +1,101 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * ChaCha20-Poly1305认证加密（RFC 8439）
+ *
+ * <p>密文格式为 C || T，T为16字节认证标签。Poly1305一次性密钥取计数器0的密钥流前32字节，
+ * 数据从计数器1开始加密，认证数据为 AAD || pad16 || C || pad16 || len(AAD) || len(C)</p>
+ *
+ * <p>全部运算为加法、异或与移位，不依赖AES硬件指令；实例只保存密钥，可被多个线程共享</p>
+ */
+public class ChaCha20Poly1305 {
+    public static final int KEY_LENGTH = ChaCha20.KEY_LENGTH;
+    public static final int NONCE_LENGTH = ChaCha20.NONCE_LENGTH;
+    public static final int TAG_LENGTH = Poly1305.TAG_LENGTH;
+
+    private final ChaCha20 chacha;
+
+    public ChaCha20Poly1305(byte[] key) {
+        this(new ChaCha20(key));
+    }
+
+    public ChaCha20Poly1305(ChaCha20 chacha) {
+        this.chacha = chacha;
+    }
+
+    /**
+     * 认证加密
+     * @param nonce 12字节nonce，同一密钥下不得重复
+     * @param plaintext 明文
+     * @param aad 附加认证数据，可为null
+     * @return 密文 || 16字节认证标签
+     */
+    public byte[] encrypt(byte[] nonce, byte[] plaintext, byte[] aad) {
+        byte[] output = new byte[plaintext.length + TAG_LENGTH];
+        chacha.xor(nonce, 1, plaintext, 0, output, 0, plaintext.length);
+        computeTag(nonce, aad, output, plaintext.length, output, plaintext.length);
+        return output;
+    }
+
+    /**
+     * 认证解密
+     * @param nonce 加密时使用的nonce
+     * @param ciphertext 密文 || 16字节认证标签
+     * @param aad 附加认证数据，可为null
+     * @return 明文
+     * @throws IllegalArgumentException 认证标签校验失败时抛出
+     */
+    public byte[] decrypt(byte[] nonce, byte[] ciphertext, byte[] aad) {
+        if (ciphertext.length < TAG_LENGTH) {
+            throw new IllegalArgumentException("密文长度不足，缺少认证标签");
+        }
+        int length = ciphertext.length - TAG_LENGTH;
+        byte[] tag = new byte[TAG_LENGTH];
+        computeTag(nonce, aad, ciphertext, length, tag, 0);
+        // 先校验再解密，标签不符时不输出任何明文
+        if (!MessageDigest.isEqual(tag, Arrays.copyOfRange(ciphertext, length, ciphertext.length))) {
+            throw new IllegalArgumentException("认证标签校验失败，密文或附加数据已被篡改");
+        }
+        byte[] plaintext = new byte[length];
+        chacha.xor(nonce, 1, ciphertext, 0, plaintext, 0, length);
+        return plaintext;
+    }
+
+    // 对 AAD 与 ciphertext[0..length) 计算标签，写入out[off..off+16)
+    private void computeTag(byte[] nonce, byte[] aad, byte[] ciphertext, int length, byte[] out, int off) {
+        byte[] block0 = new byte[ChaCha20.BLOCK_SIZE];
+        chacha.keystreamBlock(nonce, 0, block0, 0);
+        byte[] macKey = Arrays.copyOf(block0, Poly1305.KEY_LENGTH);
+        Poly1305 mac = new Poly1305(macKey);
+        Arrays.fill(block0, (byte) 0);
+        Arrays.fill(macKey, (byte) 0);
+
+        int aadLength = aad == null ? 0 : aad.length;
+        if (aadLength > 0) {
+            mac.update(aad, 0, aadLength);
+            mac.padToBlock();
+        }
+        mac.update(ciphertext, 0, length);
+        mac.padToBlock();
+        byte[] lengths = new byte[16];
+        putLong(aadLength, lengths, 0);
+        putLong(length, lengths, 8);
+        mac.update(lengths, 0, lengths.length);
+        mac.doFinal(out, off);
+    }
+
+    // 小端序写入64位整数
+    private static void putLong(long v, byte[] b, int off) {
+        for (int i = 0; i < 8; i++) {
+            b[off + i] = (byte) (v >>> (8 * i));
+        }
+    }
+
+    // 安全擦除敏感数据
+    public void clearKeys() {
+        chacha.clearKeys();
+    }
+}
@@ -0,0 +1,360 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import java.lang.ref.Cleaner;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 固定密钥长会话的CTR密钥流预计算
+ *
+ * <p>会话把整个生命周期视为一条从IV开始的CTR密钥流，后台线程提前把密钥流批量生成到有界环形缓冲区，
+ * 加密小消息时只需与已就绪的密钥流异或。
+ * <ul>
+ *   <li>每条消息按到达顺序占用密钥流中连续且不重叠的一段，{@link #xor}返回该段的起始位置，
+ *       接收方可按序使用对端会话，或用{@link #xorAt}按位置解密</li>
+ *   <li>密钥流被消费后立即清零，计数器只增不减，同一会话内任何密钥流字节都不会被使用两次</li>
+ *   <li>环形缓冲区为空时调用线程等待生成，记为一次补充停顿；提供环深度、停顿次数与停顿耗时计数</li>
+ * </ul>
+ *
+ * <p>会话可被多个线程共享，消息之间互斥；使用完毕应{@link #close()}（推荐try-with-resources），关闭后缓冲区被擦除。
+ * 未关闭的会话在不可达后由{@link Cleaner}关闭，后台生成任务随之退出，不会一直占用共享线程池中的线程。
+ * 后台生成失败时，等待中与之后的调用抛出IllegalStateException，原始异常作为cause</p>
+ */
+public class CtrSession implements AutoCloseable {
+    public static final int DEFAULT_RING_BYTES = 64 * 1024;
+    // 后台线程每次生成的字节数
+    private static final int REFILL_BYTES = 4096;
+
+    // 各会话的生成任务共用的守护线程池
+    private static final ExecutorService REFILLERS = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "ctr-session-refill");
+        t.setDaemon(true);
+        return t;
+    });
+    // 关闭未显式关闭的会话
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    // 生成任务只引用Keystream而不引用会话本身，会话不可达后Cleaner才能触发
+    private final Keystream keystream;
+    private final Cleaner.Cleanable cleanable;
+
+    /**
+     * @param cipher 分组密码
+     * @param iv 初始计数器块，长度等于分组长度
+     */
+    public CtrSession(BlockCipher cipher, byte[] iv) {
+        this(cipher, iv, DEFAULT_RING_BYTES);
+    }
+
+    /**
+     * @param ringBytes 环形缓冲区大小，必须是4096的正整数倍
+     */
+    public CtrSession(BlockCipher cipher, byte[] iv, int ringBytes) {
+        int blockSize = cipher.getBlockSize();
+        if (iv == null || iv.length != blockSize) {
+            throw new IllegalArgumentException("IV必须为" + blockSize + "字节");
+        }
+        if (ringBytes <= 0 || ringBytes % REFILL_BYTES != 0) {
+            throw new IllegalArgumentException("缓冲区大小必须是" + REFILL_BYTES + "的正整数倍");
+        }
+        Keystream ks = new Keystream(cipher, iv, ringBytes);
+        this.keystream = ks;
+        this.cleanable = CLEANER.register(this, ks::close);
+        REFILLERS.execute(ks::refillLoop);
+    }
+
+    /**
+     * 用会话密钥流的下一段加解密in[inOff..inOff+len)，结果写入out[outOff..)，允许原地处理
+     * @return 本消息在密钥流中的起始字节位置
+     * @throws IllegalStateException 会话已关闭或后台生成失败时抛出
+     */
+    public long xor(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        return keystream.xor(in, inOff, out, outOff, len);
+    }
+
+    /**
+     * 加密整条消息
+     * @return 与输入等长的输出
+     */
+    public byte[] encrypt(byte[] input) {
+        byte[] output = new byte[input.length];
+        xor(input, 0, output, 0, input.length);
+        return output;
+    }
+
+    /**
+     * 按位置加解密：用密钥为cipher、初始计数器为iv的CTR密钥流中从position开始的一段处理数据，
+     * 用于接收方解密{@link #xor}返回位置处的消息
+     */
+    public static void xorAt(BlockCipher cipher, byte[] iv, long position,
+                             byte[] in, int inOff, byte[] out, int outOff, int len) {
+        int blockSize = cipher.getBlockSize();
+        if (iv == null || iv.length != blockSize) {
+            throw new IllegalArgumentException("IV必须为" + blockSize + "字节");
+        }
+        if (position < 0) {
+            throw new IllegalArgumentException("密钥流位置不能为负数");
+        }
+        byte[] ctr = iv.clone();
+        addCounter(ctr, position / blockSize);
+        byte[] keystream = new byte[blockSize];
+        int skip = (int) (position % blockSize);
+        int done = 0;
+        while (done < len) {
+            cipher.encryptBlock(ctr, 0, keystream, 0);
+            incrementCounter(ctr);
+            int n = Math.min(blockSize - skip, len - done);
+            for (int i = 0; i < n; i++) {
+                out[outOff + done + i] = (byte) (in[inOff + done + i] ^ keystream[skip + i]);
+            }
+            done += n;
+            skip = 0;
+        }
+        Arrays.fill(keystream, (byte) 0);
+    }
+
+    // 当前就绪的密钥流字节数（环深度）
+    public int getRingDepth() {
+        return keystream.depth();
+    }
+
+    public int getRingCapacity() {
+        return keystream.ring.length;
+    }
+
+    // 下一条消息的起始位置
+    public long getPosition() {
+        return keystream.position();
+    }
+
+    // 因缓冲区为空而等待的次数
+    public long getStalls() {
+        return keystream.stalls.sum();
+    }
+
+    // 等待累计耗时（纳秒）
+    public long getStallNanos() {
+        return keystream.stallNanos.sum();
+    }
+
+    /**
+     * 关闭会话：停止后台生成并擦除缓冲区与计数器，之后调用xor会抛出IllegalStateException
+     */
+    @Override
+    public void close() {
+        cleanable.clean();
+    }
+
+    private static void incrementCounter(byte[] counter) {
+        for (int i = counter.length - 1; i >= 0; i--) {
+            if (++counter[i] != 0) break;
+        }
+    }
+
+    // counter += blocks（大端加法）
+    private static void addCounter(byte[] counter, long blocks) {
+        long carry = blocks;
+        for (int i = counter.length - 1; i >= 0 && carry != 0; i--) {
+            long sum = (counter[i] & 0xFF) + (carry & 0xFF);
+            counter[i] = (byte) sum;
+            carry = (carry >>> 8) + (sum >>> 8);
+        }
+    }
+
+    /**
+     * 会话的全部可变状态，由调用线程与后台生成任务共享
+     */
+    private static final class Keystream {
+        private final BlockCipher cipher;
+        private final int blockSize;
+        private final byte[] ring;
+        // 生成线程独占的下一个计数器块
+        private final byte[] counter;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        private final Condition refillerExited = lock.newCondition();
+        // 保证一条消息占用连续的密钥流
+        private final ReentrantLock messageLock = new ReentrantLock();
+        // 累计生成与消费的字节数，ring中[consumed, produced)为就绪密钥流
+        private long produced;
+        private long consumed;
+        private boolean closed;
+        private boolean refillerDone;
+        // 后台生成抛出的异常，非null时会话不可再用
+        private Throwable failure;
+
+        private final LongAdder stalls = new LongAdder();
+        private final LongAdder stallNanos = new LongAdder();
+
+        Keystream(BlockCipher cipher, byte[] iv, int ringBytes) {
+            this.cipher = cipher;
+            this.blockSize = cipher.getBlockSize();
+            this.ring = new byte[ringBytes];
+            this.counter = iv.clone();
+        }
+
+        long xor(byte[] in, int inOff, byte[] out, int outOff, int len) {
+            messageLock.lock();
+            try {
+                long start;
+                lock.lock();
+                try {
+                    ensureUsable();
+                    start = consumed;
+                } finally {
+                    lock.unlock();
+                }
+                int done = 0;
+                while (done < len) {
+                    int n = awaitKeystream(len - done);
+                    int pos = (int) ((start + done) % ring.length);
+                    for (int i = 0; i < n; i++) {
+                        out[outOff + done + i] = (byte) (in[inOff + done + i] ^ ring[pos + i]);
+                    }
+                    // 用过的密钥流立即清零
+                    Arrays.fill(ring, pos, pos + n, (byte) 0);
+                    lock.lock();
+                    try {
+                        // 异或期间生成任务退出时缓冲区可能已被擦除，本次输出无效
+                        ensureUsable();
+                        consumed += n;
+                        notFull.signal();
+                    } finally {
+                        lock.unlock();
+                    }
+                    done += n;
+                }
+                return start;
+            } finally {
+                messageLock.unlock();
+            }
+        }
+
+        // 等待至少1字节就绪，返回本次可连续使用的字节数（不跨越环尾）
+        private int awaitKeystream(int wanted) {
+            lock.lock();
+            try {
+                if (produced == consumed) {
+                    stalls.increment();
+                    long begin = System.nanoTime();
+                    while (produced == consumed) {
+                        ensureUsable();
+                        notEmpty.awaitUninterruptibly();
+                    }
+                    stallNanos.add(System.nanoTime() - begin);
+                }
+                ensureUsable();
+                int pos = (int) (consumed % ring.length);
+                return (int) Math.min(Math.min(wanted, produced - consumed), ring.length - pos);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 后台生成：缓冲区有空位时在空闲区直接写入计数器块并整段加密，再发布
+        void refillLoop() {
+            try {
+                while (true) {
+                    int pos;
+                    lock.lock();
+                    try {
+                        while (!closed && ring.length - (produced - consumed) < REFILL_BYTES) {
+                            notFull.awaitUninterruptibly();
+                        }
+                        if (closed) {
+                            return;
+                        }
+                        pos = (int) (produced % ring.length);
+                    } finally {
+                        lock.unlock();
+                    }
+                    for (int off = pos; off < pos + REFILL_BYTES; off += blockSize) {
+                        System.arraycopy(counter, 0, ring, off, blockSize);
+                        incrementCounter(counter);
+                    }
+                    cipher.encryptBlocks(ring, pos, ring, pos, REFILL_BYTES);
+                    lock.lock();
+                    try {
+                        produced += REFILL_BYTES;
+                        notEmpty.signalAll();
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            } catch (Throwable t) {
+                // 交由调用线程抛出
+                lock.lock();
+                try {
+                    failure = t;
+                } finally {
+                    lock.unlock();
+                }
+            } finally {
+                lock.lock();
+                try {
+                    // 已就绪的密钥流一并擦除，失败后等待中的调用被唤醒并抛出异常
+                    Arrays.fill(ring, (byte) 0);
+                    Arrays.fill(counter, (byte) 0);
+                    refillerDone = true;
+                    notEmpty.signalAll();
+                    refillerExited.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        int depth() {
+            lock.lock();
+            try {
+                return (int) (produced - consumed);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long position() {
+            lock.lock();
+            try {
+                return consumed;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 由CtrSession.close或Cleaner调用，只执行一次
+        void close() {
+            lock.lock();
+            try {
+                closed = true;
+                notFull.signalAll();
+                notEmpty.signalAll();
+                // 等待生成线程退出并完成擦除，避免其在擦除后继续写入
+                while (!refillerDone) {
+                    refillerExited.awaitUninterruptibly();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 调用时必须持有lock
+        private void ensureUsable() {
+            if (closed) {
+                throw new IllegalStateException("会话已关闭");
+            }
+            if (failure != null) {
+                throw new IllegalStateException("密钥流生成失败", failure);
+            }
+            if (refillerDone) {
+                throw new IllegalStateException("密钥流生成已停止");
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * 通用GCM认证加密（NIST SP 800-38D），适用于任意分组长度为16字节的{@link BlockCipher}
+ *
+ * <p>密文格式为 C || T，T为16字节认证标签。GHASH采用查表乘法（见{@link GHASH}），
+ * 数据按分组区间经{@link ParallelChunkExecutor}分块并行，每块在同一遍中完成CTR加密与该段的GHASH，
+ * 各段摘要用H的幂次按序合并；小数据在调用线程上一遍完成</p>
+ *
+ * <p>GHASH状态与计数器都是每次调用的局部变量，哈希子密钥表构造后只读，实例可被多个线程共享</p>
+ */
+public class GCM {
+    public static final int TAG_LENGTH = 16;
+    private static final int BLOCK_SIZE = 16;
+    // 每次批量生成的密钥流分组数
+    private static final int CTR_BATCH_BLOCKS = 64;
+
+    private final BlockCipher cipher;
+    private final GHASH ghash;
+
+    /**
+     * @param cipher 分组长度为16字节的分组密码
+     */
+    public GCM(BlockCipher cipher) {
+        if (cipher.getBlockSize() != BLOCK_SIZE) {
+            throw new IllegalArgumentException("GCM要求分组长度为16字节");
+        }
+        this.cipher = cipher;
+        byte[] h = new byte[BLOCK_SIZE];
+        cipher.encryptBlock(h, 0, h, 0);
+        this.ghash = new GHASH(h);
+        Arrays.fill(h, (byte) 0);
+    }
+
+    /**
+     * 认证加密
+     * @param iv 初始向量（推荐12字节，其他长度按标准经GHASH派生J0）
+     * @param plaintext 明文
+     * @param aad 附加认证数据，可为null
+     * @return 密文 || 16字节认证标签
+     */
+    public byte[] encrypt(byte[] iv, byte[] plaintext, byte[] aad) {
+        byte[] j0 = deriveJ0(iv);
+        byte[] output = new byte[plaintext.length + TAG_LENGTH];
+        long[] s = process(j0, plaintext, output, plaintext.length, aad, true);
+        computeTag(j0, s, output, plaintext.length);
+        return output;
+    }
+
+    /**
+     * 认证解密
+     * @param iv 加密时使用的初始向量
+     * @param ciphertext 密文 || 16字节认证标签
+     * @param aad 附加认证数据，可为null
+     * @return 明文
+     * @throws IllegalArgumentException 认证标签校验失败时抛出
+     */
+    public byte[] decrypt(byte[] iv, byte[] ciphertext, byte[] aad) {
+        if (ciphertext.length < TAG_LENGTH) {
+            throw new IllegalArgumentException("密文长度不足，缺少认证标签");
+        }
+        int length = ciphertext.length - TAG_LENGTH;
+        byte[] j0 = deriveJ0(iv);
+        byte[] plaintext = new byte[length];
+        long[] s = process(j0, ciphertext, plaintext, length, aad, false);
+
+        byte[] tag = new byte[TAG_LENGTH];
+        computeTag(j0, s, tag, 0);
+        if (!MessageDigest.isEqual(tag, Arrays.copyOfRange(ciphertext, length, ciphertext.length))) {
+            Arrays.fill(plaintext, (byte) 0);
+            throw new IllegalArgumentException("认证标签校验失败，密文或附加数据已被篡改");
+        }
+        return plaintext;
+    }
+
+    // CTR加解密并把密文吸收进GHASH，返回含长度分组的GHASH摘要状态
+    private long[] process(byte[] j0, byte[] input, byte[] output, int length, byte[] aad, boolean encrypt) {
+        int aadLength = aad == null ? 0 : aad.length;
+        long[] aadState = new long[2];
+        if (aadLength > 0) {
+            ghash.update(aadState, aad, 0, aadLength);
+        }
+
+        // 第一段从AAD的摘要继续吸收，其余段从0开始，按位置合并后即为完整摘要
+        int blocks = (length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        long[] s = ParallelChunkExecutor.getDefault().reduceRanges(blocks, BLOCK_SIZE, (from, to) -> {
+            long[] partial = from == 0 ? aadState.clone() : new long[2];
+            int off = from * BLOCK_SIZE;
+            int len = Math.min(length, to * BLOCK_SIZE) - off;
+            if (encrypt) {
+                gctr(j0, input, output, off, len);
+                ghash.update(partial, output, off, len);
+            } else {
+                ghash.update(partial, input, off, len);
+                gctr(j0, input, output, off, len);
+            }
+            return partial;
+        }, ghash::concat);
+        ghash.updateLengths(s, aadLength * 8L, length * 8L);
+        return s;
+    }
+
+    // 标签 T = E_K(J0) ⊕ S，写入out[off..off+16)
+    private void computeTag(byte[] j0, long[] state, byte[] out, int off) {
+        byte[] s = new byte[BLOCK_SIZE];
+        GHASH.digest(state, s, 0);
+        byte[] ek = new byte[BLOCK_SIZE];
+        cipher.encryptBlock(j0, 0, ek, 0);
+        for (int i = 0; i < TAG_LENGTH; i++) {
+            out[off + i] = (byte) (s[i] ^ ek[i]);
+        }
+    }
+
+    // 使用inc32计数器对[off, off+len)做CTR变换，第一个数据分组的计数器为inc32(J0)；
+    // 计数器按批写入中转数组后整段加密，使各密码的多分组优化生效
+    private void gctr(byte[] j0, byte[] input, byte[] output, int off, int len) {
+        byte[] keystream = new byte[Math.min((len + BLOCK_SIZE - 1) / BLOCK_SIZE, CTR_BATCH_BLOCKS) * BLOCK_SIZE];
+        int ctr = getInt(j0, 12) + 1 + off / BLOCK_SIZE;
+        int end = off + len;
+        int pos = off;
+        while (pos < end) {
+            int n = Math.min(keystream.length, end - pos);
+            int blocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            for (int b = 0; b < blocks; b++) {
+                int k = b * BLOCK_SIZE;
+                System.arraycopy(j0, 0, keystream, k, 12);
+                putInt(ctr++, keystream, k + 12);
+            }
+            cipher.encryptBlocks(keystream, 0, keystream, 0, blocks * BLOCK_SIZE);
+            for (int i = 0; i < n; i++) {
+                output[pos + i] = (byte) (input[pos + i] ^ keystream[i]);
+            }
+            pos += n;
+        }
+    }
+
+    private byte[] deriveJ0(byte[] iv) {
+        if (iv == null || iv.length == 0) {
+            throw new IllegalArgumentException("IV不能为空");
+        }
+        byte[] j0 = new byte[BLOCK_SIZE];
+        if (iv.length == 12) {
+            System.arraycopy(iv, 0, j0, 0, 12);
+            j0[15] = 1;
+        } else {
+            long[] s = new long[2];
+            ghash.update(s, iv, 0, iv.length);
+            ghash.updateLengths(s, 0, iv.length * 8L);
+            GHASH.digest(s, j0, 0);
+        }
+        return j0;
+    }
+
+    private static int getInt(byte[] b, int off) {
+        return (b[off] << 24) | ((b[off + 1] & 0xFF) << 16) | ((b[off + 2] & 0xFF) << 8) | (b[off + 3] & 0xFF);
+    }
+
+    private static void putInt(int v, byte[] b, int off) {
+        b[off] = (byte) (v >>> 24);
+        b[off + 1] = (byte) (v >>> 16);
+        b[off + 2] = (byte) (v >>> 8);
+        b[off + 3] = (byte) v;
+    }
+
+    // 安全擦除敏感数据
+    public void clearKeys() {
+        cipher.clearKeys();
+        ghash.clear();
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import java.util.Arrays;
+
+/**
+ * GCM模式使用的GHASH通用哈希（NIST SP 800-38D）
+ *
+ * <p>GF(2^128)元素按GCM位序以两个long（hi为前8字节，lo为后8字节）表示。
+ * 乘法采用Shoup 4比特查表法：对H、H^2、H^3、H^4各预计算16项乘法表，
+ * 批量数据按4个分组一组聚合计算：
+ * S = (S ⊕ X1)·H^4 ⊕ X2·H^3 ⊕ X3·H^2 ⊕ X4·H，
+ * 四次乘法互不依赖，可以流水执行</p>
+ *
+ * <p>摘要状态由调用方以long[2]（{hi, lo}，初始为{0, 0}）持有并传入，对象本身只保存构造后只读的乘法表，
+ * 可被多个线程并发使用。长消息可拆段并行：各段用{@link #partial}从0开始独立计算，
+ * 再用{@link #concat}把相邻两段按序合并（左段乘以H的右段分组数次幂后与右段异或）</p>
+ */
+public class GHASH {
+    private static final int BLOCK_SIZE = 16;
+    private static final int AGGREGATION = 4;
+
+    // Shoup 4比特法的约简常量：last4[r] = r·x^124 mod P 的高16位
+    private static final long[] LAST4 = {
+            0x0000, 0x1c20, 0x3840, 0x2460, 0x7080, 0x6ca0, 0x48c0, 0x54e0,
+            0xe100, 0xfd20, 0xd940, 0xc560, 0x9180, 0x8da0, 0xa9c0, 0xb5e0
+    };
+
+    private final long hHi;
+    private final long hLo;
+    // tableHi[p][i] / tableLo[p][i]：i·H^(p+1)，i为4比特元素
+    private final long[][] tableHi = new long[AGGREGATION][16];
+    private final long[][] tableLo = new long[AGGREGATION][16];
+
+    /**
+     * @param h 哈希子密钥 H = E_K(0^128)，16字节
+     */
+    public GHASH(byte[] h) {
+        if (h == null || h.length != BLOCK_SIZE) {
+            throw new IllegalArgumentException("哈希子密钥必须为16字节");
+        }
+        this.hHi = getLong(h, 0);
+        this.hLo = getLong(h, 8);
+
+        long pHi = hHi, pLo = hLo;
+        for (int p = 0; p < AGGREGATION; p++) {
+            buildTable(pHi, pLo, tableHi[p], tableLo[p]);
+            long[] next = multiply(pHi, pLo, hHi, hLo);
+            pHi = next[0];
+            pLo = next[1];
+        }
+    }
+
+    // 构造Shoup 4比特乘法表
+    private static void buildTable(long vHi, long vLo, long[] hh, long[] hl) {
+        hh[8] = vHi;
+        hl[8] = vLo;
+        for (int i = 4; i > 0; i >>>= 1) {
+            long t = (vLo & 1) != 0 ? 0xe100000000000000L : 0;
+            vLo = (vHi << 63) | (vLo >>> 1);
+            vHi = (vHi >>> 1) ^ t;
+            hh[i] = vHi;
+            hl[i] = vLo;
+        }
+        for (int i = 2; i <= 8; i <<= 1) {
+            for (int j = 1; j < i; j++) {
+                hh[i + j] = hh[i] ^ hh[j];
+                hl[i + j] = hl[i] ^ hl[j];
+            }
+        }
+    }
+
+    /**
+     * 从state继续吸收数据，最后不足16字节的部分按0补齐为一个完整分组，结果写回state
+     * @param state 摘要状态 {hi, lo}，初始为 {0, 0}
+     */
+    public void update(long[] state, byte[] data, int off, int len) {
+        absorb(state, data, off, len);
+    }
+
+    /**
+     * 在state上吸收长度分组 len(A)||len(C)（单位：比特），结果写回state
+     */
+    public void updateLengths(long[] state, long aadBits, long dataBits) {
+        long[] acc = new long[2];
+        mulTableXor(state[0] ^ aadBits, state[1] ^ dataBits, 0, acc);
+        state[0] = acc[0];
+        state[1] = acc[1];
+    }
+
+    /**
+     * 以0为初始状态计算一段数据的摘要
+     */
+    public long[] partial(byte[] data, int off, int len) {
+        long[] s = new long[2];
+        absorb(s, data, off, len);
+        return s;
+    }
+
+    /**
+     * 合并两段相邻数据的摘要：left·H^rightBlocks ⊕ right
+     */
+    public long[] concat(long[] left, long[] right, long rightBlocks) {
+        long[] r = multiplyByPower(left[0], left[1], rightBlocks);
+        r[0] ^= right[0];
+        r[1] ^= right[1];
+        return r;
+    }
+
+    // 把摘要状态按字节输出
+    public static void digest(long[] state, byte[] out, int off) {
+        putLong(state[0], out, off);
+        putLong(state[1], out, off + 8);
+    }
+
+    // 安全擦除敏感数据
+    public void clear() {
+        for (long[] t : tableHi) Arrays.fill(t, 0);
+        for (long[] t : tableLo) Arrays.fill(t, 0);
+    }
+
+    private void absorb(long[] s, byte[] data, int off, int len) {
+        int end = off + len;
+        int pos = off;
+
+        // 4分组聚合：四次查表乘法的结果直接异或进同一累加器
+        while (end - pos >= AGGREGATION * BLOCK_SIZE) {
+            long xHi = s[0] ^ getLong(data, pos);
+            long xLo = s[1] ^ getLong(data, pos + 8);
+            s[0] = 0;
+            s[1] = 0;
+            mulTableXor(xHi, xLo, 3, s);
+            mulTableXor(getLong(data, pos + 16), getLong(data, pos + 24), 2, s);
+            mulTableXor(getLong(data, pos + 32), getLong(data, pos + 40), 1, s);
+            mulTableXor(getLong(data, pos + 48), getLong(data, pos + 56), 0, s);
+            pos += AGGREGATION * BLOCK_SIZE;
+        }
+        while (end - pos >= BLOCK_SIZE) {
+            long xHi = s[0] ^ getLong(data, pos);
+            long xLo = s[1] ^ getLong(data, pos + 8);
+            s[0] = 0;
+            s[1] = 0;
+            mulTableXor(xHi, xLo, 0, s);
+            pos += BLOCK_SIZE;
+        }
+        if (pos < end) {
+            byte[] last = new byte[BLOCK_SIZE];
+            System.arraycopy(data, pos, last, 0, end - pos);
+            long xHi = s[0] ^ getLong(last, 0);
+            long xLo = s[1] ^ getLong(last, 8);
+            s[0] = 0;
+            s[1] = 0;
+            mulTableXor(xHi, xLo, 0, s);
+        }
+    }
+
+    // 查表计算 x·H^(power+1)，结果异或进acc
+    private void mulTableXor(long xHi, long xLo, int power, long[] acc) {
+        long[] hh = tableHi[power];
+        long[] hl = tableLo[power];
+        long zHi = 0, zLo = 0;
+
+        for (int i = 15; i >= 0; i--) {
+            int b = (int) ((i < 8 ? xHi >>> ((7 - i) * 8) : xLo >>> ((15 - i) * 8)) & 0xFF);
+            int lo = b & 0x0F;
+            int hi = b >>> 4;
+
+            if (i != 15) {
+                int rem = (int) (zLo & 0x0F);
+                zLo = (zHi << 60) | (zLo >>> 4);
+                zHi = (zHi >>> 4) ^ (LAST4[rem] << 48);
+            }
+            zHi ^= hh[lo];
+            zLo ^= hl[lo];
+
+            int rem = (int) (zLo & 0x0F);
+            zLo = (zHi << 60) | (zLo >>> 4);
+            zHi = (zHi >>> 4) ^ (LAST4[rem] << 48);
+            zHi ^= hh[hi];
+            zLo ^= hl[hi];
+        }
+        acc[0] ^= zHi;
+        acc[1] ^= zLo;
+    }
+
+    // 计算 x·H^n（平方-乘算法，仅用于合并分段摘要）
+    private long[] multiplyByPower(long xHi, long xLo, long n) {
+        long pHi = hHi, pLo = hLo;
+        long rHi = xHi, rLo = xLo;
+        while (n > 0) {
+            if ((n & 1) != 0) {
+                long[] r = multiply(rHi, rLo, pHi, pLo);
+                rHi = r[0];
+                rLo = r[1];
+            }
+            n >>>= 1;
+            if (n > 0) {
+                long[] p = multiply(pHi, pLo, pHi, pLo);
+                pHi = p[0];
+                pLo = p[1];
+            }
+        }
+        return new long[]{rHi, rLo};
+    }
+
+    // GF(2^128)通用乘法（逐位，无秘密相关分支）
+    private static long[] multiply(long xHi, long xLo, long yHi, long yLo) {
+        long zHi = 0, zLo = 0;
+        long vHi = yHi, vLo = yLo;
+        for (int i = 0; i < 128; i++) {
+            long bit = i < 64 ? (xHi >>> (63 - i)) & 1 : (xLo >>> (127 - i)) & 1;
+            long mask = -bit;
+            zHi ^= vHi & mask;
+            zLo ^= vLo & mask;
+            long reduce = -(vLo & 1) & 0xe100000000000000L;
+            vLo = (vHi << 63) | (vLo >>> 1);
+            vHi = (vHi >>> 1) ^ reduce;
+        }
+        return new long[]{zHi, zLo};
+    }
+
+    private static long getLong(byte[] b, int off) {
+        long v = 0;
+        for (int i = 0; i < 8; i++) {
+            v = (v << 8) | (b[off + i] & 0xFF);
+        }
+        return v;
+    }
+
+    private static void putLong(long v, byte[] b, int off) {
+        for (int i = 7; i >= 0; i--) {
+            b[off + i] = (byte) v;
+            v >>>= 8;
+        }
+    }
+}
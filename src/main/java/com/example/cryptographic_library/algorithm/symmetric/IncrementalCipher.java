@@ -0,0 +1,217 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import java.util.Arrays;
+
+/**
+ * 分段输入的工作模式状态机，供{@link BlockCipherInputStream}/{@link BlockCipherOutputStream}使用
+ *
+ * <p>与{@link BlockCipherMode}的输出逐字节一致，但数据可以分多次给出：
+ * <ul>
+ *   <li>ECB/CBC只缓存不足一组的尾部；解密时保留最后一组到{@link #doFinal}再去除填充</li>
+ *   <li>CTR按批生成密钥流，CFB/OFB逐组生成，任意长度的输入立即产生等长输出</li>
+ * </ul>
+ * 状态只占用几个分组大小的数组，与数据总量无关。实例不是线程安全的</p>
+ */
+final class IncrementalCipher {
+    // CTR每批生成的密钥流分组数
+    private static final int CTR_BATCH_BLOCKS = 64;
+
+    private final BlockCipher cipher;
+    private final BlockCipherMode.Mode mode;
+    private final Padding padding;
+    private final boolean encrypt;
+    private final int blockSize;
+    // 解密且有填充时需保留的最少字节数，保证最后一组留到doFinal
+    private final int holdBack;
+
+    // ECB/CBC中不足一组（或被保留）的输入
+    private final byte[] partial;
+    private int partialLength;
+    // CBC为上一个密文分组，CTR为下一个计数器，CFB/OFB为反馈寄存器
+    private final byte[] register;
+    private final byte[] keystream;
+    private int keystreamPos;
+    private int keystreamLength;
+
+    IncrementalCipher(BlockCipher cipher, BlockCipherMode.Mode mode, Padding padding, byte[] iv, boolean encrypt) {
+        this.blockSize = cipher.getBlockSize();
+        if (mode.isStream() && padding != StandardPadding.NONE) {
+            throw new IllegalArgumentException(mode + "为流模式，不使用填充");
+        }
+        if (mode != BlockCipherMode.Mode.ECB && (iv == null || iv.length != blockSize)) {
+            throw new IllegalArgumentException("IV必须为" + blockSize + "字节");
+        }
+        this.cipher = cipher;
+        this.mode = mode;
+        this.padding = padding;
+        this.encrypt = encrypt;
+        this.holdBack = !encrypt && padding != StandardPadding.NONE ? 1 : 0;
+        this.partial = new byte[blockSize];
+        this.register = mode == BlockCipherMode.Mode.ECB ? new byte[0] : iv.clone();
+        this.keystream = new byte[mode == BlockCipherMode.Mode.CTR ? CTR_BATCH_BLOCKS * blockSize : blockSize];
+    }
+
+    // 分组长度，update的输出最多比输入多一组
+    int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * 处理in[inOff..inOff+len)，输出写入out[outOff..)
+     *
+     * <p>out至少要有len + 分组长度的空间，且不能与输入重叠</p>
+     * @return 写入的字节数
+     */
+    int update(byte[] in, int inOff, int len, byte[] out, int outOff) {
+        if (mode.isStream()) {
+            streamXor(in, inOff, len, out, outOff);
+            return len;
+        }
+        int written = 0;
+        if (partialLength > 0 || len < blockSize) {
+            int take = Math.min(len, blockSize - partialLength);
+            System.arraycopy(in, inOff, partial, partialLength, take);
+            partialLength += take;
+            inOff += take;
+            len -= take;
+            if (partialLength == blockSize && len >= holdBack) {
+                cryptBlocks(partial, 0, out, outOff, blockSize);
+                written = blockSize;
+                partialLength = 0;
+            }
+            if (partialLength > 0) {
+                return written;
+            }
+        }
+        int blocks = (len - holdBack) / blockSize;
+        if (blocks > 0) {
+            cryptBlocks(in, inOff, out, outOff + written, blocks * blockSize);
+            written += blocks * blockSize;
+            inOff += blocks * blockSize;
+            len -= blocks * blockSize;
+        }
+        System.arraycopy(in, inOff, partial, 0, len);
+        partialLength = len;
+        return written;
+    }
+
+    /**
+     * 结束输入：加密时填充并输出最后一组，解密时输出最后一组并去除填充；流模式无输出
+     * @return 写入out[outOff..)的字节数（不超过分组长度）
+     * @throws IllegalArgumentException 数据长度或填充无效时抛出
+     */
+    int doFinal(byte[] out, int outOff) {
+        if (mode.isStream()) {
+            return 0;
+        }
+        if (encrypt) {
+            int padLength = padding.padLength(partialLength, blockSize);
+            padding.pad(partial, partialLength, padLength);
+            int total = partialLength + padLength;
+            if (total > 0) {
+                cryptBlocks(partial, 0, out, outOff, total);
+            }
+            partialLength = 0;
+            return total;
+        }
+        if (holdBack == 0) {
+            if (partialLength != 0) {
+                throw new IllegalArgumentException("数据长度必须是" + blockSize + "的倍数");
+            }
+            return 0;
+        }
+        if (partialLength != blockSize) {
+            throw new IllegalArgumentException("无效的密文长度: 必须是" + blockSize + "的倍数且不为0");
+        }
+        byte[] last = new byte[blockSize];
+        cryptBlocks(partial, 0, last, 0, blockSize);
+        int length = padding.unpaddedLength(last, blockSize, blockSize);
+        System.arraycopy(last, 0, out, outOff, length);
+        Arrays.fill(last, (byte) 0);
+        partialLength = 0;
+        return length;
+    }
+
+    // 擦除缓存的数据、链接状态与密钥流
+    void clear() {
+        Arrays.fill(partial, (byte) 0);
+        Arrays.fill(register, (byte) 0);
+        Arrays.fill(keystream, (byte) 0);
+        partialLength = 0;
+        keystreamPos = keystreamLength = 0;
+    }
+
+    // ECB/CBC处理整组数据，len是分组长度的倍数
+    private void cryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        if (mode == BlockCipherMode.Mode.ECB) {
+            if (encrypt) {
+                cipher.encryptBlocks(in, inOff, out, outOff, len);
+            } else {
+                cipher.decryptBlocks(in, inOff, out, outOff, len);
+            }
+            return;
+        }
+        if (encrypt) {
+            for (int pos = 0; pos < len; pos += blockSize) {
+                for (int i = 0; i < blockSize; i++) {
+                    out[outOff + pos + i] = (byte) (in[inOff + pos + i] ^ register[i]);
+                }
+                cipher.encryptBlock(out, outOff + pos, out, outOff + pos);
+                System.arraycopy(out, outOff + pos, register, 0, blockSize);
+            }
+            return;
+        }
+        // CBC解密：整段批量解密后逐组异或前一个密文分组
+        cipher.decryptBlocks(in, inOff, out, outOff, len);
+        for (int pos = 0; pos < len; pos += blockSize) {
+            for (int i = 0; i < blockSize; i++) {
+                out[outOff + pos + i] ^= pos == 0 ? register[i] : in[inOff + pos - blockSize + i];
+            }
+        }
+        System.arraycopy(in, inOff + len - blockSize, register, 0, blockSize);
+    }
+
+    // CTR/CFB/OFB：与密钥流逐字节异或，密钥流用尽时生成下一段
+    private void streamXor(byte[] in, int inOff, int len, byte[] out, int outOff) {
+        for (int i = 0; i < len; i++) {
+            if (keystreamPos == keystreamLength) {
+                nextKeystream();
+            }
+            byte b = in[inOff + i];
+            byte c = (byte) (b ^ keystream[keystreamPos]);
+            out[outOff + i] = c;
+            if (mode == BlockCipherMode.Mode.CFB) {
+                // 反馈寄存器逐字节换成密文，凑满一组后作为下一组的输入
+                register[keystreamPos] = encrypt ? c : b;
+            }
+            keystreamPos++;
+        }
+    }
+
+    private void nextKeystream() {
+        switch (mode) {
+            case CTR:
+                for (int off = 0; off < keystream.length; off += blockSize) {
+                    System.arraycopy(register, 0, keystream, off, blockSize);
+                    incrementCounter(register);
+                }
+                cipher.encryptBlocks(keystream, 0, keystream, 0, keystream.length);
+                break;
+            case CFB:
+                cipher.encryptBlock(register, 0, keystream, 0);
+                break;
+            default:
+                cipher.encryptBlock(register, 0, register, 0);
+                System.arraycopy(register, 0, keystream, 0, blockSize);
+                break;
+        }
+        keystreamPos = 0;
+        keystreamLength = keystream.length;
+    }
+
+    private static void incrementCounter(byte[] counter) {
+        for (int i = counter.length - 1; i >= 0; i--) {
+            if (++counter[i] != 0) break;
+        }
+    }
+}
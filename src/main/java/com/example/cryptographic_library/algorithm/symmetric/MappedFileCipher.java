@@ -0,0 +1,280 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 基于内存映射的文件加解密（ECB/CTR）
+ *
+ * <p>输入与输出文件经{@link FileChannel#map}按窗口映射，数据不经过堆上的整体拷贝，文件大小不受堆容量限制：
+ * <ul>
+ *   <li>每个窗口64MB，窗口内的分组经{@link ParallelChunkExecutor}按块并行，各块通过小中转数组
+ *       从映射区读入、批量加密（{@link BlockCipher#encryptBlocks}）后写回输出映射区</li>
+ *   <li>ECB使用PKCS7填充，末尾的填充分组在内存中单独处理；CTR密文与明文等长，计数器规则同{@link BlockCipherMode}</li>
+ *   <li>可选把IV写在密文文件头部，与服务层"IV置于密文头部"的约定一致</li>
+ *   <li>输出先写入目标所在目录下的临时文件，成功后原子替换目标文件；失败时删除临时文件，目标保持原样</li>
+ * </ul>
+ *
+ * <p>实例不保存可变状态，可被多个线程共享</p>
+ */
+public class MappedFileCipher {
+    // 单个映射窗口的字节数（分组长度的倍数）
+    private static final int WINDOW_BYTES = 64 * 1024 * 1024;
+    // 并行块内每次从映射区读写的字节数
+    private static final int SCRATCH_BYTES = 16 * 1024;
+
+    private final BlockCipher cipher;
+    private final int blockSize;
+
+    public MappedFileCipher(BlockCipher cipher) {
+        this.cipher = cipher;
+        this.blockSize = cipher.getBlockSize();
+    }
+
+    /**
+     * 加密文件
+     * @param source 明文文件
+     * @param target 密文文件（不存在时创建，存在时覆盖）
+     * @param mode ECB或CTR
+     * @param iv CTR的初始计数器块（ECB忽略）
+     * @param ivHeader 为true时先把IV写入密文文件头部（仅CTR）
+     * @return 写入的字节数
+     * @throws IOException 读写文件失败时抛出
+     */
+    public long encrypt(Path source, Path target, BlockCipherMode.Mode mode, byte[] iv, boolean ivHeader) throws IOException {
+        checkMode(mode);
+        checkDistinct(source, target);
+        boolean ctr = mode == BlockCipherMode.Mode.CTR;
+        if (ctr) {
+            checkIv(iv);
+        }
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            return writeAtomically(target, out -> {
+                long length = in.size();
+                long outPos = 0;
+                if (ctr && ivHeader) {
+                    writeFully(out, iv, 0, iv.length, 0);
+                    outPos = iv.length;
+                }
+                if (ctr) {
+                    process(in, 0, out, outPos, length, iv, true);
+                    return outPos + length;
+                }
+                long full = length - length % blockSize;
+                process(in, 0, out, 0, full, null, true);
+                // 末尾不足一组的明文加PKCS7填充
+                byte[] last = new byte[blockSize];
+                int tail = (int) (length - full);
+                readFully(in, last, tail, full);
+                StandardPadding.PKCS7.pad(last, tail, blockSize - tail);
+                cipher.encryptBlock(last, 0, last, 0);
+                writeFully(out, last, 0, blockSize, full);
+                return full + blockSize;
+            });
+        }
+    }
+
+    /**
+     * 解密文件，全部解密并校验填充成功后才出现在target；失败时target保持原样，不会留下未经校验的部分明文
+     * @param source 密文文件
+     * @param target 明文文件（不存在时创建，存在时覆盖）
+     * @param mode ECB或CTR
+     * @param iv CTR的初始计数器块；为null时从密文文件头部读取（ECB忽略）
+     * @return 写入的字节数
+     * @throws IOException 读写文件失败时抛出
+     * @throws IllegalArgumentException 密文长度或填充无效时抛出
+     */
+    public long decrypt(Path source, Path target, BlockCipherMode.Mode mode, byte[] iv) throws IOException {
+        checkMode(mode);
+        checkDistinct(source, target);
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long length = in.size();
+            if (mode == BlockCipherMode.Mode.CTR) {
+                long inPos = 0;
+                byte[] counter = iv;
+                if (counter == null) {
+                    if (length < blockSize) {
+                        throw new IllegalArgumentException("密文长度不足，缺少IV");
+                    }
+                    counter = new byte[blockSize];
+                    readFully(in, counter, blockSize, 0);
+                    inPos = blockSize;
+                }
+                checkIv(counter);
+                long start = inPos;
+                byte[] initial = counter;
+                return writeAtomically(target, out -> {
+                    process(in, start, out, 0, length - start, initial, true);
+                    return length - start;
+                });
+            }
+            if (length == 0 || length % blockSize != 0) {
+                throw new IllegalArgumentException("无效的密文长度: 必须是" + blockSize + "的倍数且不为0");
+            }
+            return writeAtomically(target, out -> {
+                long full = length - blockSize;
+                process(in, 0, out, 0, full, null, false);
+                // 最后一组在内存中解密并去除填充
+                byte[] last = new byte[blockSize];
+                readFully(in, last, blockSize, full);
+                cipher.decryptBlock(last, 0, last, 0);
+                try {
+                    int tail = StandardPadding.PKCS7.unpaddedLength(last, blockSize, blockSize);
+                    writeFully(out, last, 0, tail, full);
+                    return full + tail;
+                } finally {
+                    Arrays.fill(last, (byte) 0);
+                }
+            });
+        }
+    }
+
+    // 按窗口映射[inPos, inPos+length)与[outPos, outPos+length)，窗口内按分组区间并行处理；iv非空时为CTR
+    private void process(FileChannel in, long inPos, FileChannel out, long outPos, long length,
+                         byte[] iv, boolean encrypt) throws IOException {
+        for (long done = 0; done < length; done += WINDOW_BYTES) {
+            int n = (int) Math.min(WINDOW_BYTES, length - done);
+            MappedByteBuffer src = in.map(FileChannel.MapMode.READ_ONLY, inPos + done, n);
+            MappedByteBuffer dst = out.map(FileChannel.MapMode.READ_WRITE, outPos + done, n);
+            long firstBlock = done / blockSize;
+            ParallelChunkExecutor.getDefault().forEachRange((n + blockSize - 1) / blockSize, blockSize, (from, to) -> {
+                if (iv != null) {
+                    ctrRange(src, dst, n, iv, firstBlock, from, to);
+                } else {
+                    ecbRange(src, dst, from, to, encrypt);
+                }
+            });
+        }
+    }
+
+    private void ecbRange(ByteBuffer src, ByteBuffer dst, int fromBlock, int toBlock, boolean encrypt) {
+        byte[] scratch = new byte[Math.min(SCRATCH_BYTES, (toBlock - fromBlock) * blockSize)];
+        int end = toBlock * blockSize;
+        for (int pos = fromBlock * blockSize; pos < end; pos += scratch.length) {
+            int len = Math.min(scratch.length, end - pos);
+            src.get(pos, scratch, 0, len);
+            if (encrypt) {
+                cipher.encryptBlocks(scratch, 0, scratch, 0, len);
+            } else {
+                cipher.decryptBlocks(scratch, 0, scratch, 0, len);
+            }
+            dst.put(pos, scratch, 0, len);
+        }
+        Arrays.fill(scratch, (byte) 0);
+    }
+
+    // 窗口内[fromBlock, toBlock)的CTR变换，计数器为 iv + 窗口起始分组号 + 分组序号
+    private void ctrRange(ByteBuffer src, ByteBuffer dst, int windowLength, byte[] iv, long firstBlock,
+                          int fromBlock, int toBlock) {
+        byte[] counter = new byte[blockSize];
+        setCounter(iv, firstBlock + fromBlock, counter);
+        byte[] keystream = new byte[Math.min(SCRATCH_BYTES, (toBlock - fromBlock) * blockSize)];
+        byte[] data = new byte[keystream.length];
+        int end = Math.min(windowLength, toBlock * blockSize);
+        for (int pos = fromBlock * blockSize; pos < end; pos += keystream.length) {
+            int len = Math.min(keystream.length, end - pos);
+            int blocks = (len + blockSize - 1) / blockSize;
+            for (int b = 0; b < blocks; b++) {
+                System.arraycopy(counter, 0, keystream, b * blockSize, blockSize);
+                incrementCounter(counter);
+            }
+            cipher.encryptBlocks(keystream, 0, keystream, 0, blocks * blockSize);
+            src.get(pos, data, 0, len);
+            for (int i = 0; i < len; i++) {
+                data[i] ^= keystream[i];
+            }
+            dst.put(pos, data, 0, len);
+        }
+        Arrays.fill(keystream, (byte) 0);
+        Arrays.fill(data, (byte) 0);
+    }
+
+    private static void checkDistinct(Path source, Path target) throws IOException {
+        if (Files.exists(target) && Files.isSameFile(source, target)) {
+            throw new IllegalArgumentException("输入与输出不能是同一文件");
+        }
+    }
+
+    /**
+     * 先写入target所在目录下的临时文件，成功后原子替换target；任何异常都删除临时文件后原样抛出，target不受影响
+     */
+    private static long writeAtomically(Path target, TargetWriter writer) throws IOException {
+        Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), ".", ".part");
+        try {
+            long written;
+            // 映射为READ_WRITE需要读权限
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                written = writer.write(out);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return written;
+        } catch (IOException | RuntimeException | Error e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    // 向临时文件写出全部输出，返回写入的字节数
+    @FunctionalInterface
+    private interface TargetWriter {
+        long write(FileChannel out) throws IOException;
+    }
+
+    private static void readFully(FileChannel channel, byte[] dst, int len, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(dst, 0, len);
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position);
+            if (n < 0) {
+                throw new EOFException("文件长度在处理过程中发生变化");
+            }
+            position += n;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, byte[] src, int off, int len, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(src, off, len);
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    // counter = iv + blockIndex（大端加法）
+    private static void setCounter(byte[] iv, long blockIndex, byte[] counter) {
+        long carry = blockIndex;
+        for (int i = counter.length - 1; i >= 0; i--) {
+            long sum = (iv[i] & 0xFF) + (carry & 0xFF);
+            counter[i] = (byte) sum;
+            carry = (carry >>> 8) + (sum >>> 8);
+        }
+    }
+
+    private static void incrementCounter(byte[] counter) {
+        for (int i = counter.length - 1; i >= 0; i--) {
+            if (++counter[i] != 0) break;
+        }
+    }
+
+    private void checkMode(BlockCipherMode.Mode mode) {
+        if (mode != BlockCipherMode.Mode.ECB && mode != BlockCipherMode.Mode.CTR) {
+            throw new IllegalArgumentException("文件加解密仅支持ECB/CTR模式");
+        }
+    }
+
+    private void checkIv(byte[] iv) {
+        if (iv == null || iv.length != blockSize) {
+            throw new IllegalArgumentException("IV必须为" + blockSize + "字节");
+        }
+    }
+}
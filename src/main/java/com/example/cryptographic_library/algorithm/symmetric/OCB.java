@@ -0,0 +1,316 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * OCB3认证加密（RFC 7253，128位标签），适用于任意分组长度为16字节的{@link BlockCipher}
+ *
+ * <p>密文格式为 C || T。每个分组只需一次分组加密：C_i = Offset_i ⊕ E(P_i ⊕ Offset_i)，
+ * 认证由明文校验和与AAD的HASH完成，没有GHASH那样的串行链。</p>
+ *
+ * <p>Offset_i = Offset_0 ⊕ L_{ntz(1)} ⊕ … ⊕ L_{ntz(i)}，等于Offset_0与gray(i)各置位对应L_k的异或，
+ * 因此任意分组的偏移都能由预计算的L表直接求出：数据按分组区间经{@link ParallelChunkExecutor}分块并行，
+ * 每块先写入 P ⊕ Offset，再整段交给{@link BlockCipher#encryptBlocks}批量加密；
+ * 校验和与AAD的HASH都是异或和，各块的部分结果按任意顺序合并</p>
+ *
+ * <p>L表构造后只读，实例可被多个线程共享</p>
+ */
+public class OCB {
+    public static final int TAG_LENGTH = 16;
+    private static final int BLOCK_SIZE = 16;
+    // 每批处理的分组数（偏移中转数组大小）
+    private static final int BATCH_BLOCKS = 64;
+    // L_0..L_31，足以覆盖int范围内的分组序号
+    private static final int L_TABLE_SIZE = 32;
+
+    private final BlockCipher cipher;
+    // L_*、L_$与L_i，每个值为两个大端long（高64位、低64位）
+    private final long lStarHi, lStarLo;
+    private final long lDollarHi, lDollarLo;
+    private final long[] lHi = new long[L_TABLE_SIZE];
+    private final long[] lLo = new long[L_TABLE_SIZE];
+
+    /**
+     * @param cipher 分组长度为16字节的分组密码
+     */
+    public OCB(BlockCipher cipher) {
+        if (cipher.getBlockSize() != BLOCK_SIZE) {
+            throw new IllegalArgumentException("OCB要求分组长度为16字节");
+        }
+        this.cipher = cipher;
+        byte[] zero = new byte[BLOCK_SIZE];
+        cipher.encryptBlock(zero, 0, zero, 0);
+        lStarHi = getLong(zero, 0);
+        lStarLo = getLong(zero, 8);
+        Arrays.fill(zero, (byte) 0);
+        lDollarHi = doubleHi(lStarHi, lStarLo);
+        lDollarLo = doubleLo(lStarHi, lStarLo);
+        long hi = lDollarHi, lo = lDollarLo;
+        for (int i = 0; i < L_TABLE_SIZE; i++) {
+            long h = doubleHi(hi, lo);
+            lo = doubleLo(hi, lo);
+            hi = h;
+            lHi[i] = hi;
+            lLo[i] = lo;
+        }
+    }
+
+    /**
+     * 认证加密
+     * @param nonce 1~15字节nonce（推荐12字节），同一密钥下不得重复
+     * @param plaintext 明文
+     * @param aad 附加认证数据，可为null
+     * @return 密文 || 16字节认证标签
+     */
+    public byte[] encrypt(byte[] nonce, byte[] plaintext, byte[] aad) {
+        byte[] output = new byte[plaintext.length + TAG_LENGTH];
+        process(nonce, plaintext, output, plaintext.length, aad, true, output, plaintext.length);
+        return output;
+    }
+
+    /**
+     * 认证解密
+     * @param nonce 加密时使用的nonce
+     * @param ciphertext 密文 || 16字节认证标签
+     * @param aad 附加认证数据，可为null
+     * @return 明文
+     * @throws IllegalArgumentException 认证标签校验失败时抛出
+     */
+    public byte[] decrypt(byte[] nonce, byte[] ciphertext, byte[] aad) {
+        if (ciphertext.length < TAG_LENGTH) {
+            throw new IllegalArgumentException("密文长度不足，缺少认证标签");
+        }
+        int length = ciphertext.length - TAG_LENGTH;
+        byte[] plaintext = new byte[length];
+        byte[] tag = new byte[TAG_LENGTH];
+        process(nonce, ciphertext, plaintext, length, aad, false, tag, 0);
+        if (!MessageDigest.isEqual(tag, Arrays.copyOfRange(ciphertext, length, ciphertext.length))) {
+            Arrays.fill(plaintext, (byte) 0);
+            throw new IllegalArgumentException("认证标签校验失败，密文或附加数据已被篡改");
+        }
+        return plaintext;
+    }
+
+    // 加解密input[0..length)写入output，并把标签写入tag[tagOff..tagOff+16)
+    private void process(byte[] nonce, byte[] input, byte[] output, int length, byte[] aad,
+                         boolean encrypt, byte[] tag, int tagOff) {
+        long[] offset0 = initialOffset(nonce);
+        int full = length / BLOCK_SIZE;
+        // checksum[0..1]为明文分组的异或和
+        long[] checksum = new long[2];
+        ParallelChunkExecutor.getDefault().forEachRange(full, BLOCK_SIZE, (from, to) -> {
+            long[] partial = cryptRange(offset0, input, output, from, to, encrypt);
+            synchronized (checksum) {
+                checksum[0] ^= partial[0];
+                checksum[1] ^= partial[1];
+            }
+        });
+
+        long offHi = offset0[0] ^ grayHi(full);
+        long offLo = offset0[1] ^ grayLo(full);
+        int rest = length - full * BLOCK_SIZE;
+        if (rest > 0) {
+            // 末尾不足一组：Pad = E(Offset_*)，P_*补 1 || 0* 后计入校验和
+            offHi ^= lStarHi;
+            offLo ^= lStarLo;
+            byte[] pad = new byte[BLOCK_SIZE];
+            putLong(offHi, pad, 0);
+            putLong(offLo, pad, 8);
+            cipher.encryptBlock(pad, 0, pad, 0);
+            int off = full * BLOCK_SIZE;
+            byte[] last = new byte[BLOCK_SIZE];
+            for (int i = 0; i < rest; i++) {
+                output[off + i] = (byte) (input[off + i] ^ pad[i]);
+                last[i] = encrypt ? input[off + i] : output[off + i];
+            }
+            last[rest] = (byte) 0x80;
+            checksum[0] ^= getLong(last, 0);
+            checksum[1] ^= getLong(last, 8);
+            Arrays.fill(pad, (byte) 0);
+            Arrays.fill(last, (byte) 0);
+        }
+
+        // Tag = E(Checksum ⊕ Offset ⊕ L_$) ⊕ HASH(A)
+        byte[] t = new byte[BLOCK_SIZE];
+        putLong(checksum[0] ^ offHi ^ lDollarHi, t, 0);
+        putLong(checksum[1] ^ offLo ^ lDollarLo, t, 8);
+        cipher.encryptBlock(t, 0, t, 0);
+        long[] sum = hash(aad);
+        putLong(getLong(t, 0) ^ sum[0], tag, tagOff);
+        putLong(getLong(t, 8) ^ sum[1], tag, tagOff + 8);
+    }
+
+    // 处理完整分组区间[fromBlock, toBlock)，返回该区间明文的异或和
+    private long[] cryptRange(long[] offset0, byte[] input, byte[] output, int fromBlock, int toBlock, boolean encrypt) {
+        long[] offsets = new long[2 * BATCH_BLOCKS];
+        long offHi = offset0[0] ^ grayHi(fromBlock);
+        long offLo = offset0[1] ^ grayLo(fromBlock);
+        long sumHi = 0, sumLo = 0;
+        for (int batch = fromBlock; batch < toBlock; batch += BATCH_BLOCKS) {
+            int end = Math.min(toBlock, batch + BATCH_BLOCKS);
+            // 写入 X ⊕ Offset_i 并记下偏移
+            for (int b = batch, k = 0; b < end; b++, k += 2) {
+                int ntz = Integer.numberOfTrailingZeros(b + 1);
+                offHi ^= lHi[ntz];
+                offLo ^= lLo[ntz];
+                offsets[k] = offHi;
+                offsets[k + 1] = offLo;
+                int off = b * BLOCK_SIZE;
+                long hi = getLong(input, off);
+                long lo = getLong(input, off + 8);
+                if (encrypt) {
+                    sumHi ^= hi;
+                    sumLo ^= lo;
+                }
+                putLong(hi ^ offHi, output, off);
+                putLong(lo ^ offLo, output, off + 8);
+            }
+            int start = batch * BLOCK_SIZE;
+            int len = (end - batch) * BLOCK_SIZE;
+            if (encrypt) {
+                cipher.encryptBlocks(output, start, output, start, len);
+            } else {
+                cipher.decryptBlocks(output, start, output, start, len);
+            }
+            for (int b = batch, k = 0; b < end; b++, k += 2) {
+                int off = b * BLOCK_SIZE;
+                long hi = getLong(output, off) ^ offsets[k];
+                long lo = getLong(output, off + 8) ^ offsets[k + 1];
+                if (!encrypt) {
+                    sumHi ^= hi;
+                    sumLo ^= lo;
+                }
+                putLong(hi, output, off);
+                putLong(lo, output, off + 8);
+            }
+        }
+        Arrays.fill(offsets, 0);
+        return new long[] {sumHi, sumLo};
+    }
+
+    // HASH(K, A)：各分组 E(A_i ⊕ Offset_i) 的异或和，偏移从0开始
+    private long[] hash(byte[] aad) {
+        long[] sum = new long[2];
+        if (aad == null || aad.length == 0) {
+            return sum;
+        }
+        int full = aad.length / BLOCK_SIZE;
+        ParallelChunkExecutor.getDefault().forEachRange(full, BLOCK_SIZE, (from, to) -> {
+            long[] partial = hashRange(aad, from, to);
+            synchronized (sum) {
+                sum[0] ^= partial[0];
+                sum[1] ^= partial[1];
+            }
+        });
+        int rest = aad.length - full * BLOCK_SIZE;
+        if (rest > 0) {
+            byte[] last = new byte[BLOCK_SIZE];
+            System.arraycopy(aad, full * BLOCK_SIZE, last, 0, rest);
+            last[rest] = (byte) 0x80;
+            putLong(getLong(last, 0) ^ grayHi(full) ^ lStarHi, last, 0);
+            putLong(getLong(last, 8) ^ grayLo(full) ^ lStarLo, last, 8);
+            cipher.encryptBlock(last, 0, last, 0);
+            sum[0] ^= getLong(last, 0);
+            sum[1] ^= getLong(last, 8);
+        }
+        return sum;
+    }
+
+    private long[] hashRange(byte[] aad, int fromBlock, int toBlock) {
+        byte[] buf = new byte[Math.min(toBlock - fromBlock, BATCH_BLOCKS) * BLOCK_SIZE];
+        long offHi = grayHi(fromBlock);
+        long offLo = grayLo(fromBlock);
+        long sumHi = 0, sumLo = 0;
+        for (int batch = fromBlock; batch < toBlock; batch += BATCH_BLOCKS) {
+            int end = Math.min(toBlock, batch + BATCH_BLOCKS);
+            for (int b = batch, k = 0; b < end; b++, k += BLOCK_SIZE) {
+                int ntz = Integer.numberOfTrailingZeros(b + 1);
+                offHi ^= lHi[ntz];
+                offLo ^= lLo[ntz];
+                int off = b * BLOCK_SIZE;
+                putLong(getLong(aad, off) ^ offHi, buf, k);
+                putLong(getLong(aad, off + 8) ^ offLo, buf, k + 8);
+            }
+            int len = (end - batch) * BLOCK_SIZE;
+            cipher.encryptBlocks(buf, 0, buf, 0, len);
+            for (int k = 0; k < len; k += BLOCK_SIZE) {
+                sumHi ^= getLong(buf, k);
+                sumLo ^= getLong(buf, k + 8);
+            }
+        }
+        return new long[] {sumHi, sumLo};
+    }
+
+    // Offset_0 = Stretch[1+bottom..128+bottom]，Stretch = Ktop || (Ktop[1..64] ⊕ Ktop[9..72])
+    private long[] initialOffset(byte[] nonce) {
+        if (nonce == null || nonce.length == 0 || nonce.length > 15) {
+            throw new IllegalArgumentException("nonce长度必须为1~15字节");
+        }
+        byte[] block = new byte[BLOCK_SIZE];
+        System.arraycopy(nonce, 0, block, BLOCK_SIZE - nonce.length, nonce.length);
+        block[BLOCK_SIZE - 1 - nonce.length] |= 1;
+        int bottom = block[BLOCK_SIZE - 1] & 0x3F;
+        block[BLOCK_SIZE - 1] &= (byte) 0xC0;
+        cipher.encryptBlock(block, 0, block, 0);
+        long k0 = getLong(block, 0);
+        long k1 = getLong(block, 8);
+        long k2 = k0 ^ ((k0 << 8) | (k1 >>> 56));
+        Arrays.fill(block, (byte) 0);
+        if (bottom == 0) {
+            return new long[] {k0, k1};
+        }
+        return new long[] {
+                (k0 << bottom) | (k1 >>> (64 - bottom)),
+                (k1 << bottom) | (k2 >>> (64 - bottom))
+        };
+    }
+
+    // L_{ntz(1)} ⊕ … ⊕ L_{ntz(i)}，即gray(i)各置位k对应L_k的异或（高64位）
+    private long grayHi(int i) {
+        long v = 0;
+        for (int g = i ^ (i >>> 1); g != 0; g &= g - 1) {
+            v ^= lHi[Integer.numberOfTrailingZeros(g)];
+        }
+        return v;
+    }
+
+    private long grayLo(int i) {
+        long v = 0;
+        for (int g = i ^ (i >>> 1); g != 0; g &= g - 1) {
+            v ^= lLo[Integer.numberOfTrailingZeros(g)];
+        }
+        return v;
+    }
+
+    // GF(2^128)中乘以x：整体左移1位，溢出时低字节异或0x87
+    private static long doubleHi(long hi, long lo) {
+        return (hi << 1) | (lo >>> 63);
+    }
+
+    private static long doubleLo(long hi, long lo) {
+        return (lo << 1) ^ ((hi >> 63) & 0x87);
+    }
+
+    // 大端序读写64位字
+    private static long getLong(byte[] b, int off) {
+        return ((long) (b[off] & 0xFF) << 56) | ((long) (b[off + 1] & 0xFF) << 48)
+                | ((long) (b[off + 2] & 0xFF) << 40) | ((long) (b[off + 3] & 0xFF) << 32)
+                | ((long) (b[off + 4] & 0xFF) << 24) | ((b[off + 5] & 0xFF) << 16)
+                | ((b[off + 6] & 0xFF) << 8) | (b[off + 7] & 0xFF);
+    }
+
+    private static void putLong(long v, byte[] b, int off) {
+        for (int i = 7; i >= 0; i--) {
+            b[off + i] = (byte) v;
+            v >>>= 8;
+        }
+    }
+
+    // 安全擦除敏感数据
+    public void clearKeys() {
+        cipher.clearKeys();
+        Arrays.fill(lHi, 0);
+        Arrays.fill(lLo, 0);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+/**
+ * 分组模式（ECB/CBC）使用的填充方案
+ *
+ * <p>常用方案见{@link StandardPadding}，也可以自行实现后传给{@link BlockCipherMode}</p>
+ */
+public interface Padding {
+
+    /**
+     * 明文长度为length时需要追加的填充字节数
+     * @throws IllegalArgumentException 无法填充时（如不填充而长度不是分组整数倍）
+     */
+    int padLength(int length, int blockSize);
+
+    /**
+     * 把padLength个填充字节写入buf[off..off+padLength)
+     */
+    void pad(byte[] buf, int off, int padLength);
+
+    /**
+     * 校验并计算去除填充后的长度
+     * @param buf 解密结果
+     * @param len 解密结果长度，是分组长度的整数倍
+     * @return 有效数据长度
+     * @throws IllegalArgumentException 填充无效时抛出
+     */
+    int unpaddedLength(byte[] buf, int len, int blockSize);
+}
@@ -0,0 +1,269 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 批量对称运算的分块并行执行器
+ *
+ * <p>把互不依赖的分组区间（ECB、CTR、CBC/CFB解密等）切成固定大小的块，提交到专用的ForkJoinPool执行：
+ * <ul>
+ *   <li>总数据量不超过阈值时直接在调用线程上执行，小请求不付出调度开销</li>
+ *   <li>块大小默认16KB，使单块的输入、输出与轮密钥同时留在L1/L2缓存中</li>
+ *   <li>使用独立线程池，不与commonPool中的其他任务争抢线程</li>
+ *   <li>记录每个块的耗时，提供块数、总耗时、最大耗时计数，也可注册{@link ChunkListener}逐块接收</li>
+ *   <li>各块有结果时用{@link #reduceRanges}按区间顺序合并</li>
+ * </ul>
+ *
+ * <p>进程内共用一个默认实例（{@link #getDefault()}），线程数、块大小与阈值可经{@link #setDefault}替换，
+ * Spring环境下由配置项crypto.parallel.*设置</p>
+ */
+public final class ParallelChunkExecutor {
+    public static final int DEFAULT_CHUNK_BYTES = 16 * 1024;
+    public static final int DEFAULT_THRESHOLD_BYTES = 64 * 1024;
+
+    private static volatile ParallelChunkExecutor defaultExecutor =
+            new ParallelChunkExecutor(0, DEFAULT_CHUNK_BYTES, DEFAULT_THRESHOLD_BYTES);
+
+    private final ForkJoinPool pool;
+    private final int chunkBytes;
+    private final int thresholdBytes;
+    private volatile ChunkListener listener;
+
+    private final LongAdder inlineRuns = new LongAdder();
+    private final LongAdder parallelRuns = new LongAdder();
+    private final LongAdder chunks = new LongAdder();
+    private final LongAdder chunkNanos = new LongAdder();
+    private final LongAccumulator maxChunkNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param threads 工作线程数，0表示使用可用处理器数
+     * @param chunkBytes 每个并行块的字节数（向下取整到分组边界，至少一个分组）
+     * @param thresholdBytes 超过该字节数才并行，否则在调用线程上执行
+     */
+    public ParallelChunkExecutor(int threads, int chunkBytes, int thresholdBytes) {
+        if (threads < 0) {
+            throw new IllegalArgumentException("线程数不能为负数");
+        }
+        if (chunkBytes <= 0) {
+            throw new IllegalArgumentException("块大小必须大于0");
+        }
+        if (thresholdBytes < 0) {
+            throw new IllegalArgumentException("并行阈值不能为负数");
+        }
+        this.pool = new ForkJoinPool(threads == 0 ? Runtime.getRuntime().availableProcessors() : threads,
+                ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false);
+        this.chunkBytes = chunkBytes;
+        this.thresholdBytes = thresholdBytes;
+    }
+
+    public static ParallelChunkExecutor getDefault() {
+        return defaultExecutor;
+    }
+
+    /**
+     * 替换默认实例。旧实例不会被关闭，已经取得旧实例的调用照常完成；
+     * 旧实例的关闭由其创建者负责，未关闭的线程池空闲后工作线程自行退出
+     */
+    public static void setDefault(ParallelChunkExecutor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("执行器不能为null");
+        }
+        defaultExecutor = executor;
+    }
+
+    /**
+     * 对[0, units)按块执行op
+     * @param units 处理单元数（通常为分组数）
+     * @param unitBytes 每个单元的字节数，用于换算阈值与块大小
+     * @param op 处理[from, to)区间的操作，不同区间可能在不同线程上并发执行
+     */
+    public void forEachRange(int units, int unitBytes, RangeOp op) {
+        if (units <= 0) {
+            return;
+        }
+        reduceRanges(units, unitBytes, (from, to) -> {
+            op.apply(from, to);
+            return null;
+        }, (left, right, rightUnits) -> null);
+    }
+
+    /**
+     * 对[0, units)按块执行map，再把相邻区间的结果按从左到右的顺序两两合并
+     *
+     * <p>用于各段结果与位置有关的归约（如GHASH的分段摘要需乘以H的相应幂次）。
+     * 在调用线程上直接执行时只对整个区间调用一次map，不调用combiner</p>
+     * @param units 处理单元数，为0时对空区间[0, 0)调用一次map
+     * @param unitBytes 每个单元的字节数，用于换算阈值与块大小
+     * @param map 计算[from, to)区间的结果，不同区间可能在不同线程上并发执行
+     * @param combiner 合并相邻区间的结果
+     * @return 整个区间的结果
+     */
+    public <T> T reduceRanges(int units, int unitBytes, RangeFunction<T> map, RangeCombiner<T> combiner) {
+        if (units < 0) {
+            throw new IllegalArgumentException("处理单元数不能为负数");
+        }
+        if ((long) units * unitBytes > thresholdBytes && !pool.isShutdown()) {
+            int chunkUnits = Math.max(1, chunkBytes / unitBytes);
+            int chunkCount = (int) (((long) units + chunkUnits - 1) / chunkUnits);
+            try {
+                T result = pool.invoke(new ChunkTask<>(this, map, combiner, units, chunkUnits, 0, chunkCount));
+                parallelRuns.increment();
+                return result;
+            } catch (RejectedExecutionException e) {
+                // 线程池在检查后被关闭，任务未被执行，改为在调用线程上执行
+            }
+        }
+        inlineRuns.increment();
+        return map.apply(0, units);
+    }
+
+    public void setChunkListener(ChunkListener listener) {
+        this.listener = listener;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public int getChunkBytes() {
+        return chunkBytes;
+    }
+
+    public int getThresholdBytes() {
+        return thresholdBytes;
+    }
+
+    // 在调用线程上直接执行的次数
+    public long getInlineRuns() {
+        return inlineRuns.sum();
+    }
+
+    // 拆分到线程池执行的次数
+    public long getParallelRuns() {
+        return parallelRuns.sum();
+    }
+
+    // 已执行的并行块总数
+    public long getChunks() {
+        return chunks.sum();
+    }
+
+    // 并行块累计耗时（纳秒）
+    public long getChunkNanos() {
+        return chunkNanos.sum();
+    }
+
+    // 单个并行块的最大耗时（纳秒）
+    public long getMaxChunkNanos() {
+        return maxChunkNanos.get();
+    }
+
+    /**
+     * 关闭线程池：已提交的任务继续完成，之后的调用都在调用线程上顺序执行
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * 等待线程池关闭
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return pool.awaitTermination(timeout, unit);
+    }
+
+    private <T> T runChunk(RangeFunction<T> map, int from, int to) {
+        long start = System.nanoTime();
+        T result = map.apply(from, to);
+        long elapsed = System.nanoTime() - start;
+        chunks.increment();
+        chunkNanos.add(elapsed);
+        maxChunkNanos.accumulate(elapsed);
+        ChunkListener l = listener;
+        if (l != null) {
+            l.onChunk(from, to, elapsed);
+        }
+        return result;
+    }
+
+    /**
+     * 处理单元区间上的操作
+     */
+    @FunctionalInterface
+    public interface RangeOp {
+        void apply(int from, int to);
+    }
+
+    /**
+     * 计算处理单元区间上的结果
+     */
+    @FunctionalInterface
+    public interface RangeFunction<T> {
+        T apply(int from, int to);
+    }
+
+    /**
+     * 合并相邻两个区间的结果
+     */
+    @FunctionalInterface
+    public interface RangeCombiner<T> {
+        /**
+         * @param left 左侧区间的结果
+         * @param right 紧随其后的右侧区间的结果
+         * @param rightUnits 右侧区间的单元数
+         */
+        T combine(T left, T right, int rightUnits);
+    }
+
+    /**
+     * 逐块耗时回调，在执行该块的工作线程上调用，实现应尽量轻量
+     */
+    @FunctionalInterface
+    public interface ChunkListener {
+        void onChunk(int from, int to, long nanos);
+    }
+
+    // 按块序号区间递归拆分，叶子为单个块，左右两半的结果按序合并；只在所属执行器的线程池内使用，不会被序列化
+    private static final class ChunkTask<T> extends RecursiveTask<T> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ParallelChunkExecutor executor;
+        private final transient RangeFunction<T> map;
+        private final transient RangeCombiner<T> combiner;
+        private final int units;
+        private final int chunkUnits;
+        private final int fromChunk;
+        private final int toChunk;
+
+        ChunkTask(ParallelChunkExecutor executor, RangeFunction<T> map, RangeCombiner<T> combiner,
+                  int units, int chunkUnits, int fromChunk, int toChunk) {
+            this.executor = executor;
+            this.map = map;
+            this.combiner = combiner;
+            this.units = units;
+            this.chunkUnits = chunkUnits;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected T compute() {
+            if (toChunk - fromChunk == 1) {
+                int from = fromChunk * chunkUnits;
+                return executor.runChunk(map, from, Math.min(units, from + chunkUnits));
+            }
+            int mid = (fromChunk + toChunk) >>> 1;
+            ChunkTask<T> left = new ChunkTask<>(executor, map, combiner, units, chunkUnits, fromChunk, mid);
+            ChunkTask<T> right = new ChunkTask<>(executor, map, combiner, units, chunkUnits, mid, toChunk);
+            left.fork();
+            T rightResult = right.compute();
+            int rightUnits = Math.min(units, toChunk * chunkUnits) - mid * chunkUnits;
+            return combiner.combine(left.join(), rightResult, rightUnits);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import java.util.Arrays;
+
+/**
+ * Poly1305一次性消息认证码（RFC 8439）
+ *
+ * <p>累加器与r均拆为5个26位limb，limb乘积与求和都不超过64位，用long直接计算、最后统一进位；
+ * 乘以2^130时的折回预先并入 s_i = 5·r_i。消息按16字节分组直接从调用方数组读取</p>
+ *
+ * <p>密钥只能用于一条消息，实例持有累加状态，不是线程安全的</p>
+ */
+public class Poly1305 {
+    public static final int KEY_LENGTH = 32;
+    public static final int TAG_LENGTH = 16;
+    private static final int BLOCK_SIZE = 16;
+    private static final long MASK26 = 0x3ffffff;
+
+    // r（已clamp）与 5·r
+    private final long r0, r1, r2, r3, r4;
+    private final long s1, s2, s3, s4;
+    // s = 密钥后16字节，最后加到累加器上
+    private final long pad0, pad1, pad2, pad3;
+
+    private long h0, h1, h2, h3, h4;
+    private final byte[] buffer = new byte[BLOCK_SIZE];
+    private int bufferLength;
+
+    /**
+     * @param key 32字节一次性密钥 r || s
+     */
+    public Poly1305(byte[] key) {
+        if (key == null || key.length != KEY_LENGTH) {
+            throw new IllegalArgumentException("Poly1305密钥必须为32字节");
+        }
+        r0 = getInt(key, 0) & 0x3ffffff;
+        r1 = (getInt(key, 3) >>> 2) & 0x3ffff03;
+        r2 = (getInt(key, 6) >>> 4) & 0x3ffc0ff;
+        r3 = (getInt(key, 9) >>> 6) & 0x3f03fff;
+        r4 = (getInt(key, 12) >>> 8) & 0x00fffff;
+        s1 = r1 * 5;
+        s2 = r2 * 5;
+        s3 = r3 * 5;
+        s4 = r4 * 5;
+        pad0 = getInt(key, 16);
+        pad1 = getInt(key, 20);
+        pad2 = getInt(key, 24);
+        pad3 = getInt(key, 28);
+    }
+
+    /**
+     * 吸收data[off..off+len)
+     */
+    public void update(byte[] data, int off, int len) {
+        if (bufferLength > 0) {
+            int n = Math.min(BLOCK_SIZE - bufferLength, len);
+            System.arraycopy(data, off, buffer, bufferLength, n);
+            bufferLength += n;
+            off += n;
+            len -= n;
+            if (bufferLength < BLOCK_SIZE) {
+                return;
+            }
+            processBlock(buffer, 0, 1 << 24);
+            bufferLength = 0;
+        }
+        int end = off + len - len % BLOCK_SIZE;
+        for (; off < end; off += BLOCK_SIZE) {
+            processBlock(data, off, 1 << 24);
+        }
+        int rest = len % BLOCK_SIZE;
+        if (rest > 0) {
+            System.arraycopy(data, off, buffer, 0, rest);
+            bufferLength = rest;
+        }
+    }
+
+    /**
+     * 用0补齐到16字节边界（AEAD中AAD与密文之后的填充）
+     */
+    public void padToBlock() {
+        if (bufferLength > 0) {
+            Arrays.fill(buffer, bufferLength, BLOCK_SIZE, (byte) 0);
+            processBlock(buffer, 0, 1 << 24);
+            bufferLength = 0;
+        }
+    }
+
+    /**
+     * 输出16字节标签到out[off..off+16)，之后实例不应再使用
+     */
+    public void doFinal(byte[] out, int off) {
+        if (bufferLength > 0) {
+            // 不足16字节的末组追加0x01，不再设置2^128位
+            buffer[bufferLength] = 1;
+            Arrays.fill(buffer, bufferLength + 1, BLOCK_SIZE, (byte) 0);
+            processBlock(buffer, 0, 0);
+            bufferLength = 0;
+        }
+
+        // 完全进位
+        long c;
+        c = h1 >>> 26; h1 &= MASK26; h2 += c;
+        c = h2 >>> 26; h2 &= MASK26; h3 += c;
+        c = h3 >>> 26; h3 &= MASK26; h4 += c;
+        c = h4 >>> 26; h4 &= MASK26; h0 += c * 5;
+        c = h0 >>> 26; h0 &= MASK26; h1 += c;
+
+        // g = h + 5 - 2^130，无借位时说明 h ≥ p，取g
+        long g0 = h0 + 5;
+        c = g0 >>> 26; g0 &= MASK26;
+        long g1 = h1 + c;
+        c = g1 >>> 26; g1 &= MASK26;
+        long g2 = h2 + c;
+        c = g2 >>> 26; g2 &= MASK26;
+        long g3 = h3 + c;
+        c = g3 >>> 26; g3 &= MASK26;
+        long g4 = h4 + c - (1L << 26);
+        // 常数时间选择：g4为负时保留h
+        long keep = g4 >> 63;
+        h0 = (h0 & keep) | (g0 & ~keep);
+        h1 = (h1 & keep) | (g1 & ~keep);
+        h2 = (h2 & keep) | (g2 & ~keep);
+        h3 = (h3 & keep) | (g3 & ~keep);
+        h4 = (h4 & keep) | (g4 & ~keep);
+
+        // 转为4个32位字后加上s（模2^128）
+        long f0 = ((h0 | (h1 << 26)) & 0xffffffffL) + pad0;
+        long f1 = (((h1 >>> 6) | (h2 << 20)) & 0xffffffffL) + pad1 + (f0 >>> 32);
+        long f2 = (((h2 >>> 12) | (h3 << 14)) & 0xffffffffL) + pad2 + (f1 >>> 32);
+        long f3 = (((h3 >>> 18) | (h4 << 8)) & 0xffffffffL) + pad3 + (f2 >>> 32);
+        putInt((int) f0, out, off);
+        putInt((int) f1, out, off + 4);
+        putInt((int) f2, out, off + 8);
+        putInt((int) f3, out, off + 12);
+
+        h0 = h1 = h2 = h3 = h4 = 0;
+        Arrays.fill(buffer, (byte) 0);
+    }
+
+    // h = (h + m + hibit·2^128) · r mod 2^130-5
+    private void processBlock(byte[] m, int off, int hibit) {
+        long t0 = h0 + (getInt(m, off) & MASK26);
+        long t1 = h1 + ((getInt(m, off + 3) >>> 2) & MASK26);
+        long t2 = h2 + ((getInt(m, off + 6) >>> 4) & MASK26);
+        long t3 = h3 + ((getInt(m, off + 9) >>> 6) & MASK26);
+        long t4 = h4 + ((getInt(m, off + 12) >>> 8) | hibit);
+
+        long d0 = t0 * r0 + t1 * s4 + t2 * s3 + t3 * s2 + t4 * s1;
+        long d1 = t0 * r1 + t1 * r0 + t2 * s4 + t3 * s3 + t4 * s2;
+        long d2 = t0 * r2 + t1 * r1 + t2 * r0 + t3 * s4 + t4 * s3;
+        long d3 = t0 * r3 + t1 * r2 + t2 * r1 + t3 * r0 + t4 * s4;
+        long d4 = t0 * r4 + t1 * r3 + t2 * r2 + t3 * r1 + t4 * r0;
+
+        long c = d0 >>> 26; h0 = d0 & MASK26;
+        d1 += c; c = d1 >>> 26; h1 = d1 & MASK26;
+        d2 += c; c = d2 >>> 26; h2 = d2 & MASK26;
+        d3 += c; c = d3 >>> 26; h3 = d3 & MASK26;
+        d4 += c; c = d4 >>> 26; h4 = d4 & MASK26;
+        h0 += c * 5;
+        c = h0 >>> 26; h0 &= MASK26;
+        h1 += c;
+    }
+
+    // 小端序读取32位无符号字
+    private static long getInt(byte[] b, int off) {
+        return (b[off] & 0xFFL) | ((b[off + 1] & 0xFFL) << 8) | ((b[off + 2] & 0xFFL) << 16) | ((b[off + 3] & 0xFFL) << 24);
+    }
+
+    private static void putInt(int v, byte[] b, int off) {
+        b[off] = (byte) v;
+        b[off + 1] = (byte) (v >>> 8);
+        b[off + 2] = (byte) (v >>> 16);
+        b[off + 3] = (byte) (v >>> 24);
+    }
+}
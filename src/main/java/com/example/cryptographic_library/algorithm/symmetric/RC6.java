@@ -2,22 +2,34 @@ package com.example.cryptographic_library.algorithm.symmetric;
 
 import com.example.cryptographic_library.algorithm.encode.UTF_8;
 
-import java.nio.ByteBuffer;
 import java.util.Arrays;
 
-public class RC6 {
+/**
+ * RC6分组密码（w=32，r=20，128位密钥）
+ *
+ * <p>单个分组的20轮之间存在乘法与数据相关循环移位的长依赖链，
+ * 批量处理（ECB、CBC解密）时每次取4个互不依赖的分组在局部变量中交错计算，
+ * 使JIT能把各分组的乘法和移位指令重叠执行；分组直接从调用方数组按小端序读写，不产生逐分组分配</p>
+ *
+ * <p>工作模式由{@link BlockCipherMode}统一实现，ECB、CBC/CFB解密与CTR都会走{@link #encryptBlocks}/{@link #decryptBlocks}的交错路径</p>
+ */
+public class RC6 implements BlockCipher {
     // 算法参数
     private static final int WORD_SIZE = 32;   // 字长（bits）
     private static final int ROUNDS = 20;      // 加密轮数
     private static final int KEY_LEN = 128;    // 密钥长度（bits）
     private static final int BLOCK_SIZE = 128; // 块大小（bits）
     private static final int BLOCK_BYTES = BLOCK_SIZE / 8;
+    // 批量路径中交错处理的分组数
+    private static final int INTERLEAVE = 4;
 
     // 魔法常量
     private static final int P32 = 0xB7E15163;
     private static final int Q32 = 0x9E3779B9;
 
     private final int[] s; // 轮密钥数组
+    private final BlockCipherMode ecb = new BlockCipherMode(this, BlockCipherMode.Mode.ECB);
+    private final BlockCipherMode cbc = new BlockCipherMode(this, BlockCipherMode.Mode.CBC);
 
     public RC6(byte[] key) {
         validateKey(key);
@@ -34,48 +46,83 @@ public class RC6 {
         return padded;
     }
 
-    // 完整加密流程
+    @Override
+    public int getBlockSize() {
+        return BLOCK_BYTES;
+    }
+
+    // 完整加密流程（ECB，PKCS7填充）
     public byte[] encrypt(byte[] plaintext) {
-        byte[] padded = pkcs7Pad(plaintext, BLOCK_BYTES);
-        return processBlocks(padded, true);
+        return ecb.encrypt(null, plaintext);
     }
 
-    // 完整解密流程
+    // 完整解密流程（ECB，自动去填充）
     public byte[] decrypt(byte[] ciphertext) {
-        byte[] decrypted = processBlocks(ciphertext, false);
-        return pkcs7Unpad(decrypted);
+        return ecb.decrypt(null, ciphertext);
     }
 
-    // PKCS7填充实现
-    private byte[] pkcs7Pad(byte[] input, int blockSize) {
-        int padding = blockSize - (input.length % blockSize);
-        padding = padding == 0 ? blockSize : padding;
-        byte[] padded = Arrays.copyOf(input, input.length + padding);
-        Arrays.fill(padded, input.length, padded.length, (byte) padding);
-        return padded;
+    // CBC模式加密（PKCS7填充）
+    public byte[] encryptCBC(byte[] iv, byte[] plaintext) {
+        return cbc.encrypt(iv, plaintext);
     }
 
-    // PKCS7去填充实现
-    private byte[] pkcs7Unpad(byte[] input) {
-        if (input.length == 0) throw new IllegalArgumentException("空输入");
-
-        int padding = input[input.length - 1] & 0xFF;
-        validatePadding(input, padding);
+    // CBC模式解密（自动去填充），大数据量时按分组区间并行交错解密
+    public byte[] decryptCBC(byte[] iv, byte[] ciphertext) {
+        return cbc.decrypt(iv, ciphertext);
+    }
 
-        return Arrays.copyOf(input, input.length - padding);
+    /**
+     * 批量加密连续分组（ECB，无填充）：in[inOff..inOff+len) -> out[outOff..outOff+len)
+     *
+     * <p>每4个分组交错计算，直接读写调用方数组；输入输出可为同一数组，区间重叠时同样正确</p>
+     * @param len 字节数，必须是16的倍数
+     */
+    @Override
+    public void encryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        processBlocks(in, inOff, out, outOff, len, true);
     }
 
-    // 分组处理核心
-    private byte[] processBlocks(byte[] input, boolean encrypt) {
-        ByteBuffer output = ByteBuffer.allocate(input.length);
+    /**
+     * 批量解密连续分组（ECB，无填充），约定同{@link #encryptBlocks}
+     */
+    @Override
+    public void decryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        processBlocks(in, inOff, out, outOff, len, false);
+    }
 
-        for (int i = 0; i < input.length; i += BLOCK_BYTES) {
-            byte[] block = Arrays.copyOfRange(input, i, i + BLOCK_BYTES);
-            byte[] processed = encrypt ? encryptBlock(block) : decryptBlock(block);
-            output.put(processed);
+    private void processBlocks(byte[] in, int inOff, byte[] out, int outOff, int len, boolean encrypt) {
+        if (len % BLOCK_BYTES != 0) {
+            throw new IllegalArgumentException("数据长度必须是16的倍数");
+        }
+        if (inOff < 0 || outOff < 0 || len < 0 || inOff > in.length - len || outOff > out.length - len) {
+            throw new IllegalArgumentException("缓冲区越界");
+        }
+        // 同一数组且输出在输入之后重叠时需从后往前逐组处理，避免覆盖尚未读取的输入
+        if (in == out && outOff > inOff && outOff < inOff + len) {
+            for (int i = len - BLOCK_BYTES; i >= 0; i -= BLOCK_BYTES) {
+                processBlock(in, inOff + i, out, outOff + i, encrypt);
+            }
+            return;
         }
+        int i = 0;
+        for (int bulk = len - len % (INTERLEAVE * BLOCK_BYTES); i < bulk; i += INTERLEAVE * BLOCK_BYTES) {
+            if (encrypt) {
+                encrypt4(in, inOff + i, out, outOff + i);
+            } else {
+                decrypt4(in, inOff + i, out, outOff + i);
+            }
+        }
+        for (; i < len; i += BLOCK_BYTES) {
+            processBlock(in, inOff + i, out, outOff + i, encrypt);
+        }
+    }
 
-        return output.array();
+    private void processBlock(byte[] in, int inOff, byte[] out, int outOff, boolean encrypt) {
+        if (encrypt) {
+            encryptBlock(in, inOff, out, outOff);
+        } else {
+            decryptBlock(in, inOff, out, outOff);
+        }
     }
     private void validateKey(byte[] key) {
         if (key == null || key.length == 0) {
@@ -135,8 +182,24 @@ public class RC6 {
 
     private byte[] encryptBlock(byte[] input) {
         validateBlock(input);
-        int[] block = bytesToWords(input);
-        int a = block[0], b = block[1], c = block[2], d = block[3];
+        byte[] output = new byte[BLOCK_BYTES];
+        encryptBlock(input, 0, output, 0);
+        return output;
+    }
+
+    private byte[] decryptBlock(byte[] input) {
+        validateBlock(input);
+        byte[] output = new byte[BLOCK_BYTES];
+        decryptBlock(input, 0, output, 0);
+        return output;
+    }
+
+    /**
+     * 加密单个分组：in[inOff..inOff+16) -> out[outOff..outOff+16)，允许输入输出为同一数组的同一位置
+     */
+    @Override
+    public void encryptBlock(byte[] in, int inOff, byte[] out, int outOff) {
+        int a = getInt(in, inOff), b = getInt(in, inOff + 4), c = getInt(in, inOff + 8), d = getInt(in, inOff + 12);
 
         b += s[0];
         d += s[1];
@@ -157,18 +220,18 @@ public class RC6 {
         a += s[2 * ROUNDS + 2];
         c += s[2 * ROUNDS + 3];
 
-        block[0] = a;
-        block[1] = b;
-        block[2] = c;
-        block[3] = d;
-        
-        return wordsToBytes(block);
+        putInt(a, out, outOff);
+        putInt(b, out, outOff + 4);
+        putInt(c, out, outOff + 8);
+        putInt(d, out, outOff + 12);
     }
 
-    private byte[] decryptBlock(byte[] input) {
-        validateBlock(input);
-        int[] block = bytesToWords(input);
-        int a = block[0], b = block[1], c = block[2], d = block[3];
+    /**
+     * 解密单个分组：in[inOff..inOff+16) -> out[outOff..outOff+16)，允许输入输出为同一数组的同一位置
+     */
+    @Override
+    public void decryptBlock(byte[] in, int inOff, byte[] out, int outOff) {
+        int a = getInt(in, inOff), b = getInt(in, inOff + 4), c = getInt(in, inOff + 8), d = getInt(in, inOff + 12);
 
         c -= s[2 * ROUNDS + 3];
         a -= s[2 * ROUNDS + 2];
@@ -189,55 +252,167 @@ public class RC6 {
         d -= s[1];
         b -= s[0];
 
-        block[0] = a;
-        block[1] = b;
-        block[2] = c;
-        block[3] = d;
-        
-        return wordsToBytes(block);
+        putInt(a, out, outOff);
+        putInt(b, out, outOff + 4);
+        putInt(c, out, outOff + 8);
+        putInt(d, out, outOff + 12);
     }
 
-    // 辅助方法---------------------------------------------------
-    private void validateBlock(byte[] block) {
-        if (block.length != BLOCK_BYTES) {
-            throw new IllegalArgumentException("块必须为16字节");
+    // 4个连续分组交错加密，轮结构与encryptBlock相同；寄存器轮换用每4轮展开代替变量搬移
+    private void encrypt4(byte[] in, int inOff, byte[] out, int outOff) {
+        int[] k = s;
+        int a0 = getInt(in, inOff), b0 = getInt(in, inOff + 4), c0 = getInt(in, inOff + 8), d0 = getInt(in, inOff + 12);
+        int a1 = getInt(in, inOff + 16), b1 = getInt(in, inOff + 20), c1 = getInt(in, inOff + 24), d1 = getInt(in, inOff + 28);
+        int a2 = getInt(in, inOff + 32), b2 = getInt(in, inOff + 36), c2 = getInt(in, inOff + 40), d2 = getInt(in, inOff + 44);
+        int a3 = getInt(in, inOff + 48), b3 = getInt(in, inOff + 52), c3 = getInt(in, inOff + 56), d3 = getInt(in, inOff + 60);
+
+        b0 += k[0]; d0 += k[1];
+        b1 += k[0]; d1 += k[1];
+        b2 += k[0]; d2 += k[1];
+        b3 += k[0]; d3 += k[1];
+
+        int t0, t1, t2, t3, u0, u1, u2, u3;
+        // 第r轮的 (A, B, C, D) 依次为 (a, b, c, d)、(b, c, d, a)、(c, d, a, b)、(d, a, b, c)
+        for (int r = 1; r <= ROUNDS; r += 4) {
+            t0 = rotateLeft(b0 * (2 * b0 + 1), 5); u0 = rotateLeft(d0 * (2 * d0 + 1), 5);
+            t1 = rotateLeft(b1 * (2 * b1 + 1), 5); u1 = rotateLeft(d1 * (2 * d1 + 1), 5);
+            t2 = rotateLeft(b2 * (2 * b2 + 1), 5); u2 = rotateLeft(d2 * (2 * d2 + 1), 5);
+            t3 = rotateLeft(b3 * (2 * b3 + 1), 5); u3 = rotateLeft(d3 * (2 * d3 + 1), 5);
+            a0 = rotateLeft(a0 ^ t0, u0 & 0x1f) + k[2 * r]; c0 = rotateLeft(c0 ^ u0, t0 & 0x1f) + k[2 * r + 1];
+            a1 = rotateLeft(a1 ^ t1, u1 & 0x1f) + k[2 * r]; c1 = rotateLeft(c1 ^ u1, t1 & 0x1f) + k[2 * r + 1];
+            a2 = rotateLeft(a2 ^ t2, u2 & 0x1f) + k[2 * r]; c2 = rotateLeft(c2 ^ u2, t2 & 0x1f) + k[2 * r + 1];
+            a3 = rotateLeft(a3 ^ t3, u3 & 0x1f) + k[2 * r]; c3 = rotateLeft(c3 ^ u3, t3 & 0x1f) + k[2 * r + 1];
+
+            t0 = rotateLeft(c0 * (2 * c0 + 1), 5); u0 = rotateLeft(a0 * (2 * a0 + 1), 5);
+            t1 = rotateLeft(c1 * (2 * c1 + 1), 5); u1 = rotateLeft(a1 * (2 * a1 + 1), 5);
+            t2 = rotateLeft(c2 * (2 * c2 + 1), 5); u2 = rotateLeft(a2 * (2 * a2 + 1), 5);
+            t3 = rotateLeft(c3 * (2 * c3 + 1), 5); u3 = rotateLeft(a3 * (2 * a3 + 1), 5);
+            b0 = rotateLeft(b0 ^ t0, u0 & 0x1f) + k[2 * r + 2]; d0 = rotateLeft(d0 ^ u0, t0 & 0x1f) + k[2 * r + 3];
+            b1 = rotateLeft(b1 ^ t1, u1 & 0x1f) + k[2 * r + 2]; d1 = rotateLeft(d1 ^ u1, t1 & 0x1f) + k[2 * r + 3];
+            b2 = rotateLeft(b2 ^ t2, u2 & 0x1f) + k[2 * r + 2]; d2 = rotateLeft(d2 ^ u2, t2 & 0x1f) + k[2 * r + 3];
+            b3 = rotateLeft(b3 ^ t3, u3 & 0x1f) + k[2 * r + 2]; d3 = rotateLeft(d3 ^ u3, t3 & 0x1f) + k[2 * r + 3];
+
+            t0 = rotateLeft(d0 * (2 * d0 + 1), 5); u0 = rotateLeft(b0 * (2 * b0 + 1), 5);
+            t1 = rotateLeft(d1 * (2 * d1 + 1), 5); u1 = rotateLeft(b1 * (2 * b1 + 1), 5);
+            t2 = rotateLeft(d2 * (2 * d2 + 1), 5); u2 = rotateLeft(b2 * (2 * b2 + 1), 5);
+            t3 = rotateLeft(d3 * (2 * d3 + 1), 5); u3 = rotateLeft(b3 * (2 * b3 + 1), 5);
+            c0 = rotateLeft(c0 ^ t0, u0 & 0x1f) + k[2 * r + 4]; a0 = rotateLeft(a0 ^ u0, t0 & 0x1f) + k[2 * r + 5];
+            c1 = rotateLeft(c1 ^ t1, u1 & 0x1f) + k[2 * r + 4]; a1 = rotateLeft(a1 ^ u1, t1 & 0x1f) + k[2 * r + 5];
+            c2 = rotateLeft(c2 ^ t2, u2 & 0x1f) + k[2 * r + 4]; a2 = rotateLeft(a2 ^ u2, t2 & 0x1f) + k[2 * r + 5];
+            c3 = rotateLeft(c3 ^ t3, u3 & 0x1f) + k[2 * r + 4]; a3 = rotateLeft(a3 ^ u3, t3 & 0x1f) + k[2 * r + 5];
+
+            t0 = rotateLeft(a0 * (2 * a0 + 1), 5); u0 = rotateLeft(c0 * (2 * c0 + 1), 5);
+            t1 = rotateLeft(a1 * (2 * a1 + 1), 5); u1 = rotateLeft(c1 * (2 * c1 + 1), 5);
+            t2 = rotateLeft(a2 * (2 * a2 + 1), 5); u2 = rotateLeft(c2 * (2 * c2 + 1), 5);
+            t3 = rotateLeft(a3 * (2 * a3 + 1), 5); u3 = rotateLeft(c3 * (2 * c3 + 1), 5);
+            d0 = rotateLeft(d0 ^ t0, u0 & 0x1f) + k[2 * r + 6]; b0 = rotateLeft(b0 ^ u0, t0 & 0x1f) + k[2 * r + 7];
+            d1 = rotateLeft(d1 ^ t1, u1 & 0x1f) + k[2 * r + 6]; b1 = rotateLeft(b1 ^ u1, t1 & 0x1f) + k[2 * r + 7];
+            d2 = rotateLeft(d2 ^ t2, u2 & 0x1f) + k[2 * r + 6]; b2 = rotateLeft(b2 ^ u2, t2 & 0x1f) + k[2 * r + 7];
+            d3 = rotateLeft(d3 ^ t3, u3 & 0x1f) + k[2 * r + 6]; b3 = rotateLeft(b3 ^ u3, t3 & 0x1f) + k[2 * r + 7];
         }
+
+        // 20轮是4的倍数，轮换回到原位
+        a0 += k[2 * ROUNDS + 2]; c0 += k[2 * ROUNDS + 3];
+        a1 += k[2 * ROUNDS + 2]; c1 += k[2 * ROUNDS + 3];
+        a2 += k[2 * ROUNDS + 2]; c2 += k[2 * ROUNDS + 3];
+        a3 += k[2 * ROUNDS + 2]; c3 += k[2 * ROUNDS + 3];
+
+        putInt(a0, out, outOff); putInt(b0, out, outOff + 4); putInt(c0, out, outOff + 8); putInt(d0, out, outOff + 12);
+        putInt(a1, out, outOff + 16); putInt(b1, out, outOff + 20); putInt(c1, out, outOff + 24); putInt(d1, out, outOff + 28);
+        putInt(a2, out, outOff + 32); putInt(b2, out, outOff + 36); putInt(c2, out, outOff + 40); putInt(d2, out, outOff + 44);
+        putInt(a3, out, outOff + 48); putInt(b3, out, outOff + 52); putInt(c3, out, outOff + 56); putInt(d3, out, outOff + 60);
     }
 
-    private void validatePadding(byte[] input, int padding) {
-        if (padding < 1 || padding > BLOCK_BYTES) {
-            throw new IllegalArgumentException("无效填充长度: " + padding);
+    // 4个连续分组交错解密，按encrypt4的逆序逐轮还原
+    private void decrypt4(byte[] in, int inOff, byte[] out, int outOff) {
+        int[] k = s;
+        int a0 = getInt(in, inOff), b0 = getInt(in, inOff + 4), c0 = getInt(in, inOff + 8), d0 = getInt(in, inOff + 12);
+        int a1 = getInt(in, inOff + 16), b1 = getInt(in, inOff + 20), c1 = getInt(in, inOff + 24), d1 = getInt(in, inOff + 28);
+        int a2 = getInt(in, inOff + 32), b2 = getInt(in, inOff + 36), c2 = getInt(in, inOff + 40), d2 = getInt(in, inOff + 44);
+        int a3 = getInt(in, inOff + 48), b3 = getInt(in, inOff + 52), c3 = getInt(in, inOff + 56), d3 = getInt(in, inOff + 60);
+
+        c0 -= k[2 * ROUNDS + 3]; a0 -= k[2 * ROUNDS + 2];
+        c1 -= k[2 * ROUNDS + 3]; a1 -= k[2 * ROUNDS + 2];
+        c2 -= k[2 * ROUNDS + 3]; a2 -= k[2 * ROUNDS + 2];
+        c3 -= k[2 * ROUNDS + 3]; a3 -= k[2 * ROUNDS + 2];
+
+        int t0, t1, t2, t3, u0, u1, u2, u3;
+        for (int r = ROUNDS; r >= 1; r -= 4) {
+            // 第r轮 (A, B, C, D) = (d, a, b, c)
+            t0 = rotateLeft(a0 * (2 * a0 + 1), 5); u0 = rotateLeft(c0 * (2 * c0 + 1), 5);
+            t1 = rotateLeft(a1 * (2 * a1 + 1), 5); u1 = rotateLeft(c1 * (2 * c1 + 1), 5);
+            t2 = rotateLeft(a2 * (2 * a2 + 1), 5); u2 = rotateLeft(c2 * (2 * c2 + 1), 5);
+            t3 = rotateLeft(a3 * (2 * a3 + 1), 5); u3 = rotateLeft(c3 * (2 * c3 + 1), 5);
+            b0 = rotateRight(b0 - k[2 * r + 1], t0 & 0x1f) ^ u0; d0 = rotateRight(d0 - k[2 * r], u0 & 0x1f) ^ t0;
+            b1 = rotateRight(b1 - k[2 * r + 1], t1 & 0x1f) ^ u1; d1 = rotateRight(d1 - k[2 * r], u1 & 0x1f) ^ t1;
+            b2 = rotateRight(b2 - k[2 * r + 1], t2 & 0x1f) ^ u2; d2 = rotateRight(d2 - k[2 * r], u2 & 0x1f) ^ t2;
+            b3 = rotateRight(b3 - k[2 * r + 1], t3 & 0x1f) ^ u3; d3 = rotateRight(d3 - k[2 * r], u3 & 0x1f) ^ t3;
+
+            // 第r-1轮 (A, B, C, D) = (c, d, a, b)
+            t0 = rotateLeft(d0 * (2 * d0 + 1), 5); u0 = rotateLeft(b0 * (2 * b0 + 1), 5);
+            t1 = rotateLeft(d1 * (2 * d1 + 1), 5); u1 = rotateLeft(b1 * (2 * b1 + 1), 5);
+            t2 = rotateLeft(d2 * (2 * d2 + 1), 5); u2 = rotateLeft(b2 * (2 * b2 + 1), 5);
+            t3 = rotateLeft(d3 * (2 * d3 + 1), 5); u3 = rotateLeft(b3 * (2 * b3 + 1), 5);
+            a0 = rotateRight(a0 - k[2 * r - 1], t0 & 0x1f) ^ u0; c0 = rotateRight(c0 - k[2 * r - 2], u0 & 0x1f) ^ t0;
+            a1 = rotateRight(a1 - k[2 * r - 1], t1 & 0x1f) ^ u1; c1 = rotateRight(c1 - k[2 * r - 2], u1 & 0x1f) ^ t1;
+            a2 = rotateRight(a2 - k[2 * r - 1], t2 & 0x1f) ^ u2; c2 = rotateRight(c2 - k[2 * r - 2], u2 & 0x1f) ^ t2;
+            a3 = rotateRight(a3 - k[2 * r - 1], t3 & 0x1f) ^ u3; c3 = rotateRight(c3 - k[2 * r - 2], u3 & 0x1f) ^ t3;
+
+            // 第r-2轮 (A, B, C, D) = (b, c, d, a)
+            t0 = rotateLeft(c0 * (2 * c0 + 1), 5); u0 = rotateLeft(a0 * (2 * a0 + 1), 5);
+            t1 = rotateLeft(c1 * (2 * c1 + 1), 5); u1 = rotateLeft(a1 * (2 * a1 + 1), 5);
+            t2 = rotateLeft(c2 * (2 * c2 + 1), 5); u2 = rotateLeft(a2 * (2 * a2 + 1), 5);
+            t3 = rotateLeft(c3 * (2 * c3 + 1), 5); u3 = rotateLeft(a3 * (2 * a3 + 1), 5);
+            d0 = rotateRight(d0 - k[2 * r - 3], t0 & 0x1f) ^ u0; b0 = rotateRight(b0 - k[2 * r - 4], u0 & 0x1f) ^ t0;
+            d1 = rotateRight(d1 - k[2 * r - 3], t1 & 0x1f) ^ u1; b1 = rotateRight(b1 - k[2 * r - 4], u1 & 0x1f) ^ t1;
+            d2 = rotateRight(d2 - k[2 * r - 3], t2 & 0x1f) ^ u2; b2 = rotateRight(b2 - k[2 * r - 4], u2 & 0x1f) ^ t2;
+            d3 = rotateRight(d3 - k[2 * r - 3], t3 & 0x1f) ^ u3; b3 = rotateRight(b3 - k[2 * r - 4], u3 & 0x1f) ^ t3;
+
+            // 第r-3轮 (A, B, C, D) = (a, b, c, d)
+            t0 = rotateLeft(b0 * (2 * b0 + 1), 5); u0 = rotateLeft(d0 * (2 * d0 + 1), 5);
+            t1 = rotateLeft(b1 * (2 * b1 + 1), 5); u1 = rotateLeft(d1 * (2 * d1 + 1), 5);
+            t2 = rotateLeft(b2 * (2 * b2 + 1), 5); u2 = rotateLeft(d2 * (2 * d2 + 1), 5);
+            t3 = rotateLeft(b3 * (2 * b3 + 1), 5); u3 = rotateLeft(d3 * (2 * d3 + 1), 5);
+            c0 = rotateRight(c0 - k[2 * r - 5], t0 & 0x1f) ^ u0; a0 = rotateRight(a0 - k[2 * r - 6], u0 & 0x1f) ^ t0;
+            c1 = rotateRight(c1 - k[2 * r - 5], t1 & 0x1f) ^ u1; a1 = rotateRight(a1 - k[2 * r - 6], u1 & 0x1f) ^ t1;
+            c2 = rotateRight(c2 - k[2 * r - 5], t2 & 0x1f) ^ u2; a2 = rotateRight(a2 - k[2 * r - 6], u2 & 0x1f) ^ t2;
+            c3 = rotateRight(c3 - k[2 * r - 5], t3 & 0x1f) ^ u3; a3 = rotateRight(a3 - k[2 * r - 6], u3 & 0x1f) ^ t3;
         }
 
-        for (int i = input.length - padding; i < input.length - 1; i++) {
-            if (input[i] != padding) {
-                throw new IllegalArgumentException("填充数据损坏");
-            }
-        }
+        d0 -= k[1]; b0 -= k[0];
+        d1 -= k[1]; b1 -= k[0];
+        d2 -= k[1]; b2 -= k[0];
+        d3 -= k[1]; b3 -= k[0];
+
+        putInt(a0, out, outOff); putInt(b0, out, outOff + 4); putInt(c0, out, outOff + 8); putInt(d0, out, outOff + 12);
+        putInt(a1, out, outOff + 16); putInt(b1, out, outOff + 20); putInt(c1, out, outOff + 24); putInt(d1, out, outOff + 28);
+        putInt(a2, out, outOff + 32); putInt(b2, out, outOff + 36); putInt(c2, out, outOff + 40); putInt(d2, out, outOff + 44);
+        putInt(a3, out, outOff + 48); putInt(b3, out, outOff + 52); putInt(c3, out, outOff + 56); putInt(d3, out, outOff + 60);
     }
 
-    private static int[] bytesToWords(byte[] bytes) {
-        int[] words = new int[bytes.length / 4];
-        // 使用小端序转换
-        for (int i = 0; i < words.length; i++) {
-            words[i] = ((bytes[i * 4] & 0xff)) |
-                      ((bytes[i * 4 + 1] & 0xff) << 8) |
-                      ((bytes[i * 4 + 2] & 0xff) << 16) |
-                      ((bytes[i * 4 + 3] & 0xff) << 24);
-        }
-        return words;
+    // 安全擦除敏感数据
+    @Override
+    public void clearKeys() {
+        Arrays.fill(s, 0);
     }
 
-    private static byte[] wordsToBytes(int[] words) {
-        byte[] bytes = new byte[words.length * 4];
-        // 使用小端序转换
-        for (int i = 0; i < words.length; i++) {
-            bytes[i * 4] = (byte) (words[i] & 0xff);
-            bytes[i * 4 + 1] = (byte) ((words[i] >> 8) & 0xff);
-            bytes[i * 4 + 2] = (byte) ((words[i] >> 16) & 0xff);
-            bytes[i * 4 + 3] = (byte) ((words[i] >> 24) & 0xff);
+    // 辅助方法---------------------------------------------------
+    private void validateBlock(byte[] block) {
+        if (block.length != BLOCK_BYTES) {
+            throw new IllegalArgumentException("块必须为16字节");
         }
-        return bytes;
+    }
+
+    // 小端序读写32位字，符合RC6标准
+    private static int getInt(byte[] b, int off) {
+        return (b[off] & 0xff) | ((b[off + 1] & 0xff) << 8) | ((b[off + 2] & 0xff) << 16) | (b[off + 3] << 24);
+    }
+
+    private static void putInt(int v, byte[] b, int off) {
+        b[off] = (byte) v;
+        b[off + 1] = (byte) (v >>> 8);
+        b[off + 2] = (byte) (v >>> 16);
+        b[off + 3] = (byte) (v >>> 24);
     }
 
     private static int rotateLeft(int value, int shift) {
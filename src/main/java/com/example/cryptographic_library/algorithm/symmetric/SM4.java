@@ -1,9 +1,17 @@
 package com.example.cryptographic_library.algorithm.symmetric;
 
-import java.nio.ByteBuffer;
 import java.util.Arrays;
 
-public class SM4 {
+/**
+ * SM4分组密码（GB/T 32907-2016）
+ *
+ * <p>S盒与线性变换L合并为4张256项的int表（T = L∘τ），每轮只需4次查表与异或；
+ * 32轮在局部变量上完全展开，分组直接从调用方数组按大端序读写，逐分组处理不分配对象。
+ * 轮密钥扩展仍使用原始的τ与L'，只在构造时执行一次</p>
+ *
+ * <p>ECB/CBC/CTR等工作模式由{@link BlockCipherMode}统一实现</p>
+ */
+public class SM4 implements BlockCipher {
     // 算法参数
     private static final int BLOCK_SIZE = 128; // 分组长度（bits）
     private static final int ROUNDS = 32;      // 加密轮数
@@ -63,33 +71,94 @@ public class SM4 {
             0x10171e25, 0x2c333a41, 0x484f565d, 0x646b7279
     };
 
+    // 合成T表：T0[x] = L(S[x] << 24)，T1~T3为T0循环右移8/16/24位
+    private static final int[] T0 = new int[256];
+    private static final int[] T1 = new int[256];
+    private static final int[] T2 = new int[256];
+    private static final int[] T3 = new int[256];
+
+    static {
+        for (int x = 0; x < 256; x++) {
+            int b = (S_BOX[x] & 0xFF) << 24;
+            int t = b ^ Integer.rotateLeft(b, 2) ^ Integer.rotateLeft(b, 10)
+                    ^ Integer.rotateLeft(b, 18) ^ Integer.rotateLeft(b, 24);
+            T0[x] = t;
+            T1[x] = Integer.rotateRight(t, 8);
+            T2[x] = Integer.rotateRight(t, 16);
+            T3[x] = Integer.rotateRight(t, 24);
+        }
+    }
+
     private final int[] roundKeys = new int[ROUNDS]; // 轮密钥
+    private final int[] decKeys = new int[ROUNDS];   // 解密轮密钥（逆序）
+    private final BlockCipherMode ecb = new BlockCipherMode(this, BlockCipherMode.Mode.ECB);
+    private final BlockCipherMode cbc = new BlockCipherMode(this, BlockCipherMode.Mode.CBC);
+    private final BlockCipherMode ctr = new BlockCipherMode(this, BlockCipherMode.Mode.CTR);
 
     public SM4(byte[] key) {
         validateKey(key);
         generateRoundKeys(key);
     }
 
-    // 完整加密流程（自动填充）
+    @Override
+    public int getBlockSize() {
+        return BLOCK_BYTES;
+    }
+
+    // 完整加密流程（ECB，自动填充）
     public byte[] encrypt(byte[] plaintext) {
-        byte[] padded = pkcs7Pad(plaintext, BLOCK_BYTES);
-        return processBlocks(padded, true);
+        return ecb.encrypt(null, plaintext);
     }
 
-    // 完整解密流程（自动去填充）
+    // 完整解密流程（ECB，自动去填充）
     public byte[] decrypt(byte[] ciphertext) {
-        byte[] decrypted = processBlocks(ciphertext, false);
-        return pkcs7Unpad(decrypted);
+        return ecb.decrypt(null, ciphertext);
+    }
+
+    // CBC模式加密（PKCS7填充）
+    public byte[] encryptCBC(byte[] iv, byte[] plaintext) {
+        return cbc.encrypt(iv, plaintext);
+    }
+
+    // CBC模式解密（自动去填充），大数据量时按分组区间并行解密
+    public byte[] decryptCBC(byte[] iv, byte[] ciphertext) {
+        return cbc.decrypt(iv, ciphertext);
+    }
+
+    /**
+     * CTR模式加密（加解密为同一操作，无需填充）
+     *
+     * <p>计数器为128位大端整数，初始值为iv，每个分组加1，实现见{@link BlockCipherMode}</p>
+     * @param iv 16字节初始计数器块
+     * @param input 明文或密文，任意长度
+     * @return 与输入等长的输出
+     */
+    public byte[] encryptCTR(byte[] iv, byte[] input) {
+        return ctr.encrypt(iv, input);
+    }
+
+    // CTR解密
+    public byte[] decryptCTR(byte[] iv, byte[] input) {
+        return ctr.decrypt(iv, input);
+    }
+
+    /**
+     * 打开CTR预计算会话：后台线程把从iv开始的密钥流预先生成到环形缓冲区，
+     * 之后每条消息只需一次异或，适用于固定密钥的长会话。会话不再使用时必须关闭
+     * @param iv 16字节初始计数器块
+     * @see CtrSession
+     */
+    public CtrSession openCtrSession(byte[] iv) {
+        return new CtrSession(this, iv);
     }
 
     // 密钥扩展算法
     private void generateRoundKeys(byte[] key) {
-        int[] mk = bytesToWords(key);
         int[] k = new int[4];
 
         // 初始化轮密钥
         for (int i = 0; i < 4; i++) {
-            k[i] = mk[i] ^ FK[i];
+            k[i] = getInt(key, i * 4) ^ FK[i];
         }
 
         // 生成轮密钥
@@ -104,40 +173,76 @@ public class SM4 {
             roundKeys[i] = k[i%4] ^ tmp;
             k[i % 4] = roundKeys[i];
         }
+        for (int i = 0; i < ROUNDS; i++) {
+            decKeys[i] = roundKeys[ROUNDS - 1 - i];
+        }
     }
 
-    // 轮函数F
-    private int f(int x0, int x1, int x2, int x3, int rk) {
-        int tmp = x1 ^ x2 ^ x3 ^ rk;
-        tmp = sBoxTrans(tmp);
-        return x0 ^ tmp ^ leftRotate(tmp, 2) ^ leftRotate(tmp, 10)
-                ^ leftRotate(tmp, 18) ^ leftRotate(tmp, 24);
+    /**
+     * 加密单个分组：in[inOff..inOff+16) -> out[outOff..outOff+16)，允许输入输出为同一数组的同一位置
+     */
+    @Override
+    public void encryptBlock(byte[] in, int inOff, byte[] out, int outOff) {
+        crypt(roundKeys, in, inOff, out, outOff);
     }
 
-    // 分组处理
-    private byte[] processBlocks(byte[] input, boolean encrypt) {
-        ByteBuffer output = ByteBuffer.allocate(input.length);
-
-        for (int i = 0; i < input.length; i += BLOCK_BYTES) {
-            byte[] block = Arrays.copyOfRange(input, i, i + BLOCK_BYTES);
-            output.put(processBlock(block, encrypt));
-        }
-
-        return output.array();
+    /**
+     * 解密单个分组：in[inOff..inOff+16) -> out[outOff..outOff+16)，允许输入输出为同一数组的同一位置
+     */
+    @Override
+    public void decryptBlock(byte[] in, int inOff, byte[] out, int outOff) {
+        crypt(decKeys, in, inOff, out, outOff);
     }
 
-    // 单个分组处理
-    private byte[] processBlock(byte[] block, boolean encrypt) {
-        int[] x = bytesToWords(block);
-
-        for (int r = 0; r < ROUNDS; r++) {
-            int rk = encrypt ? roundKeys[r] : roundKeys[ROUNDS - 1 - r];
-            int tmp = f(x[0], x[1], x[2], x[3], rk);
-            x = new int[]{x[1], x[2], x[3], tmp};
-        }
+    // 32轮完全展开：X(i+4) = X(i) ⊕ T(X(i+1) ⊕ X(i+2) ⊕ X(i+3) ⊕ rk(i))，四个字轮换复用，最后反序输出
+    private static void crypt(int[] rk, byte[] in, int inOff, byte[] out, int outOff) {
+        int x0 = getInt(in, inOff);
+        int x1 = getInt(in, inOff + 4);
+        int x2 = getInt(in, inOff + 8);
+        int x3 = getInt(in, inOff + 12);
+
+        x0 ^= t(x1 ^ x2 ^ x3 ^ rk[0]);
+        x1 ^= t(x2 ^ x3 ^ x0 ^ rk[1]);
+        x2 ^= t(x3 ^ x0 ^ x1 ^ rk[2]);
+        x3 ^= t(x0 ^ x1 ^ x2 ^ rk[3]);
+        x0 ^= t(x1 ^ x2 ^ x3 ^ rk[4]);
+        x1 ^= t(x2 ^ x3 ^ x0 ^ rk[5]);
+        x2 ^= t(x3 ^ x0 ^ x1 ^ rk[6]);
+        x3 ^= t(x0 ^ x1 ^ x2 ^ rk[7]);
+        x0 ^= t(x1 ^ x2 ^ x3 ^ rk[8]);
+        x1 ^= t(x2 ^ x3 ^ x0 ^ rk[9]);
+        x2 ^= t(x3 ^ x0 ^ x1 ^ rk[10]);
+        x3 ^= t(x0 ^ x1 ^ x2 ^ rk[11]);
+        x0 ^= t(x1 ^ x2 ^ x3 ^ rk[12]);
+        x1 ^= t(x2 ^ x3 ^ x0 ^ rk[13]);
+        x2 ^= t(x3 ^ x0 ^ x1 ^ rk[14]);
+        x3 ^= t(x0 ^ x1 ^ x2 ^ rk[15]);
+        x0 ^= t(x1 ^ x2 ^ x3 ^ rk[16]);
+        x1 ^= t(x2 ^ x3 ^ x0 ^ rk[17]);
+        x2 ^= t(x3 ^ x0 ^ x1 ^ rk[18]);
+        x3 ^= t(x0 ^ x1 ^ x2 ^ rk[19]);
+        x0 ^= t(x1 ^ x2 ^ x3 ^ rk[20]);
+        x1 ^= t(x2 ^ x3 ^ x0 ^ rk[21]);
+        x2 ^= t(x3 ^ x0 ^ x1 ^ rk[22]);
+        x3 ^= t(x0 ^ x1 ^ x2 ^ rk[23]);
+        x0 ^= t(x1 ^ x2 ^ x3 ^ rk[24]);
+        x1 ^= t(x2 ^ x3 ^ x0 ^ rk[25]);
+        x2 ^= t(x3 ^ x0 ^ x1 ^ rk[26]);
+        x3 ^= t(x0 ^ x1 ^ x2 ^ rk[27]);
+        x0 ^= t(x1 ^ x2 ^ x3 ^ rk[28]);
+        x1 ^= t(x2 ^ x3 ^ x0 ^ rk[29]);
+        x2 ^= t(x3 ^ x0 ^ x1 ^ rk[30]);
+        x3 ^= t(x0 ^ x1 ^ x2 ^ rk[31]);
+
+        putInt(x3, out, outOff);
+        putInt(x2, out, outOff + 4);
+        putInt(x1, out, outOff + 8);
+        putInt(x0, out, outOff + 12);
+    }
 
-        // 最终反序
-        return wordsToBytes(new int[]{x[3], x[2], x[1], x[0]});
+    // 合成变换T = L∘τ
+    private static int t(int x) {
+        return T0[x >>> 24] ^ T1[(x >>> 16) & 0xFF] ^ T2[(x >>> 8) & 0xFF] ^ T3[x & 0xFF];
     }
 
     // S盒置换（4 字节处理）
@@ -155,6 +260,13 @@ public class SM4 {
         return (x << n) | (x >>> (32 - n));
     }
 
+    // 安全擦除敏感数据
+    @Override
+    public void clearKeys() {
+        Arrays.fill(roundKeys, 0);
+        Arrays.fill(decKeys, 0);
+    }
+
     // 以下为辅助方法-------------------------
     private void validateKey(byte[] key) {
         if (key.length != 16) {
@@ -162,32 +274,15 @@ public class SM4 {
         }
     }
 
-    private static byte[] pkcs7Pad(byte[] input, int blockSize) {
-        int padding = blockSize - (input.length % blockSize);
-        padding = padding == 0 ? blockSize : padding;
-        byte[] padded = Arrays.copyOf(input, input.length + padding);
-        Arrays.fill(padded, input.length, padded.length, (byte) padding);
-        return padded;
-    }
-
-    private static byte[] pkcs7Unpad(byte[] input) {
-        if (input.length == 0) throw new IllegalArgumentException("空输入");
-        int padding = input[input.length - 1] & 0xFF;
-        return Arrays.copyOf(input, input.length - padding);
-    }
-
-    private static int[] bytesToWords(byte[] bytes) {
-        ByteBuffer buffer = ByteBuffer.wrap(bytes);
-        return new int[]{buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt()};
+    private static int getInt(byte[] b, int off) {
+        return (b[off] << 24) | ((b[off + 1] & 0xFF) << 16) | ((b[off + 2] & 0xFF) << 8) | (b[off + 3] & 0xFF);
     }
 
-    private static byte[] wordsToBytes(int[] words) {
-        ByteBuffer buffer = ByteBuffer.allocate(16);
-        buffer.putInt(words[0]);
-        buffer.putInt(words[1]);
-        buffer.putInt(words[2]);
-        buffer.putInt(words[3]);
-        return buffer.array();
+    private static void putInt(int v, byte[] b, int off) {
+        b[off] = (byte) (v >>> 24);
+        b[off + 1] = (byte) (v >>> 16);
+        b[off + 2] = (byte) (v >>> 8);
+        b[off + 3] = (byte) v;
     }
 
     // 测试用例
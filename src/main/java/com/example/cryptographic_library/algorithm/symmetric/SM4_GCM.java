@@ -0,0 +1,19 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+/**
+ * SM4-GCM认证加密（NIST SP 800-38D，分组密码取SM4，参数与RFC 8998一致）
+ *
+ * <p>算法实现见{@link GCM}，密文格式为 C || T，T为16字节认证标签</p>
+ *
+ * <p>实例构造后只读，可被多个线程共享</p>
+ */
+public class SM4_GCM extends GCM {
+
+    public SM4_GCM(byte[] key) {
+        this(new SM4(key));
+    }
+
+    public SM4_GCM(SM4 sm4) {
+        super(sm4);
+    }
+}
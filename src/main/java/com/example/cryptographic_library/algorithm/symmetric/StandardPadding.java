@@ -0,0 +1,88 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+/**
+ * 标准填充方案
+ * <ul>
+ *   <li>NONE：不填充，数据长度必须是分组整数倍</li>
+ *   <li>PKCS7：追加n个值为n的字节（1 ≤ n ≤ 分组长度）</li>
+ *   <li>ISO_7816_4：追加0x80后补0x00至分组边界</li>
+ * </ul>
+ */
+public enum StandardPadding implements Padding {
+    NONE {
+        @Override
+        public int padLength(int length, int blockSize) {
+            if (length % blockSize != 0) {
+                throw new IllegalArgumentException("数据长度必须是" + blockSize + "的倍数");
+            }
+            return 0;
+        }
+
+        @Override
+        public void pad(byte[] buf, int off, int padLength) {
+        }
+
+        @Override
+        public int unpaddedLength(byte[] buf, int len, int blockSize) {
+            return len;
+        }
+    },
+
+    PKCS7 {
+        @Override
+        public int padLength(int length, int blockSize) {
+            return blockSize - length % blockSize;
+        }
+
+        @Override
+        public void pad(byte[] buf, int off, int padLength) {
+            for (int i = 0; i < padLength; i++) {
+                buf[off + i] = (byte) padLength;
+            }
+        }
+
+        @Override
+        public int unpaddedLength(byte[] buf, int len, int blockSize) {
+            if (len == 0) {
+                throw new IllegalArgumentException("无效的填充数据: 长度必须是" + blockSize + "的倍数且不为0");
+            }
+            int padding = buf[len - 1] & 0xFF;
+            if (padding <= 0 || padding > blockSize) {
+                throw new IllegalArgumentException("无效的填充值: " + padding);
+            }
+            for (int i = len - padding; i < len; i++) {
+                if ((buf[i] & 0xFF) != padding) {
+                    throw new IllegalArgumentException("无效的填充格式");
+                }
+            }
+            return len - padding;
+        }
+    },
+
+    ISO_7816_4 {
+        @Override
+        public int padLength(int length, int blockSize) {
+            return blockSize - length % blockSize;
+        }
+
+        @Override
+        public void pad(byte[] buf, int off, int padLength) {
+            buf[off] = (byte) 0x80;
+            for (int i = 1; i < padLength; i++) {
+                buf[off + i] = 0;
+            }
+        }
+
+        @Override
+        public int unpaddedLength(byte[] buf, int len, int blockSize) {
+            int i = len - 1;
+            while (i >= 0 && i >= len - blockSize && buf[i] == 0) {
+                i--;
+            }
+            if (i < 0 || i < len - blockSize || buf[i] != (byte) 0x80) {
+                throw new IllegalArgumentException("无效的填充格式");
+            }
+            return i;
+        }
+    }
+}
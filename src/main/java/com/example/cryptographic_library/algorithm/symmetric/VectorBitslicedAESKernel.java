@@ -0,0 +1,288 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基于Vector API的比特切片AES内核，由{@link BitslicedAESKernel#VECTOR}反射加载
+ *
+ * <p>按分组逐通道查T表需要gather，在Vector API上反而慢于标量实现，因此采用比特切片：
+ * 每个long通道承载一组互相独立的分组，整轮计算只有按位运算，一条向量指令同时推进所有通道。
+ * 只实现AES加密方向，沿用{@link BitslicedAES}的状态布局，每通道8个分组；
+ * 进出内核时逐通道转置，输出与标量实现逐位一致，且与{@link BitslicedAES}一样不依赖秘密数据查表</p>
+ *
+ * <p>SM4的合成T表实现（见{@link SM4}）快于比特切片内核，因此SM4不经过本内核</p>
+ *
+ * <p>实现约束：C2对单次编译的内联规模有上限，超出后向量对象会退化为堆上对象，性能骤降。
+ * 因此线性层都写成按平面的循环，S盒电路按门表逐门执行，中间值经中转数组传递</p>
+ */
+final class VectorBitslicedAESKernel implements BitslicedAESKernel {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final int BLOCK_SIZE = 16;
+    private static final int AES_LANE_BLOCKS = 8;
+
+    /**
+     * AES S盒的Boyar-Peralta电路（113个门），u0..u7为输入、s0..s7为输出，均以u0/s0为最高位
+     *
+     * <p>电路描述每行形如 "x = a op b op c ..."，自左向右求值，op为"^"（异或）、"&"（与）或"^~"（同或）；
+     * v0..v7为S盒输入的各位（v0为最低位），o0..o7为输出的各位。
+     * 电路编译成门表后逐门执行：展开成直线代码时单个方法的向量运算过多，
+     * 超出C2的内联上限后向量对象会退化为堆上对象，循环体只解析一次则没有这个问题</p>
+     */
+    private static final String[] BOYAR_PERALTA = {
+            "y14 = u3 ^ u5", "y13 = u0 ^ u6", "y9 = u0 ^ u3", "y8 = u0 ^ u5",
+            "t0 = u1 ^ u2", "y1 = t0 ^ u7", "y4 = y1 ^ u3", "y12 = y13 ^ y14",
+            "y2 = y1 ^ u0", "y5 = y1 ^ u6", "y3 = y5 ^ y8", "t1 = u4 ^ y12",
+            "y15 = t1 ^ u5", "y20 = t1 ^ u1", "y6 = y15 ^ u7", "y10 = y15 ^ t0",
+            "y11 = y20 ^ y9", "y7 = u7 ^ y11", "y17 = y10 ^ y11", "y19 = y10 ^ y8",
+            "y16 = t0 ^ y11", "y21 = y13 ^ y16", "y18 = u0 ^ y16", "t2 = y12 & y15",
+            "t3 = y3 & y6", "t4 = t3 ^ t2", "t5 = y4 & u7", "t6 = t5 ^ t2",
+            "t7 = y13 & y16", "t8 = y5 & y1", "t9 = t8 ^ t7", "t10 = y2 & y7",
+            "t11 = t10 ^ t7", "t12 = y9 & y11", "t13 = y14 & y17", "t14 = t13 ^ t12",
+            "t15 = y8 & y10", "t16 = t15 ^ t12", "t17 = t4 ^ t14", "t18 = t6 ^ t16",
+            "t19 = t9 ^ t14", "t20 = t11 ^ t16", "t21 = t17 ^ y20", "t22 = t18 ^ y19",
+            "t23 = t19 ^ y21", "t24 = t20 ^ y18", "t25 = t21 ^ t22", "t26 = t21 & t23",
+            "t27 = t24 ^ t26", "t28 = t25 & t27", "t29 = t28 ^ t22", "t30 = t23 ^ t24",
+            "t31 = t22 ^ t26", "t32 = t31 & t30", "t33 = t32 ^ t24", "t34 = t23 ^ t33",
+            "t35 = t27 ^ t33", "t36 = t24 & t35", "t37 = t36 ^ t34", "t38 = t27 ^ t36",
+            "t39 = t29 & t38", "t40 = t25 ^ t39", "t41 = t40 ^ t37", "t42 = t29 ^ t33",
+            "t43 = t29 ^ t40", "t44 = t33 ^ t37", "t45 = t42 ^ t41", "z0 = t44 & y15",
+            "z1 = t37 & y6", "z2 = t33 & u7", "z3 = t43 & y16", "z4 = t40 & y1",
+            "z5 = t29 & y7", "z6 = t42 & y11", "z7 = t45 & y17", "z8 = t41 & y10",
+            "z9 = t44 & y12", "z10 = t37 & y3", "z11 = t33 & y4", "z12 = t43 & y13",
+            "z13 = t40 & y5", "z14 = t29 & y2", "z15 = t42 & y9", "z16 = t45 & y14",
+            "z17 = t41 & y8", "t46 = z15 ^ z16", "t47 = z10 ^ z11", "t48 = z5 ^ z13",
+            "t49 = z9 ^ z10", "t50 = z2 ^ z12", "t51 = z2 ^ z5", "t52 = z7 ^ z8",
+            "t53 = z0 ^ z3", "t54 = z6 ^ z7", "t55 = z16 ^ z17", "t56 = z12 ^ t48",
+            "t57 = t50 ^ t53", "t58 = z4 ^ t46", "t59 = z3 ^ t54", "t60 = t46 ^ t57",
+            "t61 = z14 ^ t57", "t62 = t52 ^ t58", "t63 = t49 ^ t58", "t64 = z4 ^ t59",
+            "t65 = t61 ^ t62", "t66 = z1 ^ t63", "s0 = t59 ^ t63", "s6 = t56 ^~ t62",
+            "s7 = t48 ^~ t60", "t67 = t64 ^ t65", "s3 = t53 ^ t66", "s4 = t51 ^ t66",
+            "s5 = t47 ^ t65", "s1 = t64 ^~ s3", "s2 = t55 ^~ t67",
+    };
+
+    private static final int GATE_XOR = 0;
+    private static final int GATE_AND = 1;
+    private static final int GATE_XNOR = 2;
+    private static final Circuit SBOX_CIRCUIT = Circuit.compile(BOYAR_PERALTA);
+    // S盒中转数组的槽位数
+    private static final int SBOX_SCRATCH = SBOX_CIRCUIT.slots;
+
+    @Override
+    public int batchBlocks() {
+        return AES_LANE_BLOCKS * LANES;
+    }
+
+    // 状态数组中第v个平面（v<8为前半，v>=8为后半）的通道l位于 v*LANES + l
+    @Override
+    public void encrypt(long[] slicedKeys, int rounds, byte[] in, int inOff, byte[] out, int outOff, int blocks) {
+        long[] state = new long[16 * LANES];
+        long[] t = new long[SBOX_SCRATCH * LANES];
+        long[] q = new long[16];
+        int laneBytes = AES_LANE_BLOCKS * BLOCK_SIZE;
+        for (int pos = 0; pos < blocks * BLOCK_SIZE; pos += laneBytes * LANES) {
+            for (int l = 0; l < LANES; l++) {
+                BitslicedAES.pack(in, inOff + pos + l * laneBytes, q);
+                for (int v = 0; v < 16; v++) {
+                    state[v * LANES + l] = q[v];
+                }
+            }
+            aesEncryptState(state, t, slicedKeys, rounds);
+            for (int l = 0; l < LANES; l++) {
+                for (int v = 0; v < 16; v++) {
+                    q[v] = state[v * LANES + l];
+                }
+                BitslicedAES.unpack(q, out, outOff + pos + l * laneBytes);
+            }
+        }
+        Arrays.fill(state, 0);
+        Arrays.fill(t, 0);
+        Arrays.fill(q, 0);
+    }
+
+    private static void aesEncryptState(long[] s, long[] t, long[] rk, int rounds) {
+        addRoundKey(s, rk, 0);
+        for (int round = 1; round <= rounds; round++) {
+            for (int half = 0; half < 16 * LANES; half += 8 * LANES) {
+                sbox(s, half, t);
+            }
+            shiftRows(s);
+            if (round < rounds) {
+                mixColumns(s, t);
+            }
+            addRoundKey(s, rk, round);
+        }
+    }
+
+    private static void addRoundKey(long[] s, long[] rk, int round) {
+        for (int v = 0; v < 16; v++) {
+            xor(load(s, v * LANES), rk[round * 16 + v]).intoArray(s, v * LANES);
+        }
+    }
+
+    // 掩码含义见BitslicedAES.shiftRows
+    private static void shiftRows(long[] s) {
+        for (int i = 0; i < 8; i++) {
+            LongVector lo = load(s, i * LANES);
+            LongVector hi = load(s, (8 + i) * LANES);
+            shiftRowsHalf(lo, hi).intoArray(s, i * LANES);
+            shiftRowsHalf(hi, lo).intoArray(s, (8 + i) * LANES);
+        }
+    }
+
+    private static LongVector shiftRowsHalf(LongVector self, LongVector other) {
+        return self.and(0x000000FF000000FFL)
+                .or(self.lanewise(VectorOperators.LSHR, 32).and(0x000000000000FF00L))
+                .or(self.lanewise(VectorOperators.LSHL, 32).and(0xFF00000000000000L))
+                .or(other.and(0x00FF000000FF0000L))
+                .or(other.lanewise(VectorOperators.LSHR, 32).and(0x00000000FF000000L))
+                .or(other.lanewise(VectorOperators.LSHL, 32).and(0x0000FF0000000000L));
+    }
+
+    /**
+     * 列混淆：out_i = xtime(a ⊕ rot1(a))_i ⊕ rot1(a_i) ⊕ rot2(a_i) ⊕ rot3(a_i)
+     * 第一遍算出 a ⊕ rot1(a) 暂存到t，并把各平面替换为三次旋转之和；第二遍按xtime的平面映射累加
+     */
+    private static void mixColumns(long[] s, long[] t) {
+        for (int half = 0; half < 16 * LANES; half += 8 * LANES) {
+            for (int i = 0; i < 8; i++) {
+                int p = half + i * LANES;
+                LongVector a = load(s, p);
+                LongVector r1 = rot1(a);
+                xor(a, r1).intoArray(t, i * LANES);
+                xor(xor(r1, rot2(a)), rot3(a)).intoArray(s, p);
+            }
+            addXtime(s, half, t);
+        }
+    }
+
+    /**
+     * s的8个平面累加 xtime(w)，w的各平面位于t的前8个平面
+     * 溢出的w7按 x^8 = 0x1b 反馈到第0、1、3、4位；t的第8个平面置零，用于不需要累加的位置
+     */
+    private static void addXtime(long[] s, int half, long[] t) {
+        LongVector.zero(SPECIES).intoArray(t, 8 * LANES);
+        for (int i = 0; i < 8; i++) {
+            int p = half + i * LANES;
+            LongVector shifted = load(t, (i >= 1 ? i - 1 : 8) * LANES);
+            LongVector fold = load(t, (((0x1B >>> i) & 1) != 0 ? 7 : 8) * LANES);
+            xor(xor(load(s, p), shifted), fold).intoArray(s, p);
+        }
+    }
+
+    /**
+     * 比特切片S盒：s[base + i*LANES]为第i位平面（i=0为最低位），t为中转数组
+     */
+    private static void sbox(long[] s, int base, long[] t) {
+        Circuit circuit = SBOX_CIRCUIT;
+        for (int i = 0; i < 8; i++) {
+            load(s, base + i * LANES).intoArray(t, i * LANES);
+        }
+        for (int gate : circuit.gates) {
+            int op = gate >>> 24;
+            LongVector a = load(t, ((gate >>> 8) & 0xFF) * LANES);
+            LongVector b = load(t, (gate & 0xFF) * LANES);
+            int dst = ((gate >>> 16) & 0xFF) * LANES;
+            if (op == GATE_AND) {
+                a.and(b).intoArray(t, dst);
+            } else if (op == GATE_XOR) {
+                xor(a, b).intoArray(t, dst);
+            } else {
+                xor(a, b).not().intoArray(t, dst);
+            }
+        }
+        for (int i = 0; i < 8; i++) {
+            load(t, circuit.outputs[i] * LANES).intoArray(s, base + i * LANES);
+        }
+    }
+
+    /**
+     * 编译后的门表：每个门编码为 op<<24 | dst<<16 | a<<8 | b，操作数为中转数组中的槽位，
+     * 槽位0..7为输入v0..v7
+     */
+    private static final class Circuit {
+        final int[] gates;
+        final int[] outputs = new int[8];
+        final int slots;
+
+        private Circuit(int[] gates, Map<String, Integer> names) {
+            this.gates = gates;
+            for (int i = 0; i < 8; i++) {
+                outputs[i] = slot(names, "o" + i);
+            }
+            this.slots = 8 + gates.length;
+        }
+
+        static Circuit compile(String[]... parts) {
+            Map<String, Integer> names = new HashMap<>();
+            List<Integer> gates = new ArrayList<>();
+            for (String[] part : parts) {
+                for (String line : part) {
+                    String[] tokens = line.split(" ");
+                    int acc = slot(names, tokens[2]);
+                    for (int k = 3; k < tokens.length; k += 2) {
+                        int op = switch (tokens[k]) {
+                            case "^" -> GATE_XOR;
+                            case "&" -> GATE_AND;
+                            case "^~" -> GATE_XNOR;
+                            default -> throw new IllegalArgumentException("未知运算: " + tokens[k]);
+                        };
+                        int dst = 8 + gates.size();
+                        gates.add(op << 24 | dst << 16 | acc << 8 | slot(names, tokens[k + 1]));
+                        acc = dst;
+                    }
+                    names.put(tokens[0], acc);
+                }
+            }
+            return new Circuit(gates.stream().mapToInt(Integer::intValue).toArray(), names);
+        }
+
+        // 未定义的名字按默认连线解析：u_j取输入v_{7-j}，输出o_i取电路输出s_{7-i}
+        private static int slot(Map<String, Integer> names, String name) {
+            Integer slot = names.get(name);
+            if (slot != null) {
+                return slot;
+            }
+            int bit = name.charAt(1) - '0';
+            return switch (name.charAt(0)) {
+                case 'v' -> bit;
+                case 'u' -> slot(names, "v" + (7 - bit));
+                case 'o' -> slot(names, "s" + (7 - bit));
+                default -> throw new IllegalArgumentException("未定义的信号: " + name);
+            };
+        }
+    }
+
+    // 32位半字内的字节旋转：位置r取自位置r+n，即按32位整数循环右移8n位
+    private static LongVector rot1(LongVector x) {
+        return x.reinterpretAsInts().lanewise(VectorOperators.ROR, 8).reinterpretAsLongs();
+    }
+
+    private static LongVector rot2(LongVector x) {
+        return x.reinterpretAsInts().lanewise(VectorOperators.ROR, 16).reinterpretAsLongs();
+    }
+
+    private static LongVector rot3(LongVector x) {
+        return x.reinterpretAsInts().lanewise(VectorOperators.ROR, 24).reinterpretAsLongs();
+    }
+
+    private static LongVector load(long[] s, int off) {
+        return LongVector.fromArray(SPECIES, s, off);
+    }
+
+    private static LongVector xor(LongVector a, LongVector b) {
+        return a.lanewise(VectorOperators.XOR, b);
+    }
+
+    private static LongVector xor(LongVector a, long b) {
+        return a.lanewise(VectorOperators.XOR, b);
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.cryptographic_library.controller.hash;
 
+import com.example.cryptographic_library.dto.hash.SHA256BatchRequest;
+import com.example.cryptographic_library.dto.hash.SHA256BatchResponse;
 import com.example.cryptographic_library.dto.hash.SHA256Request;
 import com.example.cryptographic_library.dto.hash.SHA256Response;
 import com.example.cryptographic_library.service.hash.SHA256Service;
@@ -31,4 +33,15 @@ public class SHA256Controller {
     public SHA256Response hash(@RequestBody SHA256Request request) {
         return sha256Service.hash(request.getData(), request.getEncoding());
     }
+
+    /**
+     * 批量计算SHA-256哈希值，各条数据独立计算
+     * @param request 包含原始数据列表和输出编码的请求体
+     * @return 与输入一一对应的哈希结果列表
+     * @apiNote 示例请求：{"data": ["token-1", "token-2"], "encoding": "hex"}
+     */
+    @PostMapping("/hash/batch")
+    public SHA256BatchResponse hashBatch(@RequestBody SHA256BatchRequest request) {
+        return sha256Service.hashBatch(request.getData(), request.getEncoding());
+    }
 }
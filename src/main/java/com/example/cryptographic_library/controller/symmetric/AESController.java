@@ -1,7 +1,10 @@
 package com.example.cryptographic_library.controller.symmetric;
 
+import com.example.cryptographic_library.dto.symmetric.AESGCMRequest;
 import com.example.cryptographic_library.dto.symmetric.AESRequest;
 import com.example.cryptographic_library.dto.symmetric.AESResponse;
+import com.example.cryptographic_library.dto.symmetric.AESXTSRequest;
+import com.example.cryptographic_library.dto.symmetric.FileCryptoRequest;
 import com.example.cryptographic_library.service.symmetric.AESService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
@@ -9,7 +12,7 @@ import org.springframework.web.bind.annotation.*;
 /**
  * AES对称加密接口
  *
- * <p>提供符合FIPS 197标准的AES加密服务，当前实现采用ECB模式（需配合填充使用）</p>
+ * <p>提供符合FIPS 197标准的AES加密服务，支持ECB/CBC（需配合填充使用）、CTR模式、GCM/OCB3认证加密、XTS存储加密及服务器本地文件的内存映射加解密</p>
  *
  * <strong>安全提示：</strong>ECB模式不适用于加密重复模式数据，生产环境建议使用CBC/GCM模式
  */
@@ -25,11 +28,12 @@ public class AESController {
      * AES加密接口
      * @param request 包含密钥、明文和输出编码的请求体
      * @return 加密结果响应
-     * @apiNote 示例请求：{"key": "secretkey12345678", "data": "plaintext", "outputEncoding": "base64"}
+     * @apiNote 示例请求：{"key": "secretkey12345678", "data": "plaintext", "outputEncoding": "base64", "mode": "CTR", "engine": "bitsliced"}
      */
     @PostMapping("/encrypt")
     public AESResponse encrypt(@RequestBody AESRequest request) {
-        return aesService.encrypt(request.getKey(), request.getData(), request.getOutputEncoding());
+        return aesService.encrypt(request.getKey(), request.getData(), request.getOutputEncoding(),
+                request.getMode(), request.getIv(), request.getEngine());
     }
     /**
      * AES解密接口
@@ -39,6 +43,100 @@ public class AESController {
      */
     @PostMapping("/decrypt")
     public AESResponse decrypt(@RequestBody AESRequest request) {
-        return aesService.decrypt(request.getKey(), request.getData(), request.getOutputEncoding());
+        return aesService.decrypt(request.getKey(), request.getData(), request.getOutputEncoding(),
+                request.getMode(), request.getIv(), request.getEngine());
+    }
+
+    /**
+     * AES-GCM认证加密接口
+     * @param request 包含密钥、明文、附加认证数据、IV和输出编码的请求体
+     * @return 加密结果响应（[IV ||] 密文 || 标签）
+     * @apiNote 示例请求：{"key": "secretkey12345678", "data": "plaintext", "aad": "header", "outputEncoding": "base64"}
+     */
+    @PostMapping("/gcm/encrypt")
+    public AESResponse encryptGCM(@RequestBody AESGCMRequest request) {
+        return aesService.encryptGCM(request.getKey(), request.getData(), request.getAad(),
+                request.getIv(), request.getOutputEncoding());
+    }
+    /**
+     * AES-GCM认证解密接口
+     * @param request 包含密钥、密文、附加认证数据、IV和输入编码的请求体
+     * @return 解密结果响应，认证失败时status为-1
+     * @apiNote 示例请求：{"key": "secretkey12345678", "data": "3q2+7w...", "aad": "header", "outputEncoding": "base64"}
+     */
+    @PostMapping("/gcm/decrypt")
+    public AESResponse decryptGCM(@RequestBody AESGCMRequest request) {
+        return aesService.decryptGCM(request.getKey(), request.getData(), request.getAad(),
+                request.getIv(), request.getOutputEncoding());
+    }
+
+    /**
+     * AES-OCB3认证加密接口
+     * @param request 包含密钥、明文、附加认证数据、nonce（iv字段）和输出编码的请求体
+     * @return 加密结果响应（[nonce ||] 密文 || 标签）
+     * @apiNote 示例请求：{"key": "secretkey12345678", "data": "plaintext", "aad": "header", "outputEncoding": "base64"}
+     */
+    @PostMapping("/ocb/encrypt")
+    public AESResponse encryptOCB(@RequestBody AESGCMRequest request) {
+        return aesService.encryptOCB(request.getKey(), request.getData(), request.getAad(),
+                request.getIv(), request.getOutputEncoding());
+    }
+
+    /**
+     * AES-OCB3认证解密接口
+     * @param request 包含密钥、密文、附加认证数据、nonce（iv字段）和输入编码的请求体
+     * @return 解密结果响应，认证失败时status为-1
+     * @apiNote 示例请求：{"key": "secretkey12345678", "data": "3q2+7w...", "aad": "header", "outputEncoding": "base64"}
+     */
+    @PostMapping("/ocb/decrypt")
+    public AESResponse decryptOCB(@RequestBody AESGCMRequest request) {
+        return aesService.decryptOCB(request.getKey(), request.getData(), request.getAad(),
+                request.getIv(), request.getOutputEncoding());
+    }
+
+    /**
+     * AES-XTS加密接口
+     * @param request 包含密钥、明文、扇区长度、起始扇区号和输出编码的请求体
+     * @return 加密结果响应（密文与明文等长）
+     * @apiNote 示例请求：{"key": "0123456789abcdefFEDCBA9876543210", "data": "plaintext-at-least-16", "sectorSize": 512, "sector": 0, "outputEncoding": "hex"}
+     */
+    @PostMapping("/xts/encrypt")
+    public AESResponse encryptXTS(@RequestBody AESXTSRequest request) {
+        return aesService.encryptXTS(request.getKey(), request.getData(), request.getSectorSize(),
+                request.getSector(), request.getOutputEncoding());
+    }
+    /**
+     * AES-XTS解密接口
+     * @param request 包含密钥、密文、扇区长度、起始扇区号和输入编码的请求体
+     * @return 解密结果响应
+     * @apiNote 示例请求：{"key": "0123456789abcdefFEDCBA9876543210", "data": "3f9a...", "sectorSize": 512, "sector": 0, "outputEncoding": "hex"}
+     */
+    @PostMapping("/xts/decrypt")
+    public AESResponse decryptXTS(@RequestBody AESXTSRequest request) {
+        return aesService.decryptXTS(request.getKey(), request.getData(), request.getSectorSize(),
+                request.getSector(), request.getOutputEncoding());
+    }
+
+    /**
+     * 文件加密接口（批处理用），读写服务器本地文件，只支持ECB/CTR
+     * @param request 包含密钥、输入输出文件路径（相对crypto.file.base-dir）、工作模式和IV的请求体
+     * @return 加密结果响应，结果为写入的字节数
+     * @apiNote 示例请求：{"key": "secretkey12345678", "inputPath": "in/report.bin", "outputPath": "out/report.enc", "mode": "CTR"}
+     */
+    @PostMapping("/file/encrypt")
+    public AESResponse encryptFile(@RequestBody FileCryptoRequest request) {
+        return aesService.encryptFile(request.getKey(), request.getInputPath(), request.getOutputPath(),
+                request.getMode(), request.getIv());
+    }
+    /**
+     * 文件解密接口（批处理用）
+     * @param request 包含密钥、输入输出文件路径、工作模式和IV的请求体；CTR模式未给出IV时从密文文件头部读取
+     * @return 解密结果响应，结果为写入的字节数
+     * @apiNote 示例请求：{"key": "secretkey12345678", "inputPath": "out/report.enc", "outputPath": "in/report.dec", "mode": "CTR"}
+     */
+    @PostMapping("/file/decrypt")
+    public AESResponse decryptFile(@RequestBody FileCryptoRequest request) {
+        return aesService.decryptFile(request.getKey(), request.getInputPath(), request.getOutputPath(),
+                request.getMode(), request.getIv());
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.example.cryptographic_library.controller.symmetric;
+
+import com.example.cryptographic_library.dto.symmetric.ChaCha20Request;
+import com.example.cryptographic_library.dto.symmetric.ChaCha20Response;
+import com.example.cryptographic_library.service.symmetric.ChaCha20Service;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * ChaCha20-Poly1305认证加密接口
+ *
+ * <p>提供符合RFC 8439标准的认证加密服务，密文自带16字节认证标签</p>
+ *
+ * <strong>安全提示：</strong>同一密钥下nonce不得重复，建议留空由服务端随机生成
+ */
+@RestController
+@RequestMapping("/api/chacha20")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ChaCha20Controller {
+
+    @Autowired
+    private ChaCha20Service chaCha20Service;
+
+    /**
+     * ChaCha20-Poly1305加密接口
+     * @param request 包含密钥、明文、附加认证数据、nonce和输出编码的请求体
+     * @return 加密结果响应（[nonce ||] 密文 || 标签）
+     * @apiNote 示例请求：{"key": "0123456789abcdef0123456789abcdef", "data": "plaintext", "aad": "header", "outputEncoding": "base64"}
+     */
+    @PostMapping("/encrypt")
+    public ChaCha20Response encrypt(@RequestBody ChaCha20Request request) {
+        return chaCha20Service.encrypt(request.getKey(), request.getData(), request.getAad(),
+                request.getNonce(), request.getOutputEncoding());
+    }
+
+    /**
+     * ChaCha20-Poly1305解密接口
+     * @param request 包含密钥、密文、附加认证数据、nonce和输入编码的请求体
+     * @return 解密结果响应，认证失败时status为-1
+     * @apiNote 示例请求：{"key": "0123456789abcdef0123456789abcdef", "data": "3q2+7w...", "aad": "header", "outputEncoding": "base64"}
+     */
+    @PostMapping("/decrypt")
+    public ChaCha20Response decrypt(@RequestBody ChaCha20Request request) {
+        return chaCha20Service.decrypt(request.getKey(), request.getData(), request.getAad(),
+                request.getNonce(), request.getOutputEncoding());
+    }
+}
@@ -9,9 +9,9 @@ import org.springframework.web.bind.annotation.*;
 /**
  * RC6对称加密接口
  *
- * <p>提供基于RC6算法的加密服务，采用ECB模式实现（需配合填充使用）</p>
+ * <p>提供基于RC6算法的加密服务，支持ECB/CBC（PKCS7填充）与CTR/CFB/OFB模式</p>
  *
- * <strong>安全提示：</strong>本实现使用ECB模式，建议配合随机IV使用CBC模式增强安全性
+ * <strong>安全提示：</strong>ECB模式不适用于加密重复模式数据，建议使用随机IV的CBC模式
  */
 @RestController
 @RequestMapping("/api/rc6")
@@ -29,7 +29,8 @@ public class RC6Controller {
      */
     @PostMapping("/encrypt")
     public RC6Response process(@RequestBody RC6Request request) {
-        return rc6Service.encrypt(request.getKey(), request.getData(), request.getOutputEncoding());
+        return rc6Service.encrypt(request.getKey(), request.getData(), request.getOutputEncoding(),
+                request.getMode(), request.getIv());
     }
     /**
      * RC6解密接口
@@ -39,6 +40,7 @@ public class RC6Controller {
      */
     @PostMapping("/decrypt")
     public RC6Response decrypt(@RequestBody RC6Request request) {
-        return rc6Service.decrypt(request.getKey(), request.getData(), request.getOutputEncoding());
+        return rc6Service.decrypt(request.getKey(), request.getData(), request.getOutputEncoding(),
+                request.getMode(), request.getIv());
     }
 }
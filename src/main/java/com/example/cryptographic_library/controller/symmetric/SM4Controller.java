@@ -1,5 +1,7 @@
 package com.example.cryptographic_library.controller.symmetric;
 
+import com.example.cryptographic_library.dto.symmetric.FileCryptoRequest;
+import com.example.cryptographic_library.dto.symmetric.SM4GCMRequest;
 import com.example.cryptographic_library.dto.symmetric.SM4Request;
 import com.example.cryptographic_library.dto.symmetric.SM4Response;
 import com.example.cryptographic_library.service.symmetric.SM4Service;
@@ -9,9 +11,9 @@ import org.springframework.web.bind.annotation.*;
 /**
  * SM4国密算法加密接口
  *
- * <p>提供符合GB/T 32907-2016标准的128位分组密码服务</p>
+ * <p>提供符合GB/T 32907-2016标准的128位分组密码服务，支持ECB/CBC/CTR模式、GCM认证加密（RFC 8998）及服务器本地文件的内存映射加解密</p>
  *
- * <strong>安全提示：</strong>当前实现采用ECB模式，建议配合GMAC等认证模式使用增强安全性
+ * <strong>安全提示：</strong>默认采用ECB模式，可通过mode参数选用CBC/CTR模式，需要完整性保护时应使用GCM接口
  */
 @RestController
 @RequestMapping("/api/sm4")
@@ -29,7 +31,8 @@ public class SM4Controller {
      */
     @PostMapping("/encrypt")
     public SM4Response encrypt(@RequestBody SM4Request request) {
-        return sm4Service.encrypt(request.getKey(), request.getData(), request.getEncoding());
+        return sm4Service.encrypt(request.getKey(), request.getData(), request.getEncoding(),
+                request.getMode(), request.getIv());
     }
 
     /**
@@ -40,6 +43,54 @@ public class SM4Controller {
      */
     @PostMapping("/decrypt")
     public SM4Response decrypt(@RequestBody SM4Request request) {
-        return sm4Service.decrypt(request.getKey(), request.getData(), request.getEncoding());
+        return sm4Service.decrypt(request.getKey(), request.getData(), request.getEncoding(),
+                request.getMode(), request.getIv());
+    }
+
+    /**
+     * SM4-GCM认证加密接口
+     * @param request 包含密钥、明文、附加认证数据、IV和输出编码的请求体
+     * @return 加密结果响应（[IV ||] 密文 || 标签）
+     * @apiNote 示例请求：{"key": "1234567890abcdef", "data": "明文数据", "aad": "header", "encoding": "base64"}
+     */
+    @PostMapping("/gcm/encrypt")
+    public SM4Response encryptGCM(@RequestBody SM4GCMRequest request) {
+        return sm4Service.encryptGCM(request.getKey(), request.getData(), request.getAad(),
+                request.getIv(), request.getEncoding());
+    }
+
+    /**
+     * SM4-GCM认证解密接口
+     * @param request 包含密钥、密文、附加认证数据、IV和输入编码的请求体
+     * @return 解密结果响应，认证失败时status为-1
+     * @apiNote 示例请求：{"key": "1234567890abcdef", "data": "3q2+7w...", "aad": "header", "encoding": "base64"}
+     */
+    @PostMapping("/gcm/decrypt")
+    public SM4Response decryptGCM(@RequestBody SM4GCMRequest request) {
+        return sm4Service.decryptGCM(request.getKey(), request.getData(), request.getAad(),
+                request.getIv(), request.getEncoding());
+    }
+
+    /**
+     * 文件加密接口（批处理用），读写服务器本地文件，只支持ECB/CTR
+     * @param request 包含密钥、输入输出文件路径（相对crypto.file.base-dir）、工作模式和IV的请求体
+     * @return 加密结果响应，结果为写入的字节数
+     * @apiNote 示例请求：{"key": "1234567890abcdef", "inputPath": "in/report.bin", "outputPath": "out/report.enc", "mode": "CTR"}
+     */
+    @PostMapping("/file/encrypt")
+    public SM4Response encryptFile(@RequestBody FileCryptoRequest request) {
+        return sm4Service.encryptFile(request.getKey(), request.getInputPath(), request.getOutputPath(),
+                request.getMode(), request.getIv());
+    }
+    /**
+     * 文件解密接口（批处理用）
+     * @param request 包含密钥、输入输出文件路径、工作模式和IV的请求体；CTR模式未给出IV时从密文文件头部读取
+     * @return 解密结果响应，结果为写入的字节数
+     * @apiNote 示例请求：{"key": "1234567890abcdef", "inputPath": "out/report.enc", "outputPath": "in/report.dec", "mode": "CTR"}
+     */
+    @PostMapping("/file/decrypt")
+    public SM4Response decryptFile(@RequestBody FileCryptoRequest request) {
+        return sm4Service.decryptFile(request.getKey(), request.getInputPath(), request.getOutputPath(),
+                request.getMode(), request.getIv());
     }
 }
\ No newline at end of file
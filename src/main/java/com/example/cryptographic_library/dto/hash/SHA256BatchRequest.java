@@ -0,0 +1,38 @@
+package com.example.cryptographic_library.dto.hash;
+
+import java.util.List;
+
+/**
+ * SHA-256批量哈希请求参数传输对象
+ *
+ * <p>包含：
+ * <ul>
+ *   <li>data: 待哈希的原始数据列表（元素非空），每个元素独立计算</li>
+ *   <li>encoding: 输出编码格式标识</li>
+ * </ul>
+ */
+public class SHA256BatchRequest {
+    private List<String> data;
+    private String encoding;
+
+    public SHA256BatchRequest(List<String> data, String encoding) {
+        this.data = data;
+        this.encoding = encoding;
+    }
+
+    public List<String> getData() {
+        return data;
+    }
+
+    public void setData(List<String> data) {
+        this.data = data;
+    }
+
+    public String getEncoding() {
+        return encoding;
+    }
+
+    public void setEncoding(String encoding) {
+        this.encoding = encoding;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.cryptographic_library.dto.hash;
+
+import java.util.List;
+
+/**
+ * SHA-256批量哈希响应参数传输对象
+ *
+ * <p>状态码说明：
+ * <ul>
+ *   <li>0: 成功（results与请求的data一一对应）</li>
+ *   <li>-1: 参数错误</li>
+ *   <li>-2: 服务端内部错误</li>
+ * </ul>
+ */
+public class SHA256BatchResponse {
+    private int status;
+    private String message;
+    private List<String> results;
+
+    public SHA256BatchResponse(int status, String message, List<String> results) {
+        this.status = status;
+        this.message = message;
+        this.results = results;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public List<String> getResults() {
+        return results;
+    }
+
+    public void setResults(List<String> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.cryptographic_library.dto.symmetric;
+
+/**
+ * AES认证加密（GCM/OCB3）请求参数传输对象
+ *
+ * <p>包含：
+ * <ul>
+ *   <li>key: 加密/解密密钥（16/24/32字节）</li>
+ *   <li>data: 待处理数据（加密时为明文，解密时为密文||标签）</li>
+ *   <li>aad: 附加认证数据（可选，UTF-8）</li>
+ *   <li>iv: 初始向量/nonce（可选，UTF-8，推荐12字节，OCB3为1~15字节；加密时为空则随机生成并置于密文头部）</li>
+ *   <li>outputEncoding: 编码格式标识</li>
+ * </ul>
+ */
+public class AESGCMRequest {
+    private String key;
+    private String data;
+    private String aad;
+    private String iv;
+    private String outputEncoding;
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getData() {
+        return data;
+    }
+
+    public void setData(String data) {
+        this.data = data;
+    }
+
+    public String getAad() {
+        return aad;
+    }
+
+    public void setAad(String aad) {
+        this.aad = aad;
+    }
+
+    public String getIv() {
+        return iv;
+    }
+
+    public void setIv(String iv) {
+        this.iv = iv;
+    }
+
+    public String getOutputEncoding() {
+        return outputEncoding;
+    }
+
+    public void setOutputEncoding(String outputEncoding) {
+        this.outputEncoding = outputEncoding;
+    }
+}
@@ -8,12 +8,18 @@ package com.example.cryptographic_library.dto.symmetric;
  *   <li>key: 加密/解密密钥（16/24/32字节）</li>
  *   <li>data: 待处理数据（明文或密文）</li>
  *   <li>outputEncoding: 编码格式标识</li>
+ *   <li>mode: 工作模式（ECB/CBC/CTR/CFB/OFB，可选，默认ECB）</li>
+ *   <li>iv: 初始向量/计数器（可选，16字节）</li>
+ *   <li>engine: 实现引擎（table/bitsliced，可选，默认table）</li>
  * </ul>
  */
 public class AESRequest {
     private String key;
     private String data;
     private String outputEncoding;
+    private String mode;
+    private String iv;
+    private String engine;
 
     public AESRequest(String key, String data, String outputEncoding) {
         this.key = key;
@@ -44,4 +50,28 @@ public class AESRequest {
     public void setOutputEncoding(String outputEncoding) {
         this.outputEncoding = outputEncoding;
     }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public String getIv() {
+        return iv;
+    }
+
+    public void setIv(String iv) {
+        this.iv = iv;
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
 }
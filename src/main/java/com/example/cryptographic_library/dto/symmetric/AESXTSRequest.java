@@ -0,0 +1,61 @@
+package com.example.cryptographic_library.dto.symmetric;
+
+/**
+ * AES-XTS请求参数传输对象
+ *
+ * <p>包含：
+ * <ul>
+ *   <li>key: 密钥 K1 || K2（32/64字节，两半不能相同）</li>
+ *   <li>data: 待处理数据（加密时为明文，解密时为密文，不少于16字节）</li>
+ *   <li>sectorSize: 数据单元长度（可选，默认512字节）</li>
+ *   <li>sector: 第一个数据单元的扇区号（可选，默认0）</li>
+ *   <li>outputEncoding: 编码格式标识</li>
+ * </ul>
+ */
+public class AESXTSRequest {
+    private String key;
+    private String data;
+    private Integer sectorSize;
+    private Long sector;
+    private String outputEncoding;
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getData() {
+        return data;
+    }
+
+    public void setData(String data) {
+        this.data = data;
+    }
+
+    public Integer getSectorSize() {
+        return sectorSize;
+    }
+
+    public void setSectorSize(Integer sectorSize) {
+        this.sectorSize = sectorSize;
+    }
+
+    public Long getSector() {
+        return sector;
+    }
+
+    public void setSector(Long sector) {
+        this.sector = sector;
+    }
+
+    public String getOutputEncoding() {
+        return outputEncoding;
+    }
+
+    public void setOutputEncoding(String outputEncoding) {
+        this.outputEncoding = outputEncoding;
+    }
+}
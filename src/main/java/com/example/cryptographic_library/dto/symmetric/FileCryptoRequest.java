@@ -0,0 +1,61 @@
+package com.example.cryptographic_library.dto.symmetric;
+
+/**
+ * 文件加解密请求参数传输对象（AES/SM4共用）
+ *
+ * <p>包含：
+ * <ul>
+ *   <li>key: 加密/解密密钥</li>
+ *   <li>inputPath: 输入文件路径（相对crypto.file.base-dir）</li>
+ *   <li>outputPath: 输出文件路径（相对crypto.file.base-dir，存在时覆盖）</li>
+ *   <li>mode: 工作模式（ECB/CTR，可选，默认ECB）</li>
+ *   <li>iv: 初始计数器（可选，16字节）；CTR加密为空时随机生成并写入密文文件头部，解密为空时从文件头部读取</li>
+ * </ul>
+ */
+public class FileCryptoRequest {
+    private String key;
+    private String inputPath;
+    private String outputPath;
+    private String mode;
+    private String iv;
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getInputPath() {
+        return inputPath;
+    }
+
+    public void setInputPath(String inputPath) {
+        this.inputPath = inputPath;
+    }
+
+    public String getOutputPath() {
+        return outputPath;
+    }
+
+    public void setOutputPath(String outputPath) {
+        this.outputPath = outputPath;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public String getIv() {
+        return iv;
+    }
+
+    public void setIv(String iv) {
+        this.iv = iv;
+    }
+}
@@ -8,12 +8,16 @@ package com.example.cryptographic_library.dto.symmetric;
  *   <li>key: 加密/解密密钥（4-32字节）</li>
  *   <li>data: 待处理数据（加密时为明文，解密时为密文）</li>
  *   <li>outputEncoding: 编码格式标识</li>
+ *   <li>mode: 工作模式（ECB/CBC/CTR/CFB/OFB，可选，默认ECB）</li>
+ *   <li>iv: 初始向量（可选，16字节）</li>
  * </ul>
  */
 public class RC6Request {
     private String key;
     private String data;
     private String outputEncoding; // 密文输出编码（base64/hex）
+    private String mode;
+    private String iv;
 
     public RC6Request(String key, String data, String outputEncoding) {
         this.key = key;
@@ -44,4 +48,20 @@ public class RC6Request {
     public void setOutputEncoding(String outputEncoding) {
         this.outputEncoding = outputEncoding;
     }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public String getIv() {
+        return iv;
+    }
+
+    public void setIv(String iv) {
+        this.iv = iv;
+    }
 }
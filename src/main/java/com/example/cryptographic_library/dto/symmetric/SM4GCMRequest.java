@@ -0,0 +1,61 @@
+package com.example.cryptographic_library.dto.symmetric;
+
+/**
+ * SM4-GCM请求参数传输对象
+ *
+ * <p>包含：
+ * <ul>
+ *   <li>key: 128位加密/解密密钥</li>
+ *   <li>data: 待处理数据（加密时为明文，解密时为密文||标签）</li>
+ *   <li>aad: 附加认证数据（可选，UTF-8）</li>
+ *   <li>iv: 初始向量（可选，UTF-8，推荐12字节；加密时为空则随机生成并置于密文头部）</li>
+ *   <li>encoding: 编码格式标识</li>
+ * </ul>
+ */
+public class SM4GCMRequest {
+    private String key;
+    private String data;
+    private String aad;
+    private String iv;
+    private String encoding; // "hex" 或 "base64"
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getData() {
+        return data;
+    }
+
+    public void setData(String data) {
+        this.data = data;
+    }
+
+    public String getAad() {
+        return aad;
+    }
+
+    public void setAad(String aad) {
+        this.aad = aad;
+    }
+
+    public String getIv() {
+        return iv;
+    }
+
+    public void setIv(String iv) {
+        this.iv = iv;
+    }
+
+    public String getEncoding() {
+        return encoding;
+    }
+
+    public void setEncoding(String encoding) {
+        this.encoding = encoding;
+    }
+}
@@ -8,12 +8,16 @@ package com.example.cryptographic_library.dto.symmetric;
  *   <li>key: 128位加密/解密密钥</li>
  *   <li>data: 待处理数据（加密时为明文，解密时为密文）</li>
  *   <li>encoding: 编码格式标识</li>
+ *   <li>mode: 工作模式（ECB/CBC/CTR/CFB/OFB，可选，默认ECB）</li>
+ *   <li>iv: 初始向量（可选，16字节）</li>
  * </ul>
  */
 public class SM4Request {
     private String key;
     private String data;
     private String encoding; // "hex" 或 "base64"
+    private String mode;
+    private String iv;
 
     public String getKey() {
         return key;
@@ -38,4 +42,20 @@ public class SM4Request {
     public void setEncoding(String encoding) {
         this.encoding = encoding;
     }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public String getIv() {
+        return iv;
+    }
+
+    public void setIv(String iv) {
+        this.iv = iv;
+    }
 }
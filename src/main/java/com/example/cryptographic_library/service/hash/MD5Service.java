@@ -2,6 +2,7 @@ package com.example.cryptographic_library.service.hash;
 
 import com.example.cryptographic_library.algorithm.encode.Base64;
 import com.example.cryptographic_library.algorithm.encode.UTF_8;
+import com.example.cryptographic_library.algorithm.hash.Digest;
 import com.example.cryptographic_library.algorithm.hash.MD5;
 import com.example.cryptographic_library.dto.hash.MD5Response;
 import org.springframework.stereotype.Service;
@@ -10,9 +11,9 @@ import org.springframework.stereotype.Service;
 public class MD5Service {
     public MD5Response hash(String data, String encoding) {
         try {
-            MD5 md5 = new MD5();
-            md5.update(UTF_8.encode(data));
-            byte[] hashBytes = md5.digest();
+            Digest digest = new MD5();
+            digest.update(UTF_8.encode(data));
+            byte[] hashBytes = digest.digest();
             String result = encodeResult(hashBytes, encoding);
             return new MD5Response(0, "哈希计算成功", result);
         } catch (Exception e) {
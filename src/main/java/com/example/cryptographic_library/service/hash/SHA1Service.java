@@ -2,6 +2,7 @@ package com.example.cryptographic_library.service.hash;
 
 import com.example.cryptographic_library.algorithm.encode.Base64;
 import com.example.cryptographic_library.algorithm.encode.UTF_8;
+import com.example.cryptographic_library.algorithm.hash.Digest;
 import com.example.cryptographic_library.algorithm.hash.SHA1;
 import com.example.cryptographic_library.dto.hash.SHA1Response;
 import org.springframework.stereotype.Service;
@@ -27,7 +28,9 @@ public class SHA1Service {
      */
     public SHA1Response hash(String data, String encoding) {
         try {
-            byte[] hashBytes = SHA1.hash(UTF_8.encode(data));
+            Digest digest = new SHA1();
+            digest.update(UTF_8.encode(data));
+            byte[] hashBytes = digest.digest();
             String result = encodeResult(hashBytes, encoding);
             return new SHA1Response(0, "哈希计算成功", result);
         } catch (Exception e) {
@@ -2,10 +2,16 @@ package com.example.cryptographic_library.service.hash;
 
 import com.example.cryptographic_library.algorithm.encode.Base64;
 import com.example.cryptographic_library.algorithm.encode.UTF_8;
+import com.example.cryptographic_library.algorithm.hash.Digest;
+import com.example.cryptographic_library.algorithm.hash.MultiBufferSHA256;
 import com.example.cryptographic_library.algorithm.hash.SHA256;
+import com.example.cryptographic_library.dto.hash.SHA256BatchResponse;
 import com.example.cryptographic_library.dto.hash.SHA256Response;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * SHA-256哈希服务实现
  *
@@ -14,6 +20,7 @@ import org.springframework.stereotype.Service;
  *   <li>支持任意长度输入（理论最大2^64-1位）</li>
  *   <li>输出格式可选Hex（64字符）或Base64（44字符）</li>
  *   <li>严格遵循FIPS 180-4标准</li>
+ *   <li>批量接口对多条短消息按向量通道并行计算</li>
  * </ul>
  */
 @Service
@@ -29,7 +36,9 @@ public class SHA256Service {
     public SHA256Response hash(String data, String encoding) {
         try {
             validateEncoding(encoding);
-            byte[] hashBytes = SHA256.hash(UTF_8.encode(data));
+            Digest digest = new SHA256();
+            digest.update(UTF_8.encode(data));
+            byte[] hashBytes = digest.digest();
             return new SHA256Response(0, "哈希计算成功", encodeResult(hashBytes, encoding));
         } catch (IllegalArgumentException e) {
             return new SHA256Response(-1, e.getMessage(), null);
@@ -38,6 +47,38 @@ public class SHA256Service {
         }
     }
 
+    /**
+     * 批量计算哈希，各条数据互相独立，经{@link MultiBufferSHA256}多通道并行计算
+     * @param data 原始输入字符串列表（UTF-8 编码）
+     * @param encoding 输出编码格式（hex/base64）
+     * @return 与输入一一对应的哈希结果列表
+     */
+    public SHA256BatchResponse hashBatch(List<String> data, String encoding) {
+        try {
+            validateEncoding(encoding);
+            if (data == null) {
+                throw new IllegalArgumentException("输入数据不能为空");
+            }
+            byte[][] messages = new byte[data.size()][];
+            for (int i = 0; i < messages.length; i++) {
+                if (data.get(i) == null) {
+                    throw new IllegalArgumentException("第" + i + "条数据为空");
+                }
+                messages[i] = UTF_8.encode(data.get(i));
+            }
+            byte[][] hashes = MultiBufferSHA256.hash(messages);
+            List<String> results = new ArrayList<>(hashes.length);
+            for (byte[] hashBytes : hashes) {
+                results.add(encodeResult(hashBytes, encoding));
+            }
+            return new SHA256BatchResponse(0, "哈希计算成功", results);
+        } catch (IllegalArgumentException e) {
+            return new SHA256BatchResponse(-1, e.getMessage(), null);
+        } catch (Exception e) {
+            return new SHA256BatchResponse(-2, "服务器内部错误", null);
+        }
+    }
+
     private void validateEncoding(String encoding) {
         if (!"hex".equalsIgnoreCase(encoding) && !"base64".equalsIgnoreCase(encoding)) {
             throw new IllegalArgumentException("不支持的编码格式: " + encoding);
@@ -51,11 +92,14 @@ public class SHA256Service {
         return bytesToHex(data);
     }
 
+    private static final char[] HEX_ARRAY = "0123456789abcdef".toCharArray();
     private String bytesToHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
-            sb.append(String.format("%02x", b & 0xFF));
+        char[] hexChars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int v = bytes[i] & 0xFF;
+            hexChars[i * 2] = HEX_ARRAY[v >>> 4];
+            hexChars[i * 2 + 1] = HEX_ARRAY[v & 0x0F];
         }
-        return sb.toString();
+        return new String(hexChars);
     }
 }
@@ -3,24 +3,57 @@ package com.example.cryptographic_library.service.symmetric;
 import com.example.cryptographic_library.algorithm.encode.Base64;
 import com.example.cryptographic_library.algorithm.encode.UTF_8;
 import com.example.cryptographic_library.algorithm.symmetric.AES;
+import com.example.cryptographic_library.algorithm.symmetric.AES_GCM;
+import com.example.cryptographic_library.algorithm.symmetric.AES_OCB;
+import com.example.cryptographic_library.algorithm.symmetric.AES_XTS;
+import com.example.cryptographic_library.algorithm.symmetric.BitslicedAES;
+import com.example.cryptographic_library.algorithm.symmetric.BlockCipherMode;
+import com.example.cryptographic_library.algorithm.symmetric.MappedFileCipher;
 import com.example.cryptographic_library.dto.symmetric.AESResponse;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
 /**
  * AES对称加密服务实现
  *
  * <p>功能特性：
  * <ul>
  *   <li>支持128/192/256位密钥长度</li>
- *   <li>PKCS7填充方案</li>
+ *   <li>ECB/CBC（PKCS7填充）与CTR/CFB/OFB工作模式（{@link BlockCipherMode}）</li>
+ *   <li>ECB/CTR可选用常数时间的比特切片引擎（{@link BitslicedAES}）</li>
+ *   <li>GCM认证加密（单次请求完成加密与完整性保护）</li>
+ *   <li>OCB3认证加密（每分组一次AES运算，加密与认证均可完全并行，适合大数据量）</li>
+ *   <li>XTS存储加密（按扇区独立加解密，密文与明文等长）</li>
+ *   <li>服务器本地文件的ECB/CTR加解密（内存映射，多线程处理，不受堆容量限制）</li>
  *   <li>支持Hex/Base64编码输出</li>
  *   <li>自动密钥校验与转换</li>
+ *   <li>扩展密钥经{@link SymmetricKeyCache}跨请求复用</li>
  * </ul>
  */
 @Service
 public class AESService {
+    private static final int IV_LENGTH = 16;
+    private static final int GCM_IV_LENGTH = 12;
+    private static final int OCB_NONCE_LENGTH = 12;
+    private static final int DEFAULT_SECTOR_SIZE = 512;
+    // 比特切片实例与查表实例分开缓存
+    private static final String BITSLICED_CACHE_NAME = "AES-BITSLICED";
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    private SymmetricKeyCache keyCache;
+
+    @Autowired
+    private FileCryptoSettings fileSettings;
+
     /**
-     * 执行加密操作
+     * 执行加密操作（ECB模式）
      * @param key 加密密钥（UTF-8 字符串，长度16/24/32 字节）
      * @param plaintext 明文数据（UTF-8 编码）
      * @param encoding 输出编码格式（hex/base64）
@@ -28,9 +61,55 @@ public class AESService {
      * @throws IllegalArgumentException 密钥长度不符合要求时抛出
      */
     public AESResponse encrypt(String key, String plaintext, String encoding) {
+        return encrypt(key, plaintext, encoding, null, null);
+    }
+
+    /**
+     * 按指定工作模式执行加密操作
+     * @param key 加密密钥（UTF-8 字符串，长度16/24/32 字节）
+     * @param plaintext 明文数据（UTF-8 编码）
+     * @param encoding 输出编码格式（hex/base64）
+     * @param mode 工作模式（ECB/CBC/CTR/CFB/OFB，为空时默认ECB）
+     * @param iv 初始向量/计数器（UTF-8 字符串，16字节）；非ECB模式下为空时随机生成并置于密文头部
+     * @return 加密结果响应
+     */
+    public AESResponse encrypt(String key, String plaintext, String encoding, String mode, String iv) {
+        return encrypt(key, plaintext, encoding, mode, iv, null);
+    }
+
+    /**
+     * 按指定工作模式与实现引擎执行加密操作
+     * @param key 加密密钥（UTF-8 字符串，长度16/24/32 字节）
+     * @param plaintext 明文数据（UTF-8 编码）
+     * @param encoding 输出编码格式（hex/base64）
+     * @param mode 工作模式（ECB/CBC/CTR/CFB/OFB，为空时默认ECB）
+     * @param iv 初始向量/计数器（UTF-8 字符串，16字节）；非ECB模式下为空时随机生成并置于密文头部
+     * @param engine 实现引擎（table：查表实现，默认；bitsliced：常数时间比特切片实现，仅支持ECB/CTR）
+     * @return 加密结果响应
+     */
+    public AESResponse encrypt(String key, String plaintext, String encoding, String mode, String iv, String engine) {
         try {
-            AES aes = new AES(UTF_8.encode(key));
-            byte[] encrypted = aes.encrypt(UTF_8.encode(plaintext));
+            byte[] data = UTF_8.encode(plaintext);
+            BlockCipherMode.Mode m = resolveMode(mode);
+            boolean bitsliced = isBitsliced(engine, m);
+            boolean randomIv = m != BlockCipherMode.Mode.ECB && (iv == null || iv.isEmpty());
+            byte[] ivBytes = m == BlockCipherMode.Mode.ECB ? null : randomIv ? randomIv() : UTF_8.encode(iv);
+
+            byte[] encrypted;
+            if (bitsliced) {
+                try (SymmetricKeyCache.Lease<BitslicedAES> lease = acquire(BITSLICED_CACHE_NAME,
+                        key, BitslicedAES::new, BitslicedAES::clearKeys)) {
+                    BitslicedAES aes = lease.get();
+                    encrypted = m == BlockCipherMode.Mode.ECB ? aes.encrypt(data) : aes.encryptCTR(ivBytes, data);
+                }
+            } else {
+                try (SymmetricKeyCache.Lease<AES> lease = acquire("AES", key, AES::new, AES::clearKeys)) {
+                    encrypted = new BlockCipherMode(lease.get(), m).encrypt(ivBytes, data);
+                }
+            }
+            if (randomIv) {
+                encrypted = concat(ivBytes, encrypted);
+            }
 
             return new AESResponse(0, "加密成功", encodeResult(encrypted, encoding));
         } catch (Exception e) {
@@ -39,7 +118,7 @@ public class AESService {
     }
 
     /**
-     * 执行解密操作
+     * 执行解密操作（ECB模式）
      * @param key 解密密钥（需与加密密钥一致）
      * @param ciphertext 密文字符串（需与加密输出格式匹配）
      * @param encoding 输入编码格式（hex/base64）
@@ -47,10 +126,178 @@ public class AESService {
      * @throws IllegalArgumentException 输入数据格式错误时抛出
      */
     public AESResponse decrypt(String key, String ciphertext, String encoding) {
+        return decrypt(key, ciphertext, encoding, null, null);
+    }
+
+    /**
+     * 按指定工作模式执行解密操作
+     * @param key 解密密钥（需与加密密钥一致）
+     * @param ciphertext 密文字符串（需与加密输出格式匹配）
+     * @param encoding 输入编码格式（hex/base64）
+     * @param mode 工作模式（ECB/CBC/CTR/CFB/OFB，为空时默认ECB）
+     * @param iv 初始向量/计数器；非ECB模式下为空时从密文头部读取
+     * @return 解密结果响应
+     */
+    public AESResponse decrypt(String key, String ciphertext, String encoding, String mode, String iv) {
+        return decrypt(key, ciphertext, encoding, mode, iv, null);
+    }
+
+    /**
+     * 按指定工作模式与实现引擎执行解密操作
+     * @param key 解密密钥（需与加密密钥一致）
+     * @param ciphertext 密文字符串（需与加密输出格式匹配）
+     * @param encoding 输入编码格式（hex/base64）
+     * @param mode 工作模式（ECB/CBC/CTR/CFB/OFB，为空时默认ECB）
+     * @param iv 初始向量/计数器；非ECB模式下为空时从密文头部读取
+     * @param engine 实现引擎（table/bitsliced），两种引擎的密文完全相同，可交叉解密
+     * @return 解密结果响应
+     */
+    public AESResponse decrypt(String key, String ciphertext, String encoding, String mode, String iv, String engine) {
         try {
-            AES aes = new AES(UTF_8.encode(key));
             byte[] data = decodeInput(ciphertext, encoding);
-            byte[] decrypted = aes.decrypt(data);
+            BlockCipherMode.Mode m = resolveMode(mode);
+            boolean bitsliced = isBitsliced(engine, m);
+            byte[] ivBytes = null;
+            if (m != BlockCipherMode.Mode.ECB) {
+                if (iv == null || iv.isEmpty()) {
+                    if (data.length < IV_LENGTH) {
+                        throw new IllegalArgumentException("密文长度不足，缺少IV");
+                    }
+                    ivBytes = Arrays.copyOf(data, IV_LENGTH);
+                    data = Arrays.copyOfRange(data, IV_LENGTH, data.length);
+                } else {
+                    ivBytes = UTF_8.encode(iv);
+                }
+            }
+
+            byte[] decrypted;
+            if (bitsliced) {
+                try (SymmetricKeyCache.Lease<BitslicedAES> lease = acquire(BITSLICED_CACHE_NAME,
+                        key, BitslicedAES::new, BitslicedAES::clearKeys)) {
+                    BitslicedAES aes = lease.get();
+                    decrypted = m == BlockCipherMode.Mode.ECB ? aes.decrypt(data) : aes.decryptCTR(ivBytes, data);
+                }
+            } else {
+                try (SymmetricKeyCache.Lease<AES> lease = acquire("AES", key, AES::new, AES::clearKeys)) {
+                    decrypted = new BlockCipherMode(lease.get(), m).decrypt(ivBytes, data);
+                }
+            }
+
+            return new AESResponse(0, "解密成功", UTF_8.decode(decrypted));
+        } catch (Exception e) {
+            return new AESResponse(-1, "解密失败: " + e.getMessage(), null);
+        }
+    }
+
+    /**
+     * 执行GCM认证加密
+     * @param key 加密密钥（UTF-8 字符串，长度16/24/32 字节）
+     * @param plaintext 明文数据（UTF-8 编码）
+     * @param aad 附加认证数据（UTF-8，可为空）
+     * @param iv 初始向量（UTF-8）；为空时随机生成12字节并置于密文头部
+     * @param encoding 输出编码格式（hex/base64）
+     * @return 加密结果响应，结果为 [IV ||] 密文 || 16字节标签
+     */
+    public AESResponse encryptGCM(String key, String plaintext, String aad, String iv, String encoding) {
+        try (SymmetricKeyCache.Lease<AES_GCM> lease = acquire("AES-GCM", key, AES_GCM::new, AES_GCM::clearKeys)) {
+            AES_GCM gcm = lease.get();
+            byte[] data = UTF_8.encode(plaintext);
+            byte[] encrypted;
+            if (iv == null || iv.isEmpty()) {
+                byte[] ivBytes = new byte[GCM_IV_LENGTH];
+                random.nextBytes(ivBytes);
+                encrypted = concat(ivBytes, gcm.encrypt(ivBytes, data, encodeAad(aad)));
+            } else {
+                encrypted = gcm.encrypt(UTF_8.encode(iv), data, encodeAad(aad));
+            }
+
+            return new AESResponse(0, "加密成功", encodeResult(encrypted, encoding));
+        } catch (Exception e) {
+            return new AESResponse(-1, "加密失败: " + e.getMessage(), null);
+        }
+    }
+
+    /**
+     * 执行GCM认证解密
+     * @param key 解密密钥（需与加密密钥一致）
+     * @param ciphertext 密文字符串（需与加密输出格式匹配）
+     * @param aad 附加认证数据（需与加密时一致）
+     * @param iv 初始向量；为空时从密文头部读取12字节
+     * @param encoding 输入编码格式（hex/base64）
+     * @return 解密结果响应；认证失败时返回错误
+     */
+    public AESResponse decryptGCM(String key, String ciphertext, String aad, String iv, String encoding) {
+        try (SymmetricKeyCache.Lease<AES_GCM> lease = acquire("AES-GCM", key, AES_GCM::new, AES_GCM::clearKeys)) {
+            AES_GCM gcm = lease.get();
+            byte[] data = decodeInput(ciphertext, encoding);
+            byte[] decrypted;
+            if (iv == null || iv.isEmpty()) {
+                if (data.length < GCM_IV_LENGTH) {
+                    throw new IllegalArgumentException("密文长度不足，缺少IV");
+                }
+                byte[] ivBytes = Arrays.copyOf(data, GCM_IV_LENGTH);
+                decrypted = gcm.decrypt(ivBytes, Arrays.copyOfRange(data, GCM_IV_LENGTH, data.length), encodeAad(aad));
+            } else {
+                decrypted = gcm.decrypt(UTF_8.encode(iv), data, encodeAad(aad));
+            }
+
+            return new AESResponse(0, "解密成功", UTF_8.decode(decrypted));
+        } catch (Exception e) {
+            return new AESResponse(-1, "解密失败: " + e.getMessage(), null);
+        }
+    }
+
+    /**
+     * 执行OCB3认证加密
+     * @param key 加密密钥（UTF-8 字符串，长度16/24/32 字节）
+     * @param plaintext 明文数据（UTF-8 编码）
+     * @param aad 附加认证数据（UTF-8，可为空）
+     * @param nonce nonce（UTF-8，1~15字节）；为空时随机生成12字节并置于密文头部
+     * @param encoding 输出编码格式（hex/base64）
+     * @return 加密结果响应，结果为 [nonce ||] 密文 || 16字节标签
+     */
+    public AESResponse encryptOCB(String key, String plaintext, String aad, String nonce, String encoding) {
+        try (SymmetricKeyCache.Lease<AES_OCB> lease = acquire("AES-OCB", key, AES_OCB::new, AES_OCB::clearKeys)) {
+            AES_OCB ocb = lease.get();
+            byte[] data = UTF_8.encode(plaintext);
+            byte[] encrypted;
+            if (nonce == null || nonce.isEmpty()) {
+                byte[] nonceBytes = new byte[OCB_NONCE_LENGTH];
+                random.nextBytes(nonceBytes);
+                encrypted = concat(nonceBytes, ocb.encrypt(nonceBytes, data, encodeAad(aad)));
+            } else {
+                encrypted = ocb.encrypt(UTF_8.encode(nonce), data, encodeAad(aad));
+            }
+
+            return new AESResponse(0, "加密成功", encodeResult(encrypted, encoding));
+        } catch (Exception e) {
+            return new AESResponse(-1, "加密失败: " + e.getMessage(), null);
+        }
+    }
+
+    /**
+     * 执行OCB3认证解密
+     * @param key 解密密钥（需与加密密钥一致）
+     * @param ciphertext 密文字符串（需与加密输出格式匹配）
+     * @param aad 附加认证数据（需与加密时一致）
+     * @param nonce 加密时使用的nonce；为空时从密文头部读取12字节
+     * @param encoding 输入编码格式（hex/base64）
+     * @return 解密结果响应；认证失败时返回错误
+     */
+    public AESResponse decryptOCB(String key, String ciphertext, String aad, String nonce, String encoding) {
+        try (SymmetricKeyCache.Lease<AES_OCB> lease = acquire("AES-OCB", key, AES_OCB::new, AES_OCB::clearKeys)) {
+            AES_OCB ocb = lease.get();
+            byte[] data = decodeInput(ciphertext, encoding);
+            byte[] decrypted;
+            if (nonce == null || nonce.isEmpty()) {
+                if (data.length < OCB_NONCE_LENGTH) {
+                    throw new IllegalArgumentException("密文长度不足，缺少nonce");
+                }
+                byte[] nonceBytes = Arrays.copyOf(data, OCB_NONCE_LENGTH);
+                decrypted = ocb.decrypt(nonceBytes, Arrays.copyOfRange(data, OCB_NONCE_LENGTH, data.length), encodeAad(aad));
+            } else {
+                decrypted = ocb.decrypt(UTF_8.encode(nonce), data, encodeAad(aad));
+            }
 
             return new AESResponse(0, "解密成功", UTF_8.decode(decrypted));
         } catch (Exception e) {
@@ -58,6 +305,144 @@ public class AESService {
         }
     }
 
+    /**
+     * 执行XTS加密
+     * @param key 密钥 K1 || K2（UTF-8 字符串，长度32/64 字节，两半不能相同）
+     * @param plaintext 明文数据（UTF-8 编码，不少于16字节）
+     * @param sectorSize 数据单元长度（为空时默认512字节）
+     * @param sector 第一个数据单元的扇区号（为空时为0）
+     * @param encoding 输出编码格式（hex/base64）
+     * @return 加密结果响应，密文与明文等长
+     */
+    public AESResponse encryptXTS(String key, String plaintext, Integer sectorSize, Long sector, String encoding) {
+        try (SymmetricKeyCache.Lease<AES_XTS> lease = acquire("AES-XTS", key, AES_XTS::new, AES_XTS::clearKeys)) {
+            byte[] encrypted = lease.get().encrypt(UTF_8.encode(plaintext), resolveSectorSize(sectorSize),
+                    sector == null ? 0 : sector);
+            return new AESResponse(0, "加密成功", encodeResult(encrypted, encoding));
+        } catch (Exception e) {
+            return new AESResponse(-1, "加密失败: " + e.getMessage(), null);
+        }
+    }
+
+    /**
+     * 执行XTS解密
+     * @param key 解密密钥（需与加密密钥一致）
+     * @param ciphertext 密文字符串（需与加密输出格式匹配）
+     * @param sectorSize 数据单元长度（需与加密时一致）
+     * @param sector 第一个数据单元的扇区号（需与加密时一致）
+     * @param encoding 输入编码格式（hex/base64）
+     * @return 解密结果响应
+     */
+    public AESResponse decryptXTS(String key, String ciphertext, Integer sectorSize, Long sector, String encoding) {
+        try (SymmetricKeyCache.Lease<AES_XTS> lease = acquire("AES-XTS", key, AES_XTS::new, AES_XTS::clearKeys)) {
+            byte[] decrypted = lease.get().decrypt(decodeInput(ciphertext, encoding), resolveSectorSize(sectorSize),
+                    sector == null ? 0 : sector);
+            return new AESResponse(0, "解密成功", UTF_8.decode(decrypted));
+        } catch (Exception e) {
+            return new AESResponse(-1, "解密失败: " + e.getMessage(), null);
+        }
+    }
+
+    /**
+     * 加密服务器本地文件，输入与输出经内存映射分块并行处理
+     * @param key 加密密钥（UTF-8 字符串，长度16/24/32 字节）
+     * @param inputPath 明文文件路径（相对crypto.file.base-dir）
+     * @param outputPath 密文文件路径（相对crypto.file.base-dir，存在时覆盖）
+     * @param mode 工作模式（ECB/CTR，为空时默认ECB）
+     * @param iv 初始计数器（UTF-8 字符串，16字节）；CTR模式下为空时随机生成并写入密文文件头部
+     * @return 加密结果响应，结果为写入的字节数
+     */
+    public AESResponse encryptFile(String key, String inputPath, String outputPath, String mode, String iv) {
+        try (SymmetricKeyCache.Lease<AES> lease = acquire("AES", key, AES::new, AES::clearKeys)) {
+            BlockCipherMode.Mode m = resolveMode(mode);
+            boolean randomIv = m != BlockCipherMode.Mode.ECB && (iv == null || iv.isEmpty());
+            byte[] ivBytes = m == BlockCipherMode.Mode.ECB ? null : randomIv ? randomIv() : UTF_8.encode(iv);
+            long written = new MappedFileCipher(lease.get()).encrypt(fileSettings.resolve(inputPath),
+                    fileSettings.resolve(outputPath), m, ivBytes, randomIv);
+            return new AESResponse(0, "加密成功", String.valueOf(written));
+        } catch (Exception e) {
+            return new AESResponse(-1, "加密失败: " + e.getMessage(), null);
+        }
+    }
+
+    /**
+     * 解密服务器本地文件
+     * @param key 解密密钥（需与加密密钥一致）
+     * @param inputPath 密文文件路径（相对crypto.file.base-dir）
+     * @param outputPath 明文文件路径（相对crypto.file.base-dir，存在时覆盖）
+     * @param mode 工作模式（ECB/CTR，为空时默认ECB）
+     * @param iv 初始计数器；CTR模式下为空时从密文文件头部读取
+     * @return 解密结果响应，结果为写入的字节数
+     */
+    public AESResponse decryptFile(String key, String inputPath, String outputPath, String mode, String iv) {
+        try (SymmetricKeyCache.Lease<AES> lease = acquire("AES", key, AES::new, AES::clearKeys)) {
+            BlockCipherMode.Mode m = resolveMode(mode);
+            byte[] ivBytes = m == BlockCipherMode.Mode.ECB || iv == null || iv.isEmpty() ? null : UTF_8.encode(iv);
+            long written = new MappedFileCipher(lease.get()).decrypt(fileSettings.resolve(inputPath),
+                    fileSettings.resolve(outputPath), m, ivBytes);
+            return new AESResponse(0, "解密成功", String.valueOf(written));
+        } catch (Exception e) {
+            return new AESResponse(-1, "解密失败: " + e.getMessage(), null);
+        }
+    }
+
+    // 编码后的密钥字节只用于查找或构造缓存实例，取得租约后立即清零
+    private <T> SymmetricKeyCache.Lease<T> acquire(String algorithm, String key,
+                                                  Function<byte[], T> factory, Consumer<T> destroyer) {
+        byte[] keyBytes = UTF_8.encode(key);
+        try {
+            return keyCache.acquire(algorithm, keyBytes, factory, destroyer);
+        } finally {
+            Arrays.fill(keyBytes, (byte) 0);
+        }
+    }
+
+    private int resolveSectorSize(Integer sectorSize) {
+        return sectorSize == null ? DEFAULT_SECTOR_SIZE : sectorSize;
+    }
+
+    private byte[] encodeAad(String aad) {
+        return aad == null || aad.isEmpty() ? null : UTF_8.encode(aad);
+    }
+
+    // 规范化工作模式名称，为空时默认ECB
+    private BlockCipherMode.Mode resolveMode(String mode) {
+        if (mode == null || mode.isEmpty()) {
+            return BlockCipherMode.Mode.ECB;
+        }
+        try {
+            return BlockCipherMode.Mode.valueOf(mode.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的工作模式: " + mode);
+        }
+    }
+
+    // 判断是否使用比特切片引擎，为空时默认查表实现
+    private boolean isBitsliced(String engine, BlockCipherMode.Mode mode) {
+        if (engine == null || engine.isEmpty() || "table".equalsIgnoreCase(engine)) {
+            return false;
+        }
+        if (!"bitsliced".equalsIgnoreCase(engine)) {
+            throw new IllegalArgumentException("不支持的实现引擎: " + engine);
+        }
+        if (mode != BlockCipherMode.Mode.ECB && mode != BlockCipherMode.Mode.CTR) {
+            throw new IllegalArgumentException("比特切片引擎仅支持ECB/CTR模式");
+        }
+        return true;
+    }
+
+    private byte[] randomIv() {
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        return iv;
+    }
+
+    private byte[] concat(byte[] a, byte[] b) {
+        byte[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
     private String encodeResult(byte[] data, String encoding) {
         if ("base64".equalsIgnoreCase(encoding)) {
             return Base64.encode(data);
@@ -0,0 +1,144 @@
+package com.example.cryptographic_library.service.symmetric;
+
+import com.example.cryptographic_library.algorithm.encode.Base64;
+import com.example.cryptographic_library.algorithm.encode.UTF_8;
+import com.example.cryptographic_library.algorithm.symmetric.ChaCha20Poly1305;
+import com.example.cryptographic_library.dto.symmetric.ChaCha20Response;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * ChaCha20-Poly1305认证加密服务实现
+ *
+ * <p>功能特性：
+ * <ul>
+ *   <li>256位密钥，96位nonce（RFC 8439）</li>
+ *   <li>单次请求完成加密与完整性保护，标签校验失败时不返回明文</li>
+ *   <li>纯加法/异或/移位实现，不依赖AES硬件指令</li>
+ *   <li>支持Hex/Base64编码输出</li>
+ *   <li>密钥实例经{@link SymmetricKeyCache}跨请求复用</li>
+ * </ul>
+ */
+@Service
+public class ChaCha20Service {
+    private static final int NONCE_LENGTH = ChaCha20Poly1305.NONCE_LENGTH;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    private SymmetricKeyCache keyCache;
+
+    /**
+     * 执行认证加密
+     * @param key 加密密钥（UTF-8 字符串，32字节）
+     * @param plaintext 明文数据（UTF-8 编码）
+     * @param aad 附加认证数据（UTF-8，可为空）
+     * @param nonce 12字节nonce（UTF-8）；为空时随机生成并置于密文头部
+     * @param encoding 输出编码格式（hex/base64）
+     * @return 加密结果响应，结果为 [nonce ||] 密文 || 16字节标签
+     */
+    public ChaCha20Response encrypt(String key, String plaintext, String aad, String nonce, String encoding) {
+        try (SymmetricKeyCache.Lease<ChaCha20Poly1305> lease = acquire(key)) {
+            ChaCha20Poly1305 aead = lease.get();
+            byte[] data = UTF_8.encode(plaintext);
+            byte[] encrypted;
+            if (nonce == null || nonce.isEmpty()) {
+                byte[] nonceBytes = new byte[NONCE_LENGTH];
+                random.nextBytes(nonceBytes);
+                encrypted = concat(nonceBytes, aead.encrypt(nonceBytes, data, encodeAad(aad)));
+            } else {
+                encrypted = aead.encrypt(UTF_8.encode(nonce), data, encodeAad(aad));
+            }
+
+            return new ChaCha20Response(0, "加密成功", encodeResult(encrypted, encoding));
+        } catch (Exception e) {
+            return new ChaCha20Response(-1, "加密失败: " + e.getMessage(), null);
+        }
+    }
+
+    /**
+     * 执行认证解密
+     * @param key 解密密钥（需与加密密钥一致）
+     * @param ciphertext 密文字符串（需与加密输出格式匹配）
+     * @param aad 附加认证数据（需与加密时一致）
+     * @param nonce 加密时使用的nonce；为空时从密文头部读取12字节
+     * @param encoding 输入编码格式（hex/base64）
+     * @return 解密结果响应；认证失败时返回错误
+     */
+    public ChaCha20Response decrypt(String key, String ciphertext, String aad, String nonce, String encoding) {
+        try (SymmetricKeyCache.Lease<ChaCha20Poly1305> lease = acquire(key)) {
+            ChaCha20Poly1305 aead = lease.get();
+            byte[] data = decodeInput(ciphertext, encoding);
+            byte[] decrypted;
+            if (nonce == null || nonce.isEmpty()) {
+                if (data.length < NONCE_LENGTH) {
+                    throw new IllegalArgumentException("密文长度不足，缺少nonce");
+                }
+                byte[] nonceBytes = Arrays.copyOf(data, NONCE_LENGTH);
+                decrypted = aead.decrypt(nonceBytes, Arrays.copyOfRange(data, NONCE_LENGTH, data.length), encodeAad(aad));
+            } else {
+                decrypted = aead.decrypt(UTF_8.encode(nonce), data, encodeAad(aad));
+            }
+
+            return new ChaCha20Response(0, "解密成功", UTF_8.decode(decrypted));
+        } catch (Exception e) {
+            return new ChaCha20Response(-1, "解密失败: " + e.getMessage(), null);
+        }
+    }
+
+    // 从缓存获取密钥对应的实例，密钥长度由ChaCha20构造函数校验
+    private SymmetricKeyCache.Lease<ChaCha20Poly1305> acquire(String key) {
+        byte[] keyBytes = UTF_8.encode(key);
+        try {
+            return keyCache.acquire("ChaCha20-Poly1305", keyBytes, ChaCha20Poly1305::new, ChaCha20Poly1305::clearKeys);
+        } finally {
+            // 密钥字节只用于查找或构造缓存实例，取得租约后立即清零
+            Arrays.fill(keyBytes, (byte) 0);
+        }
+    }
+
+    private byte[] encodeAad(String aad) {
+        return aad == null || aad.isEmpty() ? null : UTF_8.encode(aad);
+    }
+
+    private byte[] concat(byte[] a, byte[] b) {
+        byte[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    private String encodeResult(byte[] data, String encoding) {
+        if ("base64".equalsIgnoreCase(encoding)) {
+            return Base64.encode(data);
+        }
+        return bytesToHex(data);
+    }
+
+    private byte[] decodeInput(String input, String encoding) {
+        if ("base64".equalsIgnoreCase(encoding)) {
+            return Base64.decode(input);
+        }
+        return hexToBytes(input);
+    }
+
+    private String bytesToHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b & 0xFF));
+        }
+        return sb.toString();
+    }
+
+    private byte[] hexToBytes(String hex) {
+        int len = hex.length();
+        byte[] data = new byte[len / 2];
+        for (int i = 0; i < len; i += 2) {
+            data[i / 2] = (byte) ((Character.digit(hex.charAt(i), 16) << 4)
+                    + Character.digit(hex.charAt(i + 1), 16));
+        }
+        return data;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.cryptographic_library.service.symmetric;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 服务端文件加解密的路径配置
+ *
+ * <p>文件接口只接受服务器本地路径，所有路径都相对crypto.file.base-dir解析：
+ * <ul>
+ *   <li>规范化后仍位于根目录之下的路径才被接受，拒绝通过".."或绝对路径访问根目录之外的文件</li>
+ *   <li>按真实路径（{@link Path#toRealPath}）比较：目标文件（新文件为其父目录）解析符号链接后仍须位于根目录的真实路径之下，
+ *       目标本身是符号链接时直接拒绝</li>
+ *   <li>配置为空时禁用文件接口（默认）</li>
+ * </ul>
+ */
+@Component
+public class FileCryptoSettings {
+    private final Path baseDir;
+
+    public FileCryptoSettings(@Value("${crypto.file.base-dir:}") String baseDir) {
+        this.baseDir = baseDir == null || baseDir.isEmpty() ? null : Paths.get(baseDir).toAbsolutePath().normalize();
+    }
+
+    /**
+     * 把请求中的路径解析为根目录下的真实绝对路径
+     * @throws IllegalArgumentException 未配置根目录、路径为空、位于根目录之外或为符号链接时抛出
+     */
+    public Path resolve(String path) {
+        if (baseDir == null) {
+            throw new IllegalArgumentException("未配置crypto.file.base-dir，文件接口已禁用");
+        }
+        if (path == null || path.isEmpty()) {
+            throw new IllegalArgumentException("文件路径不能为空");
+        }
+        try {
+            Path realBase = baseDir.toRealPath();
+            Path resolved = realBase.resolve(path).normalize();
+            if (!resolved.startsWith(realBase) || resolved.equals(realBase)) {
+                throw new IllegalArgumentException("文件路径超出允许的目录: " + path);
+            }
+            if (Files.isSymbolicLink(resolved)) {
+                throw new IllegalArgumentException("不允许使用符号链接: " + path);
+            }
+            // 已存在的文件检查自身，新文件检查父目录，中间目录是符号链接时真实路径会落到根目录之外
+            Path real = Files.exists(resolved, LinkOption.NOFOLLOW_LINKS)
+                    ? resolved.toRealPath()
+                    : resolved.getParent().toRealPath().resolve(resolved.getFileName());
+            if (!real.startsWith(realBase)) {
+                throw new IllegalArgumentException("文件路径超出允许的目录: " + path);
+            }
+            return real;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("无法解析文件路径: " + path);
+        }
+    }
+}
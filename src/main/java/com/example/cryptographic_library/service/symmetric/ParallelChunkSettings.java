@@ -0,0 +1,38 @@
+package com.example.cryptographic_library.service.symmetric;
+
+import com.example.cryptographic_library.algorithm.symmetric.ParallelChunkExecutor;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 批量对称运算并行执行器配置
+ *
+ * <p>启动时按配置项创建{@link ParallelChunkExecutor}并设为默认实例，AES/SM4/RC6的各工作模式共用：
+ * <ul>
+ *   <li>crypto.parallel.threads：工作线程数，0表示使用可用处理器数</li>
+ *   <li>crypto.parallel.chunk-bytes：每个并行块的字节数</li>
+ *   <li>crypto.parallel.threshold-bytes：超过该字节数才并行，否则在请求线程上直接执行</li>
+ * </ul>
+ */
+@Component
+public class ParallelChunkSettings {
+    private final ParallelChunkExecutor executor;
+
+    public ParallelChunkSettings(@Value("${crypto.parallel.threads:0}") int threads,
+                                 @Value("${crypto.parallel.chunk-bytes:16384}") int chunkBytes,
+                                 @Value("${crypto.parallel.threshold-bytes:65536}") int thresholdBytes) {
+        this.executor = new ParallelChunkExecutor(threads, chunkBytes, thresholdBytes);
+        ParallelChunkExecutor.setDefault(executor);
+    }
+
+    public ParallelChunkExecutor getExecutor() {
+        return executor;
+    }
+
+    // 只关闭本实例创建的线程池，进行中的任务继续完成，之后的调用在调用线程上执行
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
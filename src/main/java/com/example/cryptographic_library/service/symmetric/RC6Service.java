@@ -2,27 +2,41 @@ package com.example.cryptographic_library.service.symmetric;
 
 import com.example.cryptographic_library.algorithm.encode.Base64;
 import com.example.cryptographic_library.algorithm.encode.UTF_8;
+import com.example.cryptographic_library.algorithm.symmetric.BlockCipherMode;
 import com.example.cryptographic_library.algorithm.symmetric.RC6;
 import com.example.cryptographic_library.dto.symmetric.RC6Response;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.security.SecureRandom;
+import java.util.Arrays;
+
 /**
  * RC6对称加密服务实现
  *
  * <p>功能特性：
  * <ul>
  *   <li>支持4-32字节可变长度密钥</li>
- *   <li>PKCS7填充方案</li>
+ *   <li>ECB/CBC使用PKCS7填充方案</li>
  *   <li>20轮加密过程</li>
+ *   <li>支持ECB/CBC/CTR/CFB/OFB工作模式（{@link BlockCipherMode}）</li>
  *   <li>支持Hex/Base64编码输出</li>
+ *   <li>扩展密钥经{@link SymmetricKeyCache}跨请求复用</li>
  * </ul>
  */
 @Service
 public class RC6Service {
 
+    private static final int IV_LENGTH = 16;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    private SymmetricKeyCache keyCache;
+
     /**
-     * 执行加密操作
+     * 执行加密操作（ECB模式）
      * @param key 加密密钥（UTF-8 字符串，4-32 字节）
      * @param plaintext 明文数据（UTF-8 编码）
      * @param encoding 输出编码格式（hex/base64）
@@ -30,10 +44,32 @@ public class RC6Service {
      * @throws IllegalArgumentException 密钥长度不符合要求时抛出
      */
     public RC6Response encrypt(String key, String plaintext, String encoding) {
-        try {
-            validateKeyLength(UTF_8.encode(key));
-            RC6 rc6 = new RC6(UTF_8.encode(key));
-            byte[] encrypted = rc6.encrypt(UTF_8.encode(plaintext));
+        return encrypt(key, plaintext, encoding, null, null);
+    }
+
+    /**
+     * 按指定工作模式执行加密操作
+     * @param key 加密密钥
+     * @param plaintext 明文数据（UTF-8 编码）
+     * @param encoding 输出编码格式（hex/base64）
+     * @param mode 工作模式（ECB/CBC/CTR/CFB/OFB，为空时默认ECB）
+     * @param iv 初始向量（UTF-8 字符串，16字节）；非ECB模式下为空时随机生成并置于密文头部
+     * @return 加密结果响应
+     */
+    public RC6Response encrypt(String key, String plaintext, String encoding, String mode, String iv) {
+        try (SymmetricKeyCache.Lease<RC6> lease = acquire(key)) {
+            RC6 rc6 = lease.get();
+            byte[] data = UTF_8.encode(plaintext);
+            BlockCipherMode m = resolveMode(rc6, mode);
+            byte[] encrypted;
+            if (m.getMode() != BlockCipherMode.Mode.ECB) {
+                boolean randomIv = iv == null || iv.isEmpty();
+                byte[] ivBytes = randomIv ? randomIv() : UTF_8.encode(iv);
+                byte[] body = m.encrypt(ivBytes, data);
+                encrypted = randomIv ? concat(ivBytes, body) : body;
+            } else {
+                encrypted = m.encrypt(null, data);
+            }
 
             return new RC6Response(0, "加密成功", encodeResult(encrypted, encoding));
         } catch (Exception e) {
@@ -42,7 +78,7 @@ public class RC6Service {
     }
 
     /**
-     * 执行解密操作
+     * 执行解密操作（ECB模式）
      * @param key 解密密钥（需与加密密钥一致）
      * @param ciphertext 密文字符串（需与加密输出格式匹配）
      * @param encoding 输入编码格式（hex/base64）
@@ -50,11 +86,39 @@ public class RC6Service {
      * @throws IllegalArgumentException 输入数据格式错误时抛出
      */
     public RC6Response decrypt(String key, String ciphertext, String encoding) {
-        try {
-            validateKeyLength(UTF_8.encode(key));
-            RC6 rc6 = new RC6(UTF_8.encode(key));
+        return decrypt(key, ciphertext, encoding, null, null);
+    }
+
+    /**
+     * 按指定工作模式执行解密操作
+     * @param key 解密密钥（需与加密密钥一致）
+     * @param ciphertext 密文字符串（需与加密输出格式匹配）
+     * @param encoding 输入编码格式（hex/base64）
+     * @param mode 工作模式（ECB/CBC/CTR/CFB/OFB，为空时默认ECB）
+     * @param iv 初始向量；非ECB模式下为空时从密文头部读取
+     * @return 解密结果响应
+     */
+    public RC6Response decrypt(String key, String ciphertext, String encoding, String mode, String iv) {
+        try (SymmetricKeyCache.Lease<RC6> lease = acquire(key)) {
+            RC6 rc6 = lease.get();
             byte[] data = decodeInput(ciphertext, encoding);
-            byte[] decrypted = rc6.decrypt(data);
+            BlockCipherMode m = resolveMode(rc6, mode);
+            byte[] decrypted;
+            if (m.getMode() != BlockCipherMode.Mode.ECB) {
+                byte[] ivBytes;
+                if (iv == null || iv.isEmpty()) {
+                    if (data.length < IV_LENGTH) {
+                        throw new IllegalArgumentException("密文长度不足，缺少IV");
+                    }
+                    ivBytes = Arrays.copyOf(data, IV_LENGTH);
+                    data = Arrays.copyOfRange(data, IV_LENGTH, data.length);
+                } else {
+                    ivBytes = UTF_8.encode(iv);
+                }
+                decrypted = m.decrypt(ivBytes, data);
+            } else {
+                decrypted = m.decrypt(null, data);
+            }
 
             return new RC6Response(0, "解密成功", UTF_8.decode(decrypted));
         } catch (Exception e) {
@@ -62,6 +126,30 @@ public class RC6Service {
         }
     }
 
+    // 按名称构造工作模式，为空时默认ECB
+    private BlockCipherMode resolveMode(RC6 rc6, String mode) {
+        if (mode == null || mode.isEmpty()) {
+            return new BlockCipherMode(rc6, BlockCipherMode.Mode.ECB);
+        }
+        try {
+            return new BlockCipherMode(rc6, BlockCipherMode.Mode.valueOf(mode.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的工作模式: " + mode);
+        }
+    }
+
+    private byte[] randomIv() {
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        return iv;
+    }
+
+    private byte[] concat(byte[] a, byte[] b) {
+        byte[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
     private String encodeResult(byte[] data, String encoding) {
         if ("base64".equalsIgnoreCase(encoding)) {
             return Base64.encode(data);
@@ -91,6 +179,18 @@ public class RC6Service {
         return data;
     }
 
+    // 校验密钥后从缓存获取已完成密钥调度的RC6实例
+    private SymmetricKeyCache.Lease<RC6> acquire(String key) {
+        byte[] keyBytes = UTF_8.encode(key);
+        try {
+            validateKeyLength(keyBytes);
+            return keyCache.acquire("RC6", keyBytes, RC6::new, RC6::clearKeys);
+        } finally {
+            // 密钥字节只用于查找或构造缓存实例，取得租约后立即清零
+            Arrays.fill(keyBytes, (byte) 0);
+        }
+    }
+
     private void validateKeyLength(byte[] key) {
         if (key.length < 4 || key.length > 16) {
             throw new IllegalArgumentException("密钥长度需在4-16字节之间");
@@ -2,11 +2,20 @@ package com.example.cryptographic_library.service.symmetric;
 
 import com.example.cryptographic_library.algorithm.encode.Base64;
 import com.example.cryptographic_library.algorithm.encode.UTF_8;
+import com.example.cryptographic_library.algorithm.symmetric.BlockCipherMode;
+import com.example.cryptographic_library.algorithm.symmetric.MappedFileCipher;
 import com.example.cryptographic_library.algorithm.symmetric.SM4;
+import com.example.cryptographic_library.algorithm.symmetric.SM4_GCM;
 import com.example.cryptographic_library.dto.symmetric.SM4Response;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
 /**
  * SM4国密算法服务实现
  *
@@ -15,14 +24,29 @@ import org.springframework.stereotype.Service;
  *   <li>严格遵循国家密码管理局标准</li>
  *   <li>32轮非线性迭代结构</li>
  *   <li>自动PKCS7填充处理</li>
+ *   <li>支持ECB/CBC/CTR/CFB/OFB工作模式（{@link BlockCipherMode}），CTR大数据量时并行生成密钥流</li>
+ *   <li>GCM认证加密（RFC 8998，单次请求完成加密与完整性保护）</li>
+ *   <li>服务器本地文件的ECB/CTR加解密（内存映射，多线程处理，不受堆容量限制）</li>
  *   <li>支持Hex/Base64编码输出</li>
+ *   <li>扩展密钥经{@link SymmetricKeyCache}跨请求复用</li>
  * </ul>
  */
 @Service
 public class SM4Service {
 
+    private static final int IV_LENGTH = 16;
+    private static final int GCM_IV_LENGTH = 12;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    private SymmetricKeyCache keyCache;
+
+    @Autowired
+    private FileCryptoSettings fileSettings;
+
     /**
-     * 执行加密操作
+     * 执行加密操作（ECB模式）
      * @param key 加密密钥（必须16字节ASCII字符串）
      * @param plaintext 明文数据（UTF-8 编码）
      * @param encoding 输出编码格式（hex/base64）
@@ -30,10 +54,32 @@ public class SM4Service {
      * @throws IllegalArgumentException 密钥格式错误时抛出
      */
     public SM4Response encrypt(String key, String plaintext, String encoding) {
-        try {
-            validateKey(key);
-            SM4 sm4 = new SM4(UTF_8.encode(key));
-            byte[] encrypted = sm4.encrypt(UTF_8.encode(plaintext));
+        return encrypt(key, plaintext, encoding, null, null);
+    }
+
+    /**
+     * 按指定工作模式执行加密操作
+     * @param key 加密密钥
+     * @param plaintext 明文数据（UTF-8 编码）
+     * @param encoding 输出编码格式（hex/base64）
+     * @param mode 工作模式（ECB/CBC/CTR/CFB/OFB，为空时默认ECB）
+     * @param iv 初始向量/计数器（UTF-8 字符串，16字节）；非ECB模式下为空时随机生成并置于密文头部
+     * @return 加密结果响应
+     */
+    public SM4Response encrypt(String key, String plaintext, String encoding, String mode, String iv) {
+        try (SymmetricKeyCache.Lease<SM4> lease = acquire(key)) {
+            SM4 sm4 = lease.get();
+            byte[] data = UTF_8.encode(plaintext);
+            BlockCipherMode m = resolveMode(sm4, mode);
+            byte[] encrypted;
+            if (m.getMode() == BlockCipherMode.Mode.ECB) {
+                encrypted = m.encrypt(null, data);
+            } else {
+                boolean randomIv = iv == null || iv.isEmpty();
+                byte[] ivBytes = randomIv ? randomIv() : UTF_8.encode(iv);
+                byte[] body = m.encrypt(ivBytes, data);
+                encrypted = randomIv ? concat(ivBytes, body) : body;
+            }
 
             return new SM4Response(0, "加密成功", encodeResult(encrypted, encoding));
         } catch (Exception e) {
@@ -42,7 +88,7 @@ public class SM4Service {
     }
 
     /**
-     * 执行解密操作
+     * 执行解密操作（ECB模式）
      * @param key 解密密钥（需与加密密钥一致）
      * @param ciphertext 密文字符串（需与加密输出格式匹配）
      * @param encoding 输入编码格式（hex/base64）
@@ -50,11 +96,97 @@ public class SM4Service {
      * @throws IllegalArgumentException 输入数据格式错误时抛出
      */
     public SM4Response decrypt(String key, String ciphertext, String encoding) {
-        try {
-            validateKey(key);
-            SM4 sm4 = new SM4(UTF_8.encode(key));
+        return decrypt(key, ciphertext, encoding, null, null);
+    }
+
+    /**
+     * 按指定工作模式执行解密操作
+     * @param key 解密密钥（需与加密密钥一致）
+     * @param ciphertext 密文字符串（需与加密输出格式匹配）
+     * @param encoding 输入编码格式（hex/base64）
+     * @param mode 工作模式（ECB/CBC/CTR/CFB/OFB，为空时默认ECB）
+     * @param iv 初始向量/计数器；非ECB模式下为空时从密文头部读取
+     * @return 解密结果响应
+     */
+    public SM4Response decrypt(String key, String ciphertext, String encoding, String mode, String iv) {
+        try (SymmetricKeyCache.Lease<SM4> lease = acquire(key)) {
+            SM4 sm4 = lease.get();
+            byte[] data = decodeInput(ciphertext, encoding);
+            BlockCipherMode m = resolveMode(sm4, mode);
+            byte[] decrypted;
+            if (m.getMode() != BlockCipherMode.Mode.ECB) {
+                byte[] ivBytes;
+                if (iv == null || iv.isEmpty()) {
+                    if (data.length < IV_LENGTH) {
+                        throw new IllegalArgumentException("密文长度不足，缺少IV");
+                    }
+                    ivBytes = Arrays.copyOf(data, IV_LENGTH);
+                    data = Arrays.copyOfRange(data, IV_LENGTH, data.length);
+                } else {
+                    ivBytes = UTF_8.encode(iv);
+                }
+                decrypted = m.decrypt(ivBytes, data);
+            } else {
+                decrypted = m.decrypt(null, data);
+            }
+
+            return new SM4Response(0, "解密成功", UTF_8.decode(decrypted));
+        } catch (Exception e) {
+            return new SM4Response(-1, "解密失败: " + e.getMessage(), null);
+        }
+    }
+
+    /**
+     * 执行GCM认证加密
+     * @param key 加密密钥（必须16字节ASCII字符串）
+     * @param plaintext 明文数据（UTF-8 编码）
+     * @param aad 附加认证数据（UTF-8，可为空）
+     * @param iv 初始向量（UTF-8）；为空时随机生成12字节并置于密文头部
+     * @param encoding 输出编码格式（hex/base64）
+     * @return 加密结果响应，结果为 [IV ||] 密文 || 16字节标签
+     */
+    public SM4Response encryptGCM(String key, String plaintext, String aad, String iv, String encoding) {
+        try (SymmetricKeyCache.Lease<SM4_GCM> lease = acquireGcm(key)) {
+            SM4_GCM gcm = lease.get();
+            byte[] data = UTF_8.encode(plaintext);
+            byte[] encrypted;
+            if (iv == null || iv.isEmpty()) {
+                byte[] ivBytes = new byte[GCM_IV_LENGTH];
+                random.nextBytes(ivBytes);
+                encrypted = concat(ivBytes, gcm.encrypt(ivBytes, data, encodeAad(aad)));
+            } else {
+                encrypted = gcm.encrypt(UTF_8.encode(iv), data, encodeAad(aad));
+            }
+
+            return new SM4Response(0, "加密成功", encodeResult(encrypted, encoding));
+        } catch (Exception e) {
+            return new SM4Response(-1, "加密失败: " + e.getMessage(), null);
+        }
+    }
+
+    /**
+     * 执行GCM认证解密
+     * @param key 解密密钥（需与加密密钥一致）
+     * @param ciphertext 密文字符串（需与加密输出格式匹配）
+     * @param aad 附加认证数据（需与加密时一致）
+     * @param iv 初始向量；为空时从密文头部读取12字节
+     * @param encoding 输入编码格式（hex/base64）
+     * @return 解密结果响应；认证失败时返回错误
+     */
+    public SM4Response decryptGCM(String key, String ciphertext, String aad, String iv, String encoding) {
+        try (SymmetricKeyCache.Lease<SM4_GCM> lease = acquireGcm(key)) {
+            SM4_GCM gcm = lease.get();
             byte[] data = decodeInput(ciphertext, encoding);
-            byte[] decrypted = sm4.decrypt(data);
+            byte[] decrypted;
+            if (iv == null || iv.isEmpty()) {
+                if (data.length < GCM_IV_LENGTH) {
+                    throw new IllegalArgumentException("密文长度不足，缺少IV");
+                }
+                byte[] ivBytes = Arrays.copyOf(data, GCM_IV_LENGTH);
+                decrypted = gcm.decrypt(ivBytes, Arrays.copyOfRange(data, GCM_IV_LENGTH, data.length), encodeAad(aad));
+            } else {
+                decrypted = gcm.decrypt(UTF_8.encode(iv), data, encodeAad(aad));
+            }
 
             return new SM4Response(0, "解密成功", UTF_8.decode(decrypted));
         } catch (Exception e) {
@@ -62,6 +194,100 @@ public class SM4Service {
         }
     }
 
+    /**
+     * 加密服务器本地文件，输入与输出经内存映射分块并行处理
+     * @param key 加密密钥（必须16字节ASCII字符串）
+     * @param inputPath 明文文件路径（相对crypto.file.base-dir）
+     * @param outputPath 密文文件路径（相对crypto.file.base-dir，存在时覆盖）
+     * @param mode 工作模式（ECB/CTR，为空时默认ECB）
+     * @param iv 初始计数器（16字节）；CTR模式下为空时随机生成并写入密文文件头部
+     * @return 加密结果响应，结果为写入的字节数
+     */
+    public SM4Response encryptFile(String key, String inputPath, String outputPath, String mode, String iv) {
+        try (SymmetricKeyCache.Lease<SM4> lease = acquire(key)) {
+            BlockCipherMode.Mode m = resolveMode(lease.get(), mode).getMode();
+            boolean randomIv = m != BlockCipherMode.Mode.ECB && (iv == null || iv.isEmpty());
+            byte[] ivBytes = m == BlockCipherMode.Mode.ECB ? null : randomIv ? randomIv() : UTF_8.encode(iv);
+            long written = new MappedFileCipher(lease.get()).encrypt(fileSettings.resolve(inputPath),
+                    fileSettings.resolve(outputPath), m, ivBytes, randomIv);
+            return new SM4Response(0, "加密成功", String.valueOf(written));
+        } catch (Exception e) {
+            return new SM4Response(-1, "加密失败: " + e.getMessage(), null);
+        }
+    }
+
+    /**
+     * 解密服务器本地文件
+     * @param key 解密密钥（需与加密密钥一致）
+     * @param inputPath 密文文件路径（相对crypto.file.base-dir）
+     * @param outputPath 明文文件路径（相对crypto.file.base-dir，存在时覆盖）
+     * @param mode 工作模式（ECB/CTR，为空时默认ECB）
+     * @param iv 初始计数器；CTR模式下为空时从密文文件头部读取
+     * @return 解密结果响应，结果为写入的字节数
+     */
+    public SM4Response decryptFile(String key, String inputPath, String outputPath, String mode, String iv) {
+        try (SymmetricKeyCache.Lease<SM4> lease = acquire(key)) {
+            BlockCipherMode.Mode m = resolveMode(lease.get(), mode).getMode();
+            byte[] ivBytes = m == BlockCipherMode.Mode.ECB || iv == null || iv.isEmpty() ? null : UTF_8.encode(iv);
+            long written = new MappedFileCipher(lease.get()).decrypt(fileSettings.resolve(inputPath),
+                    fileSettings.resolve(outputPath), m, ivBytes);
+            return new SM4Response(0, "解密成功", String.valueOf(written));
+        } catch (Exception e) {
+            return new SM4Response(-1, "解密失败: " + e.getMessage(), null);
+        }
+    }
+
+    private byte[] encodeAad(String aad) {
+        return aad == null || aad.isEmpty() ? null : UTF_8.encode(aad);
+    }
+
+    // 按名称构造工作模式，为空时默认ECB
+    private BlockCipherMode resolveMode(SM4 sm4, String mode) {
+        if (mode == null || mode.isEmpty()) {
+            return new BlockCipherMode(sm4, BlockCipherMode.Mode.ECB);
+        }
+        try {
+            return new BlockCipherMode(sm4, BlockCipherMode.Mode.valueOf(mode.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的工作模式: " + mode);
+        }
+    }
+
+    private byte[] randomIv() {
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        return iv;
+    }
+
+    private byte[] concat(byte[] a, byte[] b) {
+        byte[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    // 校验密钥后从缓存获取已扩展轮密钥的SM4实例
+    private SymmetricKeyCache.Lease<SM4> acquire(String key) {
+        validateKey(key);
+        return acquire("SM4", key, SM4::new, SM4::clearKeys);
+    }
+
+    // GCM实例另行缓存，哈希子密钥表随之复用
+    private SymmetricKeyCache.Lease<SM4_GCM> acquireGcm(String key) {
+        validateKey(key);
+        return acquire("SM4-GCM", key, SM4_GCM::new, SM4_GCM::clearKeys);
+    }
+
+    // 编码后的密钥字节只用于查找或构造缓存实例，取得租约后立即清零
+    private <T> SymmetricKeyCache.Lease<T> acquire(String algorithm, String key,
+                                                  Function<byte[], T> factory, Consumer<T> destroyer) {
+        byte[] keyBytes = UTF_8.encode(key);
+        try {
+            return keyCache.acquire(algorithm, keyBytes, factory, destroyer);
+        } finally {
+            Arrays.fill(keyBytes, (byte) 0);
+        }
+    }
+
     private void validateKey(String key) {
         if (key.length() != 16) {
             throw new IllegalArgumentException("密钥必须为16个字符");
@@ -0,0 +1,243 @@
+package com.example.cryptographic_library.service.symmetric;
+
+import com.example.cryptographic_library.algorithm.hash.SHA256;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 对称密码扩展密钥缓存
+ *
+ * <p>AES/SM4/RC6服务共用，缓存已完成密钥扩展的密码实例，避免相同密钥的每次请求都重新扩展轮密钥。
+ * <ul>
+ *   <li>以 SHA-256(算法名 || 0x00 || 密钥) 作为缓存键，缓存中不保存原始密钥</li>
+ *   <li>容量有界，按LRU淘汰；条目超过TTL后视为失效</li>
+ *   <li>淘汰的实例在最后一个使用者归还后调用clearKeys()擦除轮密钥</li>
+ *   <li>提供命中、未命中与淘汰计数</li>
+ * </ul>
+ *
+ * <p>使用方式：
+ * <pre>
+ * try (SymmetricKeyCache.Lease&lt;AES&gt; lease = keyCache.acquire("AES", key, AES::new, AES::clearKeys)) {
+ *     lease.get().encrypt(data);
+ * }
+ * </pre>
+ */
+@Component
+public class SymmetricKeyCache {
+    private final int maxEntries;
+    private final long ttlNanos;
+    // accessOrder=true 使迭代顺序即LRU顺序
+    private final LinkedHashMap<ByteBuffer, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public SymmetricKeyCache(@Value("${crypto.key-cache.max-entries:256}") int maxEntries,
+                             @Value("${crypto.key-cache.ttl-seconds:600}") long ttlSeconds) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("缓存容量必须大于0");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+    }
+
+    /**
+     * 获取密钥对应的密码实例，未命中时用factory创建并放入缓存
+     * @param algorithm 算法名称，用于区分不同算法的同一密钥
+     * @param key 原始密钥字节
+     * @param factory 由密钥构造密码实例（密钥非法时应抛出IllegalArgumentException）
+     * @param destroyer 擦除实例中轮密钥的方法，通常为clearKeys
+     * @return 使用完毕后必须关闭的租约
+     */
+    public <T> Lease<T> acquire(String algorithm, byte[] key, Function<byte[], T> factory, Consumer<T> destroyer) {
+        ByteBuffer id = digest(algorithm, key);
+        long now = System.nanoTime();
+
+        synchronized (entries) {
+            Entry entry = entries.get(id);
+            if (entry != null && !entry.isExpired(now)) {
+                hits.increment();
+                entry.retain();
+                return new Lease<>(entry);
+            }
+            if (entry != null) {
+                entries.remove(id);
+                retire(entry);
+            }
+        }
+
+        // 密钥扩展放在锁外执行
+        misses.increment();
+        T cipher = factory.apply(key);
+        Entry created = new Entry(cipher, () -> destroyer.accept(cipher), now);
+
+        synchronized (entries) {
+            Entry existing = entries.get(id);
+            if (existing != null && !existing.isExpired(now)) {
+                // 并发未命中时以先放入者为准
+                created.destroy();
+                existing.retain();
+                return new Lease<>(existing);
+            }
+            if (existing != null) {
+                entries.remove(id);
+                retire(existing);
+            }
+            created.retain();
+            entries.put(id, created);
+            evictOverflow(now);
+        }
+        return new Lease<>(created);
+    }
+
+    // 清除过期条目，并按LRU顺序淘汰超出容量的条目（调用方持有锁）
+    private void evictOverflow(long now) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entries.size() > maxEntries || entry.isExpired(now)) {
+                it.remove();
+                retire(entry);
+            }
+        }
+    }
+
+    private void retire(Entry entry) {
+        evictions.increment();
+        entry.retire();
+    }
+
+    /**
+     * 清空缓存并擦除所有未被占用的实例
+     */
+    @PreDestroy
+    public void clear() {
+        List<Entry> removed;
+        synchronized (entries) {
+            removed = new ArrayList<>(entries.values());
+            entries.clear();
+        }
+        for (Entry entry : removed) {
+            entry.retire();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static ByteBuffer digest(String algorithm, byte[] key) {
+        byte[] name = algorithm.getBytes(StandardCharsets.UTF_8);
+        byte[] input = new byte[name.length + 1 + key.length];
+        System.arraycopy(name, 0, input, 0, name.length);
+        System.arraycopy(key, 0, input, name.length + 1, key.length);
+        try {
+            return ByteBuffer.wrap(SHA256.hash(input));
+        } finally {
+            // 拼接数组含原始密钥
+            Arrays.fill(input, (byte) 0);
+        }
+    }
+
+    /**
+     * 缓存条目：引用计数归零且已被淘汰时擦除密钥
+     */
+    private final class Entry {
+        private final Object cipher;
+        private final Runnable destroyer;
+        private final long createdAt;
+        private int refs;
+        private boolean retired;
+        private boolean destroyed;
+
+        Entry(Object cipher, Runnable destroyer, long createdAt) {
+            this.cipher = cipher;
+            this.destroyer = destroyer;
+            this.createdAt = createdAt;
+        }
+
+        boolean isExpired(long now) {
+            return ttlNanos > 0 && now - createdAt > ttlNanos;
+        }
+
+        synchronized void retain() {
+            refs++;
+        }
+
+        synchronized void release() {
+            if (--refs == 0 && retired) {
+                destroy();
+            }
+        }
+
+        synchronized void retire() {
+            retired = true;
+            if (refs == 0) {
+                destroy();
+            }
+        }
+
+        synchronized void destroy() {
+            if (!destroyed) {
+                destroyed = true;
+                destroyer.run();
+            }
+        }
+    }
+
+    /**
+     * 缓存实例的使用租约，关闭后归还
+     */
+    public static final class Lease<T> implements AutoCloseable {
+        private final Entry entry;
+        private boolean closed;
+
+        private Lease(Entry entry) {
+            this.entry = entry;
+        }
+
+        @SuppressWarnings("unchecked")
+        public T get() {
+            if (closed) {
+                throw new IllegalStateException("租约已关闭");
+            }
+            return (T) entry.cipher;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                entry.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.cryptographic_library.algorithm.hash;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MultiBufferSHA256Test {
+
+	// 填充边界附近的长度，0x80与长度字段分别落在同一分组和下一分组
+	@Test
+	void paddingEdgeLengthsMatchSingleBuffer() {
+		Random random = new Random(23);
+		int[] lengths = {0, 1, 55, 56, 57, 63, 64, 65, 119, 120, 127, 128};
+		byte[][] messages = new byte[lengths.length * 3][];
+		for (int i = 0; i < messages.length; i++) {
+			messages[i] = new byte[lengths[i % lengths.length]];
+			random.nextBytes(messages[i]);
+		}
+		assertMatchesSingleBuffer(messages);
+	}
+
+	// 长短消息混合：长消息优先派发后，各摘要仍须对应原下标
+	@Test
+	void mixedLengthsMatchSingleBuffer() {
+		Random random = new Random(230);
+		byte[][] messages = new byte[200][];
+		for (int i = 0; i < messages.length; i++) {
+			messages[i] = new byte[i % 17 == 0 ? 5000 + random.nextInt(5000) : random.nextInt(200)];
+			random.nextBytes(messages[i]);
+		}
+		assertMatchesSingleBuffer(messages);
+	}
+
+	// 条数少于通道数时逐条计算
+	@Test
+	void fewMessagesMatchSingleBuffer() {
+		assertMatchesSingleBuffer(new byte[][]{{1, 2, 3}});
+		assertEquals(0, MultiBufferSHA256.hash(new byte[0][]).length);
+	}
+
+	@Test
+	void rejectsNullMessage() {
+		assertThrows(IllegalArgumentException.class,
+				() -> MultiBufferSHA256.hash(new byte[][]{new byte[1], null}));
+	}
+
+	private static void assertMatchesSingleBuffer(byte[][] messages) {
+		byte[][] digests = MultiBufferSHA256.hash(messages);
+		assertEquals(messages.length, digests.length);
+		for (int i = 0; i < messages.length; i++) {
+			assertArrayEquals(SHA256.hash(messages[i]), digests[i], "消息" + i);
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package com.example.cryptographic_library.algorithm.hash;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+// 向量取自FIPS 180-4示例
+class SHA256Test {
+
+	private static final HexFormat HEX = HexFormat.of();
+
+	@Test
+	void knownAnswers() {
+		assertHash("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", ascii("abc"));
+		assertHash("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", new byte[0]);
+		assertHash("248d6a61d20638b8e5c026930c3e6039a33ce45964ff2167f6ecedd419db06c1",
+				ascii("abcdbcdecdefdefgefghfghighijhijkijkljklmklmnlmnomnopnopq"));
+		byte[] million = new byte[1_000_000];
+		Arrays.fill(million, (byte) 'a');
+		assertHash("cdc76e5c9914fb9281a1c7e284d73e67f1809a48a497200e046d39ccc7112cd0", million);
+	}
+
+	// 任意切分的流式输入应与一次性输入一致，覆盖填充边界附近的长度
+	@Test
+	void streamingMatchesOneShot() throws Exception {
+		Random random = new Random(22);
+		MessageDigest jdk = MessageDigest.getInstance("SHA-256");
+		for (int length : new int[]{1, 55, 56, 63, 64, 65, 119, 120, 128, 1000, 70_000}) {
+			byte[] data = new byte[length];
+			random.nextBytes(data);
+			byte[] expected = jdk.digest(data);
+			assertArrayEquals(expected, SHA256.hash(data));
+
+			SHA256 digest = new SHA256();
+			int off = 0;
+			while (off < length) {
+				int n = Math.min(length - off, random.nextInt(100));
+				digest.update(data, off, n);
+				off += n;
+			}
+			assertArrayEquals(expected, digest.digest());
+
+			digest.update(ByteBuffer.wrap(data));
+			assertArrayEquals(expected, digest.digest());
+		}
+	}
+
+	// 副本与原实例互不影响
+	@Test
+	void copyIsIndependent() {
+		SHA256 digest = new SHA256();
+		digest.update(ascii("ab"));
+		SHA256 copy = digest.copy();
+		digest.update(ascii("c"));
+		copy.update(ascii("x"));
+		assertArrayEquals(SHA256.hash(ascii("abc")), digest.digest());
+		assertArrayEquals(SHA256.hash(ascii("abx")), copy.digest());
+	}
+
+	private static void assertHash(String expected, byte[] message) {
+		assertArrayEquals(HEX.parseHex(expected), SHA256.hash(message));
+	}
+
+	private static byte[] ascii(String s) {
+		return s.getBytes(StandardCharsets.US_ASCII);
+	}
+}
@@ -0,0 +1,59 @@
+package com.example.cryptographic_library.algorithm.hash;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+// 向量取自FIPS 202示例（NIST CSRC）
+class SHA3_512Test {
+
+	private static final HexFormat HEX = HexFormat.of();
+
+	@Test
+	void knownAnswers() {
+		assertHash("b751850b1a57168a5693cd924b6b096e08f621827444f70d884f5d0240d2712e"
+				+ "10e116e9192af3c91a7ec57647e3934057340b4cf408d5a56592f8274eec53f0",
+				"abc".getBytes(StandardCharsets.US_ASCII));
+		assertHash("a69f73cca23a9ac5c8b567dc185a756e97c982164fe25859e0d1dcc1475c80a6"
+				+ "15b2123af1f5f94c11e3e9402c3ac558f500199d95b6d3e301758586281dcd26",
+				new byte[0]);
+		// 1600位消息，每字节为0xA3
+		byte[] a3 = new byte[200];
+		Arrays.fill(a3, (byte) 0xA3);
+		assertHash("e76dfad22084a8b1467fcf2ffa58361bec7628edf5f3fdc0e4805dc48caeeca8"
+				+ "1b7c13c30adf52a3659584739a2df46be589c51ca1a4a8416df6545a1ce8ba00",
+				a3);
+	}
+
+	// 覆盖速率（72字节）边界附近的长度与任意切分的流式输入
+	@Test
+	void streamingMatchesJdk() throws Exception {
+		Random random = new Random(25);
+		MessageDigest jdk = MessageDigest.getInstance("SHA3-512");
+		for (int length : new int[]{1, 71, 72, 73, 143, 144, 145, 1000, 10_000}) {
+			byte[] data = new byte[length];
+			random.nextBytes(data);
+			byte[] expected = jdk.digest(data);
+			assertArrayEquals(expected, SHA3_512.hash(data));
+
+			SHA3_512 digest = new SHA3_512();
+			int off = 0;
+			while (off < length) {
+				int n = Math.min(length - off, random.nextInt(150));
+				digest.update(data, off, n);
+				off += n;
+			}
+			assertArrayEquals(expected, digest.digest());
+		}
+	}
+
+	private static void assertHash(String expected, byte[] message) {
+		assertArrayEquals(HEX.parseHex(expected), SHA3_512.hash(message));
+	}
+}
@@ -0,0 +1,94 @@
+package com.example.cryptographic_library.algorithm.hash;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class TreeSHA256Test {
+
+	@Test
+	void emptyInput() throws Exception {
+		assertMatchesReference(new byte[0]);
+	}
+
+	@Test
+	void singleLeaf() throws Exception {
+		assertMatchesReference(random(1000));
+		assertMatchesReference(random(TreeSHA256.LEAF_SIZE));
+	}
+
+	// 叶子数不超过FAN_OUT时根直接覆盖所有叶子
+	@Test
+	void oneLevel() throws Exception {
+		assertMatchesReference(random(TreeSHA256.LEAF_SIZE + 1));
+		assertMatchesReference(random(TreeSHA256.FAN_OUT * TreeSHA256.LEAF_SIZE));
+	}
+
+	// 超过FAN_OUT个叶子时出现内部节点
+	@Test
+	void internalNodes() throws Exception {
+		assertMatchesReference(random((TreeSHA256.FAN_OUT + 1) * TreeSHA256.LEAF_SIZE + 5));
+	}
+
+	@Test
+	void fileMatchesMemory(@TempDir Path dir) throws Exception {
+		for (int length : new int[]{0, 12345, 3 * TreeSHA256.LEAF_SIZE + 7}) {
+			byte[] data = random(length);
+			Path file = dir.resolve("data-" + length);
+			Files.write(file, data);
+			assertArrayEquals(TreeSHA256.hash(data), TreeSHA256.hash(file));
+		}
+	}
+
+	private static void assertMatchesReference(byte[] data) throws Exception {
+		assertArrayEquals(reference(data), TreeSHA256.hash(data));
+	}
+
+	// 按类文档中的规则，用JDK的SHA-256逐层重新计算
+	private static byte[] reference(byte[] data) throws Exception {
+		MessageDigest sha = MessageDigest.getInstance("SHA-256");
+		List<byte[]> level = new ArrayList<>();
+		int off = 0;
+		do {
+			int n = Math.min(TreeSHA256.LEAF_SIZE, data.length - off);
+			sha.update(TreeSHA256.LEAF_PREFIX);
+			sha.update(data, off, n);
+			level.add(sha.digest());
+			off += n;
+		} while (off < data.length);
+		while (level.size() > TreeSHA256.FAN_OUT) {
+			List<byte[]> next = new ArrayList<>();
+			for (int i = 0; i < level.size(); i += TreeSHA256.FAN_OUT) {
+				sha.update(TreeSHA256.NODE_PREFIX);
+				for (byte[] child : level.subList(i, Math.min(level.size(), i + TreeSHA256.FAN_OUT))) {
+					sha.update(child);
+				}
+				next.add(sha.digest());
+			}
+			level = next;
+		}
+		sha.update(TreeSHA256.ROOT_PREFIX);
+		for (byte[] node : level) {
+			sha.update(node);
+		}
+		long length = data.length;
+		for (int i = 0; i < 8; i++) {
+			sha.update((byte) (length >>> (56 - 8 * i)));
+		}
+		return sha.digest();
+	}
+
+	private static byte[] random(int length) {
+		byte[] data = new byte[length];
+		new Random(length).nextBytes(data);
+		return data;
+	}
+}
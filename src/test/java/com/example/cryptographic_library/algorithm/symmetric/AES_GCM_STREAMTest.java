@@ -0,0 +1,150 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AES_GCM_STREAMTest {
+
+	private static final int CHUNK = 1000;
+	private static final int SEALED_CHUNK = CHUNK + GCM.TAG_LENGTH;
+
+	@Test
+	void roundTrip() {
+		AES_GCM_STREAM stream = new AES_GCM_STREAM(key(32), CHUNK);
+		for (int length : new int[]{0, 1, CHUNK - 1, CHUNK, CHUNK + 1, 50 * CHUNK + 17}) {
+			byte[] plaintext = random(length);
+			byte[] ciphertext = stream.encrypt(plaintext);
+			assertEquals(stream.ciphertextLength(length), ciphertext.length);
+			assertArrayEquals(plaintext, stream.decrypt(ciphertext));
+		}
+	}
+
+	// 解密以头部记录的块长度为准
+	@Test
+	void decryptUsesHeaderChunkSize() {
+		byte[] plaintext = random(10_000);
+		byte[] ciphertext = new AES_GCM_STREAM(key(16), 333).encrypt(plaintext);
+		assertArrayEquals(plaintext, new AES_GCM_STREAM(key(16)).decrypt(ciphertext));
+	}
+
+	@Test
+	void decryptRangeFromBytes() {
+		AES_GCM_STREAM stream = new AES_GCM_STREAM(key(24), CHUNK);
+		byte[] plaintext = random(20 * CHUNK + 5);
+		byte[] ciphertext = stream.encrypt(plaintext);
+		long[][] ranges = {{0, 1}, {999, 2}, {CHUNK, CHUNK}, {1234, 5678}, {plaintext.length - 3, 10}, {0, plaintext.length}};
+		for (long[] r : ranges) {
+			assertArrayEquals(slice(plaintext, r[0], (int) r[1]), stream.decryptRange(ciphertext, r[0], (int) r[1]));
+		}
+		assertThrows(IllegalArgumentException.class, () -> stream.decryptRange(ciphertext, -1, 1));
+	}
+
+	@Test
+	void decryptRangeFromFile(@TempDir Path dir) throws Exception {
+		AES_GCM_STREAM stream = new AES_GCM_STREAM(key(32), CHUNK);
+		byte[] plaintext = random(7 * CHUNK + 300);
+		Path file = dir.resolve("data.cls");
+		Files.write(file, stream.encrypt(plaintext));
+		try (FileChannel channel = FileChannel.open(file)) {
+			assertArrayEquals(slice(plaintext, 1500, 3000), stream.decryptRange(channel, 1500, 3000));
+			assertArrayEquals(slice(plaintext, 7 * CHUNK, 1000), stream.decryptRange(channel, 7 * CHUNK, 1000));
+			assertArrayEquals(plaintext, stream.decryptRange(channel, 0, plaintext.length));
+		}
+	}
+
+	@Test
+	void rejectsTamperedChunk() {
+		AES_GCM_STREAM stream = new AES_GCM_STREAM(key(16), CHUNK);
+		byte[] ciphertext = stream.encrypt(random(5 * CHUNK));
+		ciphertext[AES_GCM_STREAM.HEADER_LENGTH + 2 * SEALED_CHUNK + 10] ^= 1;
+		assertThrows(IllegalArgumentException.class, () -> stream.decrypt(ciphertext));
+		assertThrows(IllegalArgumentException.class, () -> stream.decryptRange(ciphertext, 2 * CHUNK, 1));
+		// 未涉及被篡改块的区间仍可解密
+		stream.decryptRange(ciphertext, 0, CHUNK);
+	}
+
+	@Test
+	void rejectsTamperedHeader() {
+		AES_GCM_STREAM stream = new AES_GCM_STREAM(key(16), CHUNK);
+		byte[] ciphertext = stream.encrypt(random(3 * CHUNK));
+		ciphertext[10] ^= 1;
+		assertThrows(IllegalArgumentException.class, () -> stream.decrypt(ciphertext));
+	}
+
+	@Test
+	void rejectsReorderedChunks() {
+		AES_GCM_STREAM stream = new AES_GCM_STREAM(key(16), CHUNK);
+		byte[] ciphertext = stream.encrypt(random(4 * CHUNK));
+		int a = AES_GCM_STREAM.HEADER_LENGTH;
+		int b = a + SEALED_CHUNK;
+		byte[] first = Arrays.copyOfRange(ciphertext, a, b);
+		System.arraycopy(ciphertext, b, ciphertext, a, SEALED_CHUNK);
+		System.arraycopy(first, 0, ciphertext, b, SEALED_CHUNK);
+		assertThrows(IllegalArgumentException.class, () -> stream.decrypt(ciphertext));
+	}
+
+	// 在块边界截断后，新的末块没有末块标志
+	@Test
+	void rejectsTruncation() {
+		AES_GCM_STREAM stream = new AES_GCM_STREAM(key(16), CHUNK);
+		byte[] ciphertext = stream.encrypt(random(4 * CHUNK));
+		byte[] truncated = Arrays.copyOf(ciphertext, ciphertext.length - SEALED_CHUNK);
+		assertThrows(IllegalArgumentException.class, () -> stream.decrypt(truncated));
+		byte[] partial = Arrays.copyOf(ciphertext, ciphertext.length - 5);
+		assertThrows(IllegalArgumentException.class, () -> stream.decrypt(partial));
+		assertThrows(IllegalArgumentException.class,
+				() -> stream.decrypt(Arrays.copyOf(ciphertext, AES_GCM_STREAM.HEADER_LENGTH - 1)));
+	}
+
+	// 头部声明的块长度超过上限时在分配缓冲区前拒绝
+	@Test
+	void rejectsOversizedHeaderChunkSize() {
+		AES_GCM_STREAM stream = new AES_GCM_STREAM(key(16), CHUNK);
+		byte[] ciphertext = stream.encrypt(random(100));
+		for (int size : new int[]{0, -1, AES_GCM_STREAM.MAX_CHUNK_SIZE + 1, Integer.MAX_VALUE}) {
+			ciphertext[4] = (byte) (size >>> 24);
+			ciphertext[5] = (byte) (size >>> 16);
+			ciphertext[6] = (byte) (size >>> 8);
+			ciphertext[7] = (byte) size;
+			assertThrows(IllegalArgumentException.class, () -> stream.decrypt(ciphertext));
+		}
+		assertThrows(IllegalArgumentException.class,
+				() -> new AES_GCM_STREAM(key(16), AES_GCM_STREAM.MAX_CHUNK_SIZE + 1));
+	}
+
+	@Test
+	void rejectsWrongKey() {
+		byte[] ciphertext = new AES_GCM_STREAM(key(16), CHUNK).encrypt(random(100));
+		byte[] other = key(16);
+		other[0] ^= 1;
+		assertThrows(IllegalArgumentException.class, () -> new AES_GCM_STREAM(other, CHUNK).decrypt(ciphertext));
+	}
+
+	private static byte[] slice(byte[] data, long offset, int length) {
+		return Arrays.copyOfRange(data, (int) offset, (int) Math.min(data.length, offset + length));
+	}
+
+	private static byte[] key(int length) {
+		byte[] key = new byte[length];
+		for (int i = 0; i < length; i++) {
+			key[i] = (byte) i;
+		}
+		return key;
+	}
+
+	private static byte[] random(int length) {
+		byte[] data = new byte[length];
+		new Random(length).nextBytes(data);
+		return data;
+	}
+}
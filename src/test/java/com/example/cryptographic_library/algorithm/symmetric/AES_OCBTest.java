@@ -0,0 +1,76 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// 向量取自RFC 7253附录A
+class AES_OCBTest {
+
+	private static final HexFormat HEX = HexFormat.of();
+	private static final byte[] KEY = HEX.parseHex("000102030405060708090a0b0c0d0e0f");
+
+	@Test
+	void sampleResults() {
+		assertVector("bbaa99887766554433221100", "", "",
+				"785407bfffc8ad9edcc5520ac9111ee6");
+		assertVector("bbaa99887766554433221101", "0001020304050607", "0001020304050607",
+				"6820b3657b6f615a5725bda0d3b4eb3a257c9af1f8f03009");
+		assertVector("bbaa99887766554433221102", "0001020304050607", "",
+				"81017f8203f081277152fade694a0a00");
+		assertVector("bbaa99887766554433221103", "", "0001020304050607",
+				"45dd69f8f5aae72414054cd1f35d82760b2cd00d2f99bfa9");
+		assertVector("bbaa99887766554433221104", "000102030405060708090a0b0c0d0e0f",
+				"000102030405060708090a0b0c0d0e0f",
+				"571d535b60b277188be5147170a9a22c3ad7a4ff3835b8c5701c1ccec8fc3358");
+	}
+
+	// 附录A的迭代测试：K = 0^120 || 128，逐步拼接128组不同长度的加密结果后再作为AAD计算标签
+	@Test
+	void iteratedTest() {
+		byte[] key = new byte[16];
+		key[15] = (byte) 128;
+		AES_OCB ocb = new AES_OCB(key);
+		ByteArrayOutputStream c = new ByteArrayOutputStream();
+		for (int i = 0; i < 128; i++) {
+			byte[] s = new byte[i];
+			c.writeBytes(ocb.encrypt(nonce(3 * i + 1), s, s));
+			c.writeBytes(ocb.encrypt(nonce(3 * i + 2), s, null));
+			c.writeBytes(ocb.encrypt(nonce(3 * i + 3), new byte[0], s));
+		}
+		assertArrayEquals(HEX.parseHex("67e944d23256c5e0b6c61fa22fdf1ea2"),
+				ocb.encrypt(nonce(385), new byte[0], c.toByteArray()));
+	}
+
+	@Test
+	void rejectsTamperedCiphertext() {
+		AES_OCB ocb = new AES_OCB(KEY);
+		byte[] nonce = HEX.parseHex("bbaa99887766554433221104");
+		byte[] sealed = ocb.encrypt(nonce, new byte[100], null);
+		sealed[50] ^= 1;
+		assertThrows(IllegalArgumentException.class, () -> ocb.decrypt(nonce, sealed, null));
+	}
+
+	private static void assertVector(String nonce, String aad, String plaintext, String ciphertext) {
+		AES_OCB ocb = new AES_OCB(KEY);
+		byte[] n = HEX.parseHex(nonce);
+		byte[] a = aad.isEmpty() ? null : HEX.parseHex(aad);
+		byte[] c = HEX.parseHex(ciphertext);
+		assertArrayEquals(c, ocb.encrypt(n, HEX.parseHex(plaintext), a));
+		assertArrayEquals(HEX.parseHex(plaintext), ocb.decrypt(n, c, a));
+	}
+
+	// 96位大端整数
+	private static byte[] nonce(int value) {
+		byte[] n = new byte[12];
+		n[8] = (byte) (value >>> 24);
+		n[9] = (byte) (value >>> 16);
+		n[10] = (byte) (value >>> 8);
+		n[11] = (byte) value;
+		return n;
+	}
+}
@@ -0,0 +1,131 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlockCipherStreamTest {
+
+	private static final int[] LENGTHS = {0, 1, 15, 16, 17, 8191, 8192, 8193, 100_000};
+
+	// 流式输出与一次性的BlockCipherMode一致，覆盖各工作模式与分组长度
+	@Test
+	void streamsMatchBlockCipherMode() throws IOException {
+		Random random = new Random(20);
+		BlockCipher[] ciphers = {new AES(key(32)), new SM4(key(16)), new RC6(key(16))};
+		for (BlockCipher cipher : ciphers) {
+			byte[] iv = new byte[cipher.getBlockSize()];
+			random.nextBytes(iv);
+			for (BlockCipherMode.Mode mode : BlockCipherMode.Mode.values()) {
+				BlockCipherMode reference = new BlockCipherMode(cipher, mode);
+				for (int length : LENGTHS) {
+					byte[] plaintext = new byte[length];
+					random.nextBytes(plaintext);
+					byte[] expected = reference.encrypt(iv, plaintext);
+
+					ByteArrayOutputStream sink = new ByteArrayOutputStream();
+					try (OutputStream out = new BlockCipherOutputStream(sink, cipher, mode, iv, true)) {
+						writeInPieces(out, plaintext, random);
+					}
+					assertArrayEquals(expected, sink.toByteArray(), mode + " 写入 " + length);
+
+					InputStream in = new BlockCipherInputStream(new ByteArrayInputStream(expected), cipher, mode, iv, false);
+					assertArrayEquals(plaintext, readInPieces(in, random), mode + " 读取 " + length);
+				}
+			}
+		}
+	}
+
+	// 填充无效的密文在读取和关闭时都报告为IOException，原始异常作为cause
+	@Test
+	void invalidCiphertextRaisesIOException() throws IOException {
+		AES aes = new AES(key(16));
+		byte[] iv = new byte[16];
+		byte[] ciphertext = new BlockCipherMode(aes, BlockCipherMode.Mode.CBC).encrypt(iv, new byte[40]);
+		ciphertext[ciphertext.length - 1] ^= 1;
+
+		InputStream in = new BlockCipherInputStream(new ByteArrayInputStream(ciphertext), aes,
+				BlockCipherMode.Mode.CBC, iv, false);
+		IOException e = assertThrows(IOException.class, () -> in.readAllBytes());
+		assertTrue(e.getCause() instanceof IllegalArgumentException);
+
+		OutputStream out = new BlockCipherOutputStream(new ByteArrayOutputStream(), aes,
+				BlockCipherMode.Mode.CBC, iv, false);
+		out.write(ciphertext);
+		e = assertThrows(IOException.class, out::close);
+		assertTrue(e.getCause() instanceof IllegalArgumentException);
+
+		// 长度不是分组整数倍
+		OutputStream truncated = new BlockCipherOutputStream(new ByteArrayOutputStream(), aes,
+				BlockCipherMode.Mode.ECB, iv, false);
+		truncated.write(new byte[17]);
+		assertThrows(IOException.class, truncated::close);
+	}
+
+	@Test
+	void closedStreamsRejectIo() throws IOException {
+		AES aes = new AES(key(16));
+		byte[] iv = new byte[16];
+		InputStream in = new BlockCipherInputStream(new ByteArrayInputStream(new byte[32]), aes,
+				BlockCipherMode.Mode.CTR, iv, false);
+		in.close();
+		assertThrows(IOException.class, () -> in.read());
+		OutputStream out = new BlockCipherOutputStream(new ByteArrayOutputStream(), aes,
+				BlockCipherMode.Mode.CTR, iv, true);
+		out.close();
+		assertThrows(IOException.class, () -> out.write(1));
+	}
+
+	private static void writeInPieces(OutputStream out, byte[] data, Random random) throws IOException {
+		int off = 0;
+		while (off < data.length) {
+			if (random.nextInt(10) == 0) {
+				out.write(data[off++]);
+				continue;
+			}
+			int n = Math.min(data.length - off, random.nextInt(20_000));
+			out.write(data, off, n);
+			off += n;
+		}
+	}
+
+	private static byte[] readInPieces(InputStream in, Random random) throws IOException {
+		ByteArrayOutputStream result = new ByteArrayOutputStream();
+		byte[] buffer = new byte[20_000];
+		while (true) {
+			if (random.nextInt(10) == 0) {
+				int b = in.read();
+				if (b < 0) {
+					break;
+				}
+				result.write(b);
+				continue;
+			}
+			int n = in.read(buffer, 0, 1 + random.nextInt(buffer.length - 1));
+			if (n < 0) {
+				break;
+			}
+			result.write(buffer, 0, n);
+		}
+		assertEquals(-1, in.read());
+		return result.toByteArray();
+	}
+
+	private static byte[] key(int length) {
+		byte[] key = new byte[length];
+		for (int i = 0; i < length; i++) {
+			key[i] = (byte) (7 * i);
+		}
+		return key;
+	}
+}
@@ -0,0 +1,75 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// 向量取自RFC 8439
+class ChaCha20Poly1305Test {
+
+	private static final HexFormat HEX = HexFormat.of();
+
+	// 2.4.2节：ChaCha20加密，初始计数器为1
+	@Test
+	void chacha20EncryptionVector() {
+		byte[] key = HEX.parseHex("000102030405060708090a0b0c0d0e0f101112131415161718191a1b1c1d1e1f");
+		byte[] nonce = HEX.parseHex("000000000000004a00000000");
+		byte[] plaintext = SUNSCREEN.getBytes(StandardCharsets.US_ASCII);
+		byte[] expected = HEX.parseHex("6e2e359a2568f98041ba0728dd0d6981e97e7aec1d4360c20a27afccfd9fae0b"
+				+ "f91b65c5524733ab8f593dabcd62b3571639d624e65152ab8f530c359f0861d8"
+				+ "07ca0dbf500d6a6156a38e088a22b65e52bc514d16ccf806818ce91ab7793736"
+				+ "5af90bbf74a35be6b40b8eedf2785e42874d");
+		assertArrayEquals(expected, new ChaCha20(key).encrypt(nonce, 1, plaintext));
+	}
+
+	// 2.8.2节：AEAD加密
+	@Test
+	void aeadVector() {
+		byte[] key = HEX.parseHex("808182838485868788898a8b8c8d8e8f909192939495969798999a9b9c9d9e9f");
+		byte[] nonce = HEX.parseHex("070000004041424344454647");
+		byte[] aad = HEX.parseHex("50515253c0c1c2c3c4c5c6c7");
+		byte[] plaintext = SUNSCREEN.getBytes(StandardCharsets.US_ASCII);
+		byte[] expected = HEX.parseHex("d31a8d34648e60db7b86afbc53ef7ec2a4aded51296e08fea9e2b5a736ee62d6"
+				+ "3dbea45e8ca9671282fafb69da92728b1a71de0a9e060b2905d6a5b67ecd3b36"
+				+ "92ddbd7f2d778b8c9803aee328091b58fab324e4fad675945585808b4831d7bc"
+				+ "3ff4def08e4b7a9de576d26586cec64b6116"
+				+ "1ae10b594f09e26a7e902ecbd0600691");
+		ChaCha20Poly1305 aead = new ChaCha20Poly1305(key);
+		assertArrayEquals(expected, aead.encrypt(nonce, plaintext, aad));
+		assertArrayEquals(plaintext, aead.decrypt(nonce, expected, aad));
+
+		byte[] tampered = expected.clone();
+		tampered[0] ^= 1;
+		assertThrows(IllegalArgumentException.class, () -> aead.decrypt(nonce, tampered, aad));
+		assertThrows(IllegalArgumentException.class, () -> aead.decrypt(nonce, expected, null));
+	}
+
+	// 超过并行阈值的数据应与JDK实现一致
+	@Test
+	void largeInputMatchesJdk() throws Exception {
+		Random random = new Random(5);
+		byte[] key = new byte[32];
+		byte[] nonce = new byte[12];
+		byte[] aad = new byte[20];
+		byte[] plaintext = new byte[300_001];
+		random.nextBytes(key);
+		random.nextBytes(nonce);
+		random.nextBytes(aad);
+		random.nextBytes(plaintext);
+		Cipher cipher = Cipher.getInstance("ChaCha20-Poly1305");
+		cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "ChaCha20"), new IvParameterSpec(nonce));
+		cipher.updateAAD(aad);
+		assertArrayEquals(cipher.doFinal(plaintext), new ChaCha20Poly1305(key).encrypt(nonce, plaintext, aad));
+	}
+
+	private static final String SUNSCREEN = "Ladies and Gentlemen of the class of '99: If I could offer you "
+			+ "only one tip for the future, sunscreen would be it.";
+}
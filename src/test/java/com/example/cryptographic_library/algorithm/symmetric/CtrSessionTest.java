@@ -0,0 +1,113 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CtrSessionTest {
+
+	private static final byte[] KEY = new byte[16];
+	private static final byte[] IV = new byte[16];
+
+	static {
+		for (int i = 0; i < 16; i++) {
+			KEY[i] = (byte) i;
+			IV[i] = (byte) (0xF0 + i);
+		}
+	}
+
+	// 各消息依次占用同一条CTR密钥流，拼接后的密文与普通CTR加密拼接后的明文一致
+	@Test
+	void messagesFollowOneCtrKeystream() {
+		Random random = new Random(17);
+		AES aes = new AES(KEY);
+		ByteArrayOutputStream plaintext = new ByteArrayOutputStream();
+		ByteArrayOutputStream ciphertext = new ByteArrayOutputStream();
+		try (CtrSession session = new CtrSession(aes, IV, 8192)) {
+			for (int i = 0; i < 200; i++) {
+				byte[] message = new byte[random.nextInt(300)];
+				random.nextBytes(message);
+				assertEquals(plaintext.size(), session.getPosition());
+				plaintext.writeBytes(message);
+				ciphertext.writeBytes(session.encrypt(message));
+			}
+		}
+		byte[] expected = new BlockCipherMode(aes, BlockCipherMode.Mode.CTR).encrypt(IV, plaintext.toByteArray());
+		assertArrayEquals(expected, ciphertext.toByteArray());
+	}
+
+	// 接收方按xor返回的位置解密
+	@Test
+	void xorAtDecryptsAtReturnedPosition() {
+		Random random = new Random(170);
+		SM4 sm4 = new SM4(KEY);
+		try (CtrSession session = new CtrSession(sm4, IV)) {
+			session.encrypt(new byte[37]);
+			for (int i = 0; i < 50; i++) {
+				byte[] message = new byte[1 + random.nextInt(5000)];
+				random.nextBytes(message);
+				byte[] sealed = message.clone();
+				long position = session.xor(sealed, 0, sealed, 0, sealed.length);
+				byte[] opened = new byte[sealed.length];
+				CtrSession.xorAt(sm4, IV, position, sealed, 0, opened, 0, sealed.length);
+				assertArrayEquals(message, opened);
+			}
+		}
+	}
+
+	@Test
+	void closedSessionRejectsXor() {
+		CtrSession session = new CtrSession(new AES(KEY), IV);
+		session.encrypt(new byte[10]);
+		session.close();
+		session.close();
+		assertThrows(IllegalStateException.class, () -> session.encrypt(new byte[1]));
+	}
+
+	@Test
+	void rejectsInvalidArguments() {
+		AES aes = new AES(KEY);
+		assertThrows(IllegalArgumentException.class, () -> new CtrSession(aes, new byte[15]));
+		assertThrows(IllegalArgumentException.class, () -> new CtrSession(aes, IV, 1000));
+		assertThrows(IllegalArgumentException.class,
+				() -> CtrSession.xorAt(aes, IV, -1, new byte[1], 0, new byte[1], 0, 1));
+	}
+
+	// 后台生成失败时调用方收到原始异常，而不是一直等待
+	@Test
+	void refillFailureIsPropagated() {
+		RuntimeException cause = new IllegalStateException("硬件故障");
+		BlockCipher failing = new BlockCipher() {
+			@Override
+			public int getBlockSize() {
+				return 16;
+			}
+
+			@Override
+			public void encryptBlock(byte[] in, int inOff, byte[] out, int outOff) {
+				throw cause;
+			}
+
+			@Override
+			public void decryptBlock(byte[] in, int inOff, byte[] out, int outOff) {
+				throw cause;
+			}
+
+			@Override
+			public void clearKeys() {
+			}
+		};
+		try (CtrSession session = new CtrSession(failing, IV)) {
+			IllegalStateException e = assertThrows(IllegalStateException.class, () -> session.encrypt(new byte[1]));
+			assertSame(cause, e.getCause());
+			e = assertThrows(IllegalStateException.class, () -> session.encrypt(new byte[1]));
+			assertSame(cause, e.getCause());
+		}
+	}
+}
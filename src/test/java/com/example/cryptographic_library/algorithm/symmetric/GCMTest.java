@@ -0,0 +1,147 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// 向量取自GCM规范（McGrew & Viega）附录B的测试用例，NIST SP 800-38D引用的同一组数据
+class GCMTest {
+
+	private static final HexFormat HEX = HexFormat.of();
+
+	private static final String K = "feffe9928665731c6d6a8f9467308308";
+	private static final String P = "d9313225f88406e5a55909c5aff5269a86a7a9531534f7da2e4c303d8a318a72"
+			+ "1c3c0c95956809532fcf0e2449a6b525b16aedf5aa0de657ba637b39";
+	private static final String A = "feedfacedeadbeeffeedfacedeadbeefabaddad2";
+
+	@Test
+	void testCase2ZeroKey() {
+		assertVector("00000000000000000000000000000000", "000000000000000000000000",
+				"00000000000000000000000000000000", "",
+				"0388dace60b6a392f328c2b971b2fe78", "ab6e47d42cec13bdf53a67b21257bddf");
+	}
+
+	@Test
+	void testCase3NoAad() {
+		assertVector(K, "cafebabefacedbaddecaf888", P + "1aafd255", "",
+				"42831ec2217774244b7221b784d0d49ce3aa212f2c02a4e035c17e2329aca12e"
+						+ "21d514b25466931c7d8f6a5aac84aa051ba30b396a0aac973d58e091473f5985",
+				"4d5c2af327cd64a62cf35abd2ba6fab4");
+	}
+
+	@Test
+	void testCase4WithAad() {
+		assertVector(K, "cafebabefacedbaddecaf888", P, A,
+				"42831ec2217774244b7221b784d0d49ce3aa212f2c02a4e035c17e2329aca12e"
+						+ "21d514b25466931c7d8f6a5aac84aa051ba30b396a0aac973d58e091",
+				"5bc94fbc3221a5db94fae95ae7121a47");
+	}
+
+	@Test
+	void testCase5ShortIv() {
+		assertVector(K, "cafebabefacedbad", P, A,
+				"61353b4c2806934a777ff51fa22a4755699b2a714fcdc6f83766e5f97b6c7423"
+						+ "73806900e49f24b22b097544d4896b424989b5e1ebac0f07c23f4598",
+				"3612d2e79e3b0785561be14aaca2fccb");
+	}
+
+	@Test
+	void testCase6LongIv() {
+		assertVector(K, "9313225df88406e555909c5aff5269aa6a7a9538534f7da1e4c303d2a318a728"
+						+ "c3c0c95156809539fcf0e2429a6b525416aedbf5a0de6a57a637b39b", P, A,
+				"8ce24998625615b603a033aca13fb894be9112a5c3a211a8ba262a3cca7e2ca7"
+						+ "01e4a9a4fba43c90ccdcb281d48c7c6fd62875d2aca417034c34aee5",
+				"619cc5aefffe0bfa462af43c1699d050");
+	}
+
+	@Test
+	void rejectsTamperedCiphertextAndAad() {
+		AES_GCM gcm = new AES_GCM(HEX.parseHex(K));
+		byte[] iv = HEX.parseHex("cafebabefacedbaddecaf888");
+		byte[] sealed = gcm.encrypt(iv, HEX.parseHex(P), HEX.parseHex(A));
+
+		byte[] flipped = sealed.clone();
+		flipped[3] ^= 1;
+		assertThrows(IllegalArgumentException.class, () -> gcm.decrypt(iv, flipped, HEX.parseHex(A)));
+		byte[] badTag = sealed.clone();
+		badTag[badTag.length - 1] ^= 1;
+		assertThrows(IllegalArgumentException.class, () -> gcm.decrypt(iv, badTag, HEX.parseHex(A)));
+		assertThrows(IllegalArgumentException.class, () -> gcm.decrypt(iv, sealed, null));
+		assertThrows(IllegalArgumentException.class, () -> gcm.decrypt(iv, new byte[15], null));
+	}
+
+	// 超过并行阈值的数据经分块GHASH合并，结果应与JDK实现一致
+	@Test
+	void parallelPathMatchesJdk() throws Exception {
+		Random random = new Random(1);
+		byte[] key = new byte[32];
+		random.nextBytes(key);
+		AES_GCM gcm = new AES_GCM(key);
+		for (int length : new int[]{0, 1, 65535, 65536, 65537, 16 * 1024 * 7 + 5, 1 << 20}) {
+			byte[] iv = new byte[12];
+			byte[] aad = new byte[13];
+			byte[] plaintext = new byte[length];
+			random.nextBytes(iv);
+			random.nextBytes(aad);
+			random.nextBytes(plaintext);
+			byte[] sealed = gcm.encrypt(iv, plaintext, aad);
+			assertArrayEquals(jdkEncrypt(key, iv, plaintext, aad), sealed, "length " + length);
+			assertArrayEquals(plaintext, gcm.decrypt(iv, sealed, aad));
+		}
+	}
+
+	@Test
+	void sharedInstanceIsThreadSafe() throws Exception {
+		byte[] key = HEX.parseHex(K);
+		AES_GCM gcm = new AES_GCM(key);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> results = new ArrayList<>();
+			for (int t = 0; t < 64; t++) {
+				int seed = t;
+				results.add(pool.submit(() -> {
+					Random random = new Random(seed);
+					byte[] iv = new byte[12];
+					byte[] plaintext = new byte[random.nextInt(200_000)];
+					random.nextBytes(iv);
+					random.nextBytes(plaintext);
+					assertArrayEquals(jdkEncrypt(key, iv, plaintext, iv), gcm.encrypt(iv, plaintext, iv));
+					return null;
+				}));
+			}
+			for (Future<?> result : results) {
+				result.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private static void assertVector(String key, String iv, String plaintext, String aad, String ciphertext, String tag) {
+		AES_GCM gcm = new AES_GCM(HEX.parseHex(key));
+		byte[] aadBytes = aad.isEmpty() ? null : HEX.parseHex(aad);
+		byte[] expected = HEX.parseHex(ciphertext + tag);
+		assertArrayEquals(expected, gcm.encrypt(HEX.parseHex(iv), HEX.parseHex(plaintext), aadBytes));
+		assertArrayEquals(HEX.parseHex(plaintext), gcm.decrypt(HEX.parseHex(iv), expected, aadBytes));
+	}
+
+	private static byte[] jdkEncrypt(byte[] key, byte[] iv, byte[] plaintext, byte[] aad) throws Exception {
+		Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+		cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"), new GCMParameterSpec(128, iv));
+		cipher.updateAAD(aad);
+		return cipher.doFinal(Arrays.copyOf(plaintext, plaintext.length));
+	}
+}
@@ -0,0 +1,96 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedFileCipherTest {
+
+	private static final byte[] KEY = new byte[16];
+	private static final byte[] IV = new byte[16];
+
+	static {
+		for (int i = 0; i < 16; i++) {
+			KEY[i] = (byte) i;
+			IV[i] = (byte) (0xA0 + i);
+		}
+	}
+
+	// 文件输出与内存中的BlockCipherMode一致
+	@Test
+	void matchesBlockCipherMode(@TempDir Path dir) throws Exception {
+		AES aes = new AES(KEY);
+		MappedFileCipher files = new MappedFileCipher(aes);
+		Path plain = dir.resolve("plain");
+		Path sealed = dir.resolve("sealed");
+		Path opened = dir.resolve("opened");
+		for (int length : new int[]{0, 1, 16, 17, 200_001}) {
+			byte[] data = new byte[length];
+			new Random(length).nextBytes(data);
+			Files.write(plain, data);
+
+			files.encrypt(plain, sealed, BlockCipherMode.Mode.ECB, null, false);
+			assertArrayEquals(new BlockCipherMode(aes, BlockCipherMode.Mode.ECB).encrypt(null, data), Files.readAllBytes(sealed));
+			assertEquals(length, files.decrypt(sealed, opened, BlockCipherMode.Mode.ECB, null));
+			assertArrayEquals(data, Files.readAllBytes(opened));
+
+			files.encrypt(plain, sealed, BlockCipherMode.Mode.CTR, IV, true);
+			byte[] ctr = new BlockCipherMode(aes, BlockCipherMode.Mode.CTR).encrypt(IV, data);
+			assertArrayEquals(ctr, Arrays.copyOfRange(Files.readAllBytes(sealed), 16, 16 + length));
+			assertEquals(length, files.decrypt(sealed, opened, BlockCipherMode.Mode.CTR, null));
+			assertArrayEquals(data, Files.readAllBytes(opened));
+		}
+		assertNoTemporaryFiles(dir, 3);
+	}
+
+	// 填充无效时不能留下未经校验的明文，已存在的目标文件保持原样
+	@Test
+	void failedDecryptionLeavesTargetUntouched(@TempDir Path dir) throws Exception {
+		MappedFileCipher files = new MappedFileCipher(new AES(KEY));
+		Path plain = dir.resolve("plain");
+		Path sealed = dir.resolve("sealed");
+		Path target = dir.resolve("target");
+		Files.write(plain, new byte[100_000]);
+		files.encrypt(plain, sealed, BlockCipherMode.Mode.ECB, null, false);
+		byte[] bytes = Files.readAllBytes(sealed);
+		bytes[bytes.length - 1] ^= 1;
+		Files.write(sealed, bytes);
+		byte[] previous = {1, 2, 3};
+		Files.write(target, previous);
+
+		assertThrows(IllegalArgumentException.class,
+				() -> files.decrypt(sealed, target, BlockCipherMode.Mode.ECB, null));
+		assertArrayEquals(previous, Files.readAllBytes(target));
+
+		Path missing = dir.resolve("missing");
+		assertThrows(IllegalArgumentException.class,
+				() -> files.decrypt(sealed, missing, BlockCipherMode.Mode.ECB, null));
+		assertFalse(Files.exists(missing));
+		assertNoTemporaryFiles(dir, 3);
+	}
+
+	@Test
+	void rejectsSameSourceAndTarget(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("file");
+		Files.write(file, new byte[32]);
+		MappedFileCipher files = new MappedFileCipher(new AES(KEY));
+		assertThrows(IllegalArgumentException.class,
+				() -> files.encrypt(file, file, BlockCipherMode.Mode.CTR, IV, false));
+	}
+
+	private static void assertNoTemporaryFiles(Path dir, int expected) throws Exception {
+		try (Stream<Path> entries = Files.list(dir)) {
+			assertEquals(expected, entries.count());
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+// 向量取自GB/T 32907-2016附录A
+class SM4Test {
+
+	private static final HexFormat HEX = HexFormat.of();
+	private static final byte[] KEY = HEX.parseHex("0123456789abcdeffedcba9876543210");
+
+	@Test
+	void example1() {
+		SM4 sm4 = new SM4(KEY);
+		byte[] ciphertext = new byte[16];
+		sm4.encryptBlock(KEY, 0, ciphertext, 0);
+		assertArrayEquals(HEX.parseHex("681edf34d206965e86b3e94f536e4246"), ciphertext);
+		byte[] plaintext = new byte[16];
+		sm4.decryptBlock(ciphertext, 0, plaintext, 0);
+		assertArrayEquals(KEY, plaintext);
+	}
+
+	// 同一密钥对明文迭代加密1000000次
+	@Test
+	void example2MillionIterations() {
+		SM4 sm4 = new SM4(KEY);
+		byte[] block = KEY.clone();
+		for (int i = 0; i < 1_000_000; i++) {
+			sm4.encryptBlock(block, 0, block, 0);
+		}
+		assertArrayEquals(HEX.parseHex("595298c7c6fd271f0402f804c33d3f66"), block);
+	}
+
+	// 多分组接口应与逐分组处理一致
+	@Test
+	void bulkMatchesSingleBlock() {
+		Random random = new Random(4);
+		SM4 sm4 = new SM4(KEY);
+		byte[] data = new byte[16 * 1001];
+		random.nextBytes(data);
+		byte[] bulk = new byte[data.length];
+		sm4.encryptBlocks(data, 0, bulk, 0, data.length);
+		byte[] single = new byte[data.length];
+		for (int off = 0; off < data.length; off += 16) {
+			sm4.encryptBlock(data, off, single, off);
+		}
+		assertArrayEquals(single, bulk);
+		byte[] decrypted = new byte[data.length];
+		sm4.decryptBlocks(bulk, 0, decrypted, 0, bulk.length);
+		assertArrayEquals(data, decrypted);
+	}
+
+	// 超过并行阈值的CBC解密应与串行加密互逆
+	@Test
+	void parallelCbcRoundTrip() {
+		Random random = new Random(5);
+		SM4 sm4 = new SM4(KEY);
+		byte[] iv = new byte[16];
+		byte[] data = new byte[200_001];
+		random.nextBytes(iv);
+		random.nextBytes(data);
+		byte[] ciphertext = sm4.encryptCBC(iv, data);
+		byte[] first = new byte[16];
+		for (int i = 0; i < 16; i++) {
+			first[i] = (byte) (data[i] ^ iv[i]);
+		}
+		sm4.encryptBlock(first, 0, first, 0);
+		assertArrayEquals(first, Arrays.copyOf(ciphertext, 16));
+		assertArrayEquals(data, sm4.decryptCBC(iv, ciphertext));
+	}
+}
@@ -0,0 +1,31 @@
+package com.example.cryptographic_library.algorithm.symmetric;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// 向量取自RFC 8998附录A.1
+class SM4_GCMTest {
+
+	private static final HexFormat HEX = HexFormat.of();
+
+	@Test
+	void rfc8998Vector() {
+		SM4_GCM gcm = new SM4_GCM(HEX.parseHex("0123456789abcdeffedcba9876543210"));
+		byte[] iv = HEX.parseHex("00001234567800000000abcd");
+		byte[] aad = HEX.parseHex("feedfacedeadbeeffeedfacedeadbeefabaddad2");
+		byte[] plaintext = HEX.parseHex("aaaaaaaaaaaaaaaabbbbbbbbbbbbbbbbccccccccccccccccdddddddddddddddd"
+				+ "eeeeeeeeeeeeeeeeffffffffffffffffeeeeeeeeeeeeeeeeaaaaaaaaaaaaaaaa");
+		byte[] expected = HEX.parseHex("17f399f08c67d5ee19d0dc9969c4bb7d5fd46fd3756489069157b282bb200735"
+				+ "d82710ca5c22f0ccfa7cbf93d496ac15a56834cbcf98c397b4024a2691233b8d"
+				+ "83de3541e4c2b58177e065a9bf7b62ec");
+		assertArrayEquals(expected, gcm.encrypt(iv, plaintext, aad));
+		assertArrayEquals(plaintext, gcm.decrypt(iv, expected, aad));
+
+		expected[expected.length - 1] ^= 1;
+		assertThrows(IllegalArgumentException.class, () -> gcm.decrypt(iv, expected, aad));
+	}
+}